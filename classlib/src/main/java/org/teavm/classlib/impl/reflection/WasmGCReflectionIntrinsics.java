@@ -260,7 +260,7 @@ public class WasmGCReflectionIntrinsics implements WasmGCIntrinsic {
                 array.getElements().add(fieldInit);
 
                 var nameStr = context.strings().getStringConstant(field.getName());
-                fieldInit.getInitializers().add(new WasmGetGlobal(nameStr.global));
+                fieldInit.getInitializers().add(nameStr.value());
 
                 fieldInit.getInitializers().add(new WasmInt32Constant(ElementModifier.pack(field.readModifiers())));
 
@@ -327,7 +327,7 @@ public class WasmGCReflectionIntrinsics implements WasmGCIntrinsic {
                 array.getElements().add(methodInit);
 
                 var nameStr = context.strings().getStringConstant(method.getName());
-                methodInit.getInitializers().add(new WasmGetGlobal(nameStr.global));
+                methodInit.getInitializers().add(nameStr.value());
 
                 methodInit.getInitializers().add(new WasmInt32Constant(ElementModifier.pack(method.readModifiers())));
 
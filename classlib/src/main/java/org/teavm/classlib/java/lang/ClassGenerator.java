@@ -153,7 +153,8 @@ public class ClassGenerator implements Generator, Injector, DependencyPlugin {
             return;
         }
 
-        writer.appendClass(className).append(".$meta.fields").ws().append('=').ws().append('[').indent();
+        writer.appendFunction("$rt_lazyMembers").append("(").appendClass(className).append(",").ws()
+                .append("\"fields\",").ws().append("()").ws().append("=>").ws().append('[').indent();
 
         var skipPrivates = ReflectionDependencyListener.shouldSkipPrivates(cls);
         generateCreateMembers(writer, skipPrivates, cls.getFields(), field -> {
@@ -178,7 +179,7 @@ public class ClassGenerator implements Generator, Injector, DependencyPlugin {
             });
         });
 
-        writer.outdent().append("];").softNewLine();
+        writer.outdent().append("]);").softNewLine();
     }
 
     private void generateCreateMethodsForClass(GeneratorContext context, SourceWriter writer, String className) {
@@ -190,7 +191,8 @@ public class ClassGenerator implements Generator, Injector, DependencyPlugin {
             return;
         }
 
-        writer.appendClass(className).append(".$meta.methods").ws().append('=').ws().append('[').indent();
+        writer.appendFunction("$rt_lazyMembers").append("(").appendClass(className).append(",").ws()
+                .append("\"methods\",").ws().append("()").ws().append("=>").ws().append('[').indent();
 
         var skipPrivates = ReflectionDependencyListener.shouldSkipPrivates(cls);
         generateCreateMembers(writer, skipPrivates, cls.getMethods(), method -> {
@@ -219,7 +221,7 @@ public class ClassGenerator implements Generator, Injector, DependencyPlugin {
             });
         });
 
-        writer.outdent().append("];").softNewLine();
+        writer.outdent().append("]);").softNewLine();
     }
 
     private <T extends MemberReader> void generateCreateMembers(SourceWriter writer, boolean skipPrivates,
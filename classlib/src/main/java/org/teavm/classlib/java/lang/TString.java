@@ -19,6 +19,7 @@ import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.Locale;
 import java.util.Objects;
+import org.teavm.backend.wasm.runtime.WasmSimd;
 import org.teavm.classlib.PlatformDetector;
 import org.teavm.classlib.java.io.TSerializable;
 import org.teavm.classlib.java.io.TUnsupportedEncodingException;
@@ -35,6 +36,7 @@ import org.teavm.classlib.java.util.stream.TIntStream;
 import org.teavm.classlib.java.util.stream.intimpl.TStringCharsStream;
 import org.teavm.classlib.java.util.stream.intimpl.TStringCodePointsStream;
 import org.teavm.dependency.PluggableDependency;
+import org.teavm.interop.Address;
 import org.teavm.interop.NoSideEffects;
 
 public class TString extends TObject implements TSerializable, TComparable<TString>, TCharSequence {
@@ -340,6 +342,14 @@ public class TString extends TObject implements TSerializable, TComparable<TStri
         fromIndex = Math.max(0, fromIndex);
         if (ch < TCharacter.MIN_SUPPLEMENTARY_CODE_POINT) {
             char bmpChar = (char) ch;
+            if (PlatformDetector.isWebAssembly()) {
+                if (fromIndex >= charactersLength()) {
+                    return -1;
+                }
+                int index = WasmSimd.indexOf16(Address.ofData(fastCharArray()).add(fromIndex * 2),
+                        charactersLength() - fromIndex, bmpChar);
+                return index >= 0 ? index + fromIndex : -1;
+            }
             for (int i = fromIndex; i < charactersLength(); ++i) {
                 if (charactersGet(i) == bmpChar) {
                     return i;
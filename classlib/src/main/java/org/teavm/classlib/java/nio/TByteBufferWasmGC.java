@@ -15,6 +15,7 @@
  */
 package org.teavm.classlib.java.nio;
 
+import org.teavm.backend.wasm.runtime.gc.WasmGCMemory;
 import org.teavm.interop.Address;
 import org.teavm.jso.JSObject;
 
@@ -39,18 +40,12 @@ class TByteBufferWasmGC extends TByteBufferNative {
 
     @Override
     void copy(byte[] from, int fromOffset, Address to, int count) {
-        for (var i = 0; i < count; ++i) {
-            to.putByte(from[fromOffset++]);
-            to = to.add(1);
-        }
+        WasmGCMemory.copy(from, fromOffset, to, count);
     }
 
     @Override
     void copy(Address from, byte[] to, int toOffset, int count) {
-        for (var i = 0; i < count; ++i) {
-            to[toOffset++] = from.getByte();
-            from = from.add(1);
-        }
+        WasmGCMemory.copy(from, to, toOffset, count);
     }
 
     @Override
@@ -15,6 +15,7 @@
  */
 package org.teavm.classlib.java.nio;
 
+import org.teavm.backend.wasm.runtime.gc.WasmGCMemory;
 import org.teavm.interop.Address;
 
 class TCharBufferWasmGC extends TCharBufferNative {
@@ -25,18 +26,12 @@ class TCharBufferWasmGC extends TCharBufferNative {
 
     @Override
     void copy(char[] from, int fromOffset, Address to, int count) {
-        for (var i = 0; i < count; ++i) {
-            to.putChar(from[fromOffset++]);
-            to = to.add(2);
-        }
+        WasmGCMemory.copy(from, fromOffset, to, count);
     }
 
     @Override
     void copy(Address from, char[] to, int toOffset, int count) {
-        for (var i = 0; i < count; ++i) {
-            to[toOffset++] = from.getChar();
-            from = from.add(2);
-        }
+        WasmGCMemory.copy(from, to, toOffset, count);
     }
 
     @Override
@@ -15,6 +15,7 @@
  */
 package org.teavm.classlib.java.nio;
 
+import org.teavm.backend.wasm.runtime.gc.WasmGCMemory;
 import org.teavm.interop.Address;
 
 class TFloatBufferWasmGC extends TFloatBufferNative {
@@ -25,18 +26,12 @@ class TFloatBufferWasmGC extends TFloatBufferNative {
 
     @Override
     void copy(float[] from, int fromOffset, Address to, int count) {
-        for (var i = 0; i < count; ++i) {
-            to.putFloat(from[fromOffset++]);
-            to = to.add(4);
-        }
+        WasmGCMemory.copy(from, fromOffset, to, count);
     }
 
     @Override
     void copy(Address from, float[] to, int toOffset, int count) {
-        for (var i = 0; i < count; ++i) {
-            to[toOffset++] = from.getFloat();
-            from = from.add(4);
-        }
+        WasmGCMemory.copy(from, to, toOffset, count);
     }
 
     @Override
@@ -15,6 +15,7 @@
  */
 package org.teavm.classlib.java.nio;
 
+import org.teavm.backend.wasm.runtime.gc.WasmGCMemory;
 import org.teavm.interop.Address;
 
 class TIntBufferWasmGC extends TIntBufferNative {
@@ -25,18 +26,12 @@ class TIntBufferWasmGC extends TIntBufferNative {
 
     @Override
     void copy(int[] from, int fromOffset, Address to, int count) {
-        for (var i = 0; i < count; ++i) {
-            to.putInt(from[fromOffset++]);
-            to = to.add(4);
-        }
+        WasmGCMemory.copy(from, fromOffset, to, count);
     }
 
     @Override
     void copy(Address from, int[] to, int toOffset, int count) {
-        for (var i = 0; i < count; ++i) {
-            to[toOffset++] = from.getInt();
-            from = from.add(4);
-        }
+        WasmGCMemory.copy(from, to, toOffset, count);
     }
 
     @Override
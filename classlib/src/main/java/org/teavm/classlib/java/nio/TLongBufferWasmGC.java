@@ -15,6 +15,7 @@
  */
 package org.teavm.classlib.java.nio;
 
+import org.teavm.backend.wasm.runtime.gc.WasmGCMemory;
 import org.teavm.interop.Address;
 
 class TLongBufferWasmGC extends TLongBufferNative {
@@ -25,18 +26,12 @@ class TLongBufferWasmGC extends TLongBufferNative {
 
     @Override
     void copy(long[] from, int fromOffset, Address to, int count) {
-        for (var i = 0; i < count; ++i) {
-            to.putLong(from[fromOffset++]);
-            to = to.add(8);
-        }
+        WasmGCMemory.copy(from, fromOffset, to, count);
     }
 
     @Override
     void copy(Address from, long[] to, int toOffset, int count) {
-        for (var i = 0; i < count; ++i) {
-            to[toOffset++] = from.getLong();
-            from = from.add(8);
-        }
+        WasmGCMemory.copy(from, to, toOffset, count);
     }
 
     @Override
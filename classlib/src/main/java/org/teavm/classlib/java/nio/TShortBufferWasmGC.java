@@ -15,6 +15,7 @@
  */
 package org.teavm.classlib.java.nio;
 
+import org.teavm.backend.wasm.runtime.gc.WasmGCMemory;
 import org.teavm.interop.Address;
 
 class TShortBufferWasmGC extends TShortBufferNative {
@@ -25,18 +26,12 @@ class TShortBufferWasmGC extends TShortBufferNative {
 
     @Override
     void copy(short[] from, int fromOffset, Address to, int count) {
-        for (var i = 0; i < count; ++i) {
-            to.putShort(from[fromOffset++]);
-            to = to.add(2);
-        }
+        WasmGCMemory.copy(from, fromOffset, to, count);
     }
 
     @Override
     void copy(Address from, short[] to, int toOffset, int count) {
-        for (var i = 0; i < count; ++i) {
-            to[toOffset++] = from.getShort();
-            from = from.add(2);
-        }
+        WasmGCMemory.copy(from, to, toOffset, count);
     }
 
     @Override
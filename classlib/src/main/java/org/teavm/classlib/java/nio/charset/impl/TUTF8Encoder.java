@@ -15,10 +15,15 @@
  */
 package org.teavm.classlib.java.nio.charset.impl;
 
+import org.teavm.backend.wasm.runtime.WasmSimd;
+import org.teavm.classlib.PlatformDetector;
 import org.teavm.classlib.java.nio.charset.TCharset;
 import org.teavm.classlib.java.nio.charset.TCoderResult;
+import org.teavm.interop.Address;
 
 public class TUTF8Encoder extends TBufferedEncoder {
+    private static final int ASCII_BATCH_SIZE = 16;
+
     TUTF8Encoder(TCharset cs) {
         super(cs, 2, 4);
     }
@@ -27,11 +32,31 @@ public class TUTF8Encoder extends TBufferedEncoder {
     protected TCoderResult arrayEncode(char[] inArray, int inPos, int inSize, byte[] outArray, int outPos, int outSize,
             Controller controller) {
         TCoderResult result = null;
+        // Number of ASCII characters in a row encoded by the scalar loop. The helper stops at the first non-ASCII
+        // character, so calling it again for every character of non-ASCII text would only add overhead.
+        int asciiCount = ASCII_BATCH_SIZE;
         while (inPos < inSize && outPos < outSize) {
+            if (PlatformDetector.isWebAssembly() && asciiCount >= ASCII_BATCH_SIZE) {
+                asciiCount = 0;
+                int count = Math.min(inSize - inPos, outSize - outPos);
+                if (count >= ASCII_BATCH_SIZE) {
+                    int encoded = WasmSimd.encodeAscii(Address.ofData(inArray).add(inPos * 2),
+                            Address.ofData(outArray).add(outPos), count);
+                    inPos += encoded;
+                    outPos += encoded;
+                    if (inPos == inSize || outPos == outSize) {
+                        break;
+                    }
+                }
+            }
             char ch = inArray[inPos++];
             if (ch < 0x80) {
                 outArray[outPos++] = (byte) ch;
-            } else if (ch < 0x800) {
+                ++asciiCount;
+                continue;
+            }
+            asciiCount = 0;
+            if (ch < 0x800) {
                 if (outPos + 2 > outSize) {
                     --inPos;
                     if (!controller.hasMoreOutput(2)) {
@@ -23,6 +23,8 @@ import java.util.function.IntFunction;
 import java.util.function.IntToDoubleFunction;
 import java.util.function.IntToLongFunction;
 import java.util.function.IntUnaryOperator;
+import org.teavm.backend.wasm.runtime.WasmSimd;
+import org.teavm.classlib.PlatformDetector;
 import org.teavm.classlib.java.lang.TIllegalArgumentException;
 import org.teavm.classlib.java.lang.TMath;
 import org.teavm.classlib.java.lang.TObject;
@@ -35,6 +37,7 @@ import org.teavm.classlib.java.util.stream.doubleimpl.TArrayDoubleStreamImpl;
 import org.teavm.classlib.java.util.stream.impl.TArrayStreamImpl;
 import org.teavm.classlib.java.util.stream.intimpl.TArrayIntStreamImpl;
 import org.teavm.classlib.java.util.stream.longimpl.TArrayLongStreamImpl;
+import org.teavm.interop.Address;
 
 public class TArrays extends TObject {
     public static char[] copyOf(char[] array, int length) {
@@ -361,6 +364,10 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
+        if (PlatformDetector.isWebAssembly() && fromIndex >= 0 && toIndex <= a.length) {
+            WasmSimd.fill64(Address.ofData(a).add(fromIndex * 8), toIndex - fromIndex, val);
+            return;
+        }
         while (fromIndex < toIndex) {
             a[fromIndex++] = val;
         }
@@ -374,6 +381,10 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
+        if (PlatformDetector.isWebAssembly() && fromIndex >= 0 && toIndex <= a.length) {
+            WasmSimd.fill32(Address.ofData(a).add(fromIndex * 4), toIndex - fromIndex, val);
+            return;
+        }
         while (fromIndex < toIndex) {
             a[fromIndex++] = val;
         }
@@ -387,6 +398,10 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
+        if (PlatformDetector.isWebAssembly() && fromIndex >= 0 && toIndex <= a.length) {
+            WasmSimd.fill16(Address.ofData(a).add(fromIndex * 2), toIndex - fromIndex, val);
+            return;
+        }
         while (fromIndex < toIndex) {
             a[fromIndex++] = val;
         }
@@ -400,6 +415,10 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
+        if (PlatformDetector.isWebAssembly() && fromIndex >= 0 && toIndex <= a.length) {
+            WasmSimd.fill16(Address.ofData(a).add(fromIndex * 2), toIndex - fromIndex, (short) val);
+            return;
+        }
         while (fromIndex < toIndex) {
             a[fromIndex++] = val;
         }
@@ -413,6 +432,10 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
+        if (PlatformDetector.isWebAssembly() && fromIndex >= 0 && toIndex <= a.length) {
+            Address.fill(Address.ofData(a).add(fromIndex), val, toIndex - fromIndex);
+            return;
+        }
         while (fromIndex < toIndex) {
             a[fromIndex++] = val;
         }
@@ -439,6 +462,11 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
+        if (PlatformDetector.isWebAssembly() && fromIndex >= 0 && toIndex <= a.length) {
+            WasmSimd.fill32(Address.ofData(a).add(fromIndex * 4), toIndex - fromIndex,
+                    Float.floatToRawIntBits(val));
+            return;
+        }
         while (fromIndex < toIndex) {
             a[fromIndex++] = val;
         }
@@ -452,6 +480,11 @@ public class TArrays extends TObject {
         if (fromIndex > toIndex) {
             throw new TIllegalArgumentException();
         }
+        if (PlatformDetector.isWebAssembly() && fromIndex >= 0 && toIndex <= a.length) {
+            WasmSimd.fill64(Address.ofData(a).add(fromIndex * 8), toIndex - fromIndex,
+                    Double.doubleToRawLongBits(val));
+            return;
+        }
         while (fromIndex < toIndex) {
             a[fromIndex++] = val;
         }
@@ -1217,6 +1250,11 @@ public class TArrays extends TObject {
     }
 
     private static int mismatchImpl(long[] a, int aStart, long[] a2, int a2Start, int length) {
+        if (PlatformDetector.isWebAssembly()) {
+            int index = WasmSimd.mismatch(Address.ofData(a).add(aStart * 8), Address.ofData(a2).add(a2Start * 8),
+                    length * 8);
+            return index >= 0 ? index / 8 : -1;
+        }
         for (int i = 0; i < length; ++i) {
             if (a[i + aStart] != a2[i + a2Start]) {
                 return i;
@@ -1266,6 +1304,11 @@ public class TArrays extends TObject {
     }
 
     private static int mismatchImpl(int[] a, int aStart, int[] a2, int a2Start, int length) {
+        if (PlatformDetector.isWebAssembly()) {
+            int index = WasmSimd.mismatch(Address.ofData(a).add(aStart * 4), Address.ofData(a2).add(a2Start * 4),
+                    length * 4);
+            return index >= 0 ? index / 4 : -1;
+        }
         for (int i = 0; i < length; ++i) {
             if (a[i + aStart] != a2[i + a2Start]) {
                 return i;
@@ -1315,6 +1358,11 @@ public class TArrays extends TObject {
     }
 
     private static int mismatchImpl(short[] a, int aStart, short[] a2, int a2Start, int length) {
+        if (PlatformDetector.isWebAssembly()) {
+            int index = WasmSimd.mismatch(Address.ofData(a).add(aStart * 2), Address.ofData(a2).add(a2Start * 2),
+                    length * 2);
+            return index >= 0 ? index / 2 : -1;
+        }
         for (int i = 0; i < length; ++i) {
             if (a[i + aStart] != a2[i + a2Start]) {
                 return i;
@@ -1364,6 +1412,11 @@ public class TArrays extends TObject {
     }
 
     private static int mismatchImpl(char[] a, int aStart, char[] a2, int a2Start, int length) {
+        if (PlatformDetector.isWebAssembly()) {
+            int index = WasmSimd.mismatch(Address.ofData(a).add(aStart * 2), Address.ofData(a2).add(a2Start * 2),
+                    length * 2);
+            return index >= 0 ? index / 2 : -1;
+        }
         for (int i = 0; i < length; ++i) {
             if (a[i + aStart] != a2[i + a2Start]) {
                 return i;
@@ -1413,6 +1466,9 @@ public class TArrays extends TObject {
     }
 
     private static int mismatchImpl(byte[] a, int aStart, byte[] a2, int a2Start, int length) {
+        if (PlatformDetector.isWebAssembly()) {
+            return WasmSimd.mismatch(Address.ofData(a).add(aStart), Address.ofData(a2).add(a2Start), length);
+        }
         for (int i = 0; i < length; ++i) {
             if (a[i + aStart] != a2[i + a2Start]) {
                 return i;
@@ -1692,6 +1748,9 @@ public class TArrays extends TObject {
         if (a == null) {
             return 0;
         }
+        if (PlatformDetector.isWebAssembly()) {
+            return WasmSimd.hashCode32(Address.ofData(a), a.length, 1);
+        }
         int hash = 1;
         for (int i = 0; i < a.length; ++i) {
             hash = 31 * hash + Integer.hashCode(a[i]);
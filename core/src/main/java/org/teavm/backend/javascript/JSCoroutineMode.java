@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript;
+
+/**
+ * Describes how methods that may suspend a thread (see {@link org.teavm.interop.Async}) are compiled
+ * to JavaScript.
+ */
+public enum JSCoroutineMode {
+    /**
+     * A method is split into continuations, which are dispatched by a {@code switch} in a loop.
+     * On suspension, every frame saves its local variables to the thread stack and restores them on resumption.
+     */
+    STATE_MACHINE,
+
+    /**
+     * A method is compiled to a generator function and calls to other such methods are delegated
+     * with {@code yield*}, so that the JavaScript engine keeps suspended frames by itself.
+     * Native JavaScript code must not call such methods directly, since it gets a generator object
+     * instead of the result; it should start a thread instead (see {@code $rt_threadStarter}).
+     */
+    GENERATORS
+}
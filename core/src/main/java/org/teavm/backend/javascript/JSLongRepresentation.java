@@ -0,0 +1,33 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript;
+
+/**
+ * Describes how values of Java {@code long} type are represented in generated JavaScript.
+ */
+public enum JSLongRepresentation {
+    /**
+     * Every {@code long} is a {@code BigInt} value, normalized to 64 bits after each operation.
+     */
+    BIG_INT,
+
+    /**
+     * Every {@code long} is an object that holds two 32-bit halves. Arithmetic is performed on plain
+     * numbers, which is usually much faster than {@code BigInt} arithmetic. Elements of {@code long[]}
+     * arrays are still stored in {@code BigInt64Array} and are converted on each access.
+     */
+    INT32_PAIR
+}
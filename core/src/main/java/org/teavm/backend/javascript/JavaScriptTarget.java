@@ -16,6 +16,7 @@
 package org.teavm.backend.javascript;
 
 import com.carrotsearch.hppc.ObjectIntHashMap;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
@@ -38,24 +39,30 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
 import org.teavm.ast.ControlFlowEntry;
+import org.teavm.backend.javascript.codegen.ClassFilteringSink;
 import org.teavm.backend.javascript.codegen.DefaultAliasProvider;
 import org.teavm.backend.javascript.codegen.DefaultNamingStrategy;
 import org.teavm.backend.javascript.codegen.MinifyingAliasProvider;
+import org.teavm.backend.javascript.codegen.NamingStrategy;
 import org.teavm.backend.javascript.codegen.OutputSourceWriter;
 import org.teavm.backend.javascript.codegen.OutputSourceWriterBuilder;
 import org.teavm.backend.javascript.codegen.RememberedSource;
 import org.teavm.backend.javascript.codegen.RememberingSourceWriter;
+import org.teavm.backend.javascript.codegen.SourceSpool;
 import org.teavm.backend.javascript.codegen.SourceWriter;
 import org.teavm.backend.javascript.intrinsics.ref.ReferenceQueueGenerator;
 import org.teavm.backend.javascript.intrinsics.ref.ReferenceQueueTransformer;
 import org.teavm.backend.javascript.intrinsics.ref.WeakReferenceDependencyListener;
 import org.teavm.backend.javascript.intrinsics.ref.WeakReferenceGenerator;
 import org.teavm.backend.javascript.intrinsics.ref.WeakReferenceTransformer;
+import org.teavm.backend.javascript.rendering.ChunkPartitioner;
 import org.teavm.backend.javascript.rendering.NameFrequencyEstimator;
 import org.teavm.backend.javascript.rendering.Renderer;
 import org.teavm.backend.javascript.rendering.RenderingContext;
 import org.teavm.backend.javascript.rendering.RenderingUtil;
 import org.teavm.backend.javascript.rendering.RuntimeRenderer;
+import org.teavm.backend.javascript.report.BundleSizeReport;
+import org.teavm.backend.javascript.report.ReachabilityChains;
 import org.teavm.backend.javascript.spi.GeneratedBy;
 import org.teavm.backend.javascript.spi.Generator;
 import org.teavm.backend.javascript.spi.InjectedBy;
@@ -65,6 +72,7 @@ import org.teavm.backend.javascript.spi.MethodContributorContext;
 import org.teavm.backend.javascript.templating.JavaScriptTemplateFactory;
 import org.teavm.cache.EmptyMethodNodeCache;
 import org.teavm.cache.MethodNodeCache;
+import org.teavm.cache.RenderedMethodCache;
 import org.teavm.debugging.information.DebugInformationEmitter;
 import org.teavm.debugging.information.DummyDebugInformationEmitter;
 import org.teavm.debugging.information.SourceLocation;
@@ -110,6 +118,10 @@ import org.teavm.vm.spi.TeaVMHostExtension;
 public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
     private static final NumberFormat STATS_NUM_FORMAT = new DecimalFormat("#,##0");
     private static final NumberFormat STATS_PERCENT_FORMAT = new DecimalFormat("0.000 %");
+    private static final String SPLIT_SCOPE_EXPORT = "$rt_scope";
+    private static final String SPLIT_MODULE_PREFIX = "$rt_module_";
+    private static final long STREAMING_MEMORY_LIMIT = 64L * 1024 * 1024;
+    private static final int STREAMING_SEGMENT_SIZE = 1024 * 1024;
     private static final MethodReference CURRENT_THREAD = new MethodReference(Thread.class,
             "currentThread", Thread.class);
 
@@ -123,6 +135,7 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
     private final List<RendererListener> rendererListeners = new ArrayList<>();
     private DebugInformationEmitter debugEmitter;
     private MethodNodeCache astCache = EmptyMethodNodeCache.INSTANCE;
+    private RenderedMethodCache renderedMethodCache;
     private final Set<MethodReference> asyncMethods = new HashSet<>();
     private List<MethodContributor> customVirtualMethods = new ArrayList<>();
     private List<MethodContributor> forcedFunctionMethods = new ArrayList<>();
@@ -132,8 +145,18 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
     private final Map<String, String> importedModules = new LinkedHashMap<>();
     private JavaScriptTemplateFactory templateFactory;
     private JSModuleType moduleType = JSModuleType.UMD;
+    private JSLongRepresentation longRepresentation = JSLongRepresentation.BIG_INT;
+    private JSCoroutineMode coroutineMode = JSCoroutineMode.STATE_MACHINE;
     private List<ExportedDeclaration> exports = new ArrayList<>();
     private int maxTopLevelNames = 80_000;
+    private int renderingThreads = 1;
+    private final List<String> splitPoints = new ArrayList<>();
+    private boolean streamingOutput;
+    private long streamingMemoryLimit = STREAMING_MEMORY_LIMIT;
+    private boolean lazyMetadata;
+    private boolean sizeReportGenerated;
+    private BundleSizeReport sizeReportBaseline;
+    private int sizeBudget;
 
     @Override
     public List<ClassHolderTransformer> getTransformers() {
@@ -208,6 +231,19 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
         this.astCache = methodAstCache;
     }
 
+    public RenderedMethodCache getRenderedMethodCache() {
+        return renderedMethodCache;
+    }
+
+    /**
+     * Sets cache of rendered method bodies, which allows incremental builds to replay bodies of unchanged
+     * methods instead of rendering them again. Unlike AST cache, rendered bodies are only kept in memory,
+     * so this cache makes sense for long-living processes like development server.
+     */
+    public void setRenderedMethodCache(RenderedMethodCache renderedMethodCache) {
+        this.renderedMethodCache = renderedMethodCache;
+    }
+
     public DebugInformationEmitter getDebugEmitter() {
         return debugEmitter;
     }
@@ -224,6 +260,30 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
         this.moduleType = moduleType;
     }
 
+    public JSLongRepresentation getLongRepresentation() {
+        return longRepresentation;
+    }
+
+    /**
+     * Chooses how Java {@code long} values are represented in generated code.
+     * See {@link JSLongRepresentation} for details. Default is {@link JSLongRepresentation#BIG_INT}.
+     */
+    public void setLongRepresentation(JSLongRepresentation longRepresentation) {
+        this.longRepresentation = longRepresentation;
+    }
+
+    public JSCoroutineMode getCoroutineMode() {
+        return coroutineMode;
+    }
+
+    /**
+     * Chooses how methods that may suspend a thread are compiled.
+     * See {@link JSCoroutineMode} for details. Default is {@link JSCoroutineMode#STATE_MACHINE}.
+     */
+    public void setCoroutineMode(JSCoroutineMode coroutineMode) {
+        this.coroutineMode = coroutineMode;
+    }
+
     @Override
     public VariableCategoryProvider variableCategoryProvider() {
         return new DefaultVariableCategoryProvider();
@@ -237,6 +297,107 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
         this.maxTopLevelNames = maxTopLevelNames;
     }
 
+    public void setRenderingThreads(int renderingThreads) {
+        this.renderingThreads = renderingThreads;
+    }
+
+    /**
+     * <p>Specifies classes which start code that is loaded on demand. Each split point must declare
+     * a {@code public static void main(String[])} method. Classes only reachable from a single split point
+     * are moved to a separate ES2015 module, which exports the split point's main method as {@code main}
+     * and can be loaded with dynamic {@code import()} after the main module. Classes reachable from
+     * several split points stay in the main module.</p>
+     *
+     * <p>Only supported with {@link JSModuleType#ES2015}. When split points are present, all top-level
+     * declarations are placed into a single scope object shared between modules.</p>
+     *
+     * @param splitPoints names of split point classes.
+     */
+    public void setSplitPoints(List<String> splitPoints) {
+        this.splitPoints.clear();
+        this.splitPoints.addAll(splitPoints);
+    }
+
+    public List<String> getSplitPoints() {
+        return List.copyOf(splitPoints);
+    }
+
+    /**
+     * <p>Enables streaming output, which keeps memory consumption of code generation bounded regardless of
+     * the size of the generated code.</p>
+     *
+     * <p>Rendered declarations are moved to a temporary file once they exceed the limit set by
+     * {@link #setStreamingMemoryLimit(long)}. The file is read twice: first to estimate name frequencies,
+     * then to write the output.</p>
+     */
+    public void setStreamingOutput(boolean streamingOutput) {
+        this.streamingOutput = streamingOutput;
+    }
+
+    public boolean isStreamingOutput() {
+        return streamingOutput;
+    }
+
+    /**
+     * Sets how many bytes of rendered declarations streaming output keeps in memory before it moves them to
+     * a temporary file. Default is 64 MiB. Has no effect unless streaming output is enabled.
+     */
+    public void setStreamingMemoryLimit(long streamingMemoryLimit) {
+        this.streamingMemoryLimit = streamingMemoryLimit;
+    }
+
+    public long getStreamingMemoryLimit() {
+        return streamingMemoryLimit;
+    }
+
+    /**
+     * <p>Enables lazy class metadata. At startup only prototype chains and virtual methods are set up.
+     * Name, supertypes, flags and inner class information of each class are decoded when its metadata
+     * is first accessed, for example by {@code getClass()}, {@code instanceof} against an interface or
+     * reflection.</p>
+     */
+    public void setLazyMetadata(boolean lazyMetadata) {
+        this.lazyMetadata = lazyMetadata;
+    }
+
+    public boolean isLazyMetadata() {
+        return lazyMetadata;
+    }
+
+    /**
+     * <p>Enables size report, which tells how many bytes of output belong to each package, class and method,
+     * and why each class is reachable.</p>
+     *
+     * <p>Report is written next to the output, to {@code <output>.size.json} and {@code <output>.size.html}.</p>
+     */
+    public void setSizeReportGenerated(boolean sizeReportGenerated) {
+        this.sizeReportGenerated = sizeReportGenerated;
+    }
+
+    public boolean isSizeReportGenerated() {
+        return sizeReportGenerated;
+    }
+
+    /**
+     * Specifies report of a previous build. When size report is generated, it contains changes
+     * relative to this report.
+     */
+    public void setSizeReportBaseline(BundleSizeReport sizeReportBaseline) {
+        this.sizeReportBaseline = sizeReportBaseline;
+    }
+
+    /**
+     * Specifies maximum size of output in bytes, including chunks loaded on demand. When the output exceeds
+     * the budget, the build reports an error. Zero means no limit.
+     */
+    public void setSizeBudget(int sizeBudget) {
+        this.sizeBudget = sizeBudget;
+    }
+
+    public int getSizeBudget() {
+        return sizeBudget;
+    }
+
     @Override
     public List<TeaVMHostExtension> getHostExtensions() {
         return Collections.singletonList(this);
@@ -308,6 +469,31 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
         });
 
         dependencyAnalyzer.addDependencyListener(new WeakReferenceDependencyListener());
+
+        if (moduleType == JSModuleType.ES2015) {
+            for (var splitPoint : splitPoints) {
+                contributeSplitPoint(dependencyAnalyzer, splitPoint);
+            }
+        }
+    }
+
+    private void contributeSplitPoint(DependencyAnalyzer dependencyAnalyzer, String className) {
+        var cls = dependencyAnalyzer.getClassSource().get(className);
+        if (cls == null) {
+            controller.getDiagnostics().error(null, "Split point class {{c0}} was not found", className);
+            return;
+        }
+        var mainRef = new MethodReference(className, "main", ValueType.parse(String[].class), ValueType.VOID);
+        if (cls.getMethod(mainRef.getDescriptor()) == null) {
+            controller.getDiagnostics().error(null, "Split point class {{c0}} does not declare main method",
+                    className);
+            return;
+        }
+        dependencyAnalyzer.linkClass(className).initClass(null);
+        var mainMethod = dependencyAnalyzer.linkMethod(mainRef);
+        mainMethod.getVariable(1).propagate(dependencyAnalyzer.getType(ValueType.parse(String[].class)));
+        mainMethod.getVariable(1).getArrayItem().propagate(dependencyAnalyzer.getClassType("java.lang.String"));
+        mainMethod.use();
     }
 
     public static void includeStackTraceMethods(DependencyAnalyzer dependencyAnalyzer) {
@@ -335,8 +521,8 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
     @Override
     public void emit(ListableClassHolderSource classes, BuildTarget target, String outputName) {
         try (OutputStream output = target.createResource(outputName);
-                Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8)) {
-            emit(classes, writer, target);
+                Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            emit(classes, writer, target, outputName);
         } catch (IOException e) {
             throw new RenderingException(e);
         }
@@ -360,11 +546,31 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
     public void afterOptimizations(Program program, MethodReader method) {
     }
 
-    private void emit(ListableClassHolderSource classes, Writer writer, BuildTarget target) {
+    private void emit(ListableClassHolderSource classes, Writer writer, BuildTarget target, String outputName) {
+        try (var declarations = new SourceSpool(streamingOutput ? streamingMemoryLimit : Long.MAX_VALUE)) {
+            emit(classes, writer, target, outputName, declarations);
+        }
+    }
+
+    private void emit(ListableClassHolderSource classes, Writer writer, BuildTarget target, String outputName,
+            SourceSpool declarations) {
+        var splitting = !splitPoints.isEmpty();
+        if (splitting && moduleType != JSModuleType.ES2015) {
+            controller.getDiagnostics().warning(null, "Split points are only supported with ES2015 modules, "
+                    + "generating single module");
+            splitting = false;
+        }
+
+        // When splitting, the scope object is the only top-level name, so that other modules
+        // can reach every declaration through it
+        var topLevelNames = splitting ? 1 : maxTopLevelNames;
         var aliasProvider = obfuscated
-                ? new MinifyingAliasProvider(maxTopLevelNames)
-                : new DefaultAliasProvider(maxTopLevelNames);
+                ? new MinifyingAliasProvider(topLevelNames)
+                : new DefaultAliasProvider(topLevelNames);
         DefaultNamingStrategy naming = new DefaultNamingStrategy(aliasProvider, controller.getUnprocessedClassSource());
+        if (splitting) {
+            naming.additionalScopeName();
+        }
         DebugInformationEmitter debugEmitterToUse = debugEmitter;
         if (debugEmitterToUse == null) {
             debugEmitterToUse = new DummyDebugInformationEmitter();
@@ -385,6 +591,9 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
             }
         };
         renderingContext.setMinifying(obfuscated);
+        renderingContext.setLongRepresentation(longRepresentation);
+        renderingContext.setCoroutineMode(coroutineMode);
+        renderingContext.setLazyMetadata(lazyMetadata);
 
         if (controller.wasCancelled()) {
             return;
@@ -409,18 +618,29 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
                 controller.getEntryPoint());
         renderer.setProperties(controller.getProperties());
         renderer.setProgressConsumer(controller::reportProgress);
+        renderer.setRenderingThreads(renderingThreads);
+        renderer.setFragmentCache(renderedMethodCache);
 
         for (var listener : rendererListeners) {
             listener.begin(renderer, target);
         }
-        if (!renderer.render(classes, controller.isFriendlyToDebugger())) {
+        if (streamingOutput) {
+            rememberingWriter.spoolTo(declarations, (int) Math.min(STREAMING_SEGMENT_SIZE, streamingMemoryLimit));
+        }
+        var rendered = splitting
+                ? renderer.renderClasses(classes, controller.isFriendlyToDebugger())
+                : renderer.render(classes, controller.isFriendlyToDebugger());
+        if (!rendered) {
             return;
         }
-        var declarations = rememberingWriter.save();
+        rememberingWriter.spoolTo(null, 0);
+        declarations.add(rememberingWriter.save());
         rememberingWriter.clear();
 
         renderer.renderStringPool();
-        renderer.renderStringConstants();
+        if (!splitting) {
+            renderer.renderStringConstants();
+        }
         renderer.renderCompatibilityStubs();
 
         var alias = "$rt_export_main";
@@ -443,10 +663,22 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
         var epilogue = rememberingWriter.save();
         rememberingWriter.clear();
 
+        var splitEntries = new ArrayList<RememberedSource>();
+        if (splitting) {
+            for (var splitPoint : splitPoints) {
+                renderSplitEntry(rememberingWriter, classes, splitPoint);
+                splitEntries.add(rememberingWriter.save());
+                rememberingWriter.clear();
+            }
+        }
+
         var runtimeRenderer = new RuntimeRenderer(classes, rememberingWriter, controller.getClassInitializerInfo());
-        runtimeRenderer.prepareAstParts(renderer.isThreadLibraryUsed());
+        runtimeRenderer.prepareAstParts(renderer.isThreadLibraryUsed(), longRepresentation);
         declarations.replay(runtimeRenderer.sink, RememberedSource.FILTER_REF);
         epilogue.replay(runtimeRenderer.sink, RememberedSource.FILTER_REF);
+        for (var splitEntry : splitEntries) {
+            splitEntry.replay(runtimeRenderer.sink, RememberedSource.FILTER_REF);
+        }
         runtimeRenderer.removeUnusedParts();
         runtimeRenderer.renderRuntime();
         var runtime = rememberingWriter.save();
@@ -455,6 +687,47 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
         var runtimeEpilogue = rememberingWriter.save();
         rememberingWriter.clear();
 
+        ChunkPartitioner partitioner = null;
+        RememberedSource mainMetadata = null;
+        RememberedSource mainConstants = null;
+        var chunks = new ArrayList<RememberedSource>();
+        if (splitting) {
+            partitioner = new ChunkPartitioner(classes);
+            declarations.replay(partitioner, RememberedSource.FILTER_REF | RememberedSource.FILTER_STATS);
+            epilogue.replay(partitioner, RememberedSource.FILTER_REF);
+            runtime.replay(partitioner, RememberedSource.FILTER_REF);
+            runtimeEpilogue.replay(partitioner, RememberedSource.FILTER_REF);
+            for (var export : exports) {
+                export.name.accept(rememberingWriter);
+            }
+            rememberingWriter.save().replay(partitioner, RememberedSource.FILTER_REF);
+            rememberingWriter.clear();
+            partitioner.addRoot(controller.getEntryPoint());
+            partitioner.partition(splitPoints);
+
+            var corePartitioner = partitioner;
+            renderer.renderClassMetadata(corePartitioner::isInMainChunk);
+            mainMetadata = rememberingWriter.save();
+            rememberingWriter.clear();
+            renderer.renderStringConstants(corePartitioner::isInMainChunk);
+            mainConstants = rememberingWriter.save();
+            rememberingWriter.clear();
+
+            for (var i = 0; i < splitPoints.size(); ++i) {
+                var chunkIndex = i;
+                if (partitioner.isInMainChunk(splitPoints.get(i))) {
+                    controller.getDiagnostics().warning(null, "Split point {{c0}} is used by the main module, "
+                            + "keeping it there", splitPoints.get(i));
+                    chunks.add(null);
+                    continue;
+                }
+                renderer.renderClassMetadata(className -> corePartitioner.getChunk(className) == chunkIndex);
+                renderer.renderStringConstants(className -> corePartitioner.getChunk(className) == chunkIndex);
+                chunks.add(rememberingWriter.save());
+                rememberingWriter.clear();
+            }
+        }
+
         naming.additionalScopeName();
         naming.functionName("$rt_exports");
         for (var module : importedModules.values()) {
@@ -468,27 +741,149 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
         runtimeEpilogue.replay(frequencyEstimator, RememberedSource.FILTER_REF);
         declarations.replay(frequencyEstimator, RememberedSource.FILTER_REF);
         epilogue.replay(frequencyEstimator, RememberedSource.FILTER_REF);
+        if (splitting) {
+            mainMetadata.replay(frequencyEstimator, RememberedSource.FILTER_REF);
+            mainConstants.replay(frequencyEstimator, RememberedSource.FILTER_REF);
+        }
+        for (var i = 0; i < chunks.size(); ++i) {
+            if (chunks.get(i) != null) {
+                chunks.get(i).replay(frequencyEstimator, RememberedSource.FILTER_REF);
+                splitEntries.get(i).replay(frequencyEstimator, RememberedSource.FILTER_REF);
+            }
+        }
         frequencyEstimator.apply(naming);
 
         var sourceWriter = builder.build(writer);
         sourceWriter.setDebugInformationEmitter(debugEmitterToUse);
-        printWrapperStart(sourceWriter);
-        if (frequencyEstimator.hasAdditionalScope()) {
+        if (splitting) {
+            sourceWriter.append("\"use strict\";").newLine();
+            printSplitModuleStart(sourceWriter);
+        } else {
+            printWrapperStart(sourceWriter);
+        }
+        if (frequencyEstimator.hasAdditionalScope() || splitting) {
             sourceWriter.append("let ").append(naming.additionalScopeName()).ws().append('=').ws()
                     .append("{};").softNewLine();
         }
+        if (splitting) {
+            printSplitModuleImports(sourceWriter);
+        }
 
         int start = sourceWriter.getOffset();
         runtime.write(sourceWriter, 0);
-        declarations.write(sourceWriter, 0);
+        if (splitting) {
+            declarations.replay(new ClassFilteringSink(sourceWriter, partitioner::isInMainChunk, true),
+                    RememberedSource.FILTER_ALL);
+            mainMetadata.write(sourceWriter, 0);
+        } else {
+            declarations.write(sourceWriter, 0);
+        }
         runtimeEpilogue.write(sourceWriter, 0);
         epilogue.write(sourceWriter, 0);
+        if (splitting) {
+            mainConstants.write(sourceWriter, 0);
+        }
 
-        printModuleEnd(sourceWriter);
+        if (splitting) {
+            printSplitModuleEnd(sourceWriter, naming);
+        } else {
+            printModuleEnd(sourceWriter);
+        }
         sourceWriter.finish();
 
         int totalSize = sourceWriter.getOffset() - start;
         printStats(sourceWriter, totalSize);
+
+        var writers = new ArrayList<OutputSourceWriter>();
+        writers.add(sourceWriter);
+        for (var i = 0; i < chunks.size(); ++i) {
+            if (chunks.get(i) != null) {
+                var chunkWriter = emitChunk(builder, naming, target, outputName, i, partitioner, declarations,
+                        chunks.get(i), splitEntries.get(i));
+                totalSize += chunkWriter.getOffset();
+                writers.add(chunkWriter);
+            }
+        }
+        checkSizeBudget(totalSize);
+        if (sizeReportGenerated) {
+            emitSizeReport(target, outputName, writers, totalSize);
+        }
+    }
+
+    private void renderSplitEntry(SourceWriter writer, ListableClassHolderSource classes, String splitPoint) {
+        var ref = new MethodReference(splitPoint, "main", ValueType.parse(String[].class), ValueType.VOID);
+        if (classes.resolve(ref) == null) {
+            return;
+        }
+        writer.append("export const main").ws().append("=").ws().appendFunction("$rt_mainStarter")
+                .append("(").appendMethod(ref).append(");").softNewLine();
+    }
+
+    private OutputSourceWriter emitChunk(OutputSourceWriterBuilder builder, NamingStrategy naming, BuildTarget target,
+            String outputName, int chunkIndex, ChunkPartitioner partitioner, SourceSpool declarations,
+            RememberedSource chunk, RememberedSource splitEntry) {
+        var chunkName = getChunkName(outputName, splitPoints.get(chunkIndex));
+        try (OutputStream output = target.createResource(chunkName);
+                Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            var sourceWriter = builder.build(writer);
+            sourceWriter.setDebugInformationEmitter(new DummyDebugInformationEmitter());
+            sourceWriter.append("\"use strict\";").newLine();
+            sourceWriter.append("import").ws().append("{").ws().append(SPLIT_SCOPE_EXPORT).append(" as ")
+                    .append(naming.additionalScopeName()).ws().append("}").append(" from").ws()
+                    .append("\"./").append(RenderingUtil.escapeString(getFileName(outputName)))
+                    .append("\";").softNewLine();
+            declarations.replay(new ClassFilteringSink(sourceWriter,
+                    className -> partitioner.getChunk(className) == chunkIndex, false),
+                    RememberedSource.FILTER_ALL);
+            chunk.write(sourceWriter, 0);
+            splitEntry.write(sourceWriter, 0);
+            sourceWriter.finish();
+            return sourceWriter;
+        } catch (IOException e) {
+            throw new RenderingException(e);
+        }
+    }
+
+    private static String getChunkName(String outputName, String splitPoint) {
+        var baseName = outputName;
+        var extension = "";
+        var dotIndex = outputName.lastIndexOf('.');
+        if (dotIndex > outputName.lastIndexOf('/')) {
+            baseName = outputName.substring(0, dotIndex);
+            extension = outputName.substring(dotIndex);
+        }
+        return baseName + "-" + splitPoint + extension;
+    }
+
+    private static String getFileName(String outputName) {
+        return outputName.substring(outputName.lastIndexOf('/') + 1);
+    }
+
+    private void printSplitModuleStart(SourceWriter writer) {
+        var index = 0;
+        for (var moduleName : importedModules.keySet()) {
+            writer.append("import").ws().append("*").ws().append("as ").append(SPLIT_MODULE_PREFIX + index++)
+                    .append(" from").ws().append("\"")
+                    .append(RenderingUtil.escapeString(moduleName)).append("\";").softNewLine();
+        }
+    }
+
+    private void printSplitModuleImports(SourceWriter writer) {
+        var index = 0;
+        for (var alias : importedModules.values()) {
+            writer.appendFunction(alias).ws().append("=").ws().append(SPLIT_MODULE_PREFIX + index++)
+                    .append(";").softNewLine();
+        }
+    }
+
+    private void printSplitModuleEnd(SourceWriter writer, NamingStrategy naming) {
+        writer.append("export").ws().append("{").ws().append(naming.additionalScopeName())
+                .append(" as ").append(SPLIT_SCOPE_EXPORT).ws().append("};").softNewLine();
+        for (var export : exports) {
+            writer.append("export const ").append(export.alias).ws().append("=").ws();
+            export.name.accept(writer);
+            writer.append(";").softNewLine();
+        }
     }
 
     private void printWrapperStart(SourceWriter writer) {
@@ -681,6 +1076,78 @@ public class JavaScriptTarget implements TeaVMTarget, TeaVMJavaScriptHost {
         }
     }
 
+    private void checkSizeBudget(int totalSize) {
+        if (sizeBudget > 0 && totalSize > sizeBudget) {
+            controller.getDiagnostics().error(null, "JavaScript output takes " + totalSize
+                    + " bytes, which exceeds size budget of " + sizeBudget + " bytes");
+        }
+    }
+
+    private void emitSizeReport(BuildTarget target, String outputName, List<OutputSourceWriter> writers,
+            int totalSize) {
+        var report = new BundleSizeReport();
+        report.setTotalSize(totalSize);
+        var metadataSize = 0;
+        var stringPoolSize = 0;
+        for (var writer : writers) {
+            metadataSize += writer.getSectionSize(Renderer.SECTION_METADATA);
+            stringPoolSize += writer.getSectionSize(Renderer.SECTION_STRING_POOL);
+            for (var className : writer.getClassesInStats()) {
+                report.addClass(className).addSize(writer.getClassSize(className));
+            }
+            for (var method : writer.getMethodsInStats()) {
+                report.addClass(method.getClassName()).addMethodSize(method.getDescriptor().toString(),
+                        writer.getMethodSize(method));
+            }
+        }
+        report.setMetadataSize(metadataSize);
+        report.setStringPoolSize(stringPoolSize);
+
+        var dependencyInfo = controller.getDependencyInfo();
+        var callGraph = dependencyInfo.getCallGraph();
+        var roots = new ArrayList<MethodReference>();
+        roots.add(new MethodReference(controller.getEntryPoint(), "main", ValueType.parse(String[].class),
+                ValueType.VOID));
+        for (var method : dependencyInfo.getReachableMethods()) {
+            var node = callGraph.getNode(method);
+            if (node == null || node.getCallerCallSites().isEmpty()) {
+                roots.add(method);
+            }
+        }
+        var chains = new ReachabilityChains(callGraph, roots);
+        var closestMethods = new HashMap<String, MethodReference>();
+        for (var method : dependencyInfo.getReachableMethods()) {
+            if (!chains.isReached(method)) {
+                continue;
+            }
+            var closest = closestMethods.get(method.getClassName());
+            if (closest == null || chains.getDepth(method) < chains.getDepth(closest)) {
+                closestMethods.put(method.getClassName(), method);
+            }
+        }
+        for (var cls : report.getClasses()) {
+            var method = closestMethods.get(cls.getName());
+            if (method != null) {
+                for (var step : chains.getChain(method)) {
+                    cls.getReason().add(step.toString());
+                }
+            }
+        }
+
+        try (var writer = new BufferedWriter(new OutputStreamWriter(
+                target.createResource(outputName + ".size.json"), StandardCharsets.UTF_8))) {
+            report.writeJson(writer, sizeReportBaseline);
+        } catch (IOException e) {
+            throw new RenderingException(e);
+        }
+        try (var writer = new BufferedWriter(new OutputStreamWriter(
+                target.createResource(outputName + ".size.html"), StandardCharsets.UTF_8))) {
+            report.writeHtml(writer, sizeReportBaseline);
+        } catch (IOException e) {
+            throw new RenderingException(e);
+        }
+    }
+
     private String getSizeWithPercentage(int size, int totalSize) {
         return STATS_NUM_FORMAT.format(size) + " (" + STATS_PERCENT_FORMAT.format((double) size / totalSize) + ")";
     }
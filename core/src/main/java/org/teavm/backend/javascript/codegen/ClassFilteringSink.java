@@ -0,0 +1,314 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript.codegen;
+
+import java.util.function.Predicate;
+import org.teavm.model.FieldReference;
+import org.teavm.model.MethodDescriptor;
+import org.teavm.model.MethodReference;
+
+/**
+ * Forwards only those parts of the source that belong to classes accepted by the filter. Classes are delimited
+ * by {@link #markClassStart(String)} and {@link #markClassEnd()}.
+ */
+public class ClassFilteringSink implements SourceWriterSink {
+    private final SourceWriterSink target;
+    private final Predicate<String> classFilter;
+    private final boolean acceptsOutsideClasses;
+    private boolean enabled;
+
+    public ClassFilteringSink(SourceWriterSink target, Predicate<String> classFilter,
+            boolean acceptsOutsideClasses) {
+        this.target = target;
+        this.classFilter = classFilter;
+        this.acceptsOutsideClasses = acceptsOutsideClasses;
+        enabled = acceptsOutsideClasses;
+    }
+
+    @Override
+    public SourceWriterSink append(CharSequence csq, int start, int end) {
+        if (enabled) {
+            target.append(csq, start, end);
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendClass(String cls) {
+        if (enabled) {
+            target.appendClass(cls);
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendField(FieldReference field) {
+        if (enabled) {
+            target.appendField(field);
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendStaticField(FieldReference field) {
+        if (enabled) {
+            target.appendStaticField(field);
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendVirtualMethod(MethodDescriptor method) {
+        if (enabled) {
+            target.appendVirtualMethod(method);
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendMethod(MethodReference method) {
+        if (enabled) {
+            target.appendMethod(method);
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink startVariableDeclaration() {
+        if (enabled) {
+            target.startVariableDeclaration();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink startFunctionDeclaration() {
+        if (enabled) {
+            target.startFunctionDeclaration();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink endDeclaration() {
+        if (enabled) {
+            target.endDeclaration();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink declareVariable() {
+        if (enabled) {
+            target.declareVariable();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendFunction(String name) {
+        if (enabled) {
+            target.appendFunction(name);
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendGlobal(String name) {
+        if (enabled) {
+            target.appendGlobal(name);
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendInit(MethodReference method) {
+        if (enabled) {
+            target.appendInit(method);
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendClassInit(String className) {
+        if (enabled) {
+            target.appendClassInit(className);
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendStringIndex(int index) {
+        if (enabled) {
+            target.appendStringIndex(index);
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink newLine() {
+        if (enabled) {
+            target.newLine();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink ws() {
+        if (enabled) {
+            target.ws();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink sameLineWs() {
+        if (enabled) {
+            target.sameLineWs();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink tokenBoundary() {
+        if (enabled) {
+            target.tokenBoundary();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink softNewLine() {
+        if (enabled) {
+            target.softNewLine();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink indent() {
+        if (enabled) {
+            target.indent();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink outdent() {
+        if (enabled) {
+            target.outdent();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink emitLocation(String fileName, int line) {
+        if (enabled) {
+            target.emitLocation(fileName, line);
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink enterLocation() {
+        if (enabled) {
+            target.enterLocation();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink exitLocation() {
+        if (enabled) {
+            target.exitLocation();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink emitStatementStart() {
+        if (enabled) {
+            target.emitStatementStart();
+        }
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink emitVariables(String[] names, String jsName) {
+        if (enabled) {
+            target.emitVariables(names, jsName);
+        }
+        return this;
+    }
+
+    @Override
+    public void emitMethod(MethodDescriptor method) {
+        if (enabled) {
+            target.emitMethod(method);
+        }
+    }
+
+    @Override
+    public void emitClass(String className) {
+        if (enabled) {
+            target.emitClass(className);
+        }
+    }
+
+    @Override
+    public void markClassStart(String className) {
+        enabled = classFilter.test(className);
+        if (enabled) {
+            target.markClassStart(className);
+        }
+    }
+
+    @Override
+    public void markClassEnd() {
+        if (enabled) {
+            target.markClassEnd();
+        }
+        enabled = acceptsOutsideClasses;
+    }
+
+    @Override
+    public void markMethodStart(MethodDescriptor method) {
+        if (enabled) {
+            target.markMethodStart(method);
+        }
+    }
+
+    @Override
+    public void markMethodEnd() {
+        if (enabled) {
+            target.markMethodEnd();
+        }
+    }
+
+    @Override
+    public void markSectionStart(int id) {
+        if (enabled) {
+            target.markSectionStart(id);
+        }
+    }
+
+    @Override
+    public void markSectionEnd() {
+        if (enabled) {
+            target.markSectionEnd();
+        }
+    }
+}
@@ -20,5 +20,8 @@ public interface LocationProvider {
 
     int getColumn();
 
+    /**
+     * Number of bytes written so far, as they are going to be stored in UTF-8.
+     */
     int getOffset();
 }
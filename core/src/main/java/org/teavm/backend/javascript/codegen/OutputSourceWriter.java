@@ -43,6 +43,9 @@ public class OutputSourceWriter extends SourceWriter implements LocationProvider
     private String classMarkClass;
     private int classMarkPos;
     private ObjectIntMap<String> classSizes = new ObjectIntHashMap<>();
+    private MethodReference methodMark;
+    private int methodMarkPos;
+    private ObjectIntMap<MethodReference> methodSizes = new ObjectIntHashMap<>();
     private int sectionMarkSection = -1;
     private int sectionMarkPos;
     private IntIntMap sectionSizes = new IntIntHashMap();
@@ -81,6 +84,7 @@ public class OutputSourceWriter extends SourceWriter implements LocationProvider
             try {
                 innerWriter.append(";\n");
                 column = 0;
+                offset += 2;
                 line++;
                 lineStart = true;
             } catch (IOException e) {
@@ -102,7 +106,7 @@ public class OutputSourceWriter extends SourceWriter implements LocationProvider
             newLine();
         } else {
             column++;
-            offset++;
+            offset += utf8Length(value);
         }
         return this;
     }
@@ -128,7 +132,9 @@ public class OutputSourceWriter extends SourceWriter implements LocationProvider
         finishLetImplicitly();
         appendIndent();
         column += end - start;
-        offset += end - start;
+        for (var i = start; i < end; ++i) {
+            offset += utf8Length(csq.charAt(i));
+        }
         try {
             innerWriter.append(csq, start, end);
         } catch (IOException e) {
@@ -287,6 +293,17 @@ public class OutputSourceWriter extends SourceWriter implements LocationProvider
         return this;
     }
 
+    private static int utf8Length(char c) {
+        if (c < 0x80) {
+            return 1;
+        } else if (c < 0x800 || Character.isSurrogate(c)) {
+            // Each half of a surrogate pair takes two of the four bytes of the encoded code point
+            return 2;
+        } else {
+            return 3;
+        }
+    }
+
     private void appendIndent() {
         if (minified) {
             return;
@@ -427,6 +444,26 @@ public class OutputSourceWriter extends SourceWriter implements LocationProvider
         debugInformationEmitter.emitMethod(method);
     }
 
+    @Override
+    public void markMethodStart(MethodDescriptor method) {
+        markMethodEnd();
+        if (classMarkClass != null) {
+            methodMark = new MethodReference(classMarkClass, method);
+            methodMarkPos = offset;
+        }
+    }
+
+    @Override
+    public void markMethodEnd() {
+        if (methodMark != null) {
+            var size = offset - methodMarkPos;
+            if (size > 0) {
+                methodSizes.put(methodMark, methodSizes.get(methodMark) + size);
+            }
+            methodMark = null;
+        }
+    }
+
     @Override
     public void emitClass(String className) {
         debugInformationEmitter.emitClass(className);
@@ -455,6 +492,7 @@ public class OutputSourceWriter extends SourceWriter implements LocationProvider
 
     @Override
     public void markClassEnd() {
+        markMethodEnd();
         if (classMarkClass != null) {
             var size = offset - classMarkPos;
             if (size > 0) {
@@ -495,6 +533,21 @@ public class OutputSourceWriter extends SourceWriter implements LocationProvider
         return classSizes.get(className);
     }
 
+    /**
+     * Lists methods which bodies were written inside class marks.
+     */
+    public Collection<MethodReference> getMethodsInStats() {
+        var result = new ArrayList<MethodReference>();
+        for (var cursor : methodSizes.keys()) {
+            result.add(cursor.value);
+        }
+        return result;
+    }
+
+    public int getMethodSize(MethodReference method) {
+        return methodSizes.get(method);
+    }
+
     public int getSectionSize(int sectionId) {
         return sectionSizes.get(sectionId);
     }
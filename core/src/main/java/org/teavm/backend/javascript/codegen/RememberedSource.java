@@ -15,6 +15,11 @@
  */
 package org.teavm.backend.javascript.codegen;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
 import org.teavm.backend.javascript.templating.SourceFragment;
 import org.teavm.model.FieldReference;
 import org.teavm.model.MethodDescriptor;
@@ -128,6 +133,13 @@ public class RememberedSource implements SourceFragment {
                     intArgIndex++;
                     break;
 
+                case RememberingSourceWriter.STRING_INDEX:
+                    if ((filter & FILTER_TEXT) != 0) {
+                        sink.appendStringIndex(intArgs[intArgIndex]);
+                    }
+                    intArgIndex++;
+                    break;
+
                 case RememberingSourceWriter.NEW_LINE:
                     if ((filter & FILTER_TEXT) != 0) {
                         sink.newLine();
@@ -261,6 +273,19 @@ public class RememberedSource implements SourceFragment {
                     }
                     break;
 
+                case RememberingSourceWriter.MARK_METHOD_START:
+                    if ((filter & FILTER_STATS) != 0) {
+                        sink.markMethodStart(methodDescriptors[intArgs[intArgIndex]]);
+                    }
+                    intArgIndex++;
+                    break;
+
+                case RememberingSourceWriter.MARK_METHOD_END:
+                    if ((filter & FILTER_STATS) != 0) {
+                        sink.markMethodEnd();
+                    }
+                    break;
+
                 case RememberingSourceWriter.MARK_SECTION_START:
                     if ((filter & FILTER_STATS) != 0) {
                         sink.markSectionStart(intArgs[intArgIndex]);
@@ -277,6 +302,173 @@ public class RememberedSource implements SourceFragment {
         }
     }
 
+    /**
+     * Creates copy of this source where indexes of string constants are replaced according to the given mapping.
+     * This allows to replay source against string pool different from the one it was rendered with.
+     */
+    public RememberedSource mapStringIndexes(IntUnaryOperator mapping) {
+        var newIntArgs = intArgs.clone();
+        forEachStringIndexArg(position -> newIntArgs[position] = mapping.applyAsInt(intArgs[position]));
+        return new RememberedSource(commands, chars, newIntArgs, strings, fields, methodDescriptors, methods);
+    }
+
+    /**
+     * Roughly estimates number of bytes occupied by this source in memory.
+     */
+    public int estimateSize() {
+        var size = commands.length + chars.length() * 2 + intArgs.length * 4;
+        size += (strings != null ? strings.length : 0) * 8;
+        size += (fields != null ? fields.length : 0) * 8;
+        size += (methodDescriptors != null ? methodDescriptors.length : 0) * 8;
+        size += (methods != null ? methods.length : 0) * 8;
+        return size;
+    }
+
+    void writeTo(DataOutput output) throws IOException {
+        output.writeInt(commands.length);
+        output.write(commands);
+        writeString(output, chars);
+        output.writeInt(intArgs.length);
+        for (var arg : intArgs) {
+            output.writeInt(arg);
+        }
+        writeStrings(output, strings);
+        if (fields != null) {
+            output.writeInt(fields.length);
+            for (var field : fields) {
+                writeString(output, field.getClassName());
+                writeString(output, field.getFieldName());
+            }
+        } else {
+            output.writeInt(-1);
+        }
+        if (methodDescriptors != null) {
+            output.writeInt(methodDescriptors.length);
+            for (var descriptor : methodDescriptors) {
+                writeString(output, descriptor.toString());
+            }
+        } else {
+            output.writeInt(-1);
+        }
+        if (methods != null) {
+            output.writeInt(methods.length);
+            for (var method : methods) {
+                writeString(output, method.getClassName());
+                writeString(output, method.getDescriptor().toString());
+            }
+        } else {
+            output.writeInt(-1);
+        }
+    }
+
+    static RememberedSource readFrom(DataInput input) throws IOException {
+        var commands = new byte[input.readInt()];
+        input.readFully(commands);
+        var chars = readString(input);
+        var intArgs = new int[input.readInt()];
+        for (var i = 0; i < intArgs.length; ++i) {
+            intArgs[i] = input.readInt();
+        }
+        var strings = readStrings(input);
+        FieldReference[] fields = null;
+        var count = input.readInt();
+        if (count >= 0) {
+            fields = new FieldReference[count];
+            for (var i = 0; i < count; ++i) {
+                fields[i] = new FieldReference(readString(input), readString(input));
+            }
+        }
+        MethodDescriptor[] methodDescriptors = null;
+        count = input.readInt();
+        if (count >= 0) {
+            methodDescriptors = new MethodDescriptor[count];
+            for (var i = 0; i < count; ++i) {
+                methodDescriptors[i] = MethodDescriptor.parse(readString(input));
+            }
+        }
+        MethodReference[] methods = null;
+        count = input.readInt();
+        if (count >= 0) {
+            methods = new MethodReference[count];
+            for (var i = 0; i < count; ++i) {
+                methods[i] = new MethodReference(readString(input), MethodDescriptor.parse(readString(input)));
+            }
+        }
+        return new RememberedSource(commands, chars, intArgs, strings, fields, methodDescriptors, methods);
+    }
+
+    private static void writeStrings(DataOutput output, String[] strings) throws IOException {
+        if (strings == null) {
+            output.writeInt(-1);
+            return;
+        }
+        output.writeInt(strings.length);
+        for (var string : strings) {
+            writeString(output, string);
+        }
+    }
+
+    private static String[] readStrings(DataInput input) throws IOException {
+        var count = input.readInt();
+        if (count < 0) {
+            return null;
+        }
+        var strings = new String[count];
+        for (var i = 0; i < count; ++i) {
+            strings[i] = readString(input);
+        }
+        return strings;
+    }
+
+    private static void writeString(DataOutput output, String string) throws IOException {
+        output.writeInt(string.length());
+        output.writeChars(string);
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        var chars = new char[input.readInt()];
+        for (var i = 0; i < chars.length; ++i) {
+            chars[i] = input.readChar();
+        }
+        return new String(chars);
+    }
+
+    private void forEachStringIndexArg(IntConsumer consumer) {
+        var intArgIndex = 0;
+        for (var command : commands) {
+            if ((command & 128) != 0) {
+                continue;
+            }
+            switch (command) {
+                case RememberingSourceWriter.STRING_INDEX:
+                    consumer.accept(intArgIndex++);
+                    break;
+                case RememberingSourceWriter.CLASS:
+                case RememberingSourceWriter.FIELD:
+                case RememberingSourceWriter.STATIC_FIELD:
+                case RememberingSourceWriter.METHOD:
+                case RememberingSourceWriter.METHOD_BODY:
+                case RememberingSourceWriter.FUNCTION:
+                case RememberingSourceWriter.GLOBAL:
+                case RememberingSourceWriter.INIT:
+                case RememberingSourceWriter.CLASS_INIT:
+                case RememberingSourceWriter.EMIT_CLASS:
+                case RememberingSourceWriter.EMIT_METHOD:
+                case RememberingSourceWriter.MARK_CLASS_START:
+                case RememberingSourceWriter.MARK_METHOD_START:
+                case RememberingSourceWriter.MARK_SECTION_START:
+                    intArgIndex++;
+                    break;
+                case RememberingSourceWriter.EMIT_LOCATION:
+                    intArgIndex += 2;
+                    break;
+                case RememberingSourceWriter.EMIT_VARIABLES:
+                    intArgIndex += intArgs[intArgIndex] + 2;
+                    break;
+            }
+        }
+    }
+
     @Override
     public void write(SourceWriter writer, int precedence) {
         replay(writer, FILTER_ALL);
@@ -21,6 +21,7 @@ import com.carrotsearch.hppc.ObjectIntHashMap;
 import com.carrotsearch.hppc.ObjectIntMap;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ToIntFunction;
 import org.teavm.model.FieldReference;
 import org.teavm.model.MethodDescriptor;
 import org.teavm.model.MethodReference;
@@ -57,6 +58,9 @@ public class RememberingSourceWriter extends SourceWriter {
     static final byte MARK_CLASS_END = 23;
     static final byte MARK_SECTION_START = 24;
     static final byte MARK_SECTION_END = 25;
+    static final byte MARK_METHOD_START = 32;
+    static final byte MARK_METHOD_END = 33;
+    static final byte STRING_INDEX = 31;
 
     private boolean debug;
 
@@ -77,12 +81,48 @@ public class RememberingSourceWriter extends SourceWriter {
     private List<MethodReference> methods = new ArrayList<>();
     private ObjectIntMap<MethodReference> methodIndexes = new ObjectIntHashMap<>();
 
+    private List<String> localStrings;
+    private ObjectIntMap<String> localStringIndexes;
+
     private boolean isInDeclaration;
 
+    private SourceSpool spool;
+    private int spoolSegmentSize;
+
     public RememberingSourceWriter(boolean debug) {
         this.debug = debug;
     }
 
+    public boolean isDebug() {
+        return debug;
+    }
+
+    /**
+     * Makes writer move remembered source to the given spool at the end of a class section, once the source
+     * becomes larger than the given number of characters and commands. Pass {@code null} to stop spooling.
+     */
+    public void spoolTo(SourceSpool spool, int segmentSize) {
+        this.spool = spool;
+        spoolSegmentSize = segmentSize;
+    }
+
+    /**
+     * Makes writer assign its own indexes to string constants instead of taking them from the string pool,
+     * so that rendering a fragment does not register strings in the pool. Strings are available via
+     * {@link #getLocalStrings()} and the saved source should be mapped to the actual string pool with
+     * {@link RememberedSource#mapStringIndexes(java.util.function.IntUnaryOperator)} before it gets replayed.
+     */
+    public void useLocalStrings() {
+        if (localStrings == null) {
+            localStrings = new ArrayList<>();
+            localStringIndexes = new ObjectIntHashMap<>();
+        }
+    }
+
+    public String[] getLocalStrings() {
+        return localStrings != null ? localStrings.toArray(new String[0]) : new String[0];
+    }
+
     public void clear() {
         sb.setLength(0);
         lastWrittenChar = 0;
@@ -96,6 +136,10 @@ public class RememberingSourceWriter extends SourceWriter {
         methodDescriptorIndexes.clear();
         methods.clear();
         methodIndexes.clear();
+        if (localStrings != null) {
+            localStrings.clear();
+            localStringIndexes.clear();
+        }
     }
 
     @Override
@@ -182,6 +226,28 @@ public class RememberingSourceWriter extends SourceWriter {
         return this;
     }
 
+    @Override
+    public SourceWriter appendStringIndex(int index) {
+        flush();
+        commands.add(STRING_INDEX);
+        intArgs.add(index);
+        return this;
+    }
+
+    @Override
+    public SourceWriter appendStringConstant(String value, ToIntFunction<String> stringPool) {
+        if (localStrings == null) {
+            return super.appendStringConstant(value, stringPool);
+        }
+        var index = localStringIndexes.getOrDefault(value, -1);
+        if (index < 0) {
+            index = localStrings.size();
+            localStringIndexes.put(value, index);
+            localStrings.add(value);
+        }
+        return appendStringIndex(index);
+    }
+
     @Override
     public SourceWriter newLine() {
         flush();
@@ -369,6 +435,23 @@ public class RememberingSourceWriter extends SourceWriter {
     public void markClassEnd() {
         flush();
         commands.add(MARK_CLASS_END);
+        if (spool != null && sb.length() + commands.size() >= spoolSegmentSize) {
+            spool.add(save());
+            clear();
+        }
+    }
+
+    @Override
+    public void markMethodStart(MethodDescriptor method) {
+        flush();
+        commands.add(MARK_METHOD_START);
+        appendMethodDescriptorArg(method);
+    }
+
+    @Override
+    public void markMethodEnd() {
+        flush();
+        commands.add(MARK_METHOD_END);
     }
 
     @Override
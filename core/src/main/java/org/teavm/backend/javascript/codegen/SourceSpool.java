@@ -0,0 +1,112 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript.codegen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.teavm.backend.javascript.templating.SourceFragment;
+
+/**
+ * Sequence of remembered sources which is kept in memory until its size exceeds the given limit.
+ * After that, all sources are written to a temporary file and read back on each replay,
+ * so memory consumption does not depend on the size of the generated code.
+ */
+public class SourceSpool implements SourceFragment, AutoCloseable {
+    private final long memoryLimit;
+    private List<RememberedSource> sources = new ArrayList<>();
+    private long memorySize;
+    private File file;
+    private DataOutputStream output;
+    private int spilledCount;
+
+    public SourceSpool(long memoryLimit) {
+        this.memoryLimit = memoryLimit;
+    }
+
+    public void add(RememberedSource source) {
+        if (file == null) {
+            var size = source.estimateSize();
+            if (memorySize + size <= memoryLimit) {
+                sources.add(source);
+                memorySize += size;
+                return;
+            }
+        }
+        try {
+            if (file == null) {
+                file = File.createTempFile("teavm-js", ".spool");
+                output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+                for (var inMemorySource : sources) {
+                    inMemorySource.writeTo(output);
+                }
+                spilledCount = sources.size();
+                sources.clear();
+                memorySize = 0;
+            }
+            source.writeTo(output);
+            spilledCount++;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void replay(SourceWriterSink sink, int filter) {
+        if (file != null) {
+            try {
+                output.flush();
+                try (var input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                    for (var i = 0; i < spilledCount; ++i) {
+                        RememberedSource.readFrom(input).replay(sink, filter);
+                    }
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        for (var source : sources) {
+            source.replay(sink, filter);
+        }
+    }
+
+    @Override
+    public void write(SourceWriter writer, int precedence) {
+        replay(writer, RememberedSource.FILTER_ALL);
+    }
+
+    @Override
+    public void close() {
+        sources.clear();
+        if (file != null) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                // Spool is never read after it is closed, so data that failed to be flushed is not needed
+            } finally {
+                file.delete();
+                file = null;
+                output = null;
+            }
+        }
+    }
+}
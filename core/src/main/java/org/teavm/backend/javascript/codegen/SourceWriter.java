@@ -15,6 +15,7 @@
  */
 package org.teavm.backend.javascript.codegen;
 
+import java.util.function.ToIntFunction;
 import org.teavm.model.FieldReference;
 import org.teavm.model.MethodDescriptor;
 import org.teavm.model.MethodReference;
@@ -117,6 +118,23 @@ public abstract class SourceWriter implements Appendable, SourceWriterSink {
     @Override
     public abstract SourceWriter appendClassInit(String className);
 
+    /**
+     * Appends index of a string constant in the string pool. Unlike plain {@link #append(int)},
+     * keeps track of the index in remembered sources, so that they can be replayed against another string pool.
+     */
+    @Override
+    public SourceWriter appendStringIndex(int index) {
+        return append(index);
+    }
+
+    /**
+     * Appends index of a string constant, taking it from the given string pool. Writers that render detached
+     * fragments may assign their own indexes instead, see {@link RememberingSourceWriter#useLocalStrings()}.
+     */
+    public SourceWriter appendStringConstant(String value, ToIntFunction<String> stringPool) {
+        return appendStringIndex(stringPool.applyAsInt(value));
+    }
+
     @Override
     public abstract SourceWriter newLine();
 
@@ -165,6 +183,12 @@ public abstract class SourceWriter implements Appendable, SourceWriterSink {
     @Override
     public abstract void markClassEnd();
 
+    @Override
+    public abstract void markMethodStart(MethodDescriptor method);
+
+    @Override
+    public abstract void markMethodEnd();
+
     @Override
     public abstract void markSectionStart(int id);
 
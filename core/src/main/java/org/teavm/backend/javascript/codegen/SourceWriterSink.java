@@ -76,6 +76,10 @@ public interface SourceWriterSink {
         return this;
     }
 
+    default SourceWriterSink appendStringIndex(int index) {
+        return this;
+    }
+
     default SourceWriterSink newLine() {
         return this;
     }
@@ -136,6 +140,12 @@ public interface SourceWriterSink {
     default void markClassEnd() {
     }
 
+    default void markMethodStart(MethodDescriptor method) {
+    }
+
+    default void markMethodEnd() {
+    }
+
     default void markSectionStart(int id) {
     }
 
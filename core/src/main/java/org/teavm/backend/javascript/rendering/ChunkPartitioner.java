@@ -0,0 +1,171 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript.rendering;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.teavm.backend.javascript.codegen.SourceWriterSink;
+import org.teavm.model.ClassReaderSource;
+import org.teavm.model.FieldReference;
+import org.teavm.model.MethodReference;
+
+/**
+ * <p>Distributes rendered classes between the main module and modules of split points.</p>
+ *
+ * <p>References are collected by replaying rendered code into this sink. References inside
+ * a class section are attributed to that class, references outside class sections are roots of the
+ * main module. Metadata is not expected to be replayed, instead references from metadata (supertypes,
+ * enclosing and declaring classes) are taken from the class model.</p>
+ */
+public class ChunkPartitioner implements SourceWriterSink {
+    private final ClassReaderSource classSource;
+    private final Map<String, Set<String>> references = new HashMap<>();
+    private final Set<String> rootReferences = new LinkedHashSet<>();
+    private Set<String> currentReferences = rootReferences;
+    private final Map<String, Integer> chunks = new HashMap<>();
+    private final Set<String> mainChunk = new HashSet<>();
+
+    public ChunkPartitioner(ClassReaderSource classSource) {
+        this.classSource = classSource;
+    }
+
+    public void addRoot(String className) {
+        rootReferences.add(className);
+    }
+
+    /**
+     * Computes partitioning. A class is placed into chunk of a split point, if it's reachable from this
+     * split point, but is not reachable neither from roots, nor from other split points.
+     *
+     * @param splitPoints split point classes, indexes in this list are used as chunk indexes.
+     */
+    public void partition(List<String> splitPoints) {
+        mainChunk.clear();
+        chunks.clear();
+        Collection<String> mainSeeds = rootReferences;
+        while (true) {
+            reach(mainSeeds, mainChunk, Set.of());
+            var owners = new HashMap<String, Integer>();
+            var shared = new LinkedHashSet<String>();
+            for (var i = 0; i < splitPoints.size(); ++i) {
+                var reached = new HashSet<String>();
+                reach(List.of(splitPoints.get(i)), reached, mainChunk);
+                for (var className : reached) {
+                    var owner = owners.putIfAbsent(className, i);
+                    if (owner != null && owner != i) {
+                        shared.add(className);
+                    }
+                }
+            }
+            if (shared.isEmpty()) {
+                chunks.putAll(owners);
+                break;
+            }
+            mainSeeds = shared;
+        }
+    }
+
+    private void reach(Collection<String> start, Set<String> visited, Set<String> excluded) {
+        var stack = new ArrayDeque<>(start);
+        while (!stack.isEmpty()) {
+            var className = stack.pop();
+            if (excluded.contains(className) || !visited.add(className)) {
+                continue;
+            }
+            var classReferences = references.get(className);
+            if (classReferences != null) {
+                stack.addAll(classReferences);
+            }
+        }
+    }
+
+    /**
+     * Returns index of split point which chunk contains given class or -1 if class belongs to the main module.
+     */
+    public int getChunk(String className) {
+        var chunk = chunks.get(className);
+        return chunk != null ? chunk : -1;
+    }
+
+    public boolean isInMainChunk(String className) {
+        return !chunks.containsKey(className);
+    }
+
+    @Override
+    public void markClassStart(String className) {
+        currentReferences = references.computeIfAbsent(className, k -> new LinkedHashSet<>());
+        var cls = classSource.get(className);
+        if (cls != null) {
+            if (cls.getParent() != null) {
+                currentReferences.add(cls.getParent());
+            }
+            currentReferences.addAll(cls.getInterfaces());
+            if (cls.getOwnerName() != null) {
+                currentReferences.add(cls.getOwnerName());
+            }
+            if (cls.getDeclaringClassName() != null) {
+                currentReferences.add(cls.getDeclaringClassName());
+            }
+        }
+    }
+
+    @Override
+    public void markClassEnd() {
+        currentReferences = rootReferences;
+    }
+
+    @Override
+    public SourceWriterSink appendClass(String cls) {
+        currentReferences.add(cls);
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendField(FieldReference field) {
+        currentReferences.add(field.getClassName());
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendStaticField(FieldReference field) {
+        currentReferences.add(field.getClassName());
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendMethod(MethodReference method) {
+        currentReferences.add(method.getClassName());
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendInit(MethodReference method) {
+        currentReferences.add(method.getClassName());
+        return this;
+    }
+
+    @Override
+    public SourceWriterSink appendClassInit(String className) {
+        currentReferences.add(className);
+        return this;
+    }
+}
@@ -57,6 +57,10 @@ public class MethodBodyRenderer implements MethodNodeVisitor, GeneratorContext {
         statementRenderer = new StatementRenderer(context, writer, variableNameGenerator);
     }
 
+    public void setCoroutineMethods(Set<MethodReference> asyncMethods, Set<MethodReference> splitMethods) {
+        statementRenderer.setCoroutineMethods(asyncMethods, splitMethods);
+    }
+
     public void setCurrentMethod(MethodNode node) {
         statementRenderer.setCurrentMethod(node);
     }
@@ -74,7 +78,28 @@ public class MethodBodyRenderer implements MethodNodeVisitor, GeneratorContext {
         threadLibraryUsed = false;
         this.async = async;
         statementRenderer.setAsync(async);
+        if (async && context.isGeneratorCoroutines()) {
+            renderNativeGenerator(generator, reference);
+        } else {
+            generator.generate(this, writer, reference);
+        }
+    }
+
+    // Native code suspends the thread the same way regardless of coroutine mode and returns immediately.
+    // The body is re-run when the thread resumes, so that it can pick the result up.
+    private void renderNativeGenerator(Generator generator, MethodReference reference) {
+        threadLibraryUsed = true;
+        writer.append("while").ws().append("(true)").ws().append("{").indent().softNewLine();
+        writer.append("let ").append(context.tempVarName()).ws().append("=").ws().append("(()").ws()
+                .append("=>").ws().append("{").indent().softNewLine();
         generator.generate(this, writer, reference);
+        writer.outdent().append("})();").softNewLine();
+        writer.append("if").ws().append("(!").appendFunction("$rt_suspending").append("())").ws()
+                .append("{").indent().softNewLine();
+        writer.append("return ").append(context.tempVarName()).append(";").softNewLine();
+        writer.outdent().append("}").softNewLine();
+        writer.append("yield;").softNewLine();
+        writer.outdent().append("}").softNewLine();
     }
 
     public void render(MethodNode node, boolean async) {
@@ -128,8 +153,13 @@ public class MethodBodyRenderer implements MethodNodeVisitor, GeneratorContext {
 
     @Override
     public void visit(RegularMethodNode method) {
-        statementRenderer.setAsync(false);
-        this.async = false;
+        if (!context.isGeneratorCoroutines()) {
+            async = false;
+        }
+        if (async) {
+            threadLibraryUsed = true;
+        }
+        statementRenderer.setAsync(async);
 
         int variableCount = 0;
         for (VariableNode var : method.getVariables()) {
@@ -160,10 +190,15 @@ public class MethodBodyRenderer implements MethodNodeVisitor, GeneratorContext {
         statementRenderer.setCurrentPart(0);
 
         if (method.getModifiers().contains(ElementModifier.SYNCHRONIZED)) {
-            writer.appendMethod(NameFrequencyEstimator.MONITOR_ENTER_SYNC_METHOD);
+            if (async) {
+                writer.append("yield*").ws().appendFunction("$rt_co").append("(")
+                        .appendMethod(NameFrequencyEstimator.MONITOR_ENTER_METHOD);
+            } else {
+                writer.appendMethod(NameFrequencyEstimator.MONITOR_ENTER_SYNC_METHOD);
+            }
             writer.append("(");
             appendMonitor(statementRenderer, method);
-            writer.append(");").softNewLine();
+            writer.append(async ? "));" : ");").softNewLine();
 
             writer.append("try").ws().append("{").softNewLine().indent();
         }
@@ -173,7 +208,9 @@ public class MethodBodyRenderer implements MethodNodeVisitor, GeneratorContext {
         if (method.getModifiers().contains(ElementModifier.SYNCHRONIZED)) {
             writer.outdent().append("}").ws().append("finally").ws().append("{").indent().softNewLine();
 
-            writer.appendMethod(NameFrequencyEstimator.MONITOR_EXIT_SYNC_METHOD);
+            writer.appendMethod(async
+                    ? NameFrequencyEstimator.MONITOR_EXIT_METHOD
+                    : NameFrequencyEstimator.MONITOR_EXIT_SYNC_METHOD);
             writer.append("(");
             appendMonitor(statementRenderer, method);
             writer.append(");").softNewLine();
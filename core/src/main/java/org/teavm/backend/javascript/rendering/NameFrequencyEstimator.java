@@ -18,6 +18,7 @@ package org.teavm.backend.javascript.rendering;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.teavm.backend.javascript.codegen.NamingStrategy;
@@ -36,95 +37,76 @@ public class NameFrequencyEstimator implements SourceWriterSink {
     static final MethodReference MONITOR_EXIT_SYNC_METHOD = new MethodReference(Object.class,
             "monitorExitSync", Object.class, void.class);
 
-    private Map<String, Entry> entries = new HashMap<>();
+    private static final int CLASS = 0;
+    private static final int FIELD = 1;
+    private static final int STATIC_FIELD = 2;
+    private static final int VIRTUAL_METHOD = 3;
+    private static final int METHOD = 4;
+    private static final int FUNCTION = 5;
+    private static final int INIT = 6;
+    private static final int CLASS_INIT = 7;
+
+    // Counters are keyed by the referenced entities themselves, so that counting a reference
+    // does not allocate anything. The list keeps counters in order of first reference.
+    private List<Map<Object, Counter>> countersByKind = new ArrayList<>();
+    private List<Counter> counters = new ArrayList<>();
     private Set<String> reservedNames = new HashSet<>();
     private boolean hasAdditionalScope;
 
+    public NameFrequencyEstimator() {
+        for (var i = 0; i <= CLASS_INIT; ++i) {
+            countersByKind.add(new HashMap<>());
+        }
+    }
+
     public boolean hasAdditionalScope() {
         return hasAdditionalScope;
     }
 
+    private void count(int kind, Object key) {
+        var map = countersByKind.get(kind);
+        var counter = map.get(key);
+        if (counter == null) {
+            counter = new Counter(kind, key);
+            map.put(key, counter);
+            counters.add(counter);
+        }
+        counter.frequency++;
+    }
+
     @Override
     public SourceWriterSink appendClass(String cls) {
-        var key = "c:" + cls;
-        var entry = entries.get(key);
-        if (entry == null) {
-            entry = new Entry();
-            entry.operation = naming -> naming.className(cls).scoped;
-            entries.put(key, entry);
-        }
-        entry.frequency++;
+        count(CLASS, cls);
         return this;
     }
 
     @Override
     public SourceWriterSink appendField(FieldReference field) {
-        var key = "f:" + field;
-        var entry = entries.get(key);
-        if (entry == null) {
-            entry = new Entry();
-            entry.operation = naming -> {
-                naming.instanceFieldName(field);
-                return false;
-            };
-            entries.put(key, entry);
-        }
-        entry.frequency++;
+        count(FIELD, field);
         return this;
     }
 
     @Override
     public SourceWriterSink appendStaticField(FieldReference field) {
-        var key = "sf:" + field;
-        var entry = entries.get(key);
-        if (entry == null) {
-            entry = new Entry();
-            entry.operation = naming -> naming.fieldName(field).scoped;
-            entries.put(key, entry);
-        }
-        entry.frequency++;
+        count(STATIC_FIELD, field);
         return this;
     }
 
     @Override
     public SourceWriterSink appendVirtualMethod(MethodDescriptor method) {
-        var key = "r:" + method;
-        var entry = entries.get(key);
-        if (entry == null) {
-            entry = new Entry();
-            entry.operation = naming -> {
-                naming.instanceMethodName(method);
-                return false;
-            };
-            entries.put(key, entry);
-        }
-        entry.frequency++;
+        count(VIRTUAL_METHOD, method);
         return this;
     }
 
     @Override
     public SourceWriterSink appendMethod(MethodReference method) {
-        var key = "R:" + method;
-        var entry = entries.get(key);
-        if (entry == null) {
-            entry = new Entry();
-            entry.operation = naming -> naming.methodName(method).scoped;
-            entries.put(key, entry);
-        }
-        entry.frequency++;
+        count(METHOD, method);
         return this;
     }
 
     @Override
     public SourceWriterSink appendFunction(String name) {
-        var key = "n:" + name;
-        var entry = entries.get(key);
-        if (entry == null) {
-            entry = new Entry();
-            entry.operation = naming -> naming.functionName(name).scoped;
-            entries.put(key, entry);
-        }
-        entry.frequency++;
+        count(FUNCTION, name);
         return this;
     }
 
@@ -136,27 +118,13 @@ public class NameFrequencyEstimator implements SourceWriterSink {
 
     @Override
     public SourceWriterSink appendInit(MethodReference method) {
-        var key = "I:" + method;
-        var entry = entries.get(key);
-        if (entry == null) {
-            entry = new Entry();
-            entry.operation = naming -> naming.initializerName(method).scoped;
-            entries.put(key, entry);
-        }
-        entry.frequency++;
+        count(INIT, method);
         return this;
     }
 
     @Override
     public SourceWriterSink appendClassInit(String className) {
-        var key = "C:" + className;
-        var entry = entries.get(key);
-        if (entry == null) {
-            entry = new Entry();
-            entry.operation = naming -> naming.classInitializerName(className).scoped;
-            entries.put(key, entry);
-        }
-        entry.frequency++;
+        count(CLASS_INIT, className);
         return this;
     }
 
@@ -164,19 +132,46 @@ public class NameFrequencyEstimator implements SourceWriterSink {
         for (var name : reservedNames) {
             naming.reserveName(name);
         }
-        var entryList = new ArrayList<>(entries.values());
-        entryList.sort((o1, o2) -> Integer.compare(o2.frequency, o1.frequency));
-        for (var entry : entryList) {
-            hasAdditionalScope |= entry.operation.perform(naming);
+        var sortedCounters = new ArrayList<>(counters);
+        sortedCounters.sort((o1, o2) -> Integer.compare(o2.frequency, o1.frequency));
+        for (var counter : sortedCounters) {
+            hasAdditionalScope |= applyName(naming, counter);
         }
     }
 
-    private static class Entry {
-        NamingOperation operation;
-        int frequency;
+    private static boolean applyName(NamingStrategy naming, Counter counter) {
+        switch (counter.kind) {
+            case CLASS:
+                return naming.className((String) counter.key).scoped;
+            case FIELD:
+                naming.instanceFieldName((FieldReference) counter.key);
+                return false;
+            case STATIC_FIELD:
+                return naming.fieldName((FieldReference) counter.key).scoped;
+            case VIRTUAL_METHOD:
+                naming.instanceMethodName((MethodDescriptor) counter.key);
+                return false;
+            case METHOD:
+                return naming.methodName((MethodReference) counter.key).scoped;
+            case FUNCTION:
+                return naming.functionName((String) counter.key).scoped;
+            case INIT:
+                return naming.initializerName((MethodReference) counter.key).scoped;
+            case CLASS_INIT:
+                return naming.classInitializerName((String) counter.key).scoped;
+            default:
+                throw new IllegalStateException();
+        }
     }
 
-    private interface NamingOperation {
-        boolean perform(NamingStrategy naming);
+    private static class Counter {
+        final int kind;
+        final Object key;
+        int frequency;
+
+        Counter(int kind, Object key) {
+            this.kind = kind;
+            this.key = key;
+        }
     }
 }
@@ -25,20 +25,33 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.IntFunction;
+import java.util.function.Predicate;
 import org.teavm.ast.AsyncMethodNode;
+import org.teavm.ast.AsyncMethodPart;
 import org.teavm.ast.ControlFlowEntry;
+import org.teavm.ast.InvocationExpr;
 import org.teavm.ast.MethodNode;
+import org.teavm.ast.RecursiveVisitor;
 import org.teavm.ast.RegularMethodNode;
 import org.teavm.ast.analysis.LocationGraphBuilder;
 import org.teavm.ast.decompilation.DecompilationException;
 import org.teavm.ast.decompilation.Decompiler;
 import org.teavm.backend.javascript.ExportedDeclaration;
+import org.teavm.backend.javascript.JSLongRepresentation;
+import org.teavm.backend.javascript.codegen.RememberedSource;
+import org.teavm.backend.javascript.codegen.RememberingSourceWriter;
 import org.teavm.backend.javascript.codegen.SourceWriter;
+import org.teavm.backend.javascript.codegen.SourceWriterSink;
 import org.teavm.backend.javascript.spi.GeneratedBy;
 import org.teavm.backend.javascript.spi.Generator;
 import org.teavm.backend.javascript.spi.InjectedBy;
@@ -47,6 +60,8 @@ import org.teavm.cache.AstCacheEntry;
 import org.teavm.cache.AstDependencyExtractor;
 import org.teavm.cache.CacheStatus;
 import org.teavm.cache.MethodNodeCache;
+import org.teavm.cache.RenderedMethodCache;
+import org.teavm.cache.RenderedMethodCacheEntry;
 import org.teavm.common.ServiceRepository;
 import org.teavm.dependency.DependencyInfo;
 import org.teavm.diagnostics.Diagnostics;
@@ -74,6 +89,14 @@ import org.teavm.vm.TeaVMProgressFeedback;
 public class Renderer implements RenderingManager {
     public static final int SECTION_STRING_POOL = 0;
     public static final int SECTION_METADATA = 1;
+    private static final int CONCURRENT_BATCH_SIZE = 256;
+    private static final int RENDERED_ASYNC = 1;
+    private static final int RENDERED_AS_FUNCTION = 2;
+    private static final int RENDERED_MINIFIED = 4;
+    private static final int RENDERED_STRICT = 8;
+    private static final int RENDERED_WITH_DEBUG = 16;
+    private static final int RENDERED_WITH_INT32_PAIR_LONGS = 32;
+    private static final int RENDERED_AS_GENERATOR = 64;
 
     private final SourceWriter writer;
     private final ListableClassReaderSource classSource;
@@ -82,6 +105,9 @@ public class Renderer implements RenderingManager {
     private final Properties properties = new Properties();
     private final ServiceRepository services;
     private final Set<MethodReference> asyncMethods;
+    private final Set<MethodReference> initialAsyncMethods;
+    private Set<MethodReference> splitMethods = Set.of();
+    private final Diagnostics diagnostics;
     private RenderingContext context;
     private List<PostponedFieldInitializer> postponedFieldInitializers = new ArrayList<>();
     private IntFunction<TeaVMProgressFeedback> progressConsumer = p -> TeaVMProgressFeedback.CONTINUE;
@@ -89,6 +115,7 @@ public class Renderer implements RenderingManager {
     private Map<String, Generator> generatorCache = new HashMap<>();
     private Map<MethodReference, Generator> generators;
     private MethodNodeCache astCache;
+    private RenderedMethodCache fragmentCache;
     private CacheStatus cacheStatus;
     private JavaScriptTemplateFactory templateFactory;
     private boolean threadLibraryUsed;
@@ -96,6 +123,8 @@ public class Renderer implements RenderingManager {
     private List<ExportedDeclaration> exports;
     private String entryPoint;
     private VariableNameGenerator variableNameGenerator;
+    private int renderingThreads = 1;
+    private List<ClassHolder> renderedClasses = new ArrayList<>();
 
     public static final MethodDescriptor CLINIT_METHOD = new MethodDescriptor("<clinit>", ValueType.VOID);
 
@@ -109,6 +138,8 @@ public class Renderer implements RenderingManager {
         this.classLoader = context.getClassLoader();
         this.services = context.getServices();
         this.asyncMethods = new HashSet<>(asyncMethods);
+        this.initialAsyncMethods = asyncMethods;
+        this.diagnostics = diagnostics;
         this.context = context;
         variableNameGenerator = new VariableNameGenerator(context.isMinifying());
         methodBodyRenderer = new MethodBodyRenderer(context, diagnostics, context.isMinifying(), asyncMethods,
@@ -177,6 +208,35 @@ public class Renderer implements RenderingManager {
         this.progressConsumer = progressConsumer;
     }
 
+    public int getRenderingThreads() {
+        return renderingThreads;
+    }
+
+    /**
+     * <p>Sets the number of threads used to decompile and render method bodies.</p>
+     *
+     * <p>When more than one thread is used, method bodies are rendered into separate fragments which
+     * are then written in the same order as in single-threaded mode. Requires the writer passed to the
+     * constructor to be a {@link RememberingSourceWriter}, otherwise the value is ignored.</p>
+     *
+     * @param renderingThreads number of worker threads, values less than 1 are treated as 1.
+     */
+    public void setRenderingThreads(int renderingThreads) {
+        this.renderingThreads = Math.max(1, renderingThreads);
+    }
+
+    /**
+     * <p>Sets cache of rendered method bodies. Bodies of methods found in the cache are replayed
+     * without decompiling and rendering them again. Rendered bodies are stored into the cache.</p>
+     *
+     * <p>Requires the writer passed to the constructor to be a {@link RememberingSourceWriter}, otherwise
+     * the cache is ignored. To be stored, bodies are rendered into separate fragments, the same way as
+     * with several rendering threads. The output is the same as when rendering bodies directly.</p>
+     */
+    public void setFragmentCache(RenderedMethodCache fragmentCache) {
+        this.fragmentCache = fragmentCache;
+    }
+
     public void setProperties(Properties properties) {
         this.properties.clear();
         this.properties.putAll(properties);
@@ -199,7 +259,14 @@ public class Renderer implements RenderingManager {
     }
 
     public void renderStringConstants() throws RenderingException {
+        renderStringConstants(className -> true);
+    }
+
+    public void renderStringConstants(Predicate<String> classFilter) throws RenderingException {
         for (PostponedFieldInitializer initializer : postponedFieldInitializers) {
+            if (!classFilter.test(initializer.field.getClassName())) {
+                continue;
+            }
             writer.markSectionStart(SECTION_STRING_POOL);
             writer.appendStaticField(initializer.field).ws().append("=").ws();
             context.constantToString(writer, initializer.value);
@@ -240,6 +307,18 @@ public class Renderer implements RenderingManager {
     }
 
     public boolean render(ListableClassHolderSource classes, boolean isFriendlyToDebugger) {
+        if (!renderClasses(classes, isFriendlyToDebugger)) {
+            return false;
+        }
+        renderClassMetadata(renderedClasses);
+        return true;
+    }
+
+    /**
+     * Renders declarations and method bodies of all classes, but not their metadata,
+     * see {@link #renderClassMetadata(Predicate)}.
+     */
+    public boolean renderClasses(ListableClassHolderSource classes, boolean isFriendlyToDebugger) {
         var sequence = new ArrayList<ClassHolder>();
         var visited = new HashSet<String>();
         for (String className : classes.getClassNames()) {
@@ -250,25 +329,287 @@ public class Renderer implements RenderingManager {
                 context.getDependencyInfo());
         asyncFinder.find(classes);
         asyncMethods.addAll(asyncFinder.getAsyncMethods());
-        var splitMethods = new HashSet<>(asyncMethods);
+        splitMethods = new HashSet<>(asyncMethods);
         splitMethods.addAll(asyncFinder.getAsyncFamilyMethods());
+        methodBodyRenderer.setCoroutineMethods(asyncMethods, splitMethods);
 
+        renderedClasses = sequence;
         var decompiler = new Decompiler(classes, splitMethods, isFriendlyToDebugger);
+        if ((renderingThreads > 1 || fragmentCache != null) && writer instanceof RememberingSourceWriter) {
+            return renderInBatches(sequence, classes, splitMethods, isFriendlyToDebugger, decompiler);
+        }
 
         int index = 0;
         for (var cls : sequence) {
             writer.markClassStart(cls.getName());
             renderDeclaration(cls);
-            renderMethodBodies(cls, decompiler);
+            renderMethodBodies(cls, decompiler, null);
             writer.markClassEnd();
             if (progressConsumer.apply(1000 * ++index / sequence.size()) == TeaVMProgressFeedback.CANCEL) {
                 return false;
             }
         }
-        renderClassMetadata(sequence);
         return true;
     }
 
+    /**
+     * Renders metadata of classes previously rendered by {@link #renderClasses(ListableClassHolderSource, boolean)}
+     * which satisfy the given filter.
+     */
+    public void renderClassMetadata(Predicate<String> classFilter) {
+        var classes = new ArrayList<ClassHolder>();
+        for (var cls : renderedClasses) {
+            if (classFilter.test(cls.getName())) {
+                classes.add(cls);
+            }
+        }
+        if (!classes.isEmpty()) {
+            renderClassMetadata(classes);
+        }
+    }
+
+    private boolean renderInBatches(List<ClassHolder> sequence, ListableClassHolderSource classes,
+            Set<MethodReference> splitMethods, boolean isFriendlyToDebugger, Decompiler decompiler) {
+        // Workers only decompile methods and render regular method bodies into their own fragments.
+        // Fragments use their own string tables and refer to virtual methods by descriptors, so string pool
+        // indexes and names are assigned when fragments are replayed in the final order. AST cache, fragment
+        // cache, string pool, generators and injectors are only touched by the calling thread, so the output
+        // does not depend on the number of threads. With a single thread all tasks run on the calling thread.
+        var debug = ((RememberingSourceWriter) writer).isDebug();
+        var decompilers = ThreadLocal.withInitial(() -> new Decompiler(classes, splitMethods, isFriendlyToDebugger));
+        var fragmentRenderers = ThreadLocal.withInitial(() -> new FragmentRenderer(debug));
+        ExecutorService executor = renderingThreads > 1
+                ? Executors.newFixedThreadPool(renderingThreads, runnable -> {
+                    var thread = new Thread(runnable, "TeaVM renderer");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+        try {
+            int index = 0;
+            for (var start = 0; start < sequence.size(); start += CONCURRENT_BATCH_SIZE) {
+                var batch = sequence.subList(start, Math.min(sequence.size(), start + CONCURRENT_BATCH_SIZE));
+                var pendingClasses = new ArrayList<Map<MethodDescriptor, PendingMethod>>();
+                for (var cls : batch) {
+                    pendingClasses.add(collectPendingMethods(cls, debug));
+                }
+
+                var tasks = new ArrayList<Runnable>();
+                for (var pendingMethods : pendingClasses) {
+                    if (pendingMethods.values().stream().anyMatch(PendingMethod::needsDecompilation)) {
+                        tasks.add(() -> {
+                            var classDecompiler = decompilers.get();
+                            for (var pending : pendingMethods.values()) {
+                                if (pending.needsDecompilation()) {
+                                    decompilePending(classDecompiler, pending);
+                                }
+                            }
+                        });
+                    }
+                }
+                runTasks(executor, tasks);
+
+                var injectorFinder = new InjectorFinder();
+                for (var pendingMethods : pendingClasses) {
+                    for (var pending : pendingMethods.values()) {
+                        if (pending.cacheEntry != null) {
+                            pending.fragment = pending.cacheEntry.source;
+                            pending.strings = pending.cacheEntry.strings;
+                            pending.threadLibraryUsed = pending.cacheEntry.threadLibraryUsed;
+                            continue;
+                        }
+                        storePending(pending);
+                        pending.sequential = injectorFinder.find(pending.node);
+                    }
+                }
+
+                tasks.clear();
+                for (var pendingMethods : pendingClasses) {
+                    if (pendingMethods.values().stream().anyMatch(PendingMethod::needsRendering)) {
+                        tasks.add(() -> {
+                            var fragmentRenderer = fragmentRenderers.get();
+                            for (var pending : pendingMethods.values()) {
+                                if (pending.needsRendering()) {
+                                    fragmentRenderer.render(pending);
+                                }
+                            }
+                        });
+                    }
+                }
+                runTasks(executor, tasks);
+
+                if (fragmentCache != null) {
+                    for (var pendingMethods : pendingClasses) {
+                        for (var pending : pendingMethods.values()) {
+                            if (pending.fragment != null && pending.cacheEntry == null) {
+                                storeFragment(pending);
+                            }
+                        }
+                    }
+                }
+
+                for (var i = 0; i < batch.size(); ++i) {
+                    var cls = batch.get(i);
+                    writer.markClassStart(cls.getName());
+                    renderDeclaration(cls);
+                    renderMethodBodies(cls, decompiler, pendingClasses.get(i));
+                    writer.markClassEnd();
+                    if (progressConsumer.apply(1000 * ++index / sequence.size()) == TeaVMProgressFeedback.CANCEL) {
+                        return false;
+                    }
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+        return true;
+    }
+
+    private Map<MethodDescriptor, PendingMethod> collectPendingMethods(ClassHolder cls, boolean debug) {
+        var result = new LinkedHashMap<MethodDescriptor, PendingMethod>();
+        for (var method : cls.getMethods()) {
+            if (!filterMethod(method) || method.hasModifier(ElementModifier.NATIVE)) {
+                continue;
+            }
+            var async = asyncMethods.contains(method.getReference());
+            var pending = new PendingMethod(method, async, async && !context.isGeneratorCoroutines(),
+                    context.isForcedFunction(method.getReference()));
+            var stale = cacheStatus == null || cacheStatus.isStaleMethod(method.getReference());
+            if (fragmentCache != null && !stale) {
+                var entry = fragmentCache.get(method.getReference(), cacheStatus);
+                if (entry != null && entry.renderingFlags == renderingFlags(pending, debug)) {
+                    pending.cacheEntry = entry;
+                }
+            }
+            if (pending.cacheEntry == null && astCache != null && !stale) {
+                if (pending.split) {
+                    pending.node = astCache.getAsync(method.getReference(), cacheStatus);
+                } else {
+                    var entry = astCache.get(method.getReference(), cacheStatus);
+                    if (entry != null) {
+                        pending.node = entry.method;
+                    }
+                }
+            }
+            pending.cached = pending.node != null;
+            result.put(method.getDescriptor(), pending);
+        }
+        return result;
+    }
+
+    private int renderingFlags(PendingMethod pending, boolean debug) {
+        var flags = 0;
+        if (pending.async) {
+            flags |= RENDERED_ASYNC;
+            if (!pending.split) {
+                flags |= RENDERED_AS_GENERATOR;
+            }
+        }
+        if (pending.isFunction) {
+            flags |= RENDERED_AS_FUNCTION;
+        }
+        if (context.isMinifying()) {
+            flags |= RENDERED_MINIFIED;
+        }
+        if (context.isStrict()) {
+            flags |= RENDERED_STRICT;
+        }
+        if (debug) {
+            flags |= RENDERED_WITH_DEBUG;
+        }
+        if (context.getLongRepresentation() == JSLongRepresentation.INT32_PAIR) {
+            flags |= RENDERED_WITH_INT32_PAIR_LONGS;
+        }
+        return flags;
+    }
+
+    private void storeFragment(PendingMethod pending) {
+        var debug = ((RememberingSourceWriter) writer).isDebug();
+        var entry = new RenderedMethodCacheEntry(pending.fragment, renderingFlags(pending, debug),
+                pending.strings, pending.threadLibraryUsed);
+        fragmentCache.store(pending.method.getReference(), entry, () -> fragmentDependencies(pending));
+    }
+
+    // Registers strings of a fragment in the string pool in order of their first occurrence in the fragment,
+    // i.e. in the same order as rendering of the method directly to the output would do.
+    private RememberedSource bindStrings(PendingMethod pending) {
+        if (pending.strings.length == 0) {
+            return pending.fragment;
+        }
+        var stringIndexes = new int[pending.strings.length];
+        for (var i = 0; i < stringIndexes.length; ++i) {
+            stringIndexes[i] = context.lookupString(pending.strings[i]);
+        }
+        return pending.fragment.mapStringIndexes(index -> stringIndexes[index]);
+    }
+
+    private String[] fragmentDependencies(PendingMethod pending) {
+        var dependencies = new LinkedHashSet<String>();
+        dependencies.addAll(List.of(pending.split
+                ? dependencyExtractor.extract((AsyncMethodNode) pending.node)
+                : dependencyExtractor.extract((RegularMethodNode) pending.node)));
+        var collector = new ReferencedClassCollector(dependencies);
+        pending.fragment.replay(collector, RememberedSource.FILTER_REF);
+        return dependencies.toArray(new String[0]);
+    }
+
+    private static void runTasks(ExecutorService executor, List<Runnable> tasks) {
+        if (executor == null) {
+            for (var task : tasks) {
+                task.run();
+            }
+            return;
+        }
+        var futures = new ArrayList<Future<?>>();
+        for (var task : tasks) {
+            futures.add(executor.submit(task));
+        }
+        awaitTasks(futures);
+    }
+
+    private static void decompilePending(Decompiler decompiler, PendingMethod pending) {
+        if (pending.split) {
+            pending.node = decompiler.decompileAsync(pending.method);
+        } else {
+            var node = decompiler.decompileRegular(pending.method);
+            pending.node = node;
+            pending.controlFlow = LocationGraphBuilder.build(node.getBody());
+        }
+    }
+
+    private void storePending(PendingMethod pending) {
+        if (astCache == null || pending.cached) {
+            return;
+        }
+        var reference = pending.method.getReference();
+        if (pending.split) {
+            var node = (AsyncMethodNode) pending.node;
+            astCache.storeAsync(reference, node, () -> dependencyExtractor.extract(node));
+        } else {
+            var node = (RegularMethodNode) pending.node;
+            astCache.store(reference, new AstCacheEntry(node, pending.controlFlow),
+                    () -> dependencyExtractor.extract(node));
+        }
+    }
+
+    private static void awaitTasks(List<Future<?>> tasks) {
+        for (var task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RenderingException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new RenderingException(e.getCause());
+            }
+        }
+    }
+
     private void orderClasses(ClassHolderSource classes, String className, Set<String> visited,
             List<ClassHolder> order) {
         if (!visited.add(className)) {
@@ -366,7 +707,8 @@ public class Renderer implements RenderingManager {
         writer.append(")").endDeclaration();
     }
 
-    private void renderMethodBodies(ClassHolder cls, Decompiler decompiler) {
+    private void renderMethodBodies(ClassHolder cls, Decompiler decompiler,
+            Map<MethodDescriptor, PendingMethod> pendingMethods) {
         writer.emitClass(cls.getName());
 
         MethodReader clinit = classSource.get(cls.getName()).getMethod(CLINIT_METHOD);
@@ -382,12 +724,21 @@ public class Renderer implements RenderingManager {
                 continue;
             }
             var isFunction = context.isForcedFunction(method.getReference());
-            if (isFunction) {
+            if (isFunction && !isGenerator(method.getReference())) {
                 writer.startFunctionDeclaration();
             } else {
                 writer.startVariableDeclaration();
             }
-            renderBody(method, decompiler, isFunction);
+            var pending = pendingMethods != null ? pendingMethods.get(method.getDescriptor()) : null;
+            if (pending == null) {
+                renderBody(method, decompiler, isFunction);
+            } else if (pending.fragment != null) {
+                bindStrings(pending).replay(writer, RememberedSource.FILTER_ALL);
+                threadLibraryUsed |= pending.threadLibraryUsed;
+            } else {
+                renderPendingBody(writer, methodBodyRenderer, pending);
+                threadLibraryUsed |= methodBodyRenderer.isThreadLibraryUsed();
+            }
             writer.endDeclaration();
             if (needsInitializers && !method.hasModifier(ElementModifier.STATIC)
                     && method.getName().equals("<init>")) {
@@ -416,6 +767,10 @@ public class Renderer implements RenderingManager {
         boolean isAsync = asyncMethods.contains(clinit.getReference());
 
         var clinitCalledField = new FieldReference(cls.getName(), "$_teavm_clinitCalled_$");
+        if (isAsync && context.isGeneratorCoroutines()) {
+            renderGeneratorCallClinit(clinit, cls, clinitCalledField);
+            return;
+        }
         if (isAsync) {
             writer.startVariableDeclaration().appendStaticField(clinitCalledField).append("false").endDeclaration();
         }
@@ -467,6 +822,23 @@ public class Renderer implements RenderingManager {
         writer.outdent().append("}").endDeclaration();
     }
 
+    private void renderGeneratorCallClinit(MethodReader clinit, ClassReader cls, FieldReference clinitCalledField) {
+        threadLibraryUsed = true;
+        writer.startVariableDeclaration().appendStaticField(clinitCalledField).append("false").endDeclaration();
+
+        writer.startVariableDeclaration().appendClassInit(cls.getName());
+        writer.append("function*()").ws().append("{").softNewLine().indent();
+        writer.append("if").ws().append("(").appendStaticField(clinitCalledField).append(")").ws()
+                .append("{").indent().softNewLine();
+        writer.append("return;").softNewLine();
+        writer.outdent().append("}").softNewLine();
+        writer.appendStaticField(clinitCalledField).ws().append('=').ws().append("true;").softNewLine();
+        writer.append("yield*").ws().appendMethod(new MethodReference(cls.getName(), clinit.getDescriptor()))
+                .append("();").softNewLine();
+        renderEraseClinit(cls);
+        writer.outdent().append("}").endDeclaration();
+    }
+
     private void renderEraseClinit(ClassReader cls) {
         writer.appendClassInit(cls.getName()).ws().append("=").ws()
                 .appendFunction("$rt_eraseClinit").append("(")
@@ -492,7 +864,8 @@ public class Renderer implements RenderingManager {
 
     private void renderClassMetadataPortion(List<? extends ClassReader> classes, ObjectIntMap<String> packageIndexes,
             ClassMetadataRequirements metadataRequirements) {
-        writer.appendFunction("$rt_metadata").append("([");
+        var lazy = context.isLazyMetadata();
+        writer.appendFunction(lazy ? "$rt_lazyMetadata" : "$rt_metadata").append("([");
         boolean first = true;
         for (var cls : classes) {
             if (!first) {
@@ -501,6 +874,14 @@ public class Renderer implements RenderingManager {
             first = false;
             writer.emitClass(cls.getName());
             writer.appendClass(cls.getName()).append(",").ws();
+            if (lazy) {
+                renderSuperclassReference(cls);
+                writer.append(",").ws();
+                renderClinitReference(cls);
+                writer.append(",").ws();
+                renderVirtualMethods(cls);
+                writer.append(",").ws().append("()").ws().append("=>").ws().append("[");
+            }
 
             var className = cls.getName();
             var requiredMetadata = metadataRequirements.getInfo(className);
@@ -515,12 +896,10 @@ public class Renderer implements RenderingManager {
             }
             writer.append(",").ws();
 
-            if (cls.getParent() != null) {
-                writer.appendClass(cls.getParent());
-            } else {
-                writer.append("0");
+            if (!lazy) {
+                renderSuperclassReference(cls);
+                writer.append(',').ws();
             }
-            writer.append(',').ws();
             writer.append("[");
             var interfaces = new ArrayList<>(cls.getInterfaces());
             for (int i = 0; i < interfaces.size(); ++i) {
@@ -569,29 +948,47 @@ public class Renderer implements RenderingManager {
                 }
                 writer.append(']');
             }
-            writer.append(",").ws();
 
-            MethodReader clinit = classSource.get(cls.getName()).getMethod(CLINIT_METHOD);
-            if (clinit != null && context.isDynamicInitializer(cls.getName())) {
-                writer.appendClassInit(cls.getName());
+            if (lazy) {
+                writer.append("]");
             } else {
-                writer.append('0');
+                writer.append(",").ws();
+                renderClinitReference(cls);
+                writer.append(',').ws();
+                renderVirtualMethods(cls);
             }
-            writer.append(',').ws();
+            writer.emitClass(null);
+        }
+        writer.append("]);").newLine();
+    }
 
-            Map<MethodDescriptor, MethodReference> virtualMethods = new LinkedHashMap<>();
-            collectMethodsToCopyFromInterfaces(classSource.get(cls.getName()), virtualMethods);
-            for (var method : cls.getMethods()) {
-                if (filterMethod(method) && !method.readModifiers().contains(ElementModifier.STATIC)
-                        && method.getLevel() != AccessLevel.PRIVATE) {
-                    virtualMethods.put(method.getDescriptor(), method.getReference());
-                }
+    private void renderVirtualMethods(ClassReader cls) {
+        Map<MethodDescriptor, MethodReference> virtualMethods = new LinkedHashMap<>();
+        collectMethodsToCopyFromInterfaces(classSource.get(cls.getName()), virtualMethods);
+        for (var method : cls.getMethods()) {
+            if (filterMethod(method) && !method.readModifiers().contains(ElementModifier.STATIC)
+                    && method.getLevel() != AccessLevel.PRIVATE) {
+                virtualMethods.put(method.getDescriptor(), method.getReference());
             }
+        }
+        renderVirtualDeclarations(virtualMethods.values());
+    }
 
-            renderVirtualDeclarations(virtualMethods.values());
-            writer.emitClass(null);
+    private void renderSuperclassReference(ClassReader cls) {
+        if (cls.getParent() != null) {
+            writer.appendClass(cls.getParent());
+        } else {
+            writer.append("0");
+        }
+    }
+
+    private void renderClinitReference(ClassReader cls) {
+        MethodReader clinit = classSource.get(cls.getName()).getMethod(CLINIT_METHOD);
+        if (clinit != null && context.isDynamicInitializer(cls.getName())) {
+            writer.appendClassInit(cls.getName());
+        } else {
+            writer.append('0');
         }
-        writer.append("]);").newLine();
     }
 
     private ObjectIntMap<String> generatePackageMetadata(List<? extends ClassReader> classes,
@@ -730,8 +1127,14 @@ public class Renderer implements RenderingManager {
     private void renderInitializer(MethodReader method) {
         MethodReference ref = method.getReference();
         writer.emitMethod(ref.getDescriptor());
+        writer.markMethodStart(ref.getDescriptor());
         writer.startVariableDeclaration().appendInit(ref);
-        if (ref.parameterCount() != 1) {
+        var generator = isGenerator(ref);
+        if (generator) {
+            threadLibraryUsed = true;
+            writer.append("function*");
+        }
+        if (ref.parameterCount() != 1 || generator) {
             writer.append("(");
         }
         for (int i = 0; i < ref.parameterCount(); ++i) {
@@ -740,14 +1143,20 @@ public class Renderer implements RenderingManager {
             }
             writer.append(variableNameForInitializer(i));
         }
-        if (ref.parameterCount() != 1) {
+        if (ref.parameterCount() != 1 || generator) {
             writer.append(")");
         }
-        writer.sameLineWs().append("=>").ws().append("{").softNewLine().indent();
+        if (!generator) {
+            writer.sameLineWs().append("=>");
+        }
+        writer.ws().append("{").softNewLine().indent();
 
         String instanceName = variableNameForInitializer(ref.parameterCount());
         writer.append("let " + instanceName).ws().append("=").ws().append("new ").appendClass(
                 ref.getClassName()).append("();").softNewLine();
+        if (generator) {
+            writer.append("yield*").ws();
+        }
         writer.appendMethod(ref).append("(" + instanceName);
         for (int i = 0; i < ref.parameterCount(); ++i) {
             writer.append(",").ws();
@@ -756,6 +1165,7 @@ public class Renderer implements RenderingManager {
         writer.append(");").softNewLine();
         writer.append("return " + instanceName + ";").softNewLine();
         writer.outdent().append("}").endDeclaration();
+        writer.markMethodEnd();
         writer.emitMethod(null);
     }
 
@@ -776,11 +1186,13 @@ public class Renderer implements RenderingManager {
                 continue;
             }
             writer.emitMethod(method.getDescriptor());
+            writer.markMethodStart(method.getDescriptor());
             if (!first) {
                 writer.append(",").ws();
             }
             first = false;
             emitVirtualDeclaration(method);
+            writer.markMethodEnd();
             writer.emitMethod(null);
         }
         writer.append("]");
@@ -817,7 +1229,7 @@ public class Renderer implements RenderingManager {
             writer.append(args.get(i));
         }
         writer.append(")").ws().append("{").ws();
-        if (method.getDescriptor().getResultType() != ValueType.VOID) {
+        if (method.getDescriptor().getResultType() != ValueType.VOID || isGenerator(method)) {
             writer.append("return ");
         }
         writer.appendMethod(method).append("(");
@@ -831,6 +1243,7 @@ public class Renderer implements RenderingManager {
     private void renderBody(MethodHolder method, Decompiler decompiler, boolean isFunction) {
         MethodReference ref = method.getReference();
         writer.emitMethod(ref.getDescriptor());
+        writer.markMethodStart(ref.getDescriptor());
 
         writer.appendMethod(ref);
         if (method.hasModifier(ElementModifier.NATIVE)) {
@@ -840,6 +1253,7 @@ public class Renderer implements RenderingManager {
         }
 
         writer.outdent().append("}");
+        writer.markMethodEnd();
         writer.emitMethod(null);
     }
 
@@ -859,7 +1273,7 @@ public class Renderer implements RenderingManager {
         }
 
         var async = asyncMethods.contains(reference);
-        renderMethodPrologue(reference, method.getModifiers(), isFunction);
+        renderMethodPrologue(writer, methodBodyRenderer, reference, method.getModifiers(), isFunction, async);
         methodBodyRenderer.renderNative(generator, async, reference);
         threadLibraryUsed |= methodBodyRenderer.isThreadLibraryUsed();
     }
@@ -917,23 +1331,48 @@ public class Renderer implements RenderingManager {
         MethodReference reference = method.getReference();
         MethodNode node;
         var async = asyncMethods.contains(reference);
-        if (async) {
+        if (async && !context.isGeneratorCoroutines()) {
             node = decompileAsync(decompiler, method);
         } else {
             var entry = decompileRegular(decompiler, method);
             node = entry.method;
         }
 
+        renderRegularBody(writer, methodBodyRenderer, method, node, async, isFunction);
+        threadLibraryUsed |= methodBodyRenderer.isThreadLibraryUsed();
+    }
+
+    private void renderRegularBody(SourceWriter writer, MethodBodyRenderer methodBodyRenderer, MethodHolder method,
+            MethodNode node, boolean async, boolean isFunction) {
         methodBodyRenderer.setCurrentMethod(node);
-        renderMethodPrologue(method.getReference(), method.getModifiers(), isFunction);
+        renderMethodPrologue(writer, methodBodyRenderer, method.getReference(), method.getModifiers(), isFunction,
+                async);
         methodBodyRenderer.render(node, async);
-        threadLibraryUsed |= methodBodyRenderer.isThreadLibraryUsed();
     }
 
-    private void renderMethodPrologue(MethodReference reference, Set<ElementModifier> modifier, boolean isFunction) {
-        methodBodyRenderer.renderParameters(reference, modifier, isFunction);
-        if (!isFunction) {
-            writer.sameLineWs().append("=>");
+    private void renderPendingBody(SourceWriter writer, MethodBodyRenderer methodBodyRenderer,
+            PendingMethod pending) {
+        var ref = pending.method.getReference();
+        writer.emitMethod(ref.getDescriptor());
+        writer.markMethodStart(ref.getDescriptor());
+        writer.appendMethod(ref);
+        renderRegularBody(writer, methodBodyRenderer, pending.method, pending.node, pending.async,
+                pending.isFunction);
+        writer.outdent().append("}");
+        writer.markMethodEnd();
+        writer.emitMethod(null);
+    }
+
+    private void renderMethodPrologue(SourceWriter writer, MethodBodyRenderer methodBodyRenderer,
+            MethodReference reference, Set<ElementModifier> modifier, boolean isFunction, boolean async) {
+        if (async && context.isGeneratorCoroutines()) {
+            writer.append("function*");
+            methodBodyRenderer.renderParameters(reference, modifier, true);
+        } else {
+            methodBodyRenderer.renderParameters(reference, modifier, isFunction);
+            if (!isFunction) {
+                writer.sameLineWs().append("=>");
+            }
         }
         writer.ws().append("{").indent().softNewLine();
     }
@@ -976,6 +1415,10 @@ public class Renderer implements RenderingManager {
         return node;
     }
 
+    private boolean isGenerator(MethodReference method) {
+        return context.isGeneratorCoroutines() && asyncMethods.contains(method);
+    }
+
     static void renderAsyncPrologue(SourceWriter writer, RenderingContext context) {
         writer.append(context.mainLoopName()).append(":").ws().append("while").ws().append("(true)")
                 .ws().append("{").ws();
@@ -993,6 +1436,130 @@ public class Renderer implements RenderingManager {
         return services.getService(type);
     }
 
+    static class PendingMethod {
+        final MethodHolder method;
+        final boolean async;
+        final boolean split;
+        final boolean isFunction;
+        MethodNode node;
+        ControlFlowEntry[] controlFlow;
+        boolean cached;
+        boolean sequential;
+        RememberedSource fragment;
+        boolean threadLibraryUsed;
+        RenderedMethodCacheEntry cacheEntry;
+        String[] strings;
+
+        PendingMethod(MethodHolder method, boolean async, boolean split, boolean isFunction) {
+            this.method = method;
+            this.async = async;
+            this.split = split;
+            this.isFunction = isFunction;
+        }
+
+        boolean needsDecompilation() {
+            return node == null && cacheEntry == null;
+        }
+
+        boolean needsRendering() {
+            return !sequential && fragment == null;
+        }
+    }
+
+    private class FragmentRenderer {
+        private final RememberingSourceWriter fragmentWriter;
+        private final MethodBodyRenderer fragmentBodyRenderer;
+
+        FragmentRenderer(boolean debug) {
+            fragmentWriter = new RememberingSourceWriter(debug);
+            fragmentWriter.useLocalStrings();
+            var nameGenerator = new VariableNameGenerator(context.isMinifying());
+            nameGenerator.clear();
+            fragmentBodyRenderer = new MethodBodyRenderer(context, diagnostics, context.isMinifying(),
+                    initialAsyncMethods, fragmentWriter, nameGenerator);
+            fragmentBodyRenderer.setCoroutineMethods(asyncMethods, splitMethods);
+        }
+
+        void render(PendingMethod pending) {
+            renderPendingBody(fragmentWriter, fragmentBodyRenderer, pending);
+            pending.threadLibraryUsed = fragmentBodyRenderer.isThreadLibraryUsed();
+            pending.fragment = fragmentWriter.save();
+            pending.strings = fragmentWriter.getLocalStrings();
+            fragmentWriter.clear();
+        }
+    }
+
+    // Methods that call injectors are rendered on the calling thread, since injectors may have any side effects.
+    private class InjectorFinder extends RecursiveVisitor {
+        boolean find(MethodNode node) {
+            canceled = false;
+            if (node instanceof RegularMethodNode) {
+                ((RegularMethodNode) node).getBody().acceptVisitor(this);
+            } else if (node instanceof AsyncMethodNode) {
+                for (AsyncMethodPart part : ((AsyncMethodNode) node).getBody()) {
+                    part.getStatement().acceptVisitor(this);
+                    if (canceled) {
+                        break;
+                    }
+                }
+            }
+            return canceled;
+        }
+
+        @Override
+        public void visit(InvocationExpr expr) {
+            if (context.getInjector(expr.getMethod()) != null) {
+                cancel();
+                return;
+            }
+            super.visit(expr);
+        }
+    }
+
+    private static class ReferencedClassCollector implements SourceWriterSink {
+        private final Set<String> classes;
+
+        ReferencedClassCollector(Set<String> classes) {
+            this.classes = classes;
+        }
+
+        @Override
+        public SourceWriterSink appendClass(String cls) {
+            classes.add(cls);
+            return this;
+        }
+
+        @Override
+        public SourceWriterSink appendField(FieldReference field) {
+            classes.add(field.getClassName());
+            return this;
+        }
+
+        @Override
+        public SourceWriterSink appendStaticField(FieldReference field) {
+            classes.add(field.getClassName());
+            return this;
+        }
+
+        @Override
+        public SourceWriterSink appendMethod(MethodReference method) {
+            classes.add(method.getClassName());
+            return this;
+        }
+
+        @Override
+        public SourceWriterSink appendInit(MethodReference method) {
+            classes.add(method.getClassName());
+            return this;
+        }
+
+        @Override
+        public SourceWriterSink appendClassInit(String className) {
+            classes.add(className);
+            return this;
+        }
+    }
+
     private static class PostponedFieldInitializer {
         FieldReference field;
         String value;
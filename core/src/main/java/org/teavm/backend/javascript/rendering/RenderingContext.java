@@ -24,6 +24,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.function.Predicate;
+import org.teavm.backend.javascript.JSCoroutineMode;
+import org.teavm.backend.javascript.JSLongRepresentation;
 import org.teavm.backend.javascript.codegen.NamingStrategy;
 import org.teavm.backend.javascript.codegen.SourceWriter;
 import org.teavm.backend.javascript.spi.InjectedBy;
@@ -61,6 +63,9 @@ public abstract class RenderingContext {
     private boolean minifying;
     private ClassInitializerInfo classInitializerInfo;
     private boolean strict;
+    private JSLongRepresentation longRepresentation = JSLongRepresentation.BIG_INT;
+    private JSCoroutineMode coroutineMode = JSCoroutineMode.STATE_MACHINE;
+    private boolean lazyMetadata;
 
     public RenderingContext(DebugInformationEmitter debugEmitter,
             ClassReaderSource initialClassSource, ListableClassReaderSource classSource,
@@ -164,8 +169,7 @@ public abstract class RenderingContext {
             writer.append(")");
         } else if (cst instanceof String) {
             String string = (String) cst;
-            int index = lookupString(string);
-            writer.appendFunction("$rt_s").append("(" + index + ")");
+            writer.appendFunction("$rt_s").append("(").appendStringConstant(string, this::lookupString).append(")");
         } else if (cst instanceof Long) {
             long value = (Long) cst;
             if (value == 0) {
@@ -329,6 +333,34 @@ public abstract class RenderingContext {
         return strict;
     }
 
+    public JSLongRepresentation getLongRepresentation() {
+        return longRepresentation;
+    }
+
+    public void setLongRepresentation(JSLongRepresentation longRepresentation) {
+        this.longRepresentation = longRepresentation;
+    }
+
+    public JSCoroutineMode getCoroutineMode() {
+        return coroutineMode;
+    }
+
+    public void setCoroutineMode(JSCoroutineMode coroutineMode) {
+        this.coroutineMode = coroutineMode;
+    }
+
+    public boolean isGeneratorCoroutines() {
+        return coroutineMode == JSCoroutineMode.GENERATORS;
+    }
+
+    public boolean isLazyMetadata() {
+        return lazyMetadata;
+    }
+
+    public void setLazyMetadata(boolean lazyMetadata) {
+        this.lazyMetadata = lazyMetadata;
+    }
+
     public abstract String importModule(String name);
 
     @PlatformMarker
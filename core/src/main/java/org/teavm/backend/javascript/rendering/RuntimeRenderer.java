@@ -27,6 +27,7 @@ import java.util.Set;
 import org.mozilla.javascript.CompilerEnvirons;
 import org.mozilla.javascript.Context;
 import org.mozilla.javascript.ast.AstRoot;
+import org.teavm.backend.javascript.JSLongRepresentation;
 import org.teavm.backend.javascript.codegen.SourceWriter;
 import org.teavm.backend.javascript.codegen.SourceWriterSink;
 import org.teavm.backend.javascript.templating.AstRemoval;
@@ -53,11 +54,12 @@ public class RuntimeRenderer {
         this.classInitializerInfo = classInitializerInfo;
     }
 
-    public void prepareAstParts(boolean threadLibraryUsed) {
+    public void prepareAstParts(boolean threadLibraryUsed, JSLongRepresentation longRepresentation) {
         runtimeAstParts.add(prepareAstPart("runtime.js"));
         runtimeAstParts.add(prepareAstPart("primitive.js"));
         runtimeAstParts.add(prepareAstPart("numeric.js"));
-        runtimeAstParts.add(prepareAstPart("long.js"));
+        runtimeAstParts.add(prepareAstPart(longRepresentation == JSLongRepresentation.INT32_PAIR
+                ? "longPair.js" : "long.js"));
         runtimeAstParts.add(prepareAstPart("array.js"));
         runtimeAstParts.add(prepareAstPart("string.js"));
         runtimeAstParts.add(prepareAstPart("reflection.js"));
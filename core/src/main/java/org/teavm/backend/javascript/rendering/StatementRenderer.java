@@ -26,7 +26,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
 import org.teavm.ast.ArrayFromDataExpr;
+import org.teavm.ast.ArrayType;
 import org.teavm.ast.AssignmentStatement;
 import org.teavm.ast.BinaryExpr;
 import org.teavm.ast.BinaryOperation;
@@ -67,7 +69,7 @@ import org.teavm.ast.UnaryExpr;
 import org.teavm.ast.UnwrapArrayExpr;
 import org.teavm.ast.VariableExpr;
 import org.teavm.ast.WhileStatement;
-import org.teavm.backend.javascript.codegen.NamingStrategy;
+import org.teavm.backend.javascript.JSLongRepresentation;
 import org.teavm.backend.javascript.codegen.SourceWriter;
 import org.teavm.backend.javascript.spi.Injector;
 import org.teavm.backend.javascript.spi.InjectorContext;
@@ -88,9 +90,10 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
     private SourceWriter writer;
     private ClassReaderSource classSource;
     private boolean async;
+    private Set<MethodReference> asyncMethods = Collections.emptySet();
+    private Set<MethodReference> splitMethods = Collections.emptySet();
     private boolean minifying;
     private Precedence precedence;
-    private NamingStrategy naming;
     private boolean end;
     private final Map<String, String> blockIdMap = new HashMap<>();
     private int currentPart;
@@ -107,7 +110,6 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
         this.writer = writer;
         this.classSource = context.getClassSource();
         this.minifying = context.isMinifying();
-        this.naming = context.getNaming();
         this.variableNameGenerator = variableNameGenerator;
     }
 
@@ -132,6 +134,19 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
         this.async = async;
     }
 
+    /**
+     * Provides methods that are compiled as coroutines and methods which calls are suspension points.
+     * Only used when coroutines are compiled to generators, see {@link RenderingContext#isGeneratorCoroutines()}.
+     */
+    public void setCoroutineMethods(Set<MethodReference> asyncMethods, Set<MethodReference> splitMethods) {
+        this.asyncMethods = asyncMethods;
+        this.splitMethods = splitMethods;
+    }
+
+    private boolean isGenerator() {
+        return async && context.isGeneratorCoroutines();
+    }
+
     public void setCurrentMethod(MethodNode currentMethod) {
         variableNameGenerator.setCurrentMethod(currentMethod);
     }
@@ -226,24 +241,38 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
         if (statement.getLocation() != null) {
             pushLocation(statement.getLocation());
         }
+        var longElement = isLongArrayElement(statement.getLeftValue());
         if (statement.getLeftValue() != null) {
             if (statement.isAsync()) {
                 writer.append(context.tempVarName());
             } else {
                 precedence = Precedence.COMMA;
-                statement.getLeftValue().acceptVisitor(this);
+                renderAssignmentTarget(statement.getLeftValue(), longElement);
             }
             writer.ws().append("=").ws();
         }
-        precedence = Precedence.COMMA;
-        statement.getRightValue().acceptVisitor(this);
+        if (longElement && !statement.isAsync()) {
+            writer.appendFunction("Long_toBigInt").append("(");
+            precedence = Precedence.min();
+            statement.getRightValue().acceptVisitor(this);
+            writer.append(")");
+        } else {
+            precedence = Precedence.COMMA;
+            statement.getRightValue().acceptVisitor(this);
+        }
         writer.append(";").softNewLine();
         if (statement.isAsync()) {
             emitSuspendChecker();
             if (statement.getLeftValue() != null) {
                 precedence = Precedence.COMMA;
-                statement.getLeftValue().acceptVisitor(this);
-                writer.ws().append("=").ws().append(context.tempVarName()).append(";").softNewLine();
+                renderAssignmentTarget(statement.getLeftValue(), longElement);
+                writer.ws().append("=").ws();
+                if (longElement) {
+                    writer.appendFunction("Long_toBigInt").append("(").append(context.tempVarName()).append(")");
+                } else {
+                    writer.append(context.tempVarName());
+                }
+                writer.append(";").softNewLine();
             }
         }
         if (statement.getLocation() != null) {
@@ -251,6 +280,19 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
         }
     }
 
+    private boolean isLongArrayElement(Expr expr) {
+        return expr instanceof SubscriptExpr && ((SubscriptExpr) expr).getType() == ArrayType.LONG
+                && context.getLongRepresentation() == JSLongRepresentation.INT32_PAIR;
+    }
+
+    private void renderAssignmentTarget(Expr expr, boolean longElement) {
+        if (longElement) {
+            renderSubscript((SubscriptExpr) expr);
+        } else {
+            expr.acceptVisitor(this);
+        }
+    }
+
     @Override
     public void visit(SequentialStatement statement) {
         visitStatements(statement.getSequence());
@@ -497,7 +539,12 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
         if (statement.getLocation() != null) {
             pushLocation(statement.getLocation());
         }
-        writer.appendClassInit(statement.getClassName()).append("();").softNewLine();
+        if (isGenerator() && asyncMethods.contains(method.getReference())) {
+            writer.append("yield*").ws().appendFunction("$rt_co").append("(")
+                    .appendClassInit(statement.getClassName()).append("());").softNewLine();
+        } else {
+            writer.appendClassInit(statement.getClassName()).append("();").softNewLine();
+        }
         if (statement.isAsync()) {
             emitSuspendChecker();
         }
@@ -1055,6 +1102,16 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
 
     @Override
     public void visit(SubscriptExpr expr) {
+        if (isLongArrayElement(expr)) {
+            writer.appendFunction("Long_fromBigInt").append("(");
+            renderSubscript(expr);
+            writer.append(")");
+        } else {
+            renderSubscript(expr);
+        }
+    }
+
+    private void renderSubscript(SubscriptExpr expr) {
         if (expr.getLocation() != null) {
             pushLocation(expr.getLocation());
         }
@@ -1091,6 +1148,18 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
         if (injector != null) {
             injector.generate(new InjectorContextImpl(expr.getArguments()), expr.getMethod());
         } else {
+            // A callee that is known to be a generator is delegated to directly, otherwise its result
+            // may be either a generator or a plain value, which is told apart at run time
+            var delegated = isGenerator() && splitMethods.contains(expr.getMethod());
+            var knownGenerator = delegated && expr.getType() != InvocationType.DYNAMIC
+                    && asyncMethods.contains(expr.getMethod());
+            if (delegated) {
+                writer.append("(yield*").ws();
+                if (!knownGenerator) {
+                    writer.appendFunction("$rt_co").append("(");
+                }
+                precedence = Precedence.min();
+            }
             Precedence outerPrecedence = precedence;
             if (outerPrecedence.ordinal() > Precedence.FUNCTION_CALL.ordinal()) {
                 writer.append('(');
@@ -1101,7 +1170,6 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
                 expr.getArguments().get(0).acceptVisitor(this);
             }
             MethodReference method = expr.getMethod();
-            String name = naming.instanceMethodName(method.getDescriptor());
             switch (expr.getType()) {
                 case STATIC:
                     writer.appendMethod(method).append("(");
@@ -1124,7 +1192,7 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
                     }
                     break;
                 case DYNAMIC:
-                    writer.append(".").append(name).append("(");
+                    writer.append(".").appendVirtualMethod(method.getDescriptor()).append("(");
                     for (int i = 1; i < expr.getArguments().size(); ++i) {
                         if (i > 1) {
                             writer.append(",").ws();
@@ -1149,6 +1217,9 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
             if (outerPrecedence.ordinal() > Precedence.FUNCTION_CALL.ordinal()) {
                 writer.append(')');
             }
+            if (delegated) {
+                writer.append(knownGenerator ? ")" : "))");
+            }
         }
         if (expr.getLocation() != null) {
             popLocation();
@@ -1507,7 +1578,13 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
 
     @Override
     public void visit(MonitorEnterStatement statement) {
-        if (async) {
+        if (isGenerator()) {
+            writer.append("yield*").ws().appendFunction("$rt_co").append("(")
+                    .appendMethod(NameFrequencyEstimator.MONITOR_ENTER_METHOD).append("(");
+            precedence = Precedence.min();
+            statement.getObjectRef().acceptVisitor(this);
+            writer.append("));").softNewLine();
+        } else if (async) {
             writer.appendMethod(NameFrequencyEstimator.MONITOR_ENTER_METHOD).append("(");
             precedence = Precedence.min();
             statement.getObjectRef().acceptVisitor(this);
@@ -1591,6 +1668,11 @@ public class StatementRenderer implements ExprVisitor, StatementVisitor {
             return minifying;
         }
 
+        @Override
+        public JSLongRepresentation getLongRepresentation() {
+            return context.getLongRepresentation();
+        }
+
         @Override
         public SourceWriter getWriter() {
             return writer;
@@ -0,0 +1,403 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript.report;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.teavm.common.JsonUtil;
+import org.teavm.common.json.JsonArrayValue;
+import org.teavm.common.json.JsonObjectValue;
+import org.teavm.common.json.JsonParser;
+import org.teavm.common.json.JsonValue;
+import org.teavm.common.json.JsonValueProvider;
+
+/**
+ * <p>Describes how many bytes of generated JavaScript, encoded in UTF-8, belong to each class, package and method,
+ * together with a chain of calls which explains why each class got into the output.</p>
+ *
+ * <p>Report can be written as JSON or HTML. When a baseline report of a previous build is given,
+ * both formats contain changes in size relative to the baseline.</p>
+ */
+public class BundleSizeReport {
+    private static final Comparator<Map.Entry<String, Integer>> BY_SIZE = Map.Entry.<String, Integer>comparingByValue()
+            .reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private int totalSize;
+    private int metadataSize;
+    private int stringPoolSize;
+    private Map<String, ClassEntry> classes = new LinkedHashMap<>();
+
+    public int getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(int totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public int getMetadataSize() {
+        return metadataSize;
+    }
+
+    public void setMetadataSize(int metadataSize) {
+        this.metadataSize = metadataSize;
+    }
+
+    public int getStringPoolSize() {
+        return stringPoolSize;
+    }
+
+    public void setStringPoolSize(int stringPoolSize) {
+        this.stringPoolSize = stringPoolSize;
+    }
+
+    public Collection<ClassEntry> getClasses() {
+        return classes.values();
+    }
+
+    public ClassEntry getClassEntry(String className) {
+        return classes.get(className);
+    }
+
+    public ClassEntry addClass(String className) {
+        return classes.computeIfAbsent(className, ClassEntry::new);
+    }
+
+    public Map<String, Integer> getPackageSizes() {
+        var result = new LinkedHashMap<String, Integer>();
+        for (var cls : classes.values()) {
+            result.merge(packageName(cls.name), cls.size, Integer::sum);
+        }
+        return result;
+    }
+
+    private static String packageName(String className) {
+        var index = className.lastIndexOf('.');
+        return index >= 0 ? className.substring(0, index) : "";
+    }
+
+    private List<ClassEntry> sortedClasses() {
+        var result = new ArrayList<>(classes.values());
+        result.sort(Comparator.comparingInt((ClassEntry cls) -> -cls.size).thenComparing(cls -> cls.name));
+        return result;
+    }
+
+    private static List<Map.Entry<String, Integer>> sorted(Map<String, Integer> map) {
+        var result = new ArrayList<>(map.entrySet());
+        result.sort(BY_SIZE);
+        return result;
+    }
+
+    public void writeJson(Writer writer, BundleSizeReport baseline) throws IOException {
+        writer.append("{\n");
+        writer.append("  \"totalSize\": ").append(String.valueOf(totalSize)).append(",\n");
+        writer.append("  \"metadataSize\": ").append(String.valueOf(metadataSize)).append(",\n");
+        writer.append("  \"stringPoolSize\": ").append(String.valueOf(stringPoolSize)).append(",\n");
+        var basePackages = baseline != null ? baseline.getPackageSizes() : null;
+        if (baseline != null) {
+            writer.append("  \"baselineTotalSize\": ").append(String.valueOf(baseline.totalSize)).append(",\n");
+            writer.append("  \"totalDelta\": ").append(String.valueOf(totalSize - baseline.totalSize))
+                    .append(",\n");
+        }
+
+        writer.append("  \"packages\": [");
+        var first = true;
+        for (var pkg : sorted(getPackageSizes())) {
+            writer.append(first ? "\n" : ",\n").append("    {\"name\": ");
+            first = false;
+            writeString(writer, pkg.getKey());
+            writer.append(", \"size\": ").append(String.valueOf(pkg.getValue()));
+            if (basePackages != null) {
+                var delta = pkg.getValue() - basePackages.getOrDefault(pkg.getKey(), 0);
+                writer.append(", \"delta\": ").append(String.valueOf(delta));
+            }
+            writer.append("}");
+        }
+        writer.append("\n  ],\n");
+
+        writer.append("  \"classes\": [");
+        first = true;
+        for (var cls : sortedClasses()) {
+            writer.append(first ? "\n" : ",\n");
+            first = false;
+            writeClassJson(writer, cls, baseline != null ? baseline.getClassEntry(cls.name) : null, baseline != null);
+        }
+        writer.append("\n  ]");
+
+        if (baseline != null) {
+            writer.append(",\n  \"removedClasses\": [");
+            first = true;
+            for (var cls : baseline.sortedClasses()) {
+                if (!classes.containsKey(cls.name)) {
+                    writer.append(first ? "\n" : ",\n").append("    {\"name\": ");
+                    first = false;
+                    writeString(writer, cls.name);
+                    writer.append(", \"size\": ").append(String.valueOf(cls.size)).append("}");
+                }
+            }
+            writer.append("\n  ]");
+        }
+        writer.append("\n}\n");
+    }
+
+    private static void writeClassJson(Writer writer, ClassEntry cls, ClassEntry baseCls, boolean diff)
+            throws IOException {
+        writer.append("    {\"name\": ");
+        writeString(writer, cls.name);
+        writer.append(", \"size\": ").append(String.valueOf(cls.size));
+        if (diff) {
+            var delta = cls.size - (baseCls != null ? baseCls.size : 0);
+            writer.append(", \"delta\": ").append(String.valueOf(delta));
+        }
+        writer.append(",\n      \"reason\": [");
+        var first = true;
+        for (var method : cls.reason) {
+            if (!first) {
+                writer.append(", ");
+            }
+            first = false;
+            writeString(writer, method);
+        }
+        writer.append("],\n      \"methods\": [");
+        first = true;
+        for (var method : sorted(cls.methods)) {
+            writer.append(first ? "\n" : ",\n").append("        {\"name\": ");
+            first = false;
+            writeString(writer, method.getKey());
+            writer.append(", \"size\": ").append(String.valueOf(method.getValue()));
+            if (diff) {
+                var baseSize = baseCls != null ? baseCls.methods.getOrDefault(method.getKey(), 0) : 0;
+                writer.append(", \"delta\": ").append(String.valueOf(method.getValue() - baseSize));
+            }
+            writer.append("}");
+        }
+        writer.append(first ? "]}" : "\n      ]}");
+    }
+
+    private static void writeString(Writer writer, String value) throws IOException {
+        writer.append('"');
+        JsonUtil.writeEscapedString(writer, value);
+        writer.append('"');
+    }
+
+    public void writeHtml(Writer writer, BundleSizeReport baseline) throws IOException {
+        var diff = baseline != null;
+        writer.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n");
+        writer.append("<title>Bundle size report</title>\n");
+        writer.append("<style>\n")
+                .append("body { font-family: sans-serif; }\n")
+                .append("table { border-collapse: collapse; }\n")
+                .append("th, td { padding: 2px 8px; text-align: left; vertical-align: top; }\n")
+                .append("td.size { text-align: right; font-family: monospace; }\n")
+                .append("tr:nth-child(even) { background: #f4f4f4; }\n")
+                .append("</style>\n</head>\n<body>\n");
+
+        writer.append("<h1>Bundle size report</h1>\n<table>\n");
+        writeHtmlSummaryRow(writer, "Total", totalSize, diff ? baseline.totalSize : -1);
+        writeHtmlSummaryRow(writer, "Metadata", metadataSize, diff ? baseline.metadataSize : -1);
+        writeHtmlSummaryRow(writer, "String pool", stringPoolSize, diff ? baseline.stringPoolSize : -1);
+        writer.append("</table>\n");
+
+        writer.append("<h2>Packages</h2>\n<table>\n");
+        writeHtmlHeader(writer, "Package", diff);
+        var basePackages = diff ? baseline.getPackageSizes() : null;
+        for (var pkg : sorted(getPackageSizes())) {
+            writer.append("<tr><td>").append(escapeHtml(pkg.getKey().isEmpty() ? "(default)" : pkg.getKey()))
+                    .append("</td>");
+            writeHtmlSize(writer, pkg.getValue(), diff ? basePackages.getOrDefault(pkg.getKey(), 0) : -1);
+            writer.append("</tr>\n");
+        }
+        writer.append("</table>\n");
+
+        writer.append("<h2>Classes</h2>\n<table>\n");
+        writeHtmlHeader(writer, "Class", diff);
+        for (var cls : sortedClasses()) {
+            var baseCls = diff ? baseline.getClassEntry(cls.name) : null;
+            writer.append("<tr><td><details><summary>").append(escapeHtml(cls.name)).append("</summary>\n");
+            if (!cls.reason.isEmpty()) {
+                writer.append("<p>Reached through:</p>\n<ol>\n");
+                for (var method : cls.reason) {
+                    writer.append("<li>").append(escapeHtml(method)).append("</li>\n");
+                }
+                writer.append("</ol>\n");
+            }
+            if (!cls.methods.isEmpty()) {
+                writer.append("<table>\n");
+                writeHtmlHeader(writer, "Method", diff);
+                for (var method : sorted(cls.methods)) {
+                    writer.append("<tr><td>").append(escapeHtml(method.getKey())).append("</td>");
+                    var baseSize = baseCls != null ? baseCls.methods.getOrDefault(method.getKey(), 0) : 0;
+                    writeHtmlSize(writer, method.getValue(), diff ? baseSize : -1);
+                    writer.append("</tr>\n");
+                }
+                writer.append("</table>\n");
+            }
+            writer.append("</details></td>");
+            writeHtmlSize(writer, cls.size, diff ? (baseCls != null ? baseCls.size : 0) : -1);
+            writer.append("</tr>\n");
+        }
+        writer.append("</table>\n");
+
+        if (diff) {
+            writer.append("<h2>Removed classes</h2>\n<table>\n");
+            writeHtmlHeader(writer, "Class", false);
+            for (var cls : baseline.sortedClasses()) {
+                if (!classes.containsKey(cls.name)) {
+                    writer.append("<tr><td>").append(escapeHtml(cls.name)).append("</td>");
+                    writeHtmlSize(writer, cls.size, -1);
+                    writer.append("</tr>\n");
+                }
+            }
+            writer.append("</table>\n");
+        }
+        writer.append("</body>\n</html>\n");
+    }
+
+    private static void writeHtmlSummaryRow(Writer writer, String title, int size, int baseSize) throws IOException {
+        writer.append("<tr><th>").append(title).append("</th>");
+        writeHtmlSize(writer, size, baseSize);
+        writer.append("</tr>\n");
+    }
+
+    private static void writeHtmlHeader(Writer writer, String title, boolean diff) throws IOException {
+        writer.append("<tr><th>").append(title).append("</th><th>Size</th>");
+        if (diff) {
+            writer.append("<th>Change</th>");
+        }
+        writer.append("</tr>\n");
+    }
+
+    private static void writeHtmlSize(Writer writer, int size, int baseSize) throws IOException {
+        writer.append("<td class=\"size\">").append(String.valueOf(size)).append("</td>");
+        if (baseSize >= 0) {
+            var delta = size - baseSize;
+            writer.append("<td class=\"size\">").append(delta > 0 ? "+" : "").append(String.valueOf(delta))
+                    .append("</td>");
+        }
+    }
+
+    private static String escapeHtml(String text) {
+        var sb = new StringBuilder(text.length());
+        for (var i = 0; i < text.length(); ++i) {
+            var c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '>':
+                    sb.append("&gt;");
+                    break;
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '"':
+                    sb.append("&quot;");
+                    break;
+                default:
+                    sb.append(c);
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads report previously written by {@link #writeJson(Writer, BundleSizeReport)}.
+     * Changes relative to baseline are ignored.
+     */
+    public static BundleSizeReport readJson(Reader reader) throws IOException {
+        var provider = new JsonValueProvider();
+        JsonParser.ofValue(provider).parse(reader);
+        var root = provider.getValue().asObject();
+
+        var report = new BundleSizeReport();
+        report.totalSize = intProperty(root, "totalSize");
+        report.metadataSize = intProperty(root, "metadataSize");
+        report.stringPoolSize = intProperty(root, "stringPoolSize");
+        if (root.has("classes")) {
+            var classes = (JsonArrayValue) root.get("classes");
+            for (var i = 0; i < classes.size(); ++i) {
+                var clsJson = classes.get(i).asObject();
+                var cls = report.addClass(clsJson.get("name").asString());
+                cls.size = intProperty(clsJson, "size");
+                if (clsJson.has("reason")) {
+                    var reason = (JsonArrayValue) clsJson.get("reason");
+                    for (var j = 0; j < reason.size(); ++j) {
+                        cls.reason.add(reason.get(j).asString());
+                    }
+                }
+                if (clsJson.has("methods")) {
+                    var methods = (JsonArrayValue) clsJson.get("methods");
+                    for (var j = 0; j < methods.size(); ++j) {
+                        var methodJson = methods.get(j).asObject();
+                        cls.methods.put(methodJson.get("name").asString(), intProperty(methodJson, "size"));
+                    }
+                }
+            }
+        }
+        return report;
+    }
+
+    private static int intProperty(JsonObjectValue object, String name) {
+        JsonValue value = object.get(name);
+        return value != null ? (int) value.asIntNumber() : 0;
+    }
+
+    public static class ClassEntry {
+        private final String name;
+        private int size;
+        private Map<String, Integer> methods = new LinkedHashMap<>();
+        private List<String> reason = new ArrayList<>();
+
+        ClassEntry(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void addSize(int size) {
+            this.size += size;
+        }
+
+        public Map<String, Integer> getMethods() {
+            return methods;
+        }
+
+        public void addMethodSize(String method, int size) {
+            methods.merge(method, size, Integer::sum);
+        }
+
+        /**
+         * Chain of calls, starting at an entry point, which made this class reachable.
+         */
+        public List<String> getReason() {
+            return reason;
+        }
+    }
+}
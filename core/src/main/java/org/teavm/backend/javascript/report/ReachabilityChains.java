@@ -0,0 +1,92 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript.report;
+
+import com.carrotsearch.hppc.ObjectIntHashMap;
+import com.carrotsearch.hppc.ObjectIntMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.teavm.callgraph.CallGraph;
+import org.teavm.model.MethodReference;
+
+/**
+ * For every method reachable in call graph finds a shortest chain of calls that starts at one of given roots.
+ * Roots that go first win over roots that go later when chains have the same length.
+ */
+public class ReachabilityChains {
+    private final ObjectIntMap<MethodReference> depths = new ObjectIntHashMap<>();
+    private final Map<MethodReference, MethodReference> callers = new HashMap<>();
+
+    public ReachabilityChains(CallGraph callGraph, Collection<MethodReference> roots) {
+        var queue = new ArrayDeque<MethodReference>();
+        for (var root : roots) {
+            if (!depths.containsKey(root)) {
+                depths.put(root, 0);
+                queue.add(root);
+            }
+        }
+        while (!queue.isEmpty()) {
+            var method = queue.remove();
+            var node = callGraph.getNode(method);
+            if (node == null) {
+                continue;
+            }
+            var depth = depths.get(method) + 1;
+            for (var callSite : node.getCallSites()) {
+                for (var callee : callSite.getCalledMethods()) {
+                    var calleeRef = callee.getMethod();
+                    if (!depths.containsKey(calleeRef)) {
+                        depths.put(calleeRef, depth);
+                        callers.put(calleeRef, method);
+                        queue.add(calleeRef);
+                    }
+                }
+            }
+        }
+    }
+
+    public boolean isReached(MethodReference method) {
+        return depths.containsKey(method);
+    }
+
+    /**
+     * Returns length of the chain, or {@link Integer#MAX_VALUE} if the method is not reached from any root.
+     */
+    public int getDepth(MethodReference method) {
+        return depths.getOrDefault(method, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the chain of calls, which starts at a root and ends at the given method,
+     * or an empty list if the method is not reached from any root.
+     */
+    public List<MethodReference> getChain(MethodReference method) {
+        if (!depths.containsKey(method)) {
+            return Collections.emptyList();
+        }
+        var chain = new ArrayList<MethodReference>();
+        for (var current = method; current != null; current = callers.get(current)) {
+            chain.add(current);
+        }
+        Collections.reverse(chain);
+        return chain;
+    }
+}
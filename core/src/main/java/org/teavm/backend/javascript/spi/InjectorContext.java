@@ -17,6 +17,7 @@ package org.teavm.backend.javascript.spi;
 
 import java.util.Properties;
 import org.teavm.ast.Expr;
+import org.teavm.backend.javascript.JSLongRepresentation;
 import org.teavm.backend.javascript.codegen.SourceWriter;
 import org.teavm.backend.javascript.rendering.Precedence;
 import org.teavm.common.ServiceRepository;
@@ -32,6 +33,8 @@ public interface InjectorContext extends ServiceRepository {
 
     boolean isMinifying();
 
+    JSLongRepresentation getLongRepresentation();
+
     SourceWriter getWriter();
 
     Properties getProperties();
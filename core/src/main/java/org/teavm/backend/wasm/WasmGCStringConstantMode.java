@@ -0,0 +1,35 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm;
+
+public enum WasmGCStringConstantMode {
+    /**
+     * All string constants are decoded from the data segment when the module starts.
+     */
+    EAGER,
+
+    /**
+     * Every string constant is decoded from the data segment the first time it is used.
+     */
+    LAZY,
+
+    /**
+     * String constants are imported as JS strings via the string constants import of JS string builtins and
+     * copied into a Java string the first time they are used. Constants that can't be expressed as import names
+     * are handled as in {@link #LAZY} mode.
+     */
+    JS_BUILTINS
+}
@@ -25,6 +25,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -57,6 +58,7 @@ import org.teavm.backend.wasm.model.WasmType;
 import org.teavm.backend.wasm.model.expression.WasmGetLocal;
 import org.teavm.backend.wasm.model.expression.WasmStructGet;
 import org.teavm.backend.wasm.model.expression.WasmStructSet;
+import org.teavm.backend.wasm.optimization.WasmOptimizer;
 import org.teavm.backend.wasm.optimization.WasmUsageCounter;
 import org.teavm.backend.wasm.render.WasmBinaryRenderer;
 import org.teavm.backend.wasm.render.WasmBinaryStatsCollector;
@@ -112,6 +114,8 @@ public class WasmGCTarget implements TeaVMTarget, TeaVMWasmGCHost {
     private List<WasmGCClassConsumer> classConsumers = new ArrayList<>();
     private List<Supplier<Collection<MethodReference>>> additionalMethodsOnCallSites = new ArrayList<>();
     private boolean importedMemory;
+    private int renderingThreads = 1;
+    private WasmGCStringConstantMode stringConstantMode;
 
     public void setObfuscated(boolean obfuscated) {
         this.obfuscated = obfuscated;
@@ -157,6 +161,14 @@ public class WasmGCTarget implements TeaVMTarget, TeaVMWasmGCHost {
         this.importedMemory = importedMemory;
     }
 
+    public void setRenderingThreads(int renderingThreads) {
+        this.renderingThreads = renderingThreads;
+    }
+
+    public void setStringConstantMode(WasmGCStringConstantMode stringConstantMode) {
+        this.stringConstantMode = stringConstantMode;
+    }
+
     @Override
     public void addIntrinsicFactory(WasmGCIntrinsicFactory intrinsicFactory) {
         intrinsicFactories.add(intrinsicFactory);
@@ -301,6 +313,7 @@ public class WasmGCTarget implements TeaVMTarget, TeaVMWasmGCHost {
         );
         declarationsGenerator.setFriendlyToDebugger(controller.isFriendlyToDebugger());
         declarationsGenerator.setCompactMode(compactMode);
+        declarationsGenerator.setStringConstantMode(getStringConstantMode());
         var moduleGenerator = new WasmGCModuleGenerator(declarationsGenerator);
 
         var classConsumerContext = createClassConsumerContext(classes, declarationsGenerator);
@@ -457,6 +470,16 @@ public class WasmGCTarget implements TeaVMTarget, TeaVMWasmGCHost {
         module.setMaxMemorySize(pages);
     }
 
+    private WasmGCStringConstantMode getStringConstantMode() {
+        if (stringConstantMode != null) {
+            return stringConstantMode;
+        }
+        var property = controller.getProperties().getProperty("teavm.wasm.stringConstants");
+        return property != null
+                ? WasmGCStringConstantMode.valueOf(property.toUpperCase(Locale.ROOT))
+                : WasmGCStringConstantMode.EAGER;
+    }
+
     private static boolean needsBuffersHeap(DependencyInfo dependencyInfo) {
         return dependencyInfo.getReachableMethods().stream()
                 .anyMatch(m -> m.getClassName().equals(Heap.class.getName())
@@ -487,6 +510,12 @@ public class WasmGCTarget implements TeaVMTarget, TeaVMWasmGCHost {
         }
         var binaryRenderer = new WasmBinaryRenderer(binaryWriter, WasmBinaryVersion.V_0x1, obfuscated,
                 null, null, debugLines, null, WasmBinaryStatsCollector.EMPTY);
+        binaryRenderer.setRenderingThreads(renderingThreads);
+        if (!controller.isFriendlyToDebugger()) {
+            var optimizer = new WasmOptimizer(module);
+            optimizer.setLocalsPreserved(debugInfo);
+            optimizer.apply();
+        }
         optimizeIndexes(module);
         module.prepareForRendering();
         binaryRenderer.render(module, customSections(debugInfoBuilder, module));
@@ -82,6 +82,7 @@ import org.teavm.backend.wasm.intrinsics.WasmIntrinsicFactory;
 import org.teavm.backend.wasm.intrinsics.WasmIntrinsicFactoryContext;
 import org.teavm.backend.wasm.intrinsics.WasmIntrinsicManager;
 import org.teavm.backend.wasm.intrinsics.WasmRuntimeIntrinsic;
+import org.teavm.backend.wasm.intrinsics.WasmSimdIntrinsic;
 import org.teavm.backend.wasm.model.WasmCustomSection;
 import org.teavm.backend.wasm.model.WasmFunction;
 import org.teavm.backend.wasm.model.WasmLocal;
@@ -193,6 +194,7 @@ public class WasmTarget implements TeaVMTarget, TeaVMWasmHost {
     private boolean wastEmitted;
     private boolean cEmitted;
     private boolean cLineNumbersEmitted = Boolean.parseBoolean(System.getProperty("wasm.c.lineNumbers", "false"));
+    private boolean simdEnabled = Boolean.parseBoolean(System.getProperty("teavm.wasm.simd", "true"));
     private ClassInitializerEliminator classInitializerEliminator;
     private ClassInitializerTransformer classInitializerTransformer;
     private ShadowStackTransformer shadowStackTransformer;
@@ -290,6 +292,18 @@ public class WasmTarget implements TeaVMTarget, TeaVMWasmHost {
         this.cLineNumbersEmitted = cLineNumbersEmitted;
     }
 
+    public boolean isSimdEnabled() {
+        return simdEnabled;
+    }
+
+    /**
+     * Enables 128-bit SIMD instructions in helpers of bulk memory operations. Ignored when C output is emitted,
+     * since C renderer does not support vector instructions.
+     */
+    public void setSimdEnabled(boolean simdEnabled) {
+        this.simdEnabled = simdEnabled;
+    }
+
     public WasmBinaryVersion getVersion() {
         return version;
     }
@@ -539,6 +553,7 @@ public class WasmTarget implements TeaVMTarget, TeaVMWasmHost {
         }
         context.addIntrinsic(new WasmHeapIntrinsic(vmAssertions));
         context.addIntrinsic(new FiberIntrinsic());
+        context.addIntrinsic(new WasmSimdIntrinsic(module, functionTypes, simdEnabled && !cEmitted));
 
         var intrinsicFactoryContext = new IntrinsicFactoryContext();
         for (WasmIntrinsicFactory additionalIntrinsicFactory : additionalIntrinsics) {
@@ -25,6 +25,9 @@ import org.teavm.backend.wasm.model.expression.WasmIntBinaryOperation;
 import org.teavm.backend.wasm.model.expression.WasmIntType;
 import org.teavm.backend.wasm.model.expression.WasmIntUnaryOperation;
 import org.teavm.backend.wasm.model.expression.WasmSignedType;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinaryOperation;
+import org.teavm.backend.wasm.model.expression.WasmVectorShape;
+import org.teavm.backend.wasm.model.expression.WasmVectorTestOperation;
 import org.teavm.backend.wasm.parser.BranchOpcode;
 import org.teavm.backend.wasm.parser.CodeListener;
 import org.teavm.backend.wasm.parser.LocalOpcode;
@@ -415,6 +418,115 @@ public class DisassemblyCodeListener extends BaseDisassemblyListener implements
         writer.address().write("memory.copy").eol();
     }
 
+    @Override
+    public void vectorLoad(int align, int offset) {
+        writer.address().write("v128.load");
+        writeMemArg(align, 16, offset);
+        writer.eol();
+    }
+
+    @Override
+    public void vectorStore(int align, int offset) {
+        writer.address().write("v128.store");
+        writeMemArg(align, 16, offset);
+        writer.eol();
+    }
+
+    @Override
+    public void vectorSplat(WasmVectorShape shape) {
+        writer.address().write(shapeName(shape)).write(".splat").eol();
+    }
+
+    @Override
+    public void vectorExtractLane(WasmVectorShape shape, WasmSignedType signedType, int lane) {
+        writer.address().write(shapeName(shape)).write(".extract_lane");
+        if (signedType == WasmSignedType.SIGNED) {
+            writer.write("_s");
+        } else if (signedType == WasmSignedType.UNSIGNED) {
+            writer.write("_u");
+        }
+        writer.write(" " + lane).eol();
+    }
+
+    @Override
+    public void vectorBinary(WasmVectorBinaryOperation opcode, WasmVectorShape shape) {
+        writer.address();
+        switch (opcode) {
+            case ADD:
+                writer.write(shapeName(shape)).write(".add");
+                break;
+            case SUB:
+                writer.write(shapeName(shape)).write(".sub");
+                break;
+            case MUL:
+                writer.write(shapeName(shape)).write(".mul");
+                break;
+            case EQ:
+                writer.write(shapeName(shape)).write(".eq");
+                break;
+            case NE:
+                writer.write(shapeName(shape)).write(".ne");
+                break;
+            case AND:
+                writer.write("v128.and");
+                break;
+            case AND_NOT:
+                writer.write("v128.andnot");
+                break;
+            case OR:
+                writer.write("v128.or");
+                break;
+            case XOR:
+                writer.write("v128.xor");
+                break;
+            case NARROW_SIGNED:
+                writer.write(shapeName(shape)).write(shape == WasmVectorShape.I8X16
+                        ? ".narrow_i16x8_s" : ".narrow_i32x4_s");
+                break;
+            case NARROW_UNSIGNED:
+                writer.write(shapeName(shape)).write(shape == WasmVectorShape.I8X16
+                        ? ".narrow_i16x8_u" : ".narrow_i32x4_u");
+                break;
+        }
+        writer.eol();
+    }
+
+    @Override
+    public void vectorTest(WasmVectorTestOperation opcode, WasmVectorShape shape) {
+        writer.address();
+        switch (opcode) {
+            case ANY_TRUE:
+                writer.write("v128.any_true");
+                break;
+            case ALL_TRUE:
+                writer.write(shapeName(shape)).write(".all_true");
+                break;
+            case BITMASK:
+                writer.write(shapeName(shape)).write(".bitmask");
+                break;
+        }
+        writer.eol();
+    }
+
+    private static String shapeName(WasmVectorShape shape) {
+        switch (shape) {
+            case I8X16:
+                return "i8x16";
+            case I16X8:
+                return "i16x8";
+            case I32X4:
+                return "i32x4";
+            case I64X2:
+                return "i64x2";
+            case F32X4:
+                return "f32x4";
+            case F64X2:
+                return "f64x2";
+            default:
+                return "error";
+        }
+    }
+
     private void writeMemArg(int align, int defaultAlign, int offset) {
         var needsComma = false;
         if (align != defaultAlign) {
@@ -130,6 +130,9 @@ public class WasmGCDependencies {
 
     private void contributeInitializerUtils() {
         analyzer.linkMethod(new MethodReference(WasmGCSupport.class, "nextCharArray", char[].class)).use();
+        analyzer.linkMethod(new MethodReference(WasmGCSupport.class, "charArrayAt", int.class, char[].class)).use();
+        analyzer.linkMethod(new MethodReference(WasmGCSupport.class, "createCharArray", int.class, char[].class))
+                .use();
     }
 
     private void contributeString() {
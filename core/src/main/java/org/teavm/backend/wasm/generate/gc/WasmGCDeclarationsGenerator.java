@@ -23,6 +23,7 @@ import java.util.function.Consumer;
 import java.util.function.Predicate;
 import org.teavm.backend.wasm.BaseWasmFunctionRepository;
 import org.teavm.backend.wasm.WasmFunctionTypes;
+import org.teavm.backend.wasm.WasmGCStringConstantMode;
 import org.teavm.backend.wasm.gc.vtable.WasmGCVirtualTableProvider;
 import org.teavm.backend.wasm.generate.gc.classes.WasmGCClassGenerator;
 import org.teavm.backend.wasm.generate.gc.classes.WasmGCClassInfoProvider;
@@ -133,6 +134,10 @@ public class WasmGCDeclarationsGenerator {
         methodGenerator.setFriendlyToDebugger(friendlyToDebugger);
     }
 
+    public void setStringConstantMode(WasmGCStringConstantMode stringConstantMode) {
+        classGenerator.strings.setConstantMode(stringConstantMode);
+    }
+
     public WasmGCClassInfoProvider classInfoProvider() {
         return classGenerator;
     }
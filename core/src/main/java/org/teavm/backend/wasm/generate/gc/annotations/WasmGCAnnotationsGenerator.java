@@ -141,7 +141,7 @@ public class WasmGCAnnotationsGenerator {
             case AnnotationValue.DOUBLE:
                 return new WasmFloat64Constant(value.getDouble());
             case AnnotationValue.STRING:
-                return new WasmGetGlobal(stringProvider.getStringConstant(value.getString()).global);
+                return stringProvider.getStringConstant(value.getString()).value();
             case AnnotationValue.LIST: {
                 var util = new WasmGCGenerationUtil(classInfoProvider);
                 var itemType = ((ValueType.Array) type).getItemType();
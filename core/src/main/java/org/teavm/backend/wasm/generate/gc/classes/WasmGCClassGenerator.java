@@ -702,13 +702,13 @@ public class WasmGCClassGenerator implements WasmGCClassInfoProvider, WasmGCInit
                     new WasmInt32Constant(tag), new WasmInt32Constant(flags)));
             var metadataReq = metadataRequirements.getInfo(name);
             if (metadataReq.name()) {
-                var namePtr = strings.getStringConstant(name).global;
-                target.add(setClassField(classInfo, classNameOffset, new WasmGetGlobal(namePtr)));
+                var namePtr = strings.getStringConstant(name).value();
+                target.add(setClassField(classInfo, classNameOffset, namePtr));
             }
             if (cls != null) {
                 if (metadataReq.simpleName() && cls.getSimpleName() != null) {
-                    var namePtr = strings.getStringConstant(cls.getSimpleName()).global;
-                    target.add(setClassField(classInfo, classSimpleNameOffset, new WasmGetGlobal(namePtr)));
+                    var namePtr = strings.getStringConstant(cls.getSimpleName()).value();
+                    target.add(setClassField(classInfo, classSimpleNameOffset, namePtr));
                 }
                 if (cls.getParent() != null && metadataReq.superclass()) {
                     var parent = getClassInfo(cls.getParent());
@@ -1550,7 +1550,7 @@ public class WasmGCClassGenerator implements WasmGCClassInfoProvider, WasmGCInit
             }
             if (metadataReq.name() && type.getItemType() instanceof ValueType.Primitive) {
                 var name = strings.getStringConstant(type.toString());
-                target.add(setClassField(classInfo, classNameOffset, new WasmGetGlobal(name.global)));
+                target.add(setClassField(classInfo, classNameOffset, name.value()));
             }
         };
     }
@@ -1560,7 +1560,7 @@ public class WasmGCClassGenerator implements WasmGCClassInfoProvider, WasmGCInit
         call.getArguments().add(new WasmGetGlobal(global));
         if (metadataRequirements.hasName()) {
             call.getArguments().add(name != null
-                    ? new WasmGetGlobal(strings.getStringConstant(name).global)
+                    ? strings.getStringConstant(name).value()
                     : new WasmNullConstant(standardClasses.stringClass().getType()));
         }
         call.getArguments().add(new WasmInt32Constant(kind));
@@ -1702,9 +1702,9 @@ public class WasmGCClassGenerator implements WasmGCClassInfoProvider, WasmGCInit
 
     private void dynamicInitialValue(WasmGlobal global, Object value) {
         if (value instanceof String) {
-            var constant = strings.getStringConstant((String) value).global;
+            var constant = strings.getStringConstant((String) value);
             staticFieldInitializers.add(function -> {
-                function.getBody().add(new WasmSetGlobal(global, new WasmGetGlobal(constant)));
+                function.getBody().add(new WasmSetGlobal(global, constant.value()));
             });
         } else if (value instanceof ValueType) {
             var constant = getClassInfo((ValueType) value).pointer;
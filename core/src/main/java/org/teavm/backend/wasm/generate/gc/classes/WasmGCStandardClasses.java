@@ -15,11 +15,14 @@
  */
 package org.teavm.backend.wasm.generate.gc.classes;
 
+import org.teavm.model.ValueType;
+
 public class WasmGCStandardClasses {
     private WasmGCClassInfoProvider classGenerator;
     private WasmGCClassInfo classClassInfo;
     private WasmGCClassInfo stringClassInfo;
     private WasmGCClassInfo objectClassInfo;
+    private WasmGCClassInfo charArrayClassInfo;
 
     public WasmGCStandardClasses(WasmGCClassInfoProvider classGenerator) {
         this.classGenerator = classGenerator;
@@ -45,4 +48,11 @@ public class WasmGCStandardClasses {
         }
         return objectClassInfo;
     }
+
+    public WasmGCClassInfo charArrayClass() {
+        if (charArrayClassInfo == null) {
+            charArrayClassInfo = classGenerator.getClassInfo(ValueType.arrayOf(ValueType.CHARACTER));
+        }
+        return charArrayClassInfo;
+    }
 }
@@ -285,8 +285,7 @@ public class WasmGCGenerationVisitor extends BaseWasmGenerationVisitor {
 
     @Override
     protected WasmExpression stringLiteral(String s) {
-        var stringConstant = context.strings().getStringConstant(s);
-        return new WasmGetGlobal(stringConstant.global);
+        return context.strings().getStringConstant(s).value();
     }
 
     @Override
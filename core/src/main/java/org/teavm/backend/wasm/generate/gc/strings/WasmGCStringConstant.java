@@ -15,14 +15,76 @@
  */
 package org.teavm.backend.wasm.generate.gc.strings;
 
+import org.teavm.backend.wasm.model.WasmFunction;
 import org.teavm.backend.wasm.model.WasmGlobal;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmGetGlobal;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
 
 public class WasmGCStringConstant {
     public final int index;
-    public final WasmGlobal global;
+    private final WasmGlobal global;
+
+    /**
+     * Imported JS string with the same content, or {@code null} if the constant is not imported from JS.
+     */
+    public final WasmGlobal jsGlobal;
+    private final WasmFunction initializer;
+    private final int address;
+    private boolean usedInConstantExpression;
 
     public WasmGCStringConstant(int index, WasmGlobal global) {
+        this(index, global, null, null, 0);
+    }
+
+    WasmGCStringConstant(int index, WasmGlobal global, WasmFunction initializer, int address) {
+        this(index, global, null, initializer, address);
+    }
+
+    WasmGCStringConstant(int index, WasmGlobal global, WasmGlobal jsGlobal, WasmFunction initializer) {
+        this(index, global, jsGlobal, initializer, 0);
+    }
+
+    private WasmGCStringConstant(int index, WasmGlobal global, WasmGlobal jsGlobal, WasmFunction initializer,
+            int address) {
         this.index = index;
         this.global = global;
+        this.jsGlobal = jsGlobal;
+        this.initializer = initializer;
+        this.address = address;
+    }
+
+    /**
+     * Produces an expression that evaluates to the string. For lazily initialized constants it initializes
+     * the string on first evaluation, so it can't be used in constant expressions.
+     */
+    public WasmExpression value() {
+        if (initializer == null) {
+            return new WasmGetGlobal(global);
+        }
+        var source = jsGlobal != null ? new WasmGetGlobal(jsGlobal) : new WasmInt32Constant(address);
+        return new WasmCall(initializer, new WasmGetGlobal(global), source);
+    }
+
+    /**
+     * Produces a constant expression that refers to the string, e.g. for initial values of globals.
+     * A lazily initialized constant is initialized at module start if this method was called.
+     */
+    public WasmExpression constantValue() {
+        usedInConstantExpression = true;
+        return new WasmGetGlobal(global);
+    }
+
+    WasmGlobal global() {
+        return global;
+    }
+
+    boolean isLazy() {
+        return initializer != null;
+    }
+
+    boolean isUsedInConstantExpression() {
+        return usedInConstantExpression;
     }
 }
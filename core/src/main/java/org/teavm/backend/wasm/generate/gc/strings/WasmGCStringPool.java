@@ -16,9 +16,11 @@
 package org.teavm.backend.wasm.generate.gc.strings;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.teavm.backend.wasm.BaseWasmFunctionRepository;
 import org.teavm.backend.wasm.WasmFunctionTypes;
+import org.teavm.backend.wasm.WasmGCStringConstantMode;
 import org.teavm.backend.wasm.generate.gc.WasmGCInitializerContributor;
 import org.teavm.backend.wasm.generate.gc.WasmGCNameProvider;
 import org.teavm.backend.wasm.generate.gc.classes.WasmGCClassInfoProvider;
@@ -33,17 +35,24 @@ import org.teavm.backend.wasm.model.WasmType;
 import org.teavm.backend.wasm.model.expression.WasmArrayGet;
 import org.teavm.backend.wasm.model.expression.WasmArrayLength;
 import org.teavm.backend.wasm.model.expression.WasmArrayNewFixed;
+import org.teavm.backend.wasm.model.expression.WasmArraySet;
 import org.teavm.backend.wasm.model.expression.WasmBlock;
 import org.teavm.backend.wasm.model.expression.WasmBranch;
+import org.teavm.backend.wasm.model.expression.WasmBreak;
 import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmConditional;
 import org.teavm.backend.wasm.model.expression.WasmDrop;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
 import org.teavm.backend.wasm.model.expression.WasmGetGlobal;
 import org.teavm.backend.wasm.model.expression.WasmGetLocal;
 import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
 import org.teavm.backend.wasm.model.expression.WasmIntBinary;
 import org.teavm.backend.wasm.model.expression.WasmIntBinaryOperation;
 import org.teavm.backend.wasm.model.expression.WasmIntType;
+import org.teavm.backend.wasm.model.expression.WasmIsNull;
+import org.teavm.backend.wasm.model.expression.WasmNullConstant;
 import org.teavm.backend.wasm.model.expression.WasmSetLocal;
+import org.teavm.backend.wasm.model.expression.WasmStructGet;
 import org.teavm.backend.wasm.model.expression.WasmStructNewDefault;
 import org.teavm.backend.wasm.model.expression.WasmStructSet;
 import org.teavm.backend.wasm.render.WasmBinaryWriter;
@@ -60,10 +69,13 @@ public class WasmGCStringPool implements WasmGCStringProvider, WasmGCInitializer
     private BaseWasmFunctionRepository functionProvider;
     private WasmFunction initNextStringFunction;
     private WasmFunction initStringsFunction;
+    private WasmFunction initLazyStringFunction;
+    private WasmFunction initJsStringFunction;
     private WasmArray stringsArray;
     private WasmGCNameProvider names;
     private WasmFunctionTypes functionTypes;
     private DependencyInfo dependencyInfo;
+    private WasmGCStringConstantMode constantMode = WasmGCStringConstantMode.EAGER;
 
     public WasmGCStringPool(WasmGCStandardClasses standardClasses, WasmModule module,
             BaseWasmFunctionRepository functionProvider, WasmGCNameProvider names,
@@ -76,6 +88,10 @@ public class WasmGCStringPool implements WasmGCStringProvider, WasmGCInitializer
         this.dependencyInfo = dependencyInfo;
     }
 
+    public void setConstantMode(WasmGCStringConstantMode constantMode) {
+        this.constantMode = constantMode;
+    }
+
     @Override
     public void contributeToInitializerDefinitions(WasmFunction function) {
         var segment = new WasmMemorySegment();
@@ -85,21 +101,29 @@ public class WasmGCStringPool implements WasmGCStringProvider, WasmGCInitializer
 
     @Override
     public void contributeToInitializer(WasmFunction function) {
-        if (initNextStringFunction == null) {
-            return;
+        if (initStringsFunction != null) {
+            initEagerStrings(function);
+        }
+        for (var constant : stringMap.values()) {
+            if (constant.isLazy() && constant.isUsedInConstantExpression()) {
+                function.getBody().add(new WasmDrop(constant.value()));
+            }
         }
+    }
+
+    private void initEagerStrings(WasmFunction function) {
         if (hasIntern()) {
             var internInit = functionProvider.forStaticMethod(new MethodReference(StringInternPool.class, "<clinit>",
                     void.class));
             function.getBody().add(new WasmCall(internInit));
         }
-        var stringIterator = stringMap.values().iterator();
+        var stringIterator = stringMap.values().stream().filter(constant -> !constant.isLazy()).iterator();
         while (stringIterator.hasNext()) {
             var elementCount = 0;
             var array = new WasmArrayNewFixed(stringsArray);
             // WasmArrayNewFixed cannot be larger than 10000 elements
             while (elementCount < 10000 && stringIterator.hasNext()) {
-                array.getElements().add(new WasmGetGlobal(stringIterator.next().global));
+                array.getElements().add(new WasmGetGlobal(stringIterator.next().global()));
                 ++elementCount;
             }
             function.getBody().add(new WasmCall(initStringsFunction, array));
@@ -109,24 +133,54 @@ public class WasmGCStringPool implements WasmGCStringProvider, WasmGCInitializer
     @Override
     public WasmGCStringConstant getStringConstant(String string) {
         return stringMap.computeIfAbsent(string, s -> {
-            if (initNextStringFunction == null) {
-                createInitNextStringFunction();
-                createInitStringsFunction();
-            }
-            binaryWriter.writeLEB(string.length());
-            writeWTF8(string, binaryWriter);
-            var brief = string.length() > 16 ? string.substring(0, 16) : string;
-            var globalName = names.topLevel("teavm@string<" + stringMap.size() + ">"
-                    + WasmGCNameProvider.sanitize(brief));
+            var index = stringMap.size();
+            var brief = WasmGCNameProvider.sanitize(string.length() > 16 ? string.substring(0, 16) : string);
+            var globalName = names.topLevel("teavm@string<" + index + ">" + brief);
             var globalType = standardClasses.stringClass().getStructure().getNonNullReference();
             var global = new WasmGlobal(globalName, globalType,
                     new WasmStructNewDefault(standardClasses.stringClass().getStructure()));
             global.setImmutable(true);
             module.globals.add(global);
-            return new WasmGCStringConstant(stringMap.size(), global);
+
+            // Interned strings must be registered in the pool before any String.intern() call may happen,
+            // so lazy initialization is not possible in this case
+            var mode = hasIntern() ? WasmGCStringConstantMode.EAGER : constantMode;
+            if (mode == WasmGCStringConstantMode.JS_BUILTINS && isValidImportName(string)) {
+                var jsGlobal = new WasmGlobal(names.topLevel("teavm@jsString<" + index + ">" + brief),
+                        WasmType.SpecialReferenceKind.EXTERN.asNonNullType(),
+                        new WasmNullConstant(WasmType.Reference.EXTERN));
+                jsGlobal.setImmutable(true);
+                module.globals.add(jsGlobal);
+                jsGlobal.setImportModule("'");
+                jsGlobal.setImportName(string);
+                return new WasmGCStringConstant(index, global, jsGlobal, getInitJsStringFunction());
+            }
+
+            if (initNextStringFunction == null) {
+                createInitNextStringFunction();
+            }
+            var address = binaryWriter.getPosition();
+            binaryWriter.writeLEB(string.length());
+            writeWTF8(string, binaryWriter);
+            if (mode == WasmGCStringConstantMode.EAGER) {
+                if (initStringsFunction == null) {
+                    createInitStringsFunction();
+                }
+                return new WasmGCStringConstant(index, global);
+            }
+            return new WasmGCStringConstant(index, global, getInitLazyStringFunction(), address);
         });
     }
 
+    private static boolean isValidImportName(String s) {
+        for (var i = 0; i < s.length(); ++i) {
+            if (s.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void writeWTF8(String s, WasmBinaryWriter writer) {
         for (var i = 0; i < s.length(); ++i) {
             var c = (int) s.charAt(i);
@@ -186,12 +240,7 @@ public class WasmGCStringPool implements WasmGCStringProvider, WasmGCInitializer
         var stringLocal = new WasmLocal(stringTypeInfo.getType());
         function.add(stringLocal);
 
-        var value = new WasmCall(nextCharArrayFunction);
-        function.getBody().add(new WasmStructSet(stringTypeInfo.getStructure(),
-                new WasmGetLocal(stringLocal), WasmGCClassInfoProvider.CUSTOM_FIELD_OFFSETS, value));
-        function.getBody().add(new WasmStructSet(stringTypeInfo.getStructure(), new WasmGetLocal(stringLocal),
-                WasmGCClassInfoProvider.VT_FIELD_OFFSET,
-                new WasmGetGlobal(stringTypeInfo.getVirtualTablePointer())));
+        function.getBody().addAll(initString(stringLocal, new WasmCall(nextCharArrayFunction)));
         if (hasIntern()) {
             var queryFunction = functionProvider.forStaticMethod(new MethodReference(StringInternPool.class,
                     "query", String.class, String.class));
@@ -203,6 +252,121 @@ public class WasmGCStringPool implements WasmGCStringProvider, WasmGCInitializer
         initNextStringFunction = function;
     }
 
+    private WasmFunction getInitLazyStringFunction() {
+        if (initLazyStringFunction == null) {
+            var stringTypeInfo = standardClasses.stringClass();
+            var charArrayAtFunction = functionProvider.forStaticMethod(new MethodReference(WasmGCSupport.class,
+                    "charArrayAt", int.class, char[].class));
+            var stringType = stringTypeInfo.getStructure().getNonNullReference();
+            var function = new WasmFunction(functionTypes.of(stringType, stringType, WasmType.INT32));
+            function.setName(names.topLevel("teavm@initLazyString"));
+            module.functions.add(function);
+
+            var stringLocal = new WasmLocal(stringType, "string");
+            var addressLocal = new WasmLocal(WasmType.INT32, "address");
+            function.add(stringLocal);
+            function.add(addressLocal);
+
+            var conditional = new WasmConditional(isNotInitialized(stringLocal));
+            function.getBody().add(conditional);
+            var chars = new WasmCall(charArrayAtFunction, new WasmGetLocal(addressLocal));
+            conditional.getThenBlock().getBody().addAll(initString(stringLocal, chars));
+            function.getBody().add(new WasmGetLocal(stringLocal));
+
+            initLazyStringFunction = function;
+        }
+        return initLazyStringFunction;
+    }
+
+    private WasmFunction getInitJsStringFunction() {
+        if (initJsStringFunction == null) {
+            var stringTypeInfo = standardClasses.stringClass();
+            var stringType = stringTypeInfo.getStructure().getNonNullReference();
+            var function = new WasmFunction(functionTypes.of(stringType, stringType,
+                    WasmType.SpecialReferenceKind.EXTERN.asNonNullType()));
+            function.setName(names.topLevel("teavm@initJsString"));
+            module.functions.add(function);
+
+            var stringLocal = new WasmLocal(stringType, "string");
+            var jsStringLocal = new WasmLocal(WasmType.SpecialReferenceKind.EXTERN.asNonNullType(), "jsString");
+            var charsLocal = new WasmLocal(standardClasses.charArrayClass().getType(), "chars");
+            var dataLocal = new WasmLocal(standardClasses.charArrayClass().getArray().getReference(), "data");
+            var indexLocal = new WasmLocal(WasmType.INT32, "index");
+            var lengthLocal = new WasmLocal(WasmType.INT32, "length");
+            function.add(stringLocal);
+            function.add(jsStringLocal);
+            function.add(charsLocal);
+            function.add(dataLocal);
+            function.add(indexLocal);
+            function.add(lengthLocal);
+
+            var conditional = new WasmConditional(isNotInitialized(stringLocal));
+            function.getBody().add(conditional);
+            var body = conditional.getThenBlock().getBody();
+
+            var lengthFunction = jsStringImport("length", WasmType.INT32, WasmType.Reference.EXTERN);
+            var charCodeAtFunction = jsStringImport("charCodeAt", WasmType.INT32, WasmType.Reference.EXTERN,
+                    WasmType.INT32);
+            var createCharArrayFunction = functionProvider.forStaticMethod(new MethodReference(WasmGCSupport.class,
+                    "createCharArray", int.class, char[].class));
+            body.add(new WasmSetLocal(lengthLocal, new WasmCall(lengthFunction, new WasmGetLocal(jsStringLocal))));
+            body.add(new WasmSetLocal(charsLocal, new WasmCall(createCharArrayFunction,
+                    new WasmGetLocal(lengthLocal))));
+            body.add(new WasmSetLocal(dataLocal, new WasmStructGet(standardClasses.charArrayClass().getStructure(),
+                    new WasmGetLocal(charsLocal), WasmGCClassInfoProvider.ARRAY_DATA_FIELD_OFFSET)));
+            body.add(new WasmSetLocal(indexLocal, new WasmInt32Constant(0)));
+
+            // Copy characters one by one, since intoCharCodeArray is not available without
+            // native support of JS string builtins
+            var copyBlock = new WasmBlock(false);
+            body.add(copyBlock);
+            var loop = new WasmBlock(true);
+            copyBlock.getBody().add(loop);
+            var compare = new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.GE_UNSIGNED,
+                    new WasmGetLocal(indexLocal), new WasmGetLocal(lengthLocal));
+            loop.getBody().add(new WasmBranch(compare, copyBlock));
+            var charCode = new WasmCall(charCodeAtFunction, new WasmGetLocal(jsStringLocal),
+                    new WasmGetLocal(indexLocal));
+            loop.getBody().add(new WasmArraySet(standardClasses.charArrayClass().getArray(),
+                    new WasmGetLocal(dataLocal), new WasmGetLocal(indexLocal), charCode));
+            var next = new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.ADD,
+                    new WasmGetLocal(indexLocal), new WasmInt32Constant(1));
+            loop.getBody().add(new WasmSetLocal(indexLocal, next));
+            loop.getBody().add(new WasmBreak(loop));
+
+            body.addAll(initString(stringLocal, new WasmGetLocal(charsLocal)));
+            function.getBody().add(new WasmGetLocal(stringLocal));
+
+            initJsStringFunction = function;
+        }
+        return initJsStringFunction;
+    }
+
+    private WasmFunction jsStringImport(String name, WasmType result, WasmType... parameters) {
+        var function = new WasmFunction(functionTypes.of(result, parameters));
+        function.setName(names.topLevel("teavm@jsString." + name));
+        function.setImportModule("wasm:js-string");
+        function.setImportName(name);
+        module.functions.add(function);
+        return function;
+    }
+
+    private WasmExpression isNotInitialized(WasmLocal stringLocal) {
+        return new WasmIsNull(new WasmStructGet(standardClasses.stringClass().getStructure(),
+                new WasmGetLocal(stringLocal), WasmGCClassInfoProvider.VT_FIELD_OFFSET));
+    }
+
+    private List<WasmExpression> initString(WasmLocal stringLocal, WasmExpression chars) {
+        var stringTypeInfo = standardClasses.stringClass();
+        return List.of(
+                new WasmStructSet(stringTypeInfo.getStructure(), new WasmGetLocal(stringLocal),
+                        WasmGCClassInfoProvider.CUSTOM_FIELD_OFFSETS, chars),
+                new WasmStructSet(stringTypeInfo.getStructure(), new WasmGetLocal(stringLocal),
+                        WasmGCClassInfoProvider.VT_FIELD_OFFSET,
+                        new WasmGetGlobal(stringTypeInfo.getVirtualTablePointer()))
+        );
+    }
+
     private boolean hasIntern() {
         var intern = dependencyInfo.getMethod(new MethodReference(String.class, "intern", String.class));
         return intern != null && intern.isUsed();
@@ -67,7 +67,9 @@ public class WasmGCCustomGenerators implements WasmGCCustomGeneratorProvider {
     }
 
     private void fillStringPool() {
-        add(new MethodReference(WasmGCSupport.class, "nextByte", byte.class), new WasmGCStringPoolGenerator());
+        var generator = new WasmGCStringPoolGenerator();
+        add(new MethodReference(WasmGCSupport.class, "nextByte", byte.class), generator);
+        add(new MethodReference(WasmGCSupport.class, "seekStringPool", int.class, void.class), generator);
     }
 
     private void fillSystem() {
@@ -114,7 +114,7 @@ public class WasmGCResourcesGenerator implements WasmGCCustomGenerator {
                         var offset = new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.ADD,
                                 new WasmGetGlobal(baseGlobal), new WasmInt32Constant(descriptor.address));
                         var end = new WasmInt32Constant(descriptor.end - descriptor.address);
-                        items.add(new WasmCall(constructor, new WasmGetGlobal(name.global), offset, end));
+                        items.add(new WasmCall(constructor, name.value(), offset, end));
                     }
                     return items;
                 }
@@ -32,13 +32,22 @@ import org.teavm.backend.wasm.model.expression.WasmSetLocal;
 import org.teavm.model.MethodReference;
 
 public class WasmGCStringPoolGenerator implements WasmGCCustomGenerator {
+    private WasmGlobal pointer;
+
     @Override
     public void apply(MethodReference method, WasmFunction function, WasmGCCustomGeneratorContext context) {
-        var module = context.module();
-        var pointer = new WasmGlobal(context.names().topLevel("teavm@stringPoolPointer"), WasmType.INT32,
-                new WasmInt32Constant(0));
-        module.globals.add(pointer);
+        switch (method.getName()) {
+            case "nextByte":
+                generateNextByte(function, context);
+                break;
+            case "seekStringPool":
+                generateSeek(function, context);
+                break;
+        }
+    }
 
+    private void generateNextByte(WasmFunction function, WasmGCCustomGeneratorContext context) {
+        var pointer = getPointer(context);
         var resultLocal = new WasmLocal(WasmType.INT32);
         function.add(resultLocal);
 
@@ -49,4 +58,19 @@ public class WasmGCStringPoolGenerator implements WasmGCCustomGenerator {
         function.getBody().add(new WasmSetGlobal(pointer, increment));
         function.getBody().add(new WasmGetLocal(resultLocal));
     }
+
+    private void generateSeek(WasmFunction function, WasmGCCustomGeneratorContext context) {
+        var addressLocal = new WasmLocal(WasmType.INT32, "address");
+        function.add(addressLocal);
+        function.getBody().add(new WasmSetGlobal(getPointer(context), new WasmGetLocal(addressLocal)));
+    }
+
+    private WasmGlobal getPointer(WasmGCCustomGeneratorContext context) {
+        if (pointer == null) {
+            pointer = new WasmGlobal(context.names().topLevel("teavm@stringPoolPointer"), WasmType.INT32,
+                    new WasmInt32Constant(0));
+            context.module().globals.add(pointer);
+        }
+        return pointer;
+    }
 }
@@ -0,0 +1,435 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.intrinsics;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.teavm.ast.InvocationExpr;
+import org.teavm.backend.wasm.WasmFunctionTypes;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmLocal;
+import org.teavm.backend.wasm.model.WasmModule;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmBlock;
+import org.teavm.backend.wasm.model.expression.WasmBranch;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmConditional;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmGetLocal;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmInt32Subtype;
+import org.teavm.backend.wasm.model.expression.WasmInt64Subtype;
+import org.teavm.backend.wasm.model.expression.WasmIntBinary;
+import org.teavm.backend.wasm.model.expression.WasmIntBinaryOperation;
+import org.teavm.backend.wasm.model.expression.WasmIntType;
+import org.teavm.backend.wasm.model.expression.WasmLoadInt32;
+import org.teavm.backend.wasm.model.expression.WasmReturn;
+import org.teavm.backend.wasm.model.expression.WasmSetLocal;
+import org.teavm.backend.wasm.model.expression.WasmStoreInt32;
+import org.teavm.backend.wasm.model.expression.WasmStoreInt64;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinary;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinaryOperation;
+import org.teavm.backend.wasm.model.expression.WasmVectorExtractLane;
+import org.teavm.backend.wasm.model.expression.WasmVectorLoad;
+import org.teavm.backend.wasm.model.expression.WasmVectorShape;
+import org.teavm.backend.wasm.model.expression.WasmVectorSplat;
+import org.teavm.backend.wasm.model.expression.WasmVectorStore;
+import org.teavm.backend.wasm.model.expression.WasmVectorTest;
+import org.teavm.backend.wasm.model.expression.WasmVectorTestOperation;
+import org.teavm.backend.wasm.runtime.WasmSimd;
+import org.teavm.model.MethodReference;
+
+public class WasmSimdIntrinsic implements WasmIntrinsic {
+    private static final int VECTOR_SIZE = 16;
+    private WasmModule module;
+    private WasmFunctionTypes functionTypes;
+    private boolean vectorized;
+    private Map<String, WasmFunction> functions = new HashMap<>();
+
+    public WasmSimdIntrinsic(WasmModule module, WasmFunctionTypes functionTypes, boolean vectorized) {
+        this.module = module;
+        this.functionTypes = functionTypes;
+        this.vectorized = vectorized;
+    }
+
+    @Override
+    public boolean isApplicable(MethodReference methodReference) {
+        return methodReference.getClassName().equals(WasmSimd.class.getName());
+    }
+
+    @Override
+    public WasmExpression apply(InvocationExpr invocation, WasmIntrinsicManager manager) {
+        var name = invocation.getMethod().getName();
+        var function = functions.computeIfAbsent(name, this::createFunction);
+        var call = new WasmCall(function);
+        for (var arg : invocation.getArguments()) {
+            call.getArguments().add(manager.generate(arg));
+        }
+        return call;
+    }
+
+    private WasmFunction createFunction(String name) {
+        WasmFunction function;
+        switch (name) {
+            case "fill16":
+                function = createFill(2);
+                break;
+            case "fill32":
+                function = createFill(4);
+                break;
+            case "fill64":
+                function = createFill(8);
+                break;
+            case "mismatch":
+                function = createMismatch();
+                break;
+            case "indexOf16":
+                function = createIndexOf16();
+                break;
+            case "hashCode32":
+                function = createHashCode32();
+                break;
+            case "encodeAscii":
+                function = createEncodeAscii();
+                break;
+            default:
+                throw new IllegalArgumentException(name);
+        }
+        function.setName("teavm_simd_" + name);
+        module.functions.add(function);
+        return function;
+    }
+
+    private WasmFunction createFill(int size) {
+        var valueType = size == 8 ? WasmType.INT64 : WasmType.INT32;
+        var function = new WasmFunction(functionTypes.of(null, WasmType.INT32, WasmType.INT32, valueType));
+        var addressLocal = new WasmLocal(WasmType.INT32, "address");
+        var countLocal = new WasmLocal(WasmType.INT32, "count");
+        var valueLocal = new WasmLocal(valueType, "value");
+        function.add(addressLocal);
+        function.add(countLocal);
+        function.add(valueLocal);
+
+        if (vectorized) {
+            var vectorLocal = new WasmLocal(WasmType.V128, "vector");
+            function.add(vectorLocal);
+            int lanes = VECTOR_SIZE / size;
+            var shape = size == 2 ? WasmVectorShape.I16X8 : size == 4 ? WasmVectorShape.I32X4 : WasmVectorShape.I64X2;
+            function.getBody().add(new WasmSetLocal(vectorLocal, new WasmVectorSplat(shape,
+                    new WasmGetLocal(valueLocal))));
+
+            var vectorBlock = new WasmBlock(false);
+            vectorBlock.getBody().add(new WasmBranch(lt(new WasmGetLocal(countLocal), lanes), vectorBlock));
+            var loop = new WasmBlock(true);
+            loop.getBody().add(new WasmVectorStore(size, new WasmGetLocal(addressLocal),
+                    new WasmGetLocal(vectorLocal)));
+            loop.getBody().add(increment(addressLocal, VECTOR_SIZE));
+            loop.getBody().add(increment(countLocal, -lanes));
+            loop.getBody().add(new WasmBranch(ge(new WasmGetLocal(countLocal), lanes), loop));
+            vectorBlock.getBody().add(loop);
+            function.getBody().add(vectorBlock);
+        }
+
+        var block = new WasmBlock(false);
+        block.getBody().add(new WasmBranch(lt(new WasmGetLocal(countLocal), 1), block));
+        var loop = new WasmBlock(true);
+        var address = new WasmGetLocal(addressLocal);
+        var value = new WasmGetLocal(valueLocal);
+        switch (size) {
+            case 2:
+                loop.getBody().add(new WasmStoreInt32(2, address, value, WasmInt32Subtype.INT16));
+                break;
+            case 4:
+                loop.getBody().add(new WasmStoreInt32(4, address, value, WasmInt32Subtype.INT32));
+                break;
+            default:
+                loop.getBody().add(new WasmStoreInt64(8, address, value, WasmInt64Subtype.INT64));
+                break;
+        }
+        loop.getBody().add(increment(addressLocal, size));
+        loop.getBody().add(increment(countLocal, -1));
+        loop.getBody().add(new WasmBranch(ge(new WasmGetLocal(countLocal), 1), loop));
+        block.getBody().add(loop);
+        function.getBody().add(block);
+
+        return function;
+    }
+
+    private WasmFunction createMismatch() {
+        var function = new WasmFunction(functionTypes.of(WasmType.INT32, WasmType.INT32, WasmType.INT32,
+                WasmType.INT32));
+        var firstLocal = new WasmLocal(WasmType.INT32, "first");
+        var secondLocal = new WasmLocal(WasmType.INT32, "second");
+        var countLocal = new WasmLocal(WasmType.INT32, "count");
+        var offsetLocal = new WasmLocal(WasmType.INT32, "offset");
+        function.add(firstLocal);
+        function.add(secondLocal);
+        function.add(countLocal);
+        function.add(offsetLocal);
+
+        if (vectorized) {
+            var vectorBlock = new WasmBlock(false);
+            vectorBlock.getBody().add(new WasmBranch(lt(remaining(countLocal, offsetLocal), VECTOR_SIZE),
+                    vectorBlock));
+            var loop = new WasmBlock(true);
+            var equal = new WasmVectorBinary(WasmVectorShape.I8X16, WasmVectorBinaryOperation.EQ,
+                    new WasmVectorLoad(1, add(firstLocal, offsetLocal)),
+                    new WasmVectorLoad(1, add(secondLocal, offsetLocal)));
+            var allEqual = new WasmVectorTest(WasmVectorShape.I8X16, WasmVectorTestOperation.ALL_TRUE, equal);
+            loop.getBody().add(new WasmBranch(new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.EQ,
+                    allEqual, new WasmInt32Constant(0)), vectorBlock));
+            loop.getBody().add(increment(offsetLocal, VECTOR_SIZE));
+            loop.getBody().add(new WasmBranch(ge(remaining(countLocal, offsetLocal), VECTOR_SIZE), loop));
+            vectorBlock.getBody().add(loop);
+            function.getBody().add(vectorBlock);
+        }
+
+        var block = new WasmBlock(false);
+        block.getBody().add(new WasmBranch(lt(remaining(countLocal, offsetLocal), 1), block));
+        var loop = new WasmBlock(true);
+        var differs = new WasmConditional(new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.NE,
+                new WasmLoadInt32(1, add(firstLocal, offsetLocal), WasmInt32Subtype.UINT8),
+                new WasmLoadInt32(1, add(secondLocal, offsetLocal), WasmInt32Subtype.UINT8)));
+        differs.getThenBlock().getBody().add(new WasmReturn(new WasmGetLocal(offsetLocal)));
+        loop.getBody().add(differs);
+        loop.getBody().add(increment(offsetLocal, 1));
+        loop.getBody().add(new WasmBranch(ge(remaining(countLocal, offsetLocal), 1), loop));
+        block.getBody().add(loop);
+        function.getBody().add(block);
+
+        function.getBody().add(new WasmInt32Constant(-1));
+        return function;
+    }
+
+    private WasmFunction createIndexOf16() {
+        var function = new WasmFunction(functionTypes.of(WasmType.INT32, WasmType.INT32, WasmType.INT32,
+                WasmType.INT32));
+        var addressLocal = new WasmLocal(WasmType.INT32, "address");
+        var countLocal = new WasmLocal(WasmType.INT32, "count");
+        var valueLocal = new WasmLocal(WasmType.INT32, "value");
+        var indexLocal = new WasmLocal(WasmType.INT32, "index");
+        function.add(addressLocal);
+        function.add(countLocal);
+        function.add(valueLocal);
+        function.add(indexLocal);
+        int lanes = VECTOR_SIZE / 2;
+
+        if (vectorized) {
+            var vectorLocal = new WasmLocal(WasmType.V128, "vector");
+            function.add(vectorLocal);
+            function.getBody().add(new WasmSetLocal(vectorLocal, new WasmVectorSplat(WasmVectorShape.I16X8,
+                    new WasmGetLocal(valueLocal))));
+
+            var vectorBlock = new WasmBlock(false);
+            vectorBlock.getBody().add(new WasmBranch(lt(remaining(countLocal, indexLocal), lanes), vectorBlock));
+            var loop = new WasmBlock(true);
+            var equal = new WasmVectorBinary(WasmVectorShape.I16X8, WasmVectorBinaryOperation.EQ,
+                    new WasmVectorLoad(2, new WasmGetLocal(addressLocal)), new WasmGetLocal(vectorLocal));
+            loop.getBody().add(new WasmBranch(new WasmVectorTest(WasmVectorShape.I16X8,
+                    WasmVectorTestOperation.ANY_TRUE, equal), vectorBlock));
+            loop.getBody().add(increment(addressLocal, VECTOR_SIZE));
+            loop.getBody().add(increment(indexLocal, lanes));
+            loop.getBody().add(new WasmBranch(ge(remaining(countLocal, indexLocal), lanes), loop));
+            vectorBlock.getBody().add(loop);
+            function.getBody().add(vectorBlock);
+        }
+
+        var block = new WasmBlock(false);
+        block.getBody().add(new WasmBranch(lt(remaining(countLocal, indexLocal), 1), block));
+        var loop = new WasmBlock(true);
+        var found = new WasmConditional(new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.EQ,
+                new WasmLoadInt32(2, new WasmGetLocal(addressLocal), WasmInt32Subtype.UINT16),
+                new WasmGetLocal(valueLocal)));
+        found.getThenBlock().getBody().add(new WasmReturn(new WasmGetLocal(indexLocal)));
+        loop.getBody().add(found);
+        loop.getBody().add(increment(addressLocal, 2));
+        loop.getBody().add(increment(indexLocal, 1));
+        loop.getBody().add(new WasmBranch(ge(remaining(countLocal, indexLocal), 1), loop));
+        block.getBody().add(loop);
+        function.getBody().add(block);
+
+        function.getBody().add(new WasmInt32Constant(-1));
+        return function;
+    }
+
+    /*
+     * Vector loop relies on the fact that after processing n blocks of four elements
+     * hash = hash * 31^(4n) + sum(acc[j] * 31^(3 - j)), where acc is updated as acc = acc * 31^4 + block.
+     */
+    private WasmFunction createHashCode32() {
+        var function = new WasmFunction(functionTypes.of(WasmType.INT32, WasmType.INT32, WasmType.INT32,
+                WasmType.INT32));
+        var addressLocal = new WasmLocal(WasmType.INT32, "address");
+        var countLocal = new WasmLocal(WasmType.INT32, "count");
+        var hashLocal = new WasmLocal(WasmType.INT32, "hash");
+        function.add(addressLocal);
+        function.add(countLocal);
+        function.add(hashLocal);
+        int lanes = VECTOR_SIZE / 4;
+
+        if (vectorized) {
+            var accLocal = new WasmLocal(WasmType.V128, "acc");
+            var factorLocal = new WasmLocal(WasmType.V128, "factor");
+            var scaleLocal = new WasmLocal(WasmType.INT32, "scale");
+            function.add(accLocal);
+            function.add(factorLocal);
+            function.add(scaleLocal);
+
+            var vectorBlock = new WasmBlock(false);
+            vectorBlock.getBody().add(new WasmBranch(lt(new WasmGetLocal(countLocal), lanes), vectorBlock));
+            vectorBlock.getBody().add(new WasmSetLocal(accLocal, new WasmVectorSplat(WasmVectorShape.I32X4,
+                    new WasmInt32Constant(0))));
+            vectorBlock.getBody().add(new WasmSetLocal(factorLocal, new WasmVectorSplat(WasmVectorShape.I32X4,
+                    new WasmInt32Constant(31 * 31 * 31 * 31))));
+            vectorBlock.getBody().add(new WasmSetLocal(scaleLocal, new WasmInt32Constant(1)));
+
+            var loop = new WasmBlock(true);
+            var scaled = new WasmVectorBinary(WasmVectorShape.I32X4, WasmVectorBinaryOperation.MUL,
+                    new WasmGetLocal(accLocal), new WasmGetLocal(factorLocal));
+            loop.getBody().add(new WasmSetLocal(accLocal, new WasmVectorBinary(WasmVectorShape.I32X4,
+                    WasmVectorBinaryOperation.ADD, scaled, new WasmVectorLoad(4, new WasmGetLocal(addressLocal)))));
+            loop.getBody().add(new WasmSetLocal(scaleLocal, mul(new WasmGetLocal(scaleLocal), 31 * 31 * 31 * 31)));
+            loop.getBody().add(increment(addressLocal, VECTOR_SIZE));
+            loop.getBody().add(increment(countLocal, -lanes));
+            loop.getBody().add(new WasmBranch(ge(new WasmGetLocal(countLocal), lanes), loop));
+            vectorBlock.getBody().add(loop);
+
+            WasmExpression hash = new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.MUL,
+                    new WasmGetLocal(hashLocal), new WasmGetLocal(scaleLocal));
+            int weight = 31 * 31 * 31;
+            for (var lane = 0; lane < lanes; ++lane) {
+                var element = new WasmVectorExtractLane(WasmVectorShape.I32X4, lane, new WasmGetLocal(accLocal));
+                hash = new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.ADD, hash,
+                        mul(element, weight));
+                weight /= 31;
+            }
+            vectorBlock.getBody().add(new WasmSetLocal(hashLocal, hash));
+            function.getBody().add(vectorBlock);
+        }
+
+        var block = new WasmBlock(false);
+        block.getBody().add(new WasmBranch(lt(new WasmGetLocal(countLocal), 1), block));
+        var loop = new WasmBlock(true);
+        loop.getBody().add(new WasmSetLocal(hashLocal, new WasmIntBinary(WasmIntType.INT32,
+                WasmIntBinaryOperation.ADD, mul(new WasmGetLocal(hashLocal), 31),
+                new WasmLoadInt32(4, new WasmGetLocal(addressLocal), WasmInt32Subtype.INT32))));
+        loop.getBody().add(increment(addressLocal, 4));
+        loop.getBody().add(increment(countLocal, -1));
+        loop.getBody().add(new WasmBranch(ge(new WasmGetLocal(countLocal), 1), loop));
+        block.getBody().add(loop);
+        function.getBody().add(block);
+
+        function.getBody().add(new WasmGetLocal(hashLocal));
+        return function;
+    }
+
+    private WasmFunction createEncodeAscii() {
+        var function = new WasmFunction(functionTypes.of(WasmType.INT32, WasmType.INT32, WasmType.INT32,
+                WasmType.INT32));
+        var charsLocal = new WasmLocal(WasmType.INT32, "chars");
+        var bytesLocal = new WasmLocal(WasmType.INT32, "bytes");
+        var countLocal = new WasmLocal(WasmType.INT32, "count");
+        var indexLocal = new WasmLocal(WasmType.INT32, "index");
+        var charLocal = new WasmLocal(WasmType.INT32, "char");
+        function.add(charsLocal);
+        function.add(bytesLocal);
+        function.add(countLocal);
+        function.add(indexLocal);
+        function.add(charLocal);
+
+        if (vectorized) {
+            var lowLocal = new WasmLocal(WasmType.V128, "low");
+            var highLocal = new WasmLocal(WasmType.V128, "high");
+            var maskLocal = new WasmLocal(WasmType.V128, "mask");
+            function.add(lowLocal);
+            function.add(highLocal);
+            function.add(maskLocal);
+            function.getBody().add(new WasmSetLocal(maskLocal, new WasmVectorSplat(WasmVectorShape.I16X8,
+                    new WasmInt32Constant(0xFF80))));
+
+            var vectorBlock = new WasmBlock(false);
+            vectorBlock.getBody().add(new WasmBranch(lt(remaining(countLocal, indexLocal), VECTOR_SIZE),
+                    vectorBlock));
+            var loop = new WasmBlock(true);
+            loop.getBody().add(new WasmSetLocal(lowLocal, new WasmVectorLoad(2, new WasmGetLocal(charsLocal))));
+            loop.getBody().add(new WasmSetLocal(highLocal, new WasmVectorLoad(2, new WasmGetLocal(charsLocal),
+                    VECTOR_SIZE)));
+            var both = new WasmVectorBinary(WasmVectorShape.I16X8, WasmVectorBinaryOperation.OR,
+                    new WasmGetLocal(lowLocal), new WasmGetLocal(highLocal));
+            var nonAscii = new WasmVectorBinary(WasmVectorShape.I16X8, WasmVectorBinaryOperation.AND,
+                    both, new WasmGetLocal(maskLocal));
+            loop.getBody().add(new WasmBranch(new WasmVectorTest(WasmVectorShape.I16X8,
+                    WasmVectorTestOperation.ANY_TRUE, nonAscii), vectorBlock));
+            loop.getBody().add(new WasmVectorStore(1, new WasmGetLocal(bytesLocal), new WasmVectorBinary(
+                    WasmVectorShape.I8X16, WasmVectorBinaryOperation.NARROW_UNSIGNED,
+                    new WasmGetLocal(lowLocal), new WasmGetLocal(highLocal))));
+            loop.getBody().add(increment(charsLocal, VECTOR_SIZE * 2));
+            loop.getBody().add(increment(bytesLocal, VECTOR_SIZE));
+            loop.getBody().add(increment(indexLocal, VECTOR_SIZE));
+            loop.getBody().add(new WasmBranch(ge(remaining(countLocal, indexLocal), VECTOR_SIZE), loop));
+            vectorBlock.getBody().add(loop);
+            function.getBody().add(vectorBlock);
+        }
+
+        var block = new WasmBlock(false);
+        block.getBody().add(new WasmBranch(lt(remaining(countLocal, indexLocal), 1), block));
+        var loop = new WasmBlock(true);
+        loop.getBody().add(new WasmSetLocal(charLocal, new WasmLoadInt32(2, new WasmGetLocal(charsLocal),
+                WasmInt32Subtype.UINT16)));
+        loop.getBody().add(new WasmBranch(ge(new WasmGetLocal(charLocal), 0x80), block));
+        loop.getBody().add(new WasmStoreInt32(1, new WasmGetLocal(bytesLocal), new WasmGetLocal(charLocal),
+                WasmInt32Subtype.INT8));
+        loop.getBody().add(increment(charsLocal, 2));
+        loop.getBody().add(increment(bytesLocal, 1));
+        loop.getBody().add(increment(indexLocal, 1));
+        loop.getBody().add(new WasmBranch(ge(remaining(countLocal, indexLocal), 1), loop));
+        block.getBody().add(loop);
+        function.getBody().add(block);
+
+        function.getBody().add(new WasmGetLocal(indexLocal));
+        return function;
+    }
+
+    private static WasmExpression increment(WasmLocal local, int amount) {
+        return new WasmSetLocal(local, new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.ADD,
+                new WasmGetLocal(local), new WasmInt32Constant(amount)));
+    }
+
+    private static WasmExpression add(WasmLocal first, WasmLocal second) {
+        return new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.ADD, new WasmGetLocal(first),
+                new WasmGetLocal(second));
+    }
+
+    private static WasmExpression remaining(WasmLocal count, WasmLocal index) {
+        return new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.SUB, new WasmGetLocal(count),
+                new WasmGetLocal(index));
+    }
+
+    private static WasmExpression mul(WasmExpression value, int factor) {
+        return new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.MUL, value,
+                new WasmInt32Constant(factor));
+    }
+
+    private static WasmExpression lt(WasmExpression value, int bound) {
+        return new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.LT_SIGNED, value,
+                new WasmInt32Constant(bound));
+    }
+
+    private static WasmExpression ge(WasmExpression value, int bound) {
+        return new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.GE_SIGNED, value,
+                new WasmInt32Constant(bound));
+    }
+}
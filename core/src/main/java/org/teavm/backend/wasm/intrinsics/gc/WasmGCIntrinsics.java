@@ -24,6 +24,7 @@ import org.teavm.backend.wasm.WasmRuntime;
 import org.teavm.backend.wasm.generate.gc.methods.WasmGCIntrinsicProvider;
 import org.teavm.backend.wasm.model.expression.WasmIntType;
 import org.teavm.backend.wasm.runtime.StringInternPool;
+import org.teavm.backend.wasm.runtime.gc.WasmGCMemory;
 import org.teavm.backend.wasm.runtime.gc.WasmGCResources;
 import org.teavm.common.ServiceRepository;
 import org.teavm.interop.Address;
@@ -58,6 +59,7 @@ public class WasmGCIntrinsics implements WasmGCIntrinsicProvider {
         fillHeap();
         fillAddress();
         fillStructure();
+        fillMemory();
         for (var entry : customIntrinsics.entrySet()) {
             add(entry.getKey(), entry.getValue());
         }
@@ -235,6 +237,17 @@ public class WasmGCIntrinsics implements WasmGCIntrinsicProvider {
                 intrinsic);
     }
 
+    private void fillMemory() {
+        var intrinsic = new WasmGCMemoryIntrinsic();
+        for (var cls : List.of(byte[].class, short[].class, char[].class, int[].class, long[].class,
+                float[].class, double[].class)) {
+            add(new MethodReference(WasmGCMemory.class, "copy", cls, int.class, Address.class, int.class,
+                    void.class), intrinsic);
+            add(new MethodReference(WasmGCMemory.class, "copy", Address.class, cls, int.class, int.class,
+                    void.class), intrinsic);
+        }
+    }
+
     private void add(MethodReference methodRef, WasmGCIntrinsic intrinsic) {
         intrinsics.put(methodRef, new IntrinsicContainer(intrinsic));
     }
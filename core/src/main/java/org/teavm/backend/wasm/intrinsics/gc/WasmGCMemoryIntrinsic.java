@@ -0,0 +1,201 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.intrinsics.gc;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import org.teavm.ast.InvocationExpr;
+import org.teavm.backend.wasm.generate.gc.classes.WasmGCClassInfoProvider;
+import org.teavm.backend.wasm.model.WasmArray;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmLocal;
+import org.teavm.backend.wasm.model.WasmStructure;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmArrayGet;
+import org.teavm.backend.wasm.model.expression.WasmArraySet;
+import org.teavm.backend.wasm.model.expression.WasmBlock;
+import org.teavm.backend.wasm.model.expression.WasmBranch;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmGetLocal;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmInt32Subtype;
+import org.teavm.backend.wasm.model.expression.WasmInt64Subtype;
+import org.teavm.backend.wasm.model.expression.WasmIntBinary;
+import org.teavm.backend.wasm.model.expression.WasmIntBinaryOperation;
+import org.teavm.backend.wasm.model.expression.WasmIntType;
+import org.teavm.backend.wasm.model.expression.WasmLoadFloat32;
+import org.teavm.backend.wasm.model.expression.WasmLoadFloat64;
+import org.teavm.backend.wasm.model.expression.WasmLoadInt32;
+import org.teavm.backend.wasm.model.expression.WasmLoadInt64;
+import org.teavm.backend.wasm.model.expression.WasmSetLocal;
+import org.teavm.backend.wasm.model.expression.WasmSignedType;
+import org.teavm.backend.wasm.model.expression.WasmStoreFloat32;
+import org.teavm.backend.wasm.model.expression.WasmStoreFloat64;
+import org.teavm.backend.wasm.model.expression.WasmStoreInt32;
+import org.teavm.backend.wasm.model.expression.WasmStoreInt64;
+import org.teavm.backend.wasm.model.expression.WasmStructGet;
+import org.teavm.model.PrimitiveType;
+import org.teavm.model.ValueType;
+
+public class WasmGCMemoryIntrinsic implements WasmGCIntrinsic {
+    private Map<PrimitiveType, WasmFunction> toMemoryFunctions = new EnumMap<>(PrimitiveType.class);
+    private Map<PrimitiveType, WasmFunction> fromMemoryFunctions = new EnumMap<>(PrimitiveType.class);
+
+    @Override
+    public WasmExpression apply(InvocationExpr invocation, WasmGCIntrinsicContext context) {
+        var args = invocation.getArguments();
+        var toMemory = invocation.getMethod().parameterType(0) instanceof ValueType.Array;
+        var itemType = itemType(invocation.getMethod().parameterType(toMemory ? 0 : 1));
+        var structure = arrayStructure(context, itemType);
+        var functions = toMemory ? toMemoryFunctions : fromMemoryFunctions;
+        var function = functions.computeIfAbsent(itemType, t -> createFunction(context, t,
+                structure.getFields().get(WasmGCClassInfoProvider.ARRAY_DATA_FIELD_OFFSET).getUnpackedType(),
+                toMemory));
+
+        var array = context.generate(args.get(toMemory ? 0 : 1));
+        var data = new WasmStructGet(structure, array, WasmGCClassInfoProvider.ARRAY_DATA_FIELD_OFFSET);
+        var index = context.generate(args.get(toMemory ? 1 : 2));
+        var address = context.generate(args.get(toMemory ? 2 : 0));
+        var count = context.generate(args.get(3));
+        return new WasmCall(function, data, index, address, count);
+    }
+
+    private static PrimitiveType itemType(ValueType arrayType) {
+        return ((ValueType.Primitive) ((ValueType.Array) arrayType).getItemType()).getKind();
+    }
+
+    private static WasmStructure arrayStructure(WasmGCIntrinsicContext context, PrimitiveType itemType) {
+        var type = (WasmType.CompositeReference) context.typeMapper().mapType(
+                ValueType.arrayOf(ValueType.primitive(itemType)));
+        return (WasmStructure) type.composite;
+    }
+
+    private WasmFunction createFunction(WasmGCIntrinsicContext context, PrimitiveType itemType,
+            WasmType dataType, boolean toMemory) {
+        var wasmArray = (WasmArray) ((WasmType.CompositeReference) dataType).composite;
+        var function = new WasmFunction(context.functionTypes().of(null, dataType, WasmType.INT32,
+                WasmType.INT32, WasmType.INT32));
+        var typeName = itemType.name().toLowerCase(Locale.ROOT);
+        function.setName(context.names().topLevel(toMemory
+                ? "teavm@copy_" + typeName + "_arrayToMemory"
+                : "teavm@copy_" + typeName + "_memoryToArray"));
+        context.module().functions.add(function);
+
+        var dataLocal = new WasmLocal(dataType, "data");
+        var indexLocal = new WasmLocal(WasmType.INT32, "index");
+        var addressLocal = new WasmLocal(WasmType.INT32, "address");
+        var countLocal = new WasmLocal(WasmType.INT32, "count");
+        function.add(dataLocal);
+        function.add(indexLocal);
+        function.add(addressLocal);
+        function.add(countLocal);
+
+        var exitBlock = new WasmBlock(false);
+        exitBlock.getBody().add(new WasmBranch(new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.LE_SIGNED,
+                new WasmGetLocal(countLocal), new WasmInt32Constant(0)), exitBlock));
+
+        var loop = new WasmBlock(true);
+        var address = new WasmGetLocal(addressLocal);
+        if (toMemory) {
+            var element = new WasmArrayGet(wasmArray, new WasmGetLocal(dataLocal), new WasmGetLocal(indexLocal));
+            if (itemType == PrimitiveType.CHARACTER) {
+                element.setSignedType(WasmSignedType.UNSIGNED);
+            } else if (itemType == PrimitiveType.BYTE || itemType == PrimitiveType.SHORT) {
+                element.setSignedType(WasmSignedType.SIGNED);
+            }
+            loop.getBody().add(store(itemType, address, element));
+        } else {
+            loop.getBody().add(new WasmArraySet(wasmArray, new WasmGetLocal(dataLocal),
+                    new WasmGetLocal(indexLocal), load(itemType, address)));
+        }
+        loop.getBody().add(increment(addressLocal, elementSize(itemType)));
+        loop.getBody().add(increment(indexLocal, 1));
+        loop.getBody().add(increment(countLocal, -1));
+        loop.getBody().add(new WasmBranch(new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.GT_SIGNED,
+                new WasmGetLocal(countLocal), new WasmInt32Constant(0)), loop));
+        exitBlock.getBody().add(loop);
+
+        function.getBody().add(exitBlock);
+        return function;
+    }
+
+    private static WasmExpression increment(WasmLocal local, int amount) {
+        return new WasmSetLocal(local, new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.ADD,
+                new WasmGetLocal(local), new WasmInt32Constant(amount)));
+    }
+
+    private static WasmExpression store(PrimitiveType itemType, WasmExpression address, WasmExpression value) {
+        switch (itemType) {
+            case BYTE:
+                return new WasmStoreInt32(1, address, value, WasmInt32Subtype.INT8);
+            case SHORT:
+                return new WasmStoreInt32(2, address, value, WasmInt32Subtype.INT16);
+            case CHARACTER:
+                return new WasmStoreInt32(2, address, value, WasmInt32Subtype.UINT16);
+            case INTEGER:
+                return new WasmStoreInt32(4, address, value, WasmInt32Subtype.INT32);
+            case LONG:
+                return new WasmStoreInt64(8, address, value, WasmInt64Subtype.INT64);
+            case FLOAT:
+                return new WasmStoreFloat32(4, address, value);
+            case DOUBLE:
+                return new WasmStoreFloat64(8, address, value);
+            default:
+                throw new IllegalArgumentException(itemType.name());
+        }
+    }
+
+    private static WasmExpression load(PrimitiveType itemType, WasmExpression address) {
+        switch (itemType) {
+            case BYTE:
+                return new WasmLoadInt32(1, address, WasmInt32Subtype.INT8);
+            case SHORT:
+                return new WasmLoadInt32(2, address, WasmInt32Subtype.INT16);
+            case CHARACTER:
+                return new WasmLoadInt32(2, address, WasmInt32Subtype.UINT16);
+            case INTEGER:
+                return new WasmLoadInt32(4, address, WasmInt32Subtype.INT32);
+            case LONG:
+                return new WasmLoadInt64(8, address, WasmInt64Subtype.INT64);
+            case FLOAT:
+                return new WasmLoadFloat32(4, address);
+            case DOUBLE:
+                return new WasmLoadFloat64(8, address);
+            default:
+                throw new IllegalArgumentException(itemType.name());
+        }
+    }
+
+    private static int elementSize(PrimitiveType itemType) {
+        switch (itemType) {
+            case BYTE:
+                return 1;
+            case SHORT:
+            case CHARACTER:
+                return 2;
+            case INTEGER:
+            case FLOAT:
+                return 4;
+            case LONG:
+            case DOUBLE:
+                return 8;
+            default:
+                throw new IllegalArgumentException(itemType.name());
+        }
+    }
+}
@@ -105,6 +105,26 @@ public class WasmModule {
         prepareTypes();
     }
 
+    /**
+     * Computes indexes of all entities of the module and of all structure fields eagerly, so that after this
+     * the module can be safely read by several threads at once, as long as nobody modifies it.
+     */
+    public void ensureIndexes() {
+        functions.ensureIndexes();
+        globals.ensureIndexes();
+        types.ensureIndexes();
+        tags.ensureIndexes();
+        for (var type : types) {
+            if (type instanceof WasmStructure) {
+                var structure = (WasmStructure) type;
+                structure.init();
+                structure.ensureIndexes();
+            } else if (type instanceof WasmArray) {
+                ((WasmArray) type).init();
+            }
+        }
+    }
+
     private void prepareGlobals() {
         var sorting = new GlobalSorting();
         sorting.sort(globals);
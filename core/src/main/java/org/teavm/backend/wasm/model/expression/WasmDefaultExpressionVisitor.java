@@ -365,4 +365,36 @@ public class WasmDefaultExpressionVisitor implements WasmExpressionVisitor {
     @Override
     public void visit(WasmPop expression) {
     }
+
+    @Override
+    public void visit(WasmVectorLoad expression) {
+        expression.getIndex().acceptVisitor(this);
+    }
+
+    @Override
+    public void visit(WasmVectorStore expression) {
+        expression.getIndex().acceptVisitor(this);
+        expression.getValue().acceptVisitor(this);
+    }
+
+    @Override
+    public void visit(WasmVectorSplat expression) {
+        expression.getValue().acceptVisitor(this);
+    }
+
+    @Override
+    public void visit(WasmVectorExtractLane expression) {
+        expression.getVector().acceptVisitor(this);
+    }
+
+    @Override
+    public void visit(WasmVectorBinary expression) {
+        expression.getFirst().acceptVisitor(this);
+        expression.getSecond().acceptVisitor(this);
+    }
+
+    @Override
+    public void visit(WasmVectorTest expression) {
+        expression.getVector().acceptVisitor(this);
+    }
 }
@@ -135,4 +135,16 @@ public interface WasmExpressionVisitor {
     void visit(WasmPush expression);
 
     void visit(WasmPop expression);
+
+    void visit(WasmVectorLoad expression);
+
+    void visit(WasmVectorStore expression);
+
+    void visit(WasmVectorSplat expression);
+
+    void visit(WasmVectorExtractLane expression);
+
+    void visit(WasmVectorBinary expression);
+
+    void visit(WasmVectorTest expression);
 }
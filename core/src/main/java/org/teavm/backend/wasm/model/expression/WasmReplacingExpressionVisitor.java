@@ -141,6 +141,7 @@ public class WasmReplacingExpressionVisitor implements WasmExpressionVisitor {
     @Override
     public void visit(WasmSetLocal expression) {
         expression.getValue().acceptVisitor(this);
+        expression.setValue(mapper.apply(expression.getValue()));
     }
 
     @Override
@@ -150,6 +151,7 @@ public class WasmReplacingExpressionVisitor implements WasmExpressionVisitor {
     @Override
     public void visit(WasmSetGlobal expression) {
         expression.getValue().acceptVisitor(this);
+        expression.setValue(mapper.apply(expression.getValue()));
     }
 
     @Override
@@ -390,7 +392,7 @@ public class WasmReplacingExpressionVisitor implements WasmExpressionVisitor {
         expression.setIndex(mapper.apply(expression.getIndex()));
 
         expression.getValue().acceptVisitor(this);
-        expression.setValue(mapper.apply(expression.getIndex()));
+        expression.setValue(mapper.apply(expression.getValue()));
     }
 
     @Override
@@ -440,4 +442,44 @@ public class WasmReplacingExpressionVisitor implements WasmExpressionVisitor {
     @Override
     public void visit(WasmPop expression) {
     }
+
+    @Override
+    public void visit(WasmVectorLoad expression) {
+        expression.getIndex().acceptVisitor(this);
+        expression.setIndex(mapper.apply(expression.getIndex()));
+    }
+
+    @Override
+    public void visit(WasmVectorStore expression) {
+        expression.getIndex().acceptVisitor(this);
+        expression.setIndex(mapper.apply(expression.getIndex()));
+        expression.getValue().acceptVisitor(this);
+        expression.setValue(mapper.apply(expression.getValue()));
+    }
+
+    @Override
+    public void visit(WasmVectorSplat expression) {
+        expression.getValue().acceptVisitor(this);
+        expression.setValue(mapper.apply(expression.getValue()));
+    }
+
+    @Override
+    public void visit(WasmVectorExtractLane expression) {
+        expression.getVector().acceptVisitor(this);
+        expression.setVector(mapper.apply(expression.getVector()));
+    }
+
+    @Override
+    public void visit(WasmVectorBinary expression) {
+        expression.getFirst().acceptVisitor(this);
+        expression.setFirst(mapper.apply(expression.getFirst()));
+        expression.getSecond().acceptVisitor(this);
+        expression.setSecond(mapper.apply(expression.getSecond()));
+    }
+
+    @Override
+    public void visit(WasmVectorTest expression) {
+        expression.getVector().acceptVisitor(this);
+        expression.setVector(mapper.apply(expression.getVector()));
+    }
 }
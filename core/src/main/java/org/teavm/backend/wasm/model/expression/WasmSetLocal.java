@@ -21,6 +21,7 @@ import org.teavm.backend.wasm.model.WasmLocal;
 public class WasmSetLocal extends WasmExpression {
     private WasmLocal local;
     private WasmExpression value;
+    private boolean tee;
 
     public WasmSetLocal(WasmLocal local, WasmExpression value) {
         Objects.requireNonNull(local);
@@ -47,6 +48,18 @@ public class WasmSetLocal extends WasmExpression {
         this.value = value;
     }
 
+    /**
+     * Indicates that the assigned value is also left on the stack, i.e. that the expression is rendered
+     * as {@code local.tee} and has type of the local.
+     */
+    public boolean isTee() {
+        return tee;
+    }
+
+    public void setTee(boolean tee) {
+        this.tee = tee;
+    }
+
     @Override
     public void acceptVisitor(WasmExpressionVisitor visitor) {
         visitor.visit(this);
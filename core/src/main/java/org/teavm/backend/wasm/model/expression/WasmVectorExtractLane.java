@@ -0,0 +1,78 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.model.expression;
+
+import java.util.Objects;
+
+public class WasmVectorExtractLane extends WasmExpression {
+    private WasmVectorShape shape;
+    private WasmSignedType signedType;
+    private int lane;
+    private WasmExpression vector;
+
+    public WasmVectorExtractLane(WasmVectorShape shape, int lane, WasmExpression vector) {
+        this(shape, null, lane, vector);
+    }
+
+    public WasmVectorExtractLane(WasmVectorShape shape, WasmSignedType signedType, int lane,
+            WasmExpression vector) {
+        Objects.requireNonNull(shape);
+        Objects.requireNonNull(vector);
+        this.shape = shape;
+        this.signedType = signedType;
+        this.lane = lane;
+        this.vector = vector;
+    }
+
+    public WasmVectorShape getShape() {
+        return shape;
+    }
+
+    public void setShape(WasmVectorShape shape) {
+        Objects.requireNonNull(shape);
+        this.shape = shape;
+    }
+
+    public WasmSignedType getSignedType() {
+        return signedType;
+    }
+
+    public void setSignedType(WasmSignedType signedType) {
+        this.signedType = signedType;
+    }
+
+    public int getLane() {
+        return lane;
+    }
+
+    public void setLane(int lane) {
+        this.lane = lane;
+    }
+
+    public WasmExpression getVector() {
+        return vector;
+    }
+
+    public void setVector(WasmExpression vector) {
+        Objects.requireNonNull(vector);
+        this.vector = vector;
+    }
+
+    @Override
+    public void acceptVisitor(WasmExpressionVisitor visitor) {
+        visitor.visit(this);
+    }
+}
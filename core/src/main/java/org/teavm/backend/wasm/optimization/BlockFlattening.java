@@ -0,0 +1,121 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.expression.WasmBlock;
+import org.teavm.backend.wasm.model.expression.WasmBranch;
+import org.teavm.backend.wasm.model.expression.WasmBreak;
+import org.teavm.backend.wasm.model.expression.WasmCastBranch;
+import org.teavm.backend.wasm.model.expression.WasmConditional;
+import org.teavm.backend.wasm.model.expression.WasmDefaultExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmNullBranch;
+import org.teavm.backend.wasm.model.expression.WasmSwitch;
+import org.teavm.backend.wasm.model.expression.WasmTry;
+
+/**
+ * Inlines void non-loop blocks which are not targets of any branch into enclosing sequence of instructions.
+ */
+public class BlockFlattening {
+    private Set<WasmBlock> targets = new HashSet<>();
+
+    public void apply(WasmFunction function) {
+        for (var part : function.getBody()) {
+            part.acceptVisitor(targetCollector);
+        }
+        flatten(function.getBody());
+        targets.clear();
+    }
+
+    private void flatten(List<WasmExpression> expressions) {
+        var i = 0;
+        while (i < expressions.size()) {
+            var part = expressions.get(i);
+            part.acceptVisitor(flatteningVisitor);
+            if (part instanceof WasmBlock && isFlattenable((WasmBlock) part)) {
+                var body = ((WasmBlock) part).getBody();
+                expressions.remove(i);
+                expressions.addAll(i, body);
+                i += body.size();
+            } else {
+                ++i;
+            }
+        }
+    }
+
+    private boolean isFlattenable(WasmBlock block) {
+        return !block.isLoop() && block.getType() == null && !targets.contains(block);
+    }
+
+    private WasmDefaultExpressionVisitor flatteningVisitor = new WasmDefaultExpressionVisitor() {
+        @Override
+        public void visit(WasmBlock expression) {
+            flatten(expression.getBody());
+        }
+
+        @Override
+        public void visit(WasmConditional expression) {
+            expression.getCondition().acceptVisitor(this);
+            flatten(expression.getThenBlock().getBody());
+            flatten(expression.getElseBlock().getBody());
+        }
+
+        @Override
+        public void visit(WasmTry expression) {
+            flatten(expression.getBody());
+            for (var catchClause : expression.getCatches()) {
+                flatten(catchClause.getBody());
+            }
+        }
+    };
+
+    private WasmDefaultExpressionVisitor targetCollector = new WasmDefaultExpressionVisitor() {
+        @Override
+        public void visit(WasmBranch expression) {
+            super.visit(expression);
+            targets.add(expression.getTarget());
+        }
+
+        @Override
+        public void visit(WasmNullBranch expression) {
+            super.visit(expression);
+            targets.add(expression.getTarget());
+        }
+
+        @Override
+        public void visit(WasmCastBranch expression) {
+            super.visit(expression);
+            targets.add(expression.getTarget());
+        }
+
+        @Override
+        public void visit(WasmBreak expression) {
+            super.visit(expression);
+            targets.add(expression.getTarget());
+        }
+
+        @Override
+        public void visit(WasmSwitch expression) {
+            super.visit(expression);
+            targets.addAll(expression.getTargets());
+            targets.add(expression.getDefaultTarget());
+        }
+    };
+}
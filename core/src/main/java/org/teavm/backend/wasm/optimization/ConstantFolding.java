@@ -0,0 +1,238 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.expression.WasmBranch;
+import org.teavm.backend.wasm.model.expression.WasmBreak;
+import org.teavm.backend.wasm.model.expression.WasmConditional;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmInt64Constant;
+import org.teavm.backend.wasm.model.expression.WasmIntBinary;
+import org.teavm.backend.wasm.model.expression.WasmIntType;
+import org.teavm.backend.wasm.model.expression.WasmIntUnary;
+import org.teavm.backend.wasm.model.expression.WasmReplacingExpressionVisitor;
+
+public class ConstantFolding {
+    private WasmReplacingExpressionVisitor visitor = new WasmReplacingExpressionVisitor(this::fold);
+
+    public void apply(WasmFunction function) {
+        visitor.replace(function);
+    }
+
+    private WasmExpression fold(WasmExpression expression) {
+        WasmExpression result = null;
+        if (expression instanceof WasmIntBinary) {
+            result = foldBinary((WasmIntBinary) expression);
+        } else if (expression instanceof WasmIntUnary) {
+            result = foldUnary((WasmIntUnary) expression);
+        } else if (expression instanceof WasmConditional) {
+            result = foldConditional((WasmConditional) expression);
+        } else if (expression instanceof WasmBranch) {
+            result = foldBranch((WasmBranch) expression);
+        }
+        if (result == null) {
+            return expression;
+        }
+        if (result.getLocation() == null) {
+            result.setLocation(expression.getLocation());
+        }
+        return result;
+    }
+
+    private WasmExpression foldBinary(WasmIntBinary expression) {
+        if (expression.getType() == WasmIntType.INT32) {
+            if (!(expression.getFirst() instanceof WasmInt32Constant)
+                    || !(expression.getSecond() instanceof WasmInt32Constant)) {
+                return null;
+            }
+            var a = ((WasmInt32Constant) expression.getFirst()).getValue();
+            var b = ((WasmInt32Constant) expression.getSecond()).getValue();
+            switch (expression.getOperation()) {
+                case ADD:
+                    return new WasmInt32Constant(a + b);
+                case SUB:
+                    return new WasmInt32Constant(a - b);
+                case MUL:
+                    return new WasmInt32Constant(a * b);
+                case DIV_SIGNED:
+                    return b != 0 && (a != Integer.MIN_VALUE || b != -1) ? new WasmInt32Constant(a / b) : null;
+                case DIV_UNSIGNED:
+                    return b != 0 ? new WasmInt32Constant(Integer.divideUnsigned(a, b)) : null;
+                case REM_SIGNED:
+                    return b != 0 ? new WasmInt32Constant(a % b) : null;
+                case REM_UNSIGNED:
+                    return b != 0 ? new WasmInt32Constant(Integer.remainderUnsigned(a, b)) : null;
+                case OR:
+                    return new WasmInt32Constant(a | b);
+                case AND:
+                    return new WasmInt32Constant(a & b);
+                case XOR:
+                    return new WasmInt32Constant(a ^ b);
+                case SHL:
+                    return new WasmInt32Constant(a << b);
+                case SHR_SIGNED:
+                    return new WasmInt32Constant(a >> b);
+                case SHR_UNSIGNED:
+                    return new WasmInt32Constant(a >>> b);
+                case ROTL:
+                    return new WasmInt32Constant(Integer.rotateLeft(a, b));
+                case ROTR:
+                    return new WasmInt32Constant(Integer.rotateRight(a, b));
+                default:
+                    return compare(expression, Integer.compare(a, b), Integer.compareUnsigned(a, b));
+            }
+        } else {
+            if (!(expression.getFirst() instanceof WasmInt64Constant)
+                    || !(expression.getSecond() instanceof WasmInt64Constant)) {
+                return null;
+            }
+            var a = ((WasmInt64Constant) expression.getFirst()).getValue();
+            var b = ((WasmInt64Constant) expression.getSecond()).getValue();
+            switch (expression.getOperation()) {
+                case ADD:
+                    return new WasmInt64Constant(a + b);
+                case SUB:
+                    return new WasmInt64Constant(a - b);
+                case MUL:
+                    return new WasmInt64Constant(a * b);
+                case DIV_SIGNED:
+                    return b != 0 && (a != Long.MIN_VALUE || b != -1) ? new WasmInt64Constant(a / b) : null;
+                case DIV_UNSIGNED:
+                    return b != 0 ? new WasmInt64Constant(Long.divideUnsigned(a, b)) : null;
+                case REM_SIGNED:
+                    return b != 0 ? new WasmInt64Constant(a % b) : null;
+                case REM_UNSIGNED:
+                    return b != 0 ? new WasmInt64Constant(Long.remainderUnsigned(a, b)) : null;
+                case OR:
+                    return new WasmInt64Constant(a | b);
+                case AND:
+                    return new WasmInt64Constant(a & b);
+                case XOR:
+                    return new WasmInt64Constant(a ^ b);
+                case SHL:
+                    return new WasmInt64Constant(a << b);
+                case SHR_SIGNED:
+                    return new WasmInt64Constant(a >> b);
+                case SHR_UNSIGNED:
+                    return new WasmInt64Constant(a >>> b);
+                case ROTL:
+                    return new WasmInt64Constant(Long.rotateLeft(a, (int) b));
+                case ROTR:
+                    return new WasmInt64Constant(Long.rotateRight(a, (int) b));
+                default:
+                    return compare(expression, Long.compare(a, b), Long.compareUnsigned(a, b));
+            }
+        }
+    }
+
+    private WasmExpression compare(WasmIntBinary expression, int signed, int unsigned) {
+        boolean result;
+        switch (expression.getOperation()) {
+            case EQ:
+                result = signed == 0;
+                break;
+            case NE:
+                result = signed != 0;
+                break;
+            case LT_SIGNED:
+                result = signed < 0;
+                break;
+            case LT_UNSIGNED:
+                result = unsigned < 0;
+                break;
+            case LE_SIGNED:
+                result = signed <= 0;
+                break;
+            case LE_UNSIGNED:
+                result = unsigned <= 0;
+                break;
+            case GT_SIGNED:
+                result = signed > 0;
+                break;
+            case GT_UNSIGNED:
+                result = unsigned > 0;
+                break;
+            case GE_SIGNED:
+                result = signed >= 0;
+                break;
+            case GE_UNSIGNED:
+                result = unsigned >= 0;
+                break;
+            default:
+                return null;
+        }
+        return new WasmInt32Constant(result ? 1 : 0);
+    }
+
+    private WasmExpression foldUnary(WasmIntUnary expression) {
+        if (expression.getType() == WasmIntType.INT32) {
+            if (!(expression.getOperand() instanceof WasmInt32Constant)) {
+                return null;
+            }
+            var a = ((WasmInt32Constant) expression.getOperand()).getValue();
+            switch (expression.getOperation()) {
+                case EQZ:
+                    return new WasmInt32Constant(a == 0 ? 1 : 0);
+                case CLZ:
+                    return new WasmInt32Constant(Integer.numberOfLeadingZeros(a));
+                case CTZ:
+                    return new WasmInt32Constant(Integer.numberOfTrailingZeros(a));
+                case POPCNT:
+                    return new WasmInt32Constant(Integer.bitCount(a));
+                default:
+                    return null;
+            }
+        } else {
+            if (!(expression.getOperand() instanceof WasmInt64Constant)) {
+                return null;
+            }
+            var a = ((WasmInt64Constant) expression.getOperand()).getValue();
+            switch (expression.getOperation()) {
+                case EQZ:
+                    return new WasmInt32Constant(a == 0 ? 1 : 0);
+                case CLZ:
+                    return new WasmInt64Constant(Long.numberOfLeadingZeros(a));
+                case CTZ:
+                    return new WasmInt64Constant(Long.numberOfTrailingZeros(a));
+                case POPCNT:
+                    return new WasmInt64Constant(Long.bitCount(a));
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private WasmExpression foldConditional(WasmConditional expression) {
+        if (!(expression.getCondition() instanceof WasmInt32Constant)) {
+            return null;
+        }
+        var block = ((WasmInt32Constant) expression.getCondition()).getValue() != 0
+                ? expression.getThenBlock()
+                : expression.getElseBlock();
+        block.setType(expression.getType());
+        return block;
+    }
+
+    private WasmExpression foldBranch(WasmBranch expression) {
+        if (!(expression.getCondition() instanceof WasmInt32Constant) || expression.getResult() != null
+                || ((WasmInt32Constant) expression.getCondition()).getValue() == 0) {
+            return null;
+        }
+        return new WasmBreak(expression.getTarget());
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import java.util.List;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.expression.WasmArrayGet;
+import org.teavm.backend.wasm.model.expression.WasmArrayLength;
+import org.teavm.backend.wasm.model.expression.WasmArraySet;
+import org.teavm.backend.wasm.model.expression.WasmBlock;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmCast;
+import org.teavm.backend.wasm.model.expression.WasmConditional;
+import org.teavm.backend.wasm.model.expression.WasmConversion;
+import org.teavm.backend.wasm.model.expression.WasmDefaultExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmDrop;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmFloatBinary;
+import org.teavm.backend.wasm.model.expression.WasmFloatUnary;
+import org.teavm.backend.wasm.model.expression.WasmGetLocal;
+import org.teavm.backend.wasm.model.expression.WasmIntBinary;
+import org.teavm.backend.wasm.model.expression.WasmIntUnary;
+import org.teavm.backend.wasm.model.expression.WasmIsNull;
+import org.teavm.backend.wasm.model.expression.WasmReturn;
+import org.teavm.backend.wasm.model.expression.WasmSetGlobal;
+import org.teavm.backend.wasm.model.expression.WasmSetLocal;
+import org.teavm.backend.wasm.model.expression.WasmStructGet;
+import org.teavm.backend.wasm.model.expression.WasmStructSet;
+import org.teavm.backend.wasm.model.expression.WasmTry;
+
+/**
+ * Replaces {@code local.set x V} immediately followed by an instruction which starts with
+ * {@code local.get x} by {@code local.tee x V} in place of the {@code local.get}.
+ */
+public class LocalTeeConversion {
+    public void apply(WasmFunction function) {
+        convert(function.getBody());
+    }
+
+    private void convert(List<WasmExpression> expressions) {
+        for (var part : expressions) {
+            part.acceptVisitor(visitor);
+        }
+        var i = 0;
+        while (i < expressions.size() - 1) {
+            if (expressions.get(i) instanceof WasmSetLocal) {
+                var assignment = (WasmSetLocal) expressions.get(i);
+                var next = expressions.get(i + 1);
+                if (!assignment.isTee()) {
+                    if (isRead(next, assignment)) {
+                        assignment.setTee(true);
+                        expressions.set(i + 1, assignment);
+                        expressions.remove(i);
+                        continue;
+                    }
+                    if (replaceFirstRead(next, assignment)) {
+                        assignment.setTee(true);
+                        expressions.remove(i);
+                        continue;
+                    }
+                }
+            }
+            ++i;
+        }
+    }
+
+    private boolean replaceFirstRead(WasmExpression expression, WasmSetLocal assignment) {
+        while (true) {
+            var first = getFirstOperand(expression);
+            if (first == null) {
+                return false;
+            }
+            if (isRead(first, assignment)) {
+                setFirstOperand(expression, assignment);
+                return true;
+            }
+            expression = first;
+        }
+    }
+
+    private static boolean isRead(WasmExpression expression, WasmSetLocal assignment) {
+        return expression instanceof WasmGetLocal && ((WasmGetLocal) expression).getLocal() == assignment.getLocal();
+    }
+
+    private static WasmExpression getFirstOperand(WasmExpression expression) {
+        if (expression instanceof WasmSetLocal) {
+            return ((WasmSetLocal) expression).getValue();
+        } else if (expression instanceof WasmSetGlobal) {
+            return ((WasmSetGlobal) expression).getValue();
+        } else if (expression instanceof WasmDrop) {
+            return ((WasmDrop) expression).getOperand();
+        } else if (expression instanceof WasmReturn) {
+            return ((WasmReturn) expression).getValue();
+        } else if (expression instanceof WasmIntBinary) {
+            return ((WasmIntBinary) expression).getFirst();
+        } else if (expression instanceof WasmFloatBinary) {
+            return ((WasmFloatBinary) expression).getFirst();
+        } else if (expression instanceof WasmIntUnary) {
+            return ((WasmIntUnary) expression).getOperand();
+        } else if (expression instanceof WasmFloatUnary) {
+            return ((WasmFloatUnary) expression).getOperand();
+        } else if (expression instanceof WasmConversion) {
+            return ((WasmConversion) expression).getOperand();
+        } else if (expression instanceof WasmIsNull) {
+            return ((WasmIsNull) expression).getValue();
+        } else if (expression instanceof WasmCast) {
+            return ((WasmCast) expression).getValue();
+        } else if (expression instanceof WasmStructGet) {
+            return ((WasmStructGet) expression).getInstance();
+        } else if (expression instanceof WasmStructSet) {
+            return ((WasmStructSet) expression).getInstance();
+        } else if (expression instanceof WasmArrayGet) {
+            return ((WasmArrayGet) expression).getInstance();
+        } else if (expression instanceof WasmArraySet) {
+            return ((WasmArraySet) expression).getInstance();
+        } else if (expression instanceof WasmArrayLength) {
+            return ((WasmArrayLength) expression).getInstance();
+        } else if (expression instanceof WasmConditional) {
+            return ((WasmConditional) expression).getCondition();
+        } else if (expression instanceof WasmCall) {
+            var arguments = ((WasmCall) expression).getArguments();
+            return !arguments.isEmpty() ? arguments.get(0) : null;
+        } else if (expression instanceof WasmBlock) {
+            var block = (WasmBlock) expression;
+            return !block.isLoop() && !block.getBody().isEmpty() ? block.getBody().get(0) : null;
+        }
+        return null;
+    }
+
+    private static void setFirstOperand(WasmExpression expression, WasmExpression operand) {
+        if (expression instanceof WasmSetLocal) {
+            ((WasmSetLocal) expression).setValue(operand);
+        } else if (expression instanceof WasmSetGlobal) {
+            ((WasmSetGlobal) expression).setValue(operand);
+        } else if (expression instanceof WasmDrop) {
+            ((WasmDrop) expression).setOperand(operand);
+        } else if (expression instanceof WasmReturn) {
+            ((WasmReturn) expression).setValue(operand);
+        } else if (expression instanceof WasmIntBinary) {
+            ((WasmIntBinary) expression).setFirst(operand);
+        } else if (expression instanceof WasmFloatBinary) {
+            ((WasmFloatBinary) expression).setFirst(operand);
+        } else if (expression instanceof WasmIntUnary) {
+            ((WasmIntUnary) expression).setOperand(operand);
+        } else if (expression instanceof WasmFloatUnary) {
+            ((WasmFloatUnary) expression).setOperand(operand);
+        } else if (expression instanceof WasmConversion) {
+            ((WasmConversion) expression).setOperand(operand);
+        } else if (expression instanceof WasmIsNull) {
+            ((WasmIsNull) expression).setValue(operand);
+        } else if (expression instanceof WasmCast) {
+            ((WasmCast) expression).setValue(operand);
+        } else if (expression instanceof WasmStructGet) {
+            ((WasmStructGet) expression).setInstance(operand);
+        } else if (expression instanceof WasmStructSet) {
+            ((WasmStructSet) expression).setInstance(operand);
+        } else if (expression instanceof WasmArrayGet) {
+            ((WasmArrayGet) expression).setInstance(operand);
+        } else if (expression instanceof WasmArraySet) {
+            ((WasmArraySet) expression).setInstance(operand);
+        } else if (expression instanceof WasmArrayLength) {
+            ((WasmArrayLength) expression).setInstance(operand);
+        } else if (expression instanceof WasmConditional) {
+            ((WasmConditional) expression).setCondition(operand);
+        } else if (expression instanceof WasmCall) {
+            ((WasmCall) expression).getArguments().set(0, operand);
+        } else if (expression instanceof WasmBlock) {
+            ((WasmBlock) expression).getBody().set(0, operand);
+        }
+    }
+
+    private WasmDefaultExpressionVisitor visitor = new WasmDefaultExpressionVisitor() {
+        @Override
+        public void visit(WasmBlock expression) {
+            convert(expression.getBody());
+        }
+
+        @Override
+        public void visit(WasmConditional expression) {
+            expression.getCondition().acceptVisitor(this);
+            convert(expression.getThenBlock().getBody());
+            convert(expression.getElseBlock().getBody());
+        }
+
+        @Override
+        public void visit(WasmTry expression) {
+            convert(expression.getBody());
+            for (var catchClause : expression.getCatches()) {
+                convert(catchClause.getBody());
+            }
+        }
+    };
+}
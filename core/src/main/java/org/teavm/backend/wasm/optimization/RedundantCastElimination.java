@@ -0,0 +1,109 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import org.teavm.backend.wasm.model.WasmArray;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmStructure;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmBranch;
+import org.teavm.backend.wasm.model.expression.WasmCast;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmGetLocal;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmIsNull;
+import org.teavm.backend.wasm.model.expression.WasmNullBranch;
+import org.teavm.backend.wasm.model.expression.WasmReplacingExpressionVisitor;
+import org.teavm.backend.wasm.render.WasmTypeInference;
+
+public class RedundantCastElimination {
+    private WasmReplacingExpressionVisitor visitor = new WasmReplacingExpressionVisitor(this::eliminate);
+    private WasmTypeInference typeInference = new WasmTypeInference();
+
+    public void apply(WasmFunction function) {
+        visitor.replace(function);
+    }
+
+    private WasmExpression eliminate(WasmExpression expression) {
+        if (expression instanceof WasmCast) {
+            var cast = (WasmCast) expression;
+            var type = knownType(cast.getValue());
+            if (type != null && isSubtype(type, cast.getTargetType())) {
+                return cast.getValue();
+            }
+        } else if (expression instanceof WasmIsNull) {
+            var value = ((WasmIsNull) expression).getValue();
+            if (value instanceof WasmGetLocal) {
+                var type = knownType(value);
+                if (type != null && !type.isNullable()) {
+                    var result = new WasmInt32Constant(0);
+                    result.setLocation(expression.getLocation());
+                    return result;
+                }
+            }
+        }
+        return expression;
+    }
+
+    private WasmType.Reference knownType(WasmExpression expression) {
+        if (expression instanceof WasmBranch || expression instanceof WasmNullBranch) {
+            return null;
+        }
+        expression.acceptVisitor(typeInference);
+        var result = typeInference.getResult();
+        if (result == null || result.size() != 1 || !(result.get(0) instanceof WasmType.Reference)) {
+            return null;
+        }
+        return (WasmType.Reference) result.get(0);
+    }
+
+    private static boolean isSubtype(WasmType.Reference type, WasmType.Reference supertype) {
+        if (type.isNullable() && !supertype.isNullable()) {
+            return false;
+        }
+        if (supertype instanceof WasmType.CompositeReference) {
+            if (!(type instanceof WasmType.CompositeReference)) {
+                return false;
+            }
+            var composite = ((WasmType.CompositeReference) type).composite;
+            var superComposite = ((WasmType.CompositeReference) supertype).composite;
+            if (composite == superComposite) {
+                return true;
+            }
+            return composite instanceof WasmStructure && superComposite instanceof WasmStructure
+                    && ((WasmStructure) superComposite).isSupertypeOf((WasmStructure) composite);
+        }
+        var kind = ((WasmType.SpecialReference) supertype).kind;
+        if (type instanceof WasmType.CompositeReference) {
+            var composite = ((WasmType.CompositeReference) type).composite;
+            switch (kind) {
+                case ANY:
+                case EQ:
+                    return !(composite instanceof WasmFunctionType);
+                case STRUCT:
+                    return composite instanceof WasmStructure;
+                case ARRAY:
+                    return composite instanceof WasmArray;
+                case FUNC:
+                    return composite instanceof WasmFunctionType;
+                default:
+                    return false;
+            }
+        }
+        return ((WasmType.SpecialReference) type).kind == kind;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmLocal;
+import org.teavm.backend.wasm.model.expression.WasmDefaultExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmDrop;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmGetLocal;
+import org.teavm.backend.wasm.model.expression.WasmReplacingExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmSetLocal;
+
+/**
+ * Removes locals which are never read. Assignments to such locals are replaced by {@code drop},
+ * so that side effects of assigned values are preserved.
+ */
+public class UnusedLocalElimination {
+    private Set<WasmLocal> readLocals = new HashSet<>();
+    private int parameterCount;
+
+    public void apply(WasmFunction function) {
+        parameterCount = function.getType().getParameterTypes().size();
+        for (var part : function.getBody()) {
+            part.acceptVisitor(readCollector);
+        }
+        new WasmReplacingExpressionVisitor(this::replace).replace(function);
+        function.removeLocals(local -> local.getIndex() >= parameterCount && !readLocals.contains(local));
+        readLocals.clear();
+    }
+
+    private WasmExpression replace(WasmExpression expression) {
+        if (!(expression instanceof WasmSetLocal)) {
+            return expression;
+        }
+        var assignment = (WasmSetLocal) expression;
+        if (assignment.getLocal().getIndex() < parameterCount || readLocals.contains(assignment.getLocal())) {
+            return expression;
+        }
+        if (assignment.isTee()) {
+            return assignment.getValue();
+        }
+        var result = new WasmDrop(assignment.getValue());
+        result.setLocation(assignment.getLocation());
+        return result;
+    }
+
+    private WasmDefaultExpressionVisitor readCollector = new WasmDefaultExpressionVisitor() {
+        @Override
+        public void visit(WasmGetLocal expression) {
+            readLocals.add(expression.getLocal());
+        }
+    };
+}
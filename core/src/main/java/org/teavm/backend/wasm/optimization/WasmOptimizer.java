@@ -0,0 +1,62 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import org.teavm.backend.wasm.model.WasmModule;
+
+/**
+ * <p>Simplifies bodies of functions of a module right before rendering. This reduces size of the module
+ * and time browsers spend compiling it, since we can't rely on external tools like binaryen.</p>
+ *
+ * <p>There's no pass that coalesces locals with disjoint live ranges. Before generating Wasm,
+ * {@link org.teavm.model.util.RegisterAllocator} already merges such variables of the same type, and
+ * the passes here only remove locals, they never split them, so there is nothing left to coalesce.</p>
+ */
+public class WasmOptimizer {
+    private WasmModule module;
+    private boolean localsPreserved;
+    private ConstantFolding constantFolding = new ConstantFolding();
+    private RedundantCastElimination redundantCastElimination = new RedundantCastElimination();
+    private BlockFlattening blockFlattening = new BlockFlattening();
+    private UnusedLocalElimination unusedLocalElimination = new UnusedLocalElimination();
+    private LocalTeeConversion localTeeConversion = new LocalTeeConversion();
+
+    public WasmOptimizer(WasmModule module) {
+        this.module = module;
+    }
+
+    /**
+     * Prevents optimizer from removing locals, so that they are still visible in debugger.
+     */
+    public void setLocalsPreserved(boolean localsPreserved) {
+        this.localsPreserved = localsPreserved;
+    }
+
+    public void apply() {
+        for (var function : module.functions) {
+            if (function.getImportName() != null) {
+                continue;
+            }
+            constantFolding.apply(function);
+            redundantCastElimination.apply(function);
+            blockFlattening.apply(function);
+            localTeeConversion.apply(function);
+            if (!localsPreserved) {
+                unusedLocalElimination.apply(function);
+            }
+        }
+    }
+}
@@ -25,6 +25,9 @@ import org.teavm.backend.wasm.model.expression.WasmIntBinaryOperation;
 import org.teavm.backend.wasm.model.expression.WasmIntType;
 import org.teavm.backend.wasm.model.expression.WasmIntUnaryOperation;
 import org.teavm.backend.wasm.model.expression.WasmSignedType;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinaryOperation;
+import org.teavm.backend.wasm.model.expression.WasmVectorShape;
+import org.teavm.backend.wasm.model.expression.WasmVectorTestOperation;
 
 public interface CodeListener {
     default void error(int depth) {
@@ -191,6 +194,24 @@ public interface CodeListener {
     default void int31Get(WasmSignedType signedType) {
     }
 
+    default void vectorLoad(int align, int offset) {
+    }
+
+    default void vectorStore(int align, int offset) {
+    }
+
+    default void vectorSplat(WasmVectorShape shape) {
+    }
+
+    default void vectorExtractLane(WasmVectorShape shape, WasmSignedType signedType, int lane) {
+    }
+
+    default void vectorBinary(WasmVectorBinaryOperation opcode, WasmVectorShape shape) {
+    }
+
+    default void vectorTest(WasmVectorTestOperation opcode, WasmVectorShape shape) {
+    }
+
     CodeListener EMPTY = new CodeListener() {
     };
 }
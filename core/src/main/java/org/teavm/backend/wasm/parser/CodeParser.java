@@ -27,6 +27,9 @@ import org.teavm.backend.wasm.model.expression.WasmIntBinaryOperation;
 import org.teavm.backend.wasm.model.expression.WasmIntType;
 import org.teavm.backend.wasm.model.expression.WasmIntUnaryOperation;
 import org.teavm.backend.wasm.model.expression.WasmSignedType;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinaryOperation;
+import org.teavm.backend.wasm.model.expression.WasmVectorShape;
+import org.teavm.backend.wasm.model.expression.WasmVectorTestOperation;
 
 public class CodeParser extends BaseSectionParser {
     private CodeListener codeListener;
@@ -617,6 +620,8 @@ public class CodeParser extends BaseSectionParser {
                 return parseExtExpr2();
             case 0xFC:
                 return parseExtExpr();
+            case 0xFD:
+                return parseVectorExpr();
 
             default:
                 return false;
@@ -671,6 +676,203 @@ public class CodeParser extends BaseSectionParser {
         }
     }
 
+    private boolean parseVectorExpr() {
+        switch (readLEB()) {
+            case 0x00:
+                codeListener.vectorLoad(1 << readLEB(), readLEB());
+                return true;
+            case 0x0B:
+                codeListener.vectorStore(1 << readLEB(), readLEB());
+                return true;
+            case 0x0F:
+                codeListener.vectorSplat(WasmVectorShape.I8X16);
+                return true;
+            case 0x10:
+                codeListener.vectorSplat(WasmVectorShape.I16X8);
+                return true;
+            case 0x11:
+                codeListener.vectorSplat(WasmVectorShape.I32X4);
+                return true;
+            case 0x12:
+                codeListener.vectorSplat(WasmVectorShape.I64X2);
+                return true;
+            case 0x13:
+                codeListener.vectorSplat(WasmVectorShape.F32X4);
+                return true;
+            case 0x14:
+                codeListener.vectorSplat(WasmVectorShape.F64X2);
+                return true;
+            case 0x15:
+                codeListener.vectorExtractLane(WasmVectorShape.I8X16, WasmSignedType.SIGNED, readLane());
+                return true;
+            case 0x16:
+                codeListener.vectorExtractLane(WasmVectorShape.I8X16, WasmSignedType.UNSIGNED, readLane());
+                return true;
+            case 0x18:
+                codeListener.vectorExtractLane(WasmVectorShape.I16X8, WasmSignedType.SIGNED, readLane());
+                return true;
+            case 0x19:
+                codeListener.vectorExtractLane(WasmVectorShape.I16X8, WasmSignedType.UNSIGNED, readLane());
+                return true;
+            case 0x1B:
+                codeListener.vectorExtractLane(WasmVectorShape.I32X4, null, readLane());
+                return true;
+            case 0x1D:
+                codeListener.vectorExtractLane(WasmVectorShape.I64X2, null, readLane());
+                return true;
+            case 0x1F:
+                codeListener.vectorExtractLane(WasmVectorShape.F32X4, null, readLane());
+                return true;
+            case 0x21:
+                codeListener.vectorExtractLane(WasmVectorShape.F64X2, null, readLane());
+                return true;
+            case 0x23:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.EQ, WasmVectorShape.I8X16);
+                return true;
+            case 0x24:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.NE, WasmVectorShape.I8X16);
+                return true;
+            case 0x2D:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.EQ, WasmVectorShape.I16X8);
+                return true;
+            case 0x2E:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.NE, WasmVectorShape.I16X8);
+                return true;
+            case 0x37:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.EQ, WasmVectorShape.I32X4);
+                return true;
+            case 0x38:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.NE, WasmVectorShape.I32X4);
+                return true;
+            case 0x41:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.EQ, WasmVectorShape.F32X4);
+                return true;
+            case 0x42:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.NE, WasmVectorShape.F32X4);
+                return true;
+            case 0x47:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.EQ, WasmVectorShape.F64X2);
+                return true;
+            case 0x48:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.NE, WasmVectorShape.F64X2);
+                return true;
+            case 0x4E:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.AND, WasmVectorShape.I8X16);
+                return true;
+            case 0x4F:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.AND_NOT, WasmVectorShape.I8X16);
+                return true;
+            case 0x50:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.OR, WasmVectorShape.I8X16);
+                return true;
+            case 0x51:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.XOR, WasmVectorShape.I8X16);
+                return true;
+            case 0x53:
+                codeListener.vectorTest(WasmVectorTestOperation.ANY_TRUE, WasmVectorShape.I8X16);
+                return true;
+            case 0x63:
+                codeListener.vectorTest(WasmVectorTestOperation.ALL_TRUE, WasmVectorShape.I8X16);
+                return true;
+            case 0x64:
+                codeListener.vectorTest(WasmVectorTestOperation.BITMASK, WasmVectorShape.I8X16);
+                return true;
+            case 0x65:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.NARROW_SIGNED, WasmVectorShape.I8X16);
+                return true;
+            case 0x66:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.NARROW_UNSIGNED, WasmVectorShape.I8X16);
+                return true;
+            case 0x6E:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.ADD, WasmVectorShape.I8X16);
+                return true;
+            case 0x71:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.SUB, WasmVectorShape.I8X16);
+                return true;
+            case 0x83:
+                codeListener.vectorTest(WasmVectorTestOperation.ALL_TRUE, WasmVectorShape.I16X8);
+                return true;
+            case 0x84:
+                codeListener.vectorTest(WasmVectorTestOperation.BITMASK, WasmVectorShape.I16X8);
+                return true;
+            case 0x85:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.NARROW_SIGNED, WasmVectorShape.I16X8);
+                return true;
+            case 0x86:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.NARROW_UNSIGNED, WasmVectorShape.I16X8);
+                return true;
+            case 0x8E:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.ADD, WasmVectorShape.I16X8);
+                return true;
+            case 0x91:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.SUB, WasmVectorShape.I16X8);
+                return true;
+            case 0x95:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.MUL, WasmVectorShape.I16X8);
+                return true;
+            case 0xA3:
+                codeListener.vectorTest(WasmVectorTestOperation.ALL_TRUE, WasmVectorShape.I32X4);
+                return true;
+            case 0xA4:
+                codeListener.vectorTest(WasmVectorTestOperation.BITMASK, WasmVectorShape.I32X4);
+                return true;
+            case 0xAE:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.ADD, WasmVectorShape.I32X4);
+                return true;
+            case 0xB1:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.SUB, WasmVectorShape.I32X4);
+                return true;
+            case 0xB5:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.MUL, WasmVectorShape.I32X4);
+                return true;
+            case 0xC3:
+                codeListener.vectorTest(WasmVectorTestOperation.ALL_TRUE, WasmVectorShape.I64X2);
+                return true;
+            case 0xC4:
+                codeListener.vectorTest(WasmVectorTestOperation.BITMASK, WasmVectorShape.I64X2);
+                return true;
+            case 0xCE:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.ADD, WasmVectorShape.I64X2);
+                return true;
+            case 0xD1:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.SUB, WasmVectorShape.I64X2);
+                return true;
+            case 0xD5:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.MUL, WasmVectorShape.I64X2);
+                return true;
+            case 0xD6:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.EQ, WasmVectorShape.I64X2);
+                return true;
+            case 0xD7:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.NE, WasmVectorShape.I64X2);
+                return true;
+            case 0xE4:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.ADD, WasmVectorShape.F32X4);
+                return true;
+            case 0xE5:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.SUB, WasmVectorShape.F32X4);
+                return true;
+            case 0xE6:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.MUL, WasmVectorShape.F32X4);
+                return true;
+            case 0xF0:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.ADD, WasmVectorShape.F64X2);
+                return true;
+            case 0xF1:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.SUB, WasmVectorShape.F64X2);
+                return true;
+            case 0xF2:
+                codeListener.vectorBinary(WasmVectorBinaryOperation.MUL, WasmVectorShape.F64X2);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private int readLane() {
+        return reader.data[reader.ptr++] & 0xFF;
+    }
+
     private boolean parseExtExpr2() {
         switch (readLEB()) {
             case 0:
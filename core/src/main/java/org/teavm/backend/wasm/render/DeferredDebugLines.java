@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.render;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.teavm.backend.wasm.debug.DebugLines;
+import org.teavm.model.MethodReference;
+
+/**
+ * Records line information of a function whose address is not known yet, so that it can be replayed
+ * later to the actual {@link DebugLines} with addresses shifted by the final offset of the function.
+ */
+class DeferredDebugLines implements DebugLines {
+    private List<Command> commands = new ArrayList<>();
+
+    @Override
+    public void advance(int ptr) {
+        commands.add((target, offset) -> target.advance(ptr + offset));
+    }
+
+    @Override
+    public void location(String file, int line) {
+        commands.add((target, offset) -> target.location(file, line));
+    }
+
+    @Override
+    public void emptyLocation() {
+        commands.add((target, offset) -> target.emptyLocation());
+    }
+
+    @Override
+    public void start(MethodReference methodReference) {
+        commands.add((target, offset) -> target.start(methodReference));
+    }
+
+    @Override
+    public void end() {
+        commands.add((target, offset) -> target.end());
+    }
+
+    void replay(DebugLines target, int offset) {
+        for (var command : commands) {
+            command.apply(target, offset);
+        }
+    }
+
+    private interface Command {
+        void apply(DebugLines target, int offset);
+    }
+}
@@ -19,6 +19,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.teavm.backend.wasm.debug.DebugLines;
@@ -61,6 +65,7 @@ public class WasmBinaryRenderer {
     private DebugLines debugLines;
     private DebugVariables debugVariables;
     private WasmBinaryStatsCollector statsCollector;
+    private int renderingThreads = 1;
 
     public WasmBinaryRenderer(WasmBinaryWriter output, WasmBinaryVersion version, boolean obfuscated,
             DwarfGenerator dwarfGenerator, DwarfClassGenerator dwarfClassGen, DebugLines debugLines,
@@ -75,6 +80,16 @@ public class WasmBinaryRenderer {
         this.statsCollector = statsCollector;
     }
 
+    /**
+     * Sets number of threads used to encode function bodies. Bodies are encoded independently and then
+     * joined in order of functions, so the output does not depend on the number of threads.
+     * Only source lines can be reported by concurrently encoded functions, so when DWARF or debug variables
+     * are requested, function bodies are always encoded on the calling thread.
+     */
+    public void setRenderingThreads(int renderingThreads) {
+        this.renderingThreads = renderingThreads;
+    }
+
     public void render(WasmModule module) {
         render(module, Collections::emptyList);
     }
@@ -388,14 +403,13 @@ public class WasmBinaryRenderer {
 
         section.writeLEB(functions.size());
         var sectionOffset = output.getPosition() + 4;
-        for (var function : functions) {
-            var body = renderFunction(module, function, section.getPosition() + 4, sectionOffset);
-            var startPos = section.getPosition();
-            section.writeLEB4(body.length);
-            section.writeBytes(body);
-            var size = section.getPosition() - startPos;
-            if (function.getJavaMethod() != null) {
-                statsCollector.addClassCodeSize(function.getJavaMethod().getClassName(), size);
+        if (renderingThreads > 1 && functions.size() > 1 && dwarfGenerator == null && dwarfClassGen == null
+                && debugVariables == null) {
+            renderCodeConcurrently(module, functions, section, sectionOffset);
+        } else {
+            for (var function : functions) {
+                var body = renderFunction(module, function, section.getPosition() + 4, sectionOffset);
+                writeFunctionBody(function, body, section);
             }
         }
 
@@ -406,16 +420,92 @@ public class WasmBinaryRenderer {
         writeSection(SECTION_CODE, "code", section.getData(), true);
     }
 
-    private byte[] renderFunction(WasmModule module, WasmFunction function, int offset, int sectionOffset) {
-        var code = new WasmBinaryWriter();
+    private void renderCodeConcurrently(WasmModule module, List<WasmFunction> functions,
+            WasmBinaryWriter section, int sectionOffset) {
+        // Workers only read the module, so all lazily computed indexes must be ready before they start.
+        // Line information is recorded relative to the start of a function body and replayed to the actual
+        // debug lines on the calling thread, in order of functions, once the address of the body is known.
+        module.ensureIndexes();
+        ExecutorService executor = Executors.newFixedThreadPool(renderingThreads, runnable -> {
+            var thread = new Thread(runnable, "TeaVM Wasm renderer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            var futures = new ArrayList<Future<EncodedFunction>>();
+            for (var function : functions) {
+                futures.add(executor.submit(() -> {
+                    var functionDebugLines = debugLines != null && function.getJavaMethod() != null
+                            ? new DeferredDebugLines()
+                            : null;
+                    var body = encodeFunction(module, function, functionDebugLines, 0);
+                    return new EncodedFunction(body, functionDebugLines);
+                }));
+            }
+            for (var i = 0; i < functions.size(); ++i) {
+                var encoded = await(futures.get(i));
+                if (encoded.debugLines != null) {
+                    encoded.debugLines.replay(debugLines, section.getPosition() + 4 + sectionOffset);
+                }
+                writeFunctionBody(functions.get(i), encoded.body, section);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
 
+    private void writeFunctionBody(WasmFunction function, byte[] body, WasmBinaryWriter section) {
+        var startPos = section.getPosition();
+        section.writeLEB4(body.length);
+        section.writeBytes(body);
+        var size = section.getPosition() - startPos;
+        if (function.getJavaMethod() != null) {
+            statsCollector.addClassCodeSize(function.getJavaMethod().getClassName(), size);
+        }
+    }
+
+    private byte[] renderFunction(WasmModule module, WasmFunction function, int offset, int sectionOffset) {
         var dwarfSubprogram = dwarfClassGen != null ? dwarfClassGen.getSubprogram(function.getName()) : null;
         if (dwarfSubprogram != null) {
             dwarfSubprogram.startOffset = offset - 4;
             dwarfSubprogram.function = function;
         }
-        if (debugLines != null && function.getJavaMethod() != null) {
-            debugLines.advance(offset + sectionOffset);
+
+        var body = encodeFunction(module, function, function.getJavaMethod() != null ? debugLines : null,
+                offset + sectionOffset);
+
+        if (dwarfSubprogram != null) {
+            dwarfSubprogram.endOffset = body.length + offset;
+        }
+        if (debugVariables != null) {
+            writeDebugVariables(function, offset + sectionOffset, body.length);
+        }
+
+        return body;
+    }
+
+    private byte[] encodeFunction(WasmModule module, WasmFunction function, DebugLines debugLines, int address) {
+        var code = new WasmBinaryWriter();
+
+        if (debugLines != null) {
+            debugLines.advance(address);
             debugLines.start(function.getJavaMethod());
         }
 
@@ -445,8 +535,7 @@ public class WasmBinaryRenderer {
             }
         }
 
-        var visitor = new WasmBinaryRenderingVisitor(code, module, dwarfGenerator,
-                function.getJavaMethod() != null ? debugLines : null, offset + sectionOffset);
+        var visitor = new WasmBinaryRenderingVisitor(code, module, dwarfGenerator, debugLines, address);
         for (var part : function.getBody()) {
             visitor.preprocess(part);
         }
@@ -465,13 +554,6 @@ public class WasmBinaryRenderer {
         }
         visitor.endLocation();
 
-        if (dwarfSubprogram != null) {
-            dwarfSubprogram.endOffset = code.getPosition() + offset;
-        }
-        if (debugVariables != null) {
-            writeDebugVariables(function, offset + sectionOffset, code.getPosition());
-        }
-
         return code.getData();
     }
 
@@ -660,6 +742,16 @@ public class WasmBinaryRenderer {
         }
     }
 
+    static class EncodedFunction {
+        final byte[] body;
+        final DeferredDebugLines debugLines;
+
+        EncodedFunction(byte[] body, DeferredDebugLines debugLines) {
+            this.body = body;
+            this.debugLines = debugLines;
+        }
+    }
+
     private void writeSection(int id, String name, byte[] data) {
         writeSection(id, name, data, false);
     }
@@ -91,6 +91,15 @@ import org.teavm.backend.wasm.model.expression.WasmTest;
 import org.teavm.backend.wasm.model.expression.WasmThrow;
 import org.teavm.backend.wasm.model.expression.WasmTry;
 import org.teavm.backend.wasm.model.expression.WasmUnreachable;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinary;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinaryOperation;
+import org.teavm.backend.wasm.model.expression.WasmVectorExtractLane;
+import org.teavm.backend.wasm.model.expression.WasmVectorLoad;
+import org.teavm.backend.wasm.model.expression.WasmVectorShape;
+import org.teavm.backend.wasm.model.expression.WasmVectorSplat;
+import org.teavm.backend.wasm.model.expression.WasmVectorStore;
+import org.teavm.backend.wasm.model.expression.WasmVectorTest;
+import org.teavm.backend.wasm.model.expression.WasmVectorTestOperation;
 import org.teavm.model.InliningInfo;
 import org.teavm.model.TextLocation;
 
@@ -404,7 +413,7 @@ class WasmBinaryRenderingVisitor implements WasmExpressionVisitor {
     public void visit(WasmSetLocal expression) {
         pushLocation(expression);
         expression.getValue().acceptVisitor(this);
-        writer.writeByte(0x21);
+        writer.writeByte(expression.isTee() ? 0x22 : 0x21);
         writer.writeLEB(expression.getLocal().getIndex());
         popLocation();
     }
@@ -1389,6 +1398,240 @@ class WasmBinaryRenderingVisitor implements WasmExpressionVisitor {
     public void visit(WasmPop expression) {
     }
 
+    @Override
+    public void visit(WasmVectorLoad expression) {
+        pushLocation(expression);
+        expression.getIndex().acceptVisitor(this);
+        writeVectorOpcode(0x00);
+        writer.writeByte(alignment(expression.getAlignment()));
+        writer.writeLEB(expression.getOffset());
+        popLocation();
+    }
+
+    @Override
+    public void visit(WasmVectorStore expression) {
+        pushLocation(expression);
+        expression.getIndex().acceptVisitor(this);
+        expression.getValue().acceptVisitor(this);
+        writeVectorOpcode(0x0B);
+        writer.writeByte(alignment(expression.getAlignment()));
+        writer.writeLEB(expression.getOffset());
+        popLocation();
+    }
+
+    @Override
+    public void visit(WasmVectorSplat expression) {
+        pushLocation(expression);
+        expression.getValue().acceptVisitor(this);
+        switch (expression.getShape()) {
+            case I8X16:
+                writeVectorOpcode(0x0F);
+                break;
+            case I16X8:
+                writeVectorOpcode(0x10);
+                break;
+            case I32X4:
+                writeVectorOpcode(0x11);
+                break;
+            case I64X2:
+                writeVectorOpcode(0x12);
+                break;
+            case F32X4:
+                writeVectorOpcode(0x13);
+                break;
+            case F64X2:
+                writeVectorOpcode(0x14);
+                break;
+        }
+        popLocation();
+    }
+
+    @Override
+    public void visit(WasmVectorExtractLane expression) {
+        pushLocation(expression);
+        expression.getVector().acceptVisitor(this);
+        boolean unsigned = expression.getSignedType() == WasmSignedType.UNSIGNED;
+        switch (expression.getShape()) {
+            case I8X16:
+                writeVectorOpcode(unsigned ? 0x16 : 0x15);
+                break;
+            case I16X8:
+                writeVectorOpcode(unsigned ? 0x19 : 0x18);
+                break;
+            case I32X4:
+                writeVectorOpcode(0x1B);
+                break;
+            case I64X2:
+                writeVectorOpcode(0x1D);
+                break;
+            case F32X4:
+                writeVectorOpcode(0x1F);
+                break;
+            case F64X2:
+                writeVectorOpcode(0x21);
+                break;
+        }
+        writer.writeByte(expression.getLane());
+        popLocation();
+    }
+
+    @Override
+    public void visit(WasmVectorBinary expression) {
+        pushLocation(expression);
+        expression.getFirst().acceptVisitor(this);
+        expression.getSecond().acceptVisitor(this);
+        writeVectorOpcode(vectorBinaryOpcode(expression.getShape(), expression.getOperation()));
+        popLocation();
+    }
+
+    private static int vectorBinaryOpcode(WasmVectorShape shape, WasmVectorBinaryOperation operation) {
+        switch (operation) {
+            case AND:
+                return 0x4E;
+            case AND_NOT:
+                return 0x4F;
+            case OR:
+                return 0x50;
+            case XOR:
+                return 0x51;
+            case EQ:
+                switch (shape) {
+                    case I8X16:
+                        return 0x23;
+                    case I16X8:
+                        return 0x2D;
+                    case I32X4:
+                        return 0x37;
+                    case I64X2:
+                        return 0xD6;
+                    case F32X4:
+                        return 0x41;
+                    case F64X2:
+                        return 0x47;
+                }
+                break;
+            case NE:
+                switch (shape) {
+                    case I8X16:
+                        return 0x24;
+                    case I16X8:
+                        return 0x2E;
+                    case I32X4:
+                        return 0x38;
+                    case I64X2:
+                        return 0xD7;
+                    case F32X4:
+                        return 0x42;
+                    case F64X2:
+                        return 0x48;
+                }
+                break;
+            case ADD:
+                switch (shape) {
+                    case I8X16:
+                        return 0x6E;
+                    case I16X8:
+                        return 0x8E;
+                    case I32X4:
+                        return 0xAE;
+                    case I64X2:
+                        return 0xCE;
+                    case F32X4:
+                        return 0xE4;
+                    case F64X2:
+                        return 0xF0;
+                }
+                break;
+            case SUB:
+                switch (shape) {
+                    case I8X16:
+                        return 0x71;
+                    case I16X8:
+                        return 0x91;
+                    case I32X4:
+                        return 0xB1;
+                    case I64X2:
+                        return 0xD1;
+                    case F32X4:
+                        return 0xE5;
+                    case F64X2:
+                        return 0xF1;
+                }
+                break;
+            case MUL:
+                switch (shape) {
+                    case I16X8:
+                        return 0x95;
+                    case I32X4:
+                        return 0xB5;
+                    case I64X2:
+                        return 0xD5;
+                    case F32X4:
+                        return 0xE6;
+                    case F64X2:
+                        return 0xF2;
+                    default:
+                        break;
+                }
+                break;
+            case NARROW_SIGNED:
+                switch (shape) {
+                    case I8X16:
+                        return 0x65;
+                    case I16X8:
+                        return 0x85;
+                    default:
+                        break;
+                }
+                break;
+            case NARROW_UNSIGNED:
+                switch (shape) {
+                    case I8X16:
+                        return 0x66;
+                    case I16X8:
+                        return 0x86;
+                    default:
+                        break;
+                }
+                break;
+        }
+        throw new IllegalArgumentException(shape + "." + operation);
+    }
+
+    @Override
+    public void visit(WasmVectorTest expression) {
+        pushLocation(expression);
+        expression.getVector().acceptVisitor(this);
+        if (expression.getOperation() == WasmVectorTestOperation.ANY_TRUE) {
+            writeVectorOpcode(0x53);
+        } else {
+            int base;
+            switch (expression.getShape()) {
+                case I8X16:
+                    base = 0x63;
+                    break;
+                case I16X8:
+                    base = 0x83;
+                    break;
+                case I32X4:
+                    base = 0xA3;
+                    break;
+                case I64X2:
+                    base = 0xC3;
+                    break;
+                default:
+                    throw new IllegalArgumentException(expression.getShape() + "." + expression.getOperation());
+            }
+            writeVectorOpcode(expression.getOperation() == WasmVectorTestOperation.BITMASK ? base + 1 : base);
+        }
+        popLocation();
+    }
+
+    private void writeVectorOpcode(int opcode) {
+        writer.writeByte(0xFD);
+        writer.writeLEB(opcode);
+    }
+
     private int alignment(int value) {
         return 31 - Integer.numberOfLeadingZeros(Math.max(1, value));
     }
@@ -91,6 +91,12 @@ import org.teavm.backend.wasm.model.expression.WasmTest;
 import org.teavm.backend.wasm.model.expression.WasmThrow;
 import org.teavm.backend.wasm.model.expression.WasmTry;
 import org.teavm.backend.wasm.model.expression.WasmUnreachable;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinary;
+import org.teavm.backend.wasm.model.expression.WasmVectorExtractLane;
+import org.teavm.backend.wasm.model.expression.WasmVectorLoad;
+import org.teavm.backend.wasm.model.expression.WasmVectorSplat;
+import org.teavm.backend.wasm.model.expression.WasmVectorStore;
+import org.teavm.backend.wasm.model.expression.WasmVectorTest;
 import org.teavm.model.TextLocation;
 
 class WasmCRenderingVisitor implements WasmExpressionVisitor {
@@ -394,6 +400,9 @@ class WasmCRenderingVisitor implements WasmExpressionVisitor {
 
         result.addLine(getVariableName(expression.getLocal()) + " = " + value.getText() + ";",
                 expression.getLocation());
+        if (expression.isTee()) {
+            result.setText(getVariableName(expression.getLocal()));
+        }
 
         value = result;
     }
@@ -1278,6 +1287,36 @@ class WasmCRenderingVisitor implements WasmExpressionVisitor {
     public void visit(WasmPop expression) {
     }
 
+    @Override
+    public void visit(WasmVectorLoad expression) {
+        unsupported();
+    }
+
+    @Override
+    public void visit(WasmVectorStore expression) {
+        unsupported();
+    }
+
+    @Override
+    public void visit(WasmVectorSplat expression) {
+        unsupported();
+    }
+
+    @Override
+    public void visit(WasmVectorExtractLane expression) {
+        unsupported();
+    }
+
+    @Override
+    public void visit(WasmVectorBinary expression) {
+        unsupported();
+    }
+
+    @Override
+    public void visit(WasmVectorTest expression) {
+        unsupported();
+    }
+
     private void unsupported() {
         value = new CExpression("/* unsupported */");
     }
@@ -94,6 +94,14 @@ import org.teavm.backend.wasm.model.expression.WasmTest;
 import org.teavm.backend.wasm.model.expression.WasmThrow;
 import org.teavm.backend.wasm.model.expression.WasmTry;
 import org.teavm.backend.wasm.model.expression.WasmUnreachable;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinary;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinaryOperation;
+import org.teavm.backend.wasm.model.expression.WasmVectorExtractLane;
+import org.teavm.backend.wasm.model.expression.WasmVectorLoad;
+import org.teavm.backend.wasm.model.expression.WasmVectorShape;
+import org.teavm.backend.wasm.model.expression.WasmVectorSplat;
+import org.teavm.backend.wasm.model.expression.WasmVectorStore;
+import org.teavm.backend.wasm.model.expression.WasmVectorTest;
 
 class WasmRenderingVisitor implements WasmExpressionVisitor {
     StringBuilder sb = new StringBuilder();
@@ -371,7 +379,8 @@ class WasmRenderingVisitor implements WasmExpressionVisitor {
 
     @Override
     public void visit(WasmSetLocal expression) {
-        open().append("local.set " + asString(expression.getLocal())).line(expression.getValue()).close();
+        open().append((expression.isTee() ? "local.tee " : "local.set ") + asString(expression.getLocal()))
+                .line(expression.getValue()).close();
     }
 
     @Override
@@ -976,6 +985,8 @@ class WasmRenderingVisitor implements WasmExpressionVisitor {
                 return "f32";
             case FLOAT64:
                 return "f64";
+            case V128:
+                return "v128";
         }
         throw new AssertionError(type.toString());
     }
@@ -1129,4 +1140,134 @@ class WasmRenderingVisitor implements WasmExpressionVisitor {
     @Override
     public void visit(WasmPop expression) {
     }
+
+    @Override
+    public void visit(WasmVectorLoad expression) {
+        open().append("v128.load");
+        if (expression.getOffset() > 0) {
+            append(" offset=" + expression.getOffset());
+        }
+        append(" align=" + expression.getAlignment());
+        line(expression.getIndex());
+        close();
+    }
+
+    @Override
+    public void visit(WasmVectorStore expression) {
+        open().append("v128.store");
+        if (expression.getOffset() > 0) {
+            append(" offset=" + expression.getOffset());
+        }
+        append(" align=" + expression.getAlignment());
+        line(expression.getIndex());
+        line(expression.getValue());
+        close();
+    }
+
+    @Override
+    public void visit(WasmVectorSplat expression) {
+        open().append(shape(expression.getShape()) + ".splat");
+        line(expression.getValue());
+        close();
+    }
+
+    @Override
+    public void visit(WasmVectorExtractLane expression) {
+        open().append(shape(expression.getShape()) + ".extract_lane");
+        if (expression.getSignedType() != null) {
+            switch (expression.getSignedType()) {
+                case SIGNED:
+                    append("_s");
+                    break;
+                case UNSIGNED:
+                    append("_u");
+                    break;
+            }
+        }
+        append(" " + expression.getLane());
+        line(expression.getVector());
+        close();
+    }
+
+    @Override
+    public void visit(WasmVectorBinary expression) {
+        open().append(operation(expression.getShape(), expression.getOperation()));
+        line(expression.getFirst());
+        line(expression.getSecond());
+        close();
+    }
+
+    private String operation(WasmVectorShape shape, WasmVectorBinaryOperation operation) {
+        switch (operation) {
+            case ADD:
+                return shape(shape) + ".add";
+            case SUB:
+                return shape(shape) + ".sub";
+            case MUL:
+                return shape(shape) + ".mul";
+            case EQ:
+                return shape(shape) + ".eq";
+            case NE:
+                return shape(shape) + ".ne";
+            case AND:
+                return "v128.and";
+            case AND_NOT:
+                return "v128.andnot";
+            case OR:
+                return "v128.or";
+            case XOR:
+                return "v128.xor";
+            case NARROW_SIGNED:
+                return shape(shape) + ".narrow_" + shape(wideShape(shape)) + "_s";
+            case NARROW_UNSIGNED:
+                return shape(shape) + ".narrow_" + shape(wideShape(shape)) + "_u";
+        }
+        throw new AssertionError(operation.toString());
+    }
+
+    @Override
+    public void visit(WasmVectorTest expression) {
+        switch (expression.getOperation()) {
+            case ANY_TRUE:
+                open().append("v128.any_true");
+                break;
+            case ALL_TRUE:
+                open().append(shape(expression.getShape()) + ".all_true");
+                break;
+            case BITMASK:
+                open().append(shape(expression.getShape()) + ".bitmask");
+                break;
+        }
+        line(expression.getVector());
+        close();
+    }
+
+    private static WasmVectorShape wideShape(WasmVectorShape shape) {
+        switch (shape) {
+            case I8X16:
+                return WasmVectorShape.I16X8;
+            case I16X8:
+                return WasmVectorShape.I32X4;
+            default:
+                throw new IllegalArgumentException(shape.toString());
+        }
+    }
+
+    private String shape(WasmVectorShape shape) {
+        switch (shape) {
+            case I8X16:
+                return "i8x16";
+            case I16X8:
+                return "i16x8";
+            case I32X4:
+                return "i32x4";
+            case I64X2:
+                return "i64x2";
+            case F32X4:
+                return "f32x4";
+            case F64X2:
+                return "f64x2";
+        }
+        throw new AssertionError(shape.toString());
+    }
 }
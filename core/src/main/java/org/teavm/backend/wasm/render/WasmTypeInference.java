@@ -82,6 +82,13 @@ import org.teavm.backend.wasm.model.expression.WasmTest;
 import org.teavm.backend.wasm.model.expression.WasmThrow;
 import org.teavm.backend.wasm.model.expression.WasmTry;
 import org.teavm.backend.wasm.model.expression.WasmUnreachable;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinary;
+import org.teavm.backend.wasm.model.expression.WasmVectorExtractLane;
+import org.teavm.backend.wasm.model.expression.WasmVectorLoad;
+import org.teavm.backend.wasm.model.expression.WasmVectorShape;
+import org.teavm.backend.wasm.model.expression.WasmVectorSplat;
+import org.teavm.backend.wasm.model.expression.WasmVectorStore;
+import org.teavm.backend.wasm.model.expression.WasmVectorTest;
 
 public class WasmTypeInference implements WasmExpressionVisitor {
     private List<? extends WasmType> result;
@@ -202,7 +209,7 @@ public class WasmTypeInference implements WasmExpressionVisitor {
 
     @Override
     public void visit(WasmSetLocal expression) {
-        result = Collections.emptyList();
+        result = expression.isTee() ? List.of(expression.getLocal().getType()) : Collections.emptyList();
     }
 
     @Override
@@ -439,6 +446,53 @@ public class WasmTypeInference implements WasmExpressionVisitor {
         result = List.of(expression.getType());
     }
 
+    @Override
+    public void visit(WasmVectorLoad expression) {
+        result = List.of(WasmType.V128);
+    }
+
+    @Override
+    public void visit(WasmVectorStore expression) {
+        result = Collections.emptyList();
+    }
+
+    @Override
+    public void visit(WasmVectorSplat expression) {
+        result = List.of(WasmType.V128);
+    }
+
+    @Override
+    public void visit(WasmVectorExtractLane expression) {
+        result = List.of(laneType(expression.getShape()));
+    }
+
+    @Override
+    public void visit(WasmVectorBinary expression) {
+        result = List.of(WasmType.V128);
+    }
+
+    @Override
+    public void visit(WasmVectorTest expression) {
+        result = List.of(WasmType.INT32);
+    }
+
+    private static WasmType laneType(WasmVectorShape shape) {
+        switch (shape) {
+            case I8X16:
+            case I16X8:
+            case I32X4:
+                return WasmType.INT32;
+            case I64X2:
+                return WasmType.INT64;
+            case F32X4:
+                return WasmType.FLOAT32;
+            case F64X2:
+                return WasmType.FLOAT64;
+            default:
+                throw new IllegalArgumentException(shape.toString());
+        }
+    }
+
     private static WasmType map(WasmIntType type) {
         switch (type) {
             case INT32:
@@ -0,0 +1,62 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.runtime;
+
+import org.teavm.interop.Address;
+import org.teavm.interop.Unmanaged;
+
+/**
+ * Bulk operations over linear memory used by the class library. Every method is expanded by
+ * {@link org.teavm.backend.wasm.intrinsics.WasmSimdIntrinsic} into a call of a helper function that processes
+ * 16 bytes per iteration using 128-bit SIMD instructions and finishes the tail with a scalar loop.
+ */
+@Unmanaged
+public final class WasmSimd {
+    private WasmSimd() {
+    }
+
+    public static native void fill16(Address address, int count, short value);
+
+    public static native void fill32(Address address, int count, int value);
+
+    public static native void fill64(Address address, int count, long value);
+
+    /**
+     * Compares two memory blocks.
+     *
+     * @return offset of the first byte that differs or -1 if blocks are equal.
+     */
+    public static native int mismatch(Address first, Address second, int byteCount);
+
+    /**
+     * Finds first occurrence of a 16-bit value.
+     *
+     * @return index of the found value or -1 if there is no such value.
+     */
+    public static native int indexOf16(Address address, int count, char value);
+
+    /**
+     * Computes {@code hash = 31 * hash + element} over 32-bit elements.
+     */
+    public static native int hashCode32(Address address, int count, int hash);
+
+    /**
+     * Copies UTF-16 code units to bytes until it reaches a non-ASCII character.
+     *
+     * @return number of copied characters.
+     */
+    public static native int encodeAscii(Address chars, Address bytes, int count);
+}
@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.runtime.gc;
+
+import org.teavm.interop.Address;
+
+/**
+ * Bulk transfer of elements between arrays and linear memory in WebAssembly GC backend.
+ * These methods don't throw Java exceptions on invalid ranges, the module traps instead,
+ * so callers are responsible for checking ranges.
+ */
+public final class WasmGCMemory {
+    private WasmGCMemory() {
+    }
+
+    public static native void copy(byte[] from, int fromOffset, Address to, int count);
+
+    public static native void copy(Address from, byte[] to, int toOffset, int count);
+
+    public static native void copy(short[] from, int fromOffset, Address to, int count);
+
+    public static native void copy(Address from, short[] to, int toOffset, int count);
+
+    public static native void copy(char[] from, int fromOffset, Address to, int count);
+
+    public static native void copy(Address from, char[] to, int toOffset, int count);
+
+    public static native void copy(int[] from, int fromOffset, Address to, int count);
+
+    public static native void copy(Address from, int[] to, int toOffset, int count);
+
+    public static native void copy(long[] from, int fromOffset, Address to, int count);
+
+    public static native void copy(Address from, long[] to, int toOffset, int count);
+
+    public static native void copy(float[] from, int fromOffset, Address to, int count);
+
+    public static native void copy(Address from, float[] to, int toOffset, int count);
+
+    public static native void copy(double[] from, int fromOffset, Address to, int count);
+
+    public static native void copy(Address from, double[] to, int toOffset, int count);
+}
@@ -86,6 +86,15 @@ public class WasmGCSupport {
         return result;
     }
 
+    public static char[] charArrayAt(int address) {
+        seekStringPool(address);
+        return nextCharArray();
+    }
+
+    public static char[] createCharArray(int length) {
+        return new char[length];
+    }
+
     private static int nextLEB() {
         var shift = 0;
         var result = 0;
@@ -103,6 +112,8 @@ public class WasmGCSupport {
 
     private static native byte nextByte();
 
+    private static native void seekStringPool(int address);
+
     private static native void error();
 
     public static StringBuilder createStringBuilder() {
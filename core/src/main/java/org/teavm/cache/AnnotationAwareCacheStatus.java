@@ -92,6 +92,11 @@ public final class AnnotationAwareCacheStatus implements CacheStatus {
         return FRESH;
     }
 
+    @Override
+    public byte[] getClassDigest(String className) {
+        return underlyingStatus.getClassDigest(className);
+    }
+
     @Override
     public boolean isStaleMethod(MethodReference method) {
         return isStaleClass(method.getClassName()) || dependencyProvider.isNoCache(method)
@@ -21,4 +21,15 @@ public interface CacheStatus {
     boolean isStaleClass(String className);
 
     boolean isStaleMethod(MethodReference method);
+
+    /**
+     * Returns digest of the content of the given class, so that caches can detect that a class was changed
+     * even when its staleness can't be determined from modification dates.
+     *
+     * @param className name of the class.
+     * @return digest of the class content or {@code null} if it is not known.
+     */
+    default byte[] getClassDigest(String className) {
+        return null;
+    }
 }
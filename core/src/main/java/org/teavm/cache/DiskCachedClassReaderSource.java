@@ -17,12 +17,16 @@ package org.teavm.cache;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -36,6 +40,10 @@ import org.teavm.model.ReferenceCache;
 import org.teavm.parsing.ClassDateProvider;
 
 public class DiskCachedClassReaderSource implements ClassReaderSource, CacheStatus {
+    private static final int SIGNATURE = 0x54564343;
+    private static final int VERSION = 2;
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final int DIGEST_LENGTH = 32;
     private File directory;
     private ClassHolderSource innerSource;
     private ClassDateProvider classDateProvider;
@@ -67,44 +75,86 @@ public class DiskCachedClassReaderSource implements ClassReaderSource, CacheStat
         return isStaleClass(method.getClassName());
     }
 
+    @Override
+    public byte[] getClassDigest(String className) {
+        return getItemFromCache(className).digest;
+    }
+
     private Item getItemFromCache(String name) {
         Item item = cache.get(name);
         if (item == null) {
             item = new Item();
             cache.put(name, item);
-            File classFile = new File(directory, name.replace('.', '/') + ".teavm-cls");
+            File classFile = getClassFile(name);
+            byte[] cachedDigest = null;
             if (classFile.exists()) {
                 Date classDate = classDateProvider.getModificationDate(name);
-                if (classDate != null && classDate.before(new Date(classFile.lastModified()))) {
-                    try (InputStream input = new BufferedInputStream(new FileInputStream(classFile))) {
+                boolean upToDate = classDate != null && classDate.before(new Date(classFile.lastModified()));
+                try (InputStream input = new BufferedInputStream(new FileInputStream(classFile))) {
+                    var header = new VarDataInput(input);
+                    if (header.readUnsigned() != SIGNATURE || header.readUnsigned() != VERSION) {
+                        throw new IOException("Cache file has incompatible format");
+                    }
+                    cachedDigest = header.readBytes();
+                    if (cachedDigest.length != DIGEST_LENGTH) {
+                        cachedDigest = null;
+                    } else if (upToDate) {
                         item.cls = classIO.readClass(input, name);
-                    } catch (IOException e) {
-                        // We could not access cache file, so let's parse class file
-                        item.cls = null;
+                        item.digest = cachedDigest;
                     }
+                } catch (IOException | RuntimeException e) {
+                    // We could not access cache file or it was written by another version, so let's parse class file
+                    item.cls = null;
+                    item.digest = null;
+                    cachedDigest = null;
                 }
             }
             if (item.cls == null) {
-                item.dirty = true;
                 item.cls = innerSource.get(name);
+                if (item.cls != null) {
+                    item.digest = computeDigest(item.cls);
+                }
+                // Modification date of class file may change while its content remains the same,
+                // for example, after checkout or rebuild of a dependency. Don't consider such classes stale.
+                item.dirty = cachedDigest == null || item.digest == null
+                        || !Arrays.equals(cachedDigest, item.digest);
                 newClasses.add(name);
             }
         }
         return item;
     }
 
+    private byte[] computeDigest(ClassReader cls) {
+        var bytes = new ByteArrayOutputStream();
+        try {
+            classIO.writeClass(bytes, cls);
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(bytes.toByteArray());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private File getClassFile(String className) {
+        return new File(directory, className.replace('.', '/') + ".teavm-cls");
+    }
+
     private static class Item {
         ClassReader cls;
+        byte[] digest;
         boolean dirty;
     }
 
     public void flush() throws IOException {
         for (String className : newClasses) {
             Item item = cache.get(className);
-            if (item.cls != null) {
-                File classFile = new File(directory, className.replace('.', '/') + ".teavm-cls");
+            if (item.cls != null && item.digest != null) {
+                File classFile = getClassFile(className);
                 classFile.getParentFile().mkdirs();
                 try (OutputStream output = new BufferedOutputStream(new FileOutputStream(classFile))) {
+                    var header = new VarDataOutput(output);
+                    header.writeUnsigned(SIGNATURE);
+                    header.writeUnsigned(VERSION);
+                    header.writeBytes(item.digest);
                     classIO.writeClass(output, item.cls);
                 }
             }
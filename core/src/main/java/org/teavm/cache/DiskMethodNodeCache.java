@@ -57,10 +57,12 @@ public class DiskMethodNodeCache implements MethodNodeCache {
             if (file.exists()) {
                 try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
                     VarDataInput input = new VarDataInput(stream);
-                    if (!checkIfDependenciesChanged(input, cacheStatus)) {
+                    String[] dependencies = readDependencies(input, cacheStatus);
+                    if (dependencies != null) {
                         RegularMethodNode node = astIO.read(input, methodReference);
                         ControlFlowEntry[] cfg = astIO.readControlFlow(input);
                         item.entry = new AstCacheEntry(node, cfg);
+                        item.dependencies = dependencies;
                     }
                 } catch (IOException e) {
                     // we could not read program, just leave it empty
@@ -89,8 +91,10 @@ public class DiskMethodNodeCache implements MethodNodeCache {
             if (file.exists()) {
                 try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
                     VarDataInput input = new VarDataInput(stream);
-                    if (!checkIfDependenciesChanged(input, cacheStatus)) {
+                    String[] dependencies = readDependencies(input, cacheStatus);
+                    if (dependencies != null) {
                         item.node = astIO.readAsync(input, methodReference);
+                        item.dependencies = dependencies;
                     }
                 } catch (IOException e) {
                     // we could not read program, just leave it empty
@@ -100,15 +104,31 @@ public class DiskMethodNodeCache implements MethodNodeCache {
         return item.node;
     }
 
-    private boolean checkIfDependenciesChanged(VarDataInput input, CacheStatus cacheStatus) throws IOException {
+    private String[] readDependencies(VarDataInput input, CacheStatus cacheStatus) throws IOException {
         int depCount = input.readUnsigned();
+        String[] dependencies = new String[depCount];
         for (int i = 0; i < depCount; ++i) {
             String depClass = input.read();
             if (cacheStatus.isStaleClass(depClass)) {
-                return true;
+                return null;
             }
+            dependencies[i] = depClass;
         }
-        return false;
+        return dependencies;
+    }
+
+    /**
+     * Returns classes which the cached AST of the given method depends on, or {@code null} if there's
+     * no valid cached AST for the method.
+     */
+    public String[] getDependencies(MethodReference methodReference) {
+        Item item = cache.get(methodReference);
+        return item != null && item.entry != null ? item.dependencies : null;
+    }
+
+    public String[] getAsyncDependencies(MethodReference methodReference) {
+        AsyncItem item = asyncCache.get(methodReference);
+        return item != null && item.node != null ? item.dependencies : null;
     }
 
     @Override
@@ -27,6 +27,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -38,10 +39,13 @@ import org.teavm.model.ProgramCache;
 import org.teavm.model.ReferenceCache;
 
 public class DiskProgramCache implements ProgramCache {
+    private static final int SIGNATURE = 0x54565047;
+    private static final int VERSION = 2;
     private File directory;
     private ProgramIO programIO;
     private Map<MethodReference, Item> cache = new HashMap<>();
     private Set<MethodReference> newMethods = new HashSet<>();
+    private CacheStatus cacheStatus;
 
     public DiskProgramCache(File directory, ReferenceCache referenceCache, SymbolTable symbolTable,
             SymbolTable fileTable, SymbolTable variableTable) {
@@ -49,6 +53,15 @@ public class DiskProgramCache implements ProgramCache {
         programIO = new ProgramIO(referenceCache, symbolTable, fileTable, variableTable);
     }
 
+    /**
+     * Sets cache status that provides digests of dependency classes. Digests are stored along with
+     * cached programs and compared on subsequent builds, so that a program is not reused when one
+     * of its dependencies was changed without updating the modification date.
+     */
+    public void setCacheStatus(CacheStatus cacheStatus) {
+        this.cacheStatus = cacheStatus;
+    }
+
     @Override
     public Program get(MethodReference method, CacheStatus cacheStatus) {
         Item item = cache.get(method);
@@ -59,26 +72,52 @@ public class DiskProgramCache implements ProgramCache {
             if (file.exists()) {
                 try (InputStream stream = new BufferedInputStream(new FileInputStream(file))) {
                     DataInput input = new DataInputStream(stream);
+                    if (input.readInt() != SIGNATURE || input.readShort() != VERSION) {
+                        return null;
+                    }
                     int depCount = input.readShort();
                     boolean dependenciesChanged = false;
+                    String[] dependencies = new String[depCount];
                     for (int i = 0; i < depCount; ++i) {
                         String depClass = input.readUTF();
-                        if (cacheStatus.isStaleClass(depClass)) {
+                        dependencies[i] = depClass;
+                        byte[] digest = new byte[input.readShort()];
+                        input.readFully(digest);
+                        if (cacheStatus.isStaleClass(depClass) || !digestMatches(depClass, digest, cacheStatus)) {
                             dependenciesChanged = true;
                             break;
                         }
                     }
                     if (!dependenciesChanged) {
                         item.program = programIO.read(stream);
+                        item.dependencies = dependencies;
                     }
-                } catch (IOException e) {
+                } catch (IOException | RuntimeException e) {
                     // we could not read program, just leave it empty
+                    item.program = null;
                 }
             }
         }
         return item.program;
     }
 
+    static boolean digestMatches(String className, byte[] digest, CacheStatus cacheStatus) {
+        if (digest.length == 0) {
+            return true;
+        }
+        byte[] actualDigest = cacheStatus.getClassDigest(className);
+        return actualDigest == null || Arrays.equals(digest, actualDigest);
+    }
+
+    /**
+     * Returns classes which the cached program of the given method depends on, or {@code null} if there's
+     * no valid cached program for the method.
+     */
+    public String[] getDependencies(MethodReference method) {
+        Item item = cache.get(method);
+        return item != null && item.program != null ? item.dependencies : null;
+    }
+
     @Override
     public void store(MethodReference method, Program program, Supplier<String[]> dependencies) {
         Item item = new Item();
@@ -97,9 +136,18 @@ public class DiskProgramCache implements ProgramCache {
             try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file))) {
                 DataOutput output = new DataOutputStream(stream);
 
+                output.writeInt(SIGNATURE);
+                output.writeShort(VERSION);
                 output.writeShort(item.dependencies.length);
                 for (String dep : item.dependencies) {
                     output.writeUTF(dep);
+                    byte[] digest = cacheStatus != null ? cacheStatus.getClassDigest(dep) : null;
+                    if (digest == null) {
+                        output.writeShort(0);
+                    } else {
+                        output.writeShort(digest.length);
+                        output.write(digest);
+                    }
                 }
                 programIO.write(item.program, stream);
             }
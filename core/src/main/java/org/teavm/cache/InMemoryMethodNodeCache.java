@@ -20,6 +20,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Supplier;
 import org.teavm.ast.AsyncMethodNode;
@@ -29,11 +30,13 @@ import org.teavm.model.MethodReference;
 import org.teavm.model.ReferenceCache;
 
 public class InMemoryMethodNodeCache implements MethodNodeCache {
-    private Map<MethodReference, RegularItem> cache = new HashMap<>();
+    private Map<MethodReference, RegularItem> cache = new LinkedHashMap<>(16, 0.75f, true);
     private Map<MethodReference, RegularItem> newItems = new HashMap<>();
-    private Map<MethodReference, AsyncItem> asyncCache = new HashMap<>();
+    private Map<MethodReference, AsyncItem> asyncCache = new LinkedHashMap<>(16, 0.75f, true);
     private Map<MethodReference, AsyncItem> newAsyncItems = new HashMap<>();
     private AstIO io;
+    private long size;
+    private long maxSize = Long.MAX_VALUE;
 
     public InMemoryMethodNodeCache(ReferenceCache referenceCache, InMemorySymbolTable symbolTable,
             InMemorySymbolTable fileSymbolTable, InMemorySymbolTable variableSymbolTable) {
@@ -90,11 +93,50 @@ public class InMemoryMethodNodeCache implements MethodNodeCache {
         newAsyncItems.put(methodReference, new AsyncItem(node, dependencies.get().clone()));
     }
 
+    /**
+     * Limits total size of serialized method nodes kept in this cache. When the limit is exceeded on
+     * {@link #commit()}, least recently used nodes are evicted.
+     */
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        trim();
+    }
+
+    public long getSize() {
+        return size;
+    }
+
     public void commit() {
-        cache.putAll(newItems);
-        asyncCache.putAll(newAsyncItems);
+        for (var entry : newItems.entrySet()) {
+            var previous = cache.put(entry.getKey(), entry.getValue());
+            if (previous != null) {
+                size -= previous.entry.length;
+            }
+            size += entry.getValue().entry.length;
+        }
+        for (var entry : newAsyncItems.entrySet()) {
+            var previous = asyncCache.put(entry.getKey(), entry.getValue());
+            if (previous != null) {
+                size -= previous.node.length;
+            }
+            size += entry.getValue().node.length;
+        }
         newItems.clear();
         newAsyncItems.clear();
+        trim();
+    }
+
+    private void trim() {
+        var iterator = cache.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().entry.length;
+            iterator.remove();
+        }
+        var asyncIterator = asyncCache.values().iterator();
+        while (size > maxSize && asyncIterator.hasNext()) {
+            size -= asyncIterator.next().node.length;
+            asyncIterator.remove();
+        }
     }
 
     public void discard() {
@@ -107,6 +149,7 @@ public class InMemoryMethodNodeCache implements MethodNodeCache {
         newItems.clear();
         asyncCache.clear();
         newAsyncItems.clear();
+        size = 0;
     }
 
     final class RegularItem {
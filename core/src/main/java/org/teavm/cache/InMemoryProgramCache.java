@@ -20,6 +20,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Supplier;
 import org.teavm.model.MethodReference;
@@ -28,9 +29,11 @@ import org.teavm.model.ProgramCache;
 import org.teavm.model.ReferenceCache;
 
 public class InMemoryProgramCache implements ProgramCache {
-    private Map<MethodReference, Item> cache = new HashMap<>();
+    private Map<MethodReference, Item> cache = new LinkedHashMap<>(16, 0.75f, true);
     private Map<MethodReference, Item> newItems = new HashMap<>();
     private ProgramIO io;
+    private long size;
+    private long maxSize = Long.MAX_VALUE;
 
     public InMemoryProgramCache(ReferenceCache referenceCache, InMemorySymbolTable symbolTable,
             InMemorySymbolTable fileSymbolTable, InMemorySymbolTable variableSymbolTable) {
@@ -66,9 +69,37 @@ public class InMemoryProgramCache implements ProgramCache {
         }
     }
 
+    /**
+     * Limits total size of serialized programs kept in this cache. When the limit is exceeded on
+     * {@link #commit()}, least recently used programs are evicted.
+     */
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        trim();
+    }
+
+    public long getSize() {
+        return size;
+    }
+
     public void commit() {
-        cache.putAll(newItems);
+        for (var entry : newItems.entrySet()) {
+            var previous = cache.put(entry.getKey(), entry.getValue());
+            if (previous != null) {
+                size -= previous.program.length;
+            }
+            size += entry.getValue().program.length;
+        }
         newItems.clear();
+        trim();
+    }
+
+    private void trim() {
+        var iterator = cache.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().program.length;
+            iterator.remove();
+        }
     }
 
     public int getPendingItemsCount() {
@@ -82,6 +113,7 @@ public class InMemoryProgramCache implements ProgramCache {
     public void invalidate() {
         cache.clear();
         newItems.clear();
+        size = 0;
     }
 
     static final class Item {
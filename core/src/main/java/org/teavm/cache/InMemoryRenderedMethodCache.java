@@ -0,0 +1,113 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cache;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.teavm.model.MethodReference;
+
+public class InMemoryRenderedMethodCache implements RenderedMethodCache {
+    private Map<MethodReference, Item> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private Map<MethodReference, Item> newItems = new HashMap<>();
+    private long size;
+    private long maxSize = Long.MAX_VALUE;
+
+    @Override
+    public RenderedMethodCacheEntry get(MethodReference methodReference, CacheStatus cacheStatus) {
+        var item = cache.get(methodReference);
+        if (item == null) {
+            return null;
+        }
+
+        if (Arrays.stream(item.dependencies).anyMatch(cacheStatus::isStaleClass)) {
+            return null;
+        }
+
+        return item.entry;
+    }
+
+    @Override
+    public void store(MethodReference methodReference, RenderedMethodCacheEntry entry,
+            Supplier<String[]> dependencies) {
+        newItems.put(methodReference, new Item(entry, dependencies.get().clone()));
+    }
+
+    /**
+     * Limits estimated total size of rendered methods kept in this cache. When the limit is exceeded on
+     * {@link #commit()}, least recently used methods are evicted.
+     */
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        trim();
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public int getPendingItemsCount() {
+        return newItems.size();
+    }
+
+    public void commit() {
+        for (var entry : newItems.entrySet()) {
+            var previous = cache.put(entry.getKey(), entry.getValue());
+            if (previous != null) {
+                size -= previous.size;
+            }
+            size += entry.getValue().size;
+        }
+        newItems.clear();
+        trim();
+    }
+
+    private void trim() {
+        var iterator = cache.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().size;
+            iterator.remove();
+        }
+    }
+
+    public void discard() {
+        newItems.clear();
+    }
+
+    public void invalidate() {
+        cache.clear();
+        newItems.clear();
+        size = 0;
+    }
+
+    static final class Item {
+        final RenderedMethodCacheEntry entry;
+        final String[] dependencies;
+        final int size;
+
+        Item(RenderedMethodCacheEntry entry, String[] dependencies) {
+            this.entry = entry;
+            this.dependencies = dependencies;
+            var size = entry.source.estimateSize();
+            for (var string : entry.strings) {
+                size += string.length() * 2;
+            }
+            this.size = size;
+        }
+    }
+}
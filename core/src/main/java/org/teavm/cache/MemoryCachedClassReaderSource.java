@@ -19,8 +19,9 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
@@ -30,10 +31,12 @@ import org.teavm.model.MethodReference;
 import org.teavm.model.ReferenceCache;
 
 public class MemoryCachedClassReaderSource implements ClassReaderSource, CacheStatus {
-    private Map<String, Entry> cache = new HashMap<>();
+    private Map<String, Entry> cache = new LinkedHashMap<>(16, 0.75f, true);
     private Function<String, ClassReader> provider;
     private ClassIO classIO;
     private final Set<String> freshClasses = new HashSet<>();
+    private long size;
+    private long maxSize = Long.MAX_VALUE;
 
     public MemoryCachedClassReaderSource(ReferenceCache referenceCache, SymbolTable symbolTable,
             SymbolTable fileTable, SymbolTable varTable) {
@@ -90,6 +93,7 @@ public class MemoryCachedClassReaderSource implements ClassReaderSource, CacheSt
                     throw new RuntimeException(e);
                 }
                 en.data = output.toByteArray();
+                size += en.data.length;
             }
             return en;
         });
@@ -97,16 +101,52 @@ public class MemoryCachedClassReaderSource implements ClassReaderSource, CacheSt
 
     public void commit() {
         freshClasses.addAll(cache.keySet());
+        trim();
+    }
+
+    /**
+     * Limits total size of serialized classes kept in this source. When the limit is exceeded on
+     * {@link #commit()}, least recently used classes are evicted.
+     */
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        trim();
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public Set<String> getCachedClasses() {
+        return Collections.unmodifiableSet(cache.keySet());
+    }
+
+    private void trim() {
+        var iterator = cache.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            var entry = iterator.next();
+            if (entry.getValue().data != null) {
+                size -= entry.getValue().data.length;
+            }
+            freshClasses.remove(entry.getKey());
+            iterator.remove();
+        }
     }
 
     public void evict(Collection<? extends String> classes) {
-        cache.keySet().removeAll(classes);
+        for (var className : classes) {
+            var entry = cache.remove(className);
+            if (entry != null && entry.data != null) {
+                size -= entry.data.length;
+            }
+        }
         freshClasses.removeAll(classes);
     }
 
     public void invalidate() {
         cache.clear();
         freshClasses.clear();
+        size = 0;
     }
 
     static class Entry {
@@ -0,0 +1,381 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Program;
+import org.teavm.model.ProgramCache;
+import org.teavm.model.ReferenceCache;
+
+/**
+ * <p>Program cache that keeps all methods in a single append-only data file accompanied by an index file,
+ * as opposed to {@link DiskProgramCache} which writes a file per method. The data file is memory-mapped
+ * for reading. Entries that were overwritten by newer versions of methods are reclaimed by compaction
+ * during {@link #flush()} once they take more space than live entries.</p>
+ *
+ * <p>Name of the data file contains a generation number, which is stored in the index as well. Compaction
+ * writes a data file of a new generation instead of replacing the existing one, which may still be mapped.
+ * Data files of other generations are deleted only after the index is written, so the index always refers
+ * to a complete data file, even when the process is interrupted in the middle of {@link #flush()}.</p>
+ */
+public class PackedProgramCache implements ProgramCache {
+    private static final String DATA_FILE_PREFIX = "programs-";
+    private static final String DATA_FILE_SUFFIX = ".teavm-pack";
+    private static final String INDEX_FILE_NAME = "programs.teavm-pack-index";
+    private static final int INDEX_SIGNATURE = 0x54564D50;
+    private static final int INDEX_VERSION = 2;
+    private static final long MIN_COMPACTION_SIZE = 1 << 20;
+
+    private File directory;
+    private long generation;
+    private File dataFile;
+    private File indexFile;
+    private ProgramIO programIO;
+    private Map<String, Entry> index = new LinkedHashMap<>();
+    private Map<MethodReference, Item> cache = new HashMap<>();
+    private Map<MethodReference, Item> newItems = new LinkedHashMap<>();
+    private ByteBuffer data;
+    private long dataSize;
+    private long garbageSize;
+    private int hitCount;
+    private int missCount;
+    private CacheStatus cacheStatus;
+
+    public PackedProgramCache(File directory, ReferenceCache referenceCache, SymbolTable symbolTable,
+            SymbolTable fileTable, SymbolTable variableTable) {
+        this.directory = directory;
+        indexFile = new File(directory, INDEX_FILE_NAME);
+        programIO = new ProgramIO(referenceCache, symbolTable, fileTable, variableTable);
+        try {
+            load();
+        } catch (IOException e) {
+            // Cache is broken, start with empty one
+            index.clear();
+            dataFile = null;
+            data = null;
+            dataSize = 0;
+            garbageSize = 0;
+        }
+    }
+
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    public int getMissCount() {
+        return missCount;
+    }
+
+    public long getDataSize() {
+        return dataSize;
+    }
+
+    /**
+     * Sets cache status that provides digests of dependency classes, see
+     * {@link DiskProgramCache#setCacheStatus(CacheStatus)}.
+     */
+    public void setCacheStatus(CacheStatus cacheStatus) {
+        this.cacheStatus = cacheStatus;
+    }
+
+    private void load() throws IOException {
+        if (!indexFile.exists()) {
+            return;
+        }
+        try (var input = new BufferedInputStream(Files.newInputStream(indexFile.toPath()))) {
+            var indexData = new VarDataInput(input);
+            if (indexData.readUnsigned() != INDEX_SIGNATURE || indexData.readUnsigned() != INDEX_VERSION) {
+                return;
+            }
+            generation = indexData.readUnsignedLong();
+            dataSize = indexData.readUnsignedLong();
+            garbageSize = indexData.readUnsignedLong();
+            int count = indexData.readUnsigned();
+            for (int i = 0; i < count; ++i) {
+                var key = indexData.read();
+                var entry = new Entry(indexData.readUnsignedLong(), indexData.readUnsigned());
+                if (entry.offset + entry.length > dataSize) {
+                    throw new IOException("Index entry is out of data bounds");
+                }
+                index.put(key, entry);
+            }
+        }
+        dataFile = getDataFile(generation);
+        if (!dataFile.exists() || dataFile.length() < dataSize) {
+            throw new IOException("Data file is missing or truncated");
+        }
+        if (dataSize > 0) {
+            try (var channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ)) {
+                data = map(channel, dataSize);
+            }
+        }
+    }
+
+    private static ByteBuffer map(FileChannel channel, long size) throws IOException {
+        if (size <= Integer.MAX_VALUE) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        throw new IOException("Program cache is too large to be mapped: " + size);
+    }
+
+    @Override
+    public Program get(MethodReference method, CacheStatus cacheStatus) {
+        Item item = cache.get(method);
+        if (item == null) {
+            item = new Item();
+            cache.put(method, item);
+            var entry = index.get(method.toString());
+            if (entry != null && data != null) {
+                try (var input = new ByteArrayInputStream(readEntry(entry))) {
+                    var entryData = new VarDataInput(input);
+                    int depCount = entryData.readUnsigned();
+                    boolean dependenciesChanged = false;
+                    String[] dependencies = new String[depCount];
+                    for (int i = 0; i < depCount; ++i) {
+                        String depClass = entryData.read();
+                        dependencies[i] = depClass;
+                        byte[] digest = entryData.readBytes();
+                        if (cacheStatus.isStaleClass(depClass)
+                                || !DiskProgramCache.digestMatches(depClass, digest, cacheStatus)) {
+                            dependenciesChanged = true;
+                            break;
+                        }
+                    }
+                    if (!dependenciesChanged) {
+                        item.program = programIO.read(entryData);
+                        item.dependencies = dependencies;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // we could not read program, just leave it empty
+                    item.program = null;
+                }
+            }
+            if (item.program != null) {
+                hitCount++;
+            } else {
+                missCount++;
+            }
+        }
+        return item.program;
+    }
+
+    /**
+     * Returns classes which the cached program of the given method depends on, or {@code null} if there's
+     * no valid cached program for the method.
+     */
+    public String[] getDependencies(MethodReference method) {
+        Item item = cache.get(method);
+        return item != null && item.program != null ? item.dependencies : null;
+    }
+
+    private byte[] readEntry(Entry entry) {
+        var result = new byte[entry.length];
+        data.slice().position((int) entry.offset).get(result);
+        return result;
+    }
+
+    @Override
+    public void store(MethodReference method, Program program, Supplier<String[]> dependencies) {
+        Item item = new Item();
+        cache.put(method, item);
+        item.program = program;
+        item.dependencies = dependencies.get().clone();
+        newItems.put(method, item);
+    }
+
+    public void flush() throws IOException {
+        if (newItems.isEmpty()) {
+            return;
+        }
+        directory.mkdirs();
+        if (dataFile == null) {
+            generation = newGeneration();
+            dataFile = getDataFile(generation);
+            dataSize = 0;
+            garbageSize = 0;
+        }
+        long offset = dataSize;
+        // Bytes after dataSize are not referenced by the index, they may remain after an interrupted flush.
+        // Don't truncate them, since truncation of a memory-mapped file fails on some platforms.
+        try (var channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            channel.position(dataSize);
+            try (OutputStream output = new ChannelOutputStream(channel)) {
+                for (var mapEntry : newItems.entrySet()) {
+                    var bytes = serialize(mapEntry.getValue());
+                    output.write(bytes);
+                    var previous = index.put(mapEntry.getKey().toString(), new Entry(offset, bytes.length));
+                    if (previous != null) {
+                        garbageSize += previous.length;
+                    }
+                    offset += bytes.length;
+                }
+            }
+        }
+        dataSize = offset;
+        newItems.clear();
+
+        if (garbageSize > MIN_COMPACTION_SIZE && garbageSize > dataSize - garbageSize) {
+            compact();
+        } else {
+            try (var channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ)) {
+                data = map(channel, dataSize);
+            }
+        }
+        writeIndex();
+        deleteStaleDataFiles();
+    }
+
+    private byte[] serialize(Item item) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        var output = new VarDataOutput(bytes);
+        output.writeUnsigned(item.dependencies.length);
+        for (String dep : item.dependencies) {
+            output.write(dep);
+            byte[] digest = cacheStatus != null ? cacheStatus.getClassDigest(dep) : null;
+            output.writeBytes(digest != null ? digest : new byte[0]);
+        }
+        programIO.write(item.program, output);
+        return bytes.toByteArray();
+    }
+
+    private void compact() throws IOException {
+        try (var channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ)) {
+            data = map(channel, dataSize);
+        }
+        var compactedGeneration = newGeneration();
+        var compactedFile = getDataFile(compactedGeneration);
+        var compactedIndex = new LinkedHashMap<String, Entry>();
+        long offset = 0;
+        try (var channel = FileChannel.open(compactedFile.toPath(), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE);
+                var output = new ChannelOutputStream(channel)) {
+            for (var mapEntry : index.entrySet()) {
+                var bytes = readEntry(mapEntry.getValue());
+                output.write(bytes);
+                compactedIndex.put(mapEntry.getKey(), new Entry(offset, bytes.length));
+                offset += bytes.length;
+            }
+        }
+        generation = compactedGeneration;
+        dataFile = compactedFile;
+        index = compactedIndex;
+        dataSize = offset;
+        garbageSize = 0;
+        try (var channel = FileChannel.open(dataFile.toPath(), StandardOpenOption.READ)) {
+            data = dataSize > 0 ? map(channel, dataSize) : null;
+        }
+    }
+
+    private void writeIndex() throws IOException {
+        var tmpFile = new File(indexFile.getPath() + ".tmp");
+        try (var output = new VarDataOutput(new BufferedOutputStream(
+                Files.newOutputStream(tmpFile.toPath())))) {
+            output.writeUnsigned(INDEX_SIGNATURE);
+            output.writeUnsigned(INDEX_VERSION);
+            output.writeUnsigned(generation);
+            output.writeUnsigned(dataSize);
+            output.writeUnsigned(garbageSize);
+            output.writeUnsigned(index.size());
+            for (var mapEntry : index.entrySet()) {
+                output.write(mapEntry.getKey());
+                output.writeUnsigned(mapEntry.getValue().offset);
+                output.writeUnsigned(mapEntry.getValue().length);
+            }
+        }
+        Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteStaleDataFiles() {
+        var files = directory.listFiles((dir, name) -> name.endsWith(DATA_FILE_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        for (var file : files) {
+            if (!file.equals(dataFile)) {
+                // A file that is still mapped can't be deleted on some platforms, next flush will try again
+                file.delete();
+            }
+        }
+    }
+
+    private File getDataFile(long generation) {
+        return new File(directory, DATA_FILE_PREFIX + Long.toHexString(generation) + DATA_FILE_SUFFIX);
+    }
+
+    private long newGeneration() {
+        while (true) {
+            var generation = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+            if (!getDataFile(generation).exists()) {
+                return generation;
+            }
+        }
+    }
+
+    static class Entry {
+        final long offset;
+        final int length;
+
+        Entry(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    static class Item {
+        Program program;
+        String[] dependencies;
+    }
+
+    static class ChannelOutputStream extends OutputStream {
+        private FileChannel channel;
+
+        ChannelOutputStream(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b });
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            var buffer = ByteBuffer.wrap(b, off, len);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cache;
+
+import org.teavm.backend.javascript.codegen.RememberedSource;
+
+public class RenderedMethodCacheEntry {
+    /**
+     * Rendered method body. Indexes of string constants refer to {@link #strings} rather than
+     * to the string pool of the build that rendered the method.
+     */
+    public RememberedSource source;
+
+    /**
+     * Describes settings which the method was rendered with. Entry can't be used when settings of the
+     * current build differ.
+     */
+    public int renderingFlags;
+
+    public String[] strings;
+
+    public boolean threadLibraryUsed;
+
+    public RenderedMethodCacheEntry(RememberedSource source, int renderingFlags, String[] strings,
+            boolean threadLibraryUsed) {
+        this.source = source;
+        this.renderingFlags = renderingFlags;
+        this.strings = strings;
+        this.threadLibraryUsed = threadLibraryUsed;
+    }
+}
@@ -432,8 +432,10 @@ public class DebugInformation {
     }
 
     public void write(OutputStream output) throws IOException {
-        DebugInformationWriter writer = new DebugInformationWriter(new DataOutputStream(output));
+        var dataOutput = new DataOutputStream(output);
+        DebugInformationWriter writer = new DebugInformationWriter(dataOutput);
         writer.write(this);
+        new DebugInformationIndexWriter(dataOutput).write(this, dataOutput.size());
     }
 
     public void writeAsSourceMaps(Writer output, String sourceRoot, String sourceFile) throws IOException {
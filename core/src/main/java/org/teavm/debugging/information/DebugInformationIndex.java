@@ -0,0 +1,163 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.debugging.information;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.teavm.model.MethodDescriptor;
+import org.teavm.model.MethodReference;
+
+/**
+ * <p>Random-access view of the index which {@link DebugInformation#write(java.io.OutputStream)} appends
+ * to the debug information file. Unlike {@link DebugInformation#read(java.io.InputStream)}, it does not
+ * decode the whole file, but binary-searches fixed-size records directly in the buffer, which is
+ * sufficient to map generated locations to methods and source locations (i.e. to decode stack traces).</p>
+ *
+ * <p>The index consists of a table of sorted records per layer, each containing generated line and column
+ * followed by file, line, class and method of the source code, and string tables for file names,
+ * class names and method descriptors. It ends with its own offset and a magic number.</p>
+ */
+public class DebugInformationIndex {
+    static final int MAGIC = 0x54564449;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_FIELDS = 6;
+    static final int RECORD_SIZE = RECORD_FIELDS * 4;
+    private ByteBuffer buffer;
+    private int start;
+    private int layerCount;
+    private String[][] strings = new String[3][];
+
+    private DebugInformationIndex(ByteBuffer buffer, int start) {
+        this.buffer = buffer;
+        this.start = start;
+        layerCount = buffer.getInt(start);
+    }
+
+    /**
+     * Returns index stored at the end of the given buffer, or {@code null} if the buffer contains
+     * debug information written without index.
+     */
+    public static DebugInformationIndex read(ByteBuffer buffer) {
+        int end = buffer.limit();
+        if (end < 8 || buffer.getInt(end - 4) != MAGIC) {
+            return null;
+        }
+        int start = buffer.getInt(end - 8);
+        if (start < 0 || start > end - 8) {
+            return null;
+        }
+        return new DebugInformationIndex(buffer, start);
+    }
+
+    public int layerCount() {
+        return layerCount;
+    }
+
+    public SourceLocation getSourceLocation(GeneratedLocation generatedLocation) {
+        return getSourceLocation(generatedLocation, autodetectLayer(generatedLocation));
+    }
+
+    public SourceLocation getSourceLocation(GeneratedLocation generatedLocation, int layer) {
+        if (layer < 0 || layer >= layerCount) {
+            return null;
+        }
+        int record = findRecord(generatedLocation, layer);
+        if (record < 0) {
+            return new SourceLocation(null, -1);
+        }
+        return new SourceLocation(getString(0, buffer.getInt(record + 8)), buffer.getInt(record + 12));
+    }
+
+    public MethodReference getMethodAt(GeneratedLocation generatedLocation) {
+        return getMethodAt(generatedLocation, autodetectLayer(generatedLocation));
+    }
+
+    public MethodReference getMethodAt(GeneratedLocation generatedLocation, int layer) {
+        if (layer < 0 || layer >= layerCount) {
+            return null;
+        }
+        int record = findRecord(generatedLocation, layer);
+        if (record < 0) {
+            return null;
+        }
+        String className = getString(1, buffer.getInt(record + 16));
+        if (className == null) {
+            return null;
+        }
+        String method = getString(2, buffer.getInt(record + 20));
+        if (method == null) {
+            return null;
+        }
+        return new MethodReference(className, MethodDescriptor.parse(method));
+    }
+
+    private int autodetectLayer(GeneratedLocation generatedLocation) {
+        int layer = 0;
+        for (int i = 1; i < layerCount; ++i) {
+            int record = findRecord(generatedLocation, i);
+            if (record < 0 || buffer.getInt(record + 16) < 0) {
+                break;
+            }
+            layer = i;
+        }
+        return layer;
+    }
+
+    private int findRecord(GeneratedLocation location, int layer) {
+        int count = buffer.getInt(start + 4 + layer * 8);
+        int base = start + buffer.getInt(start + 8 + layer * 8);
+        int lower = 0;
+        int upper = count - 1;
+        int result = -1;
+        while (lower <= upper) {
+            int mid = (lower + upper) >>> 1;
+            int record = base + mid * RECORD_SIZE;
+            int line = buffer.getInt(record);
+            int column = buffer.getInt(record + 4);
+            if (line < location.getLine() || (line == location.getLine() && column <= location.getColumn())) {
+                result = record;
+                lower = mid + 1;
+            } else {
+                upper = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    private String getString(int table, int index) {
+        if (index < 0) {
+            return null;
+        }
+        int tableStart = start + buffer.getInt(start + 4 + layerCount * 8 + table * 4);
+        if (strings[table] == null) {
+            strings[table] = new String[buffer.getInt(tableStart)];
+        }
+        String result = strings[table][index];
+        if (result == null) {
+            int offsets = tableStart + 4;
+            int dataStart = offsets + (strings[table].length + 1) * 4;
+            int stringStart = buffer.getInt(offsets + index * 4);
+            int stringEnd = buffer.getInt(offsets + index * 4 + 4);
+            byte[] bytes = new byte[stringEnd - stringStart];
+            for (int i = 0; i < bytes.length; ++i) {
+                bytes[i] = buffer.get(dataStart + stringStart + i);
+            }
+            result = new String(bytes, StandardCharsets.UTF_8);
+            strings[table][index] = result;
+        }
+        return result;
+    }
+}
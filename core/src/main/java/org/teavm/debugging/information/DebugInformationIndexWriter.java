@@ -0,0 +1,135 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.debugging.information;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.teavm.common.IntegerArray;
+import org.teavm.common.RecordArray;
+
+class DebugInformationIndexWriter {
+    private DataOutput output;
+
+    DebugInformationIndexWriter(DataOutput output) {
+        this.output = output;
+    }
+
+    void write(DebugInformation debugInfo, int indexOffset) throws IOException {
+        var layers = new IntegerArray[debugInfo.layers.length];
+        for (var i = 0; i < layers.length; ++i) {
+            layers[i] = mergeLayer(debugInfo.layers[i]);
+        }
+        var files = encodeStrings(debugInfo.fileNames);
+        var classes = encodeStrings(debugInfo.classNames);
+        var methods = encodeStrings(debugInfo.methods);
+
+        var offset = DebugInformationIndex.HEADER_SIZE + layers.length * 8;
+        output.writeInt(layers.length);
+        for (var layer : layers) {
+            var recordCount = layer.size() / DebugInformationIndex.RECORD_FIELDS;
+            output.writeInt(recordCount);
+            output.writeInt(offset);
+            offset += recordCount * DebugInformationIndex.RECORD_SIZE;
+        }
+        output.writeInt(offset);
+        offset += stringTableSize(files);
+        output.writeInt(offset);
+        offset += stringTableSize(classes);
+        output.writeInt(offset);
+
+        for (var layer : layers) {
+            for (var value : layer.getAll()) {
+                output.writeInt(value);
+            }
+        }
+        writeStringTable(files);
+        writeStringTable(classes);
+        writeStringTable(methods);
+
+        output.writeInt(indexOffset);
+        output.writeInt(DebugInformationIndex.MAGIC);
+    }
+
+    private IntegerArray mergeLayer(DebugInformation.Layer layer) {
+        var mappings = new RecordArray[] { layer.fileMapping, layer.lineMapping, layer.classMapping,
+                layer.methodMapping };
+        var positions = new int[mappings.length];
+        var values = new int[] { -1, -1, -1, -1 };
+        var result = new IntegerArray(16);
+        while (true) {
+            var line = Integer.MAX_VALUE;
+            var column = Integer.MAX_VALUE;
+            for (var i = 0; i < mappings.length; ++i) {
+                if (positions[i] < mappings[i].size()) {
+                    var record = mappings[i].get(positions[i]);
+                    if (record.get(0) < line || (record.get(0) == line && record.get(1) < column)) {
+                        line = record.get(0);
+                        column = record.get(1);
+                    }
+                }
+            }
+            if (line == Integer.MAX_VALUE) {
+                break;
+            }
+            for (var i = 0; i < mappings.length; ++i) {
+                while (positions[i] < mappings[i].size()) {
+                    var record = mappings[i].get(positions[i]);
+                    if (record.get(0) != line || record.get(1) != column) {
+                        break;
+                    }
+                    values[i] = record.get(2);
+                    ++positions[i];
+                }
+            }
+            result.add(line);
+            result.add(column);
+            for (var value : values) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    private static byte[][] encodeStrings(String[] strings) {
+        var result = new byte[strings.length][];
+        for (var i = 0; i < strings.length; ++i) {
+            result[i] = strings[i] != null ? strings[i].getBytes(StandardCharsets.UTF_8) : new byte[0];
+        }
+        return result;
+    }
+
+    private static int stringTableSize(byte[][] strings) {
+        var size = 4 + (strings.length + 1) * 4;
+        for (var string : strings) {
+            size += string.length;
+        }
+        return size;
+    }
+
+    private void writeStringTable(byte[][] strings) throws IOException {
+        output.writeInt(strings.length);
+        var offset = 0;
+        for (var string : strings) {
+            output.writeInt(offset);
+            offset += string.length;
+        }
+        output.writeInt(offset);
+        for (var string : strings) {
+            output.write(string);
+        }
+    }
+}
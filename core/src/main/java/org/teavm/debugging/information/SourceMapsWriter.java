@@ -47,24 +47,7 @@ public class SourceMapsWriter {
         output.write(",\"sourceRoot\":\"");
         JsonUtil.writeEscapedString(output, sourceRoot);
         output.write("\"");
-        output.write(",\"sources\":[");
-        for (int i = 0; i < debugInfo.fileNames.length; ++i) {
-            if (i > 0) {
-                output.write(',');
-            }
-            output.write("\"");
-            var name = debugInfo.fileNames[i];
-            for (var resolver : sourceFileResolvers) {
-                var resolvedName = resolver.resolveFile(name);
-                if (resolvedName != null) {
-                    name = resolvedName;
-                    break;
-                }
-            }
-            JsonUtil.writeEscapedString(output, name);
-            output.write("\"");
-        }
-        output.write("]");
+        writeSources(output, debugInfo.fileNames, sourceFileResolvers);
         output.write(",\"names\":[]");
         output.write(",\"mappings\":\"");
         first = true;
@@ -101,7 +84,33 @@ public class SourceMapsWriter {
         first = false;
     }
 
+    static void writeSources(Writer output, String[] fileNames, List<SourceFileResolver> sourceFileResolvers)
+            throws IOException {
+        output.write(",\"sources\":[");
+        for (int i = 0; i < fileNames.length; ++i) {
+            if (i > 0) {
+                output.write(',');
+            }
+            output.write("\"");
+            var name = fileNames[i];
+            for (var resolver : sourceFileResolvers) {
+                var resolvedName = resolver.resolveFile(name);
+                if (resolvedName != null) {
+                    name = resolvedName;
+                    break;
+                }
+            }
+            JsonUtil.writeEscapedString(output, name);
+            output.write("\"");
+        }
+        output.write("]");
+    }
+
     private void writeVLQ(int number) throws IOException {
+        writeVLQ(output, number);
+    }
+
+    static void writeVLQ(Writer output, int number) throws IOException {
         if (number < 0) {
             number = ((-number) << 1) | 1;
         } else {
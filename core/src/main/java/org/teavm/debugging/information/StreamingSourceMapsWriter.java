@@ -0,0 +1,237 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.debugging.information;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.teavm.backend.javascript.codegen.LocationProvider;
+import org.teavm.common.JsonUtil;
+import org.teavm.model.MethodDescriptor;
+
+/**
+ * Debug information emitter that encodes source map mappings as soon as they are reported by the
+ * source writer, so that source maps can be produced without building {@link DebugInformation} first.
+ * All calls are forwarded to the given delegate, which allows to produce debug information at the same time.
+ */
+public class StreamingSourceMapsWriter implements DebugInformationEmitter {
+    private Writer output;
+    private DebugInformationEmitter delegate;
+    private String generatedFile;
+    private String sourceRoot;
+    private LocationProvider locationProvider;
+    private List<SourceFileResolver> sourceFileResolvers = new ArrayList<>();
+    private List<String> fileNames = new ArrayList<>();
+    private Map<String, Integer> fileIndexes = new HashMap<>();
+    private List<Layer> layers = new ArrayList<>();
+    private Layer currentLayer;
+    private boolean started;
+    private boolean hasPending;
+    private int pendingLine;
+    private int pendingColumn;
+    private int pendingSourceFile;
+    private int pendingSourceLine;
+    private int lastLine;
+    private int lastColumn;
+    private int lastSourceFile;
+    private int lastSourceLine;
+    private boolean first = true;
+    private int emittedSourceFile = -1;
+    private int emittedSourceLine = -1;
+
+    public StreamingSourceMapsWriter(Writer output, String generatedFile, String sourceRoot,
+            DebugInformationEmitter delegate) {
+        this.output = output;
+        this.generatedFile = generatedFile;
+        this.sourceRoot = sourceRoot;
+        this.delegate = delegate;
+        currentLayer = new Layer();
+        layers.add(currentLayer);
+    }
+
+    public void addSourceResolver(SourceFileResolver sourceFileResolver) {
+        sourceFileResolvers.add(sourceFileResolver);
+    }
+
+    @Override
+    public void setLocationProvider(LocationProvider locationProvider) {
+        this.locationProvider = locationProvider;
+        delegate.setLocationProvider(locationProvider);
+    }
+
+    @Override
+    public void emitLocation(String fileName, int line) {
+        currentLayer.fileName = fileName;
+        currentLayer.line = line;
+        update();
+        delegate.emitLocation(fileName, line);
+    }
+
+    @Override
+    public void enterLocation() {
+        currentLayer = new Layer();
+        layers.add(currentLayer);
+        update();
+        delegate.enterLocation();
+    }
+
+    @Override
+    public void exitLocation() {
+        layers.remove(layers.size() - 1);
+        currentLayer = layers.get(layers.size() - 1);
+        update();
+        delegate.exitLocation();
+    }
+
+    @Override
+    public void emitStatementStart() {
+        delegate.emitStatementStart();
+    }
+
+    @Override
+    public void emitMethod(MethodDescriptor method) {
+        delegate.emitMethod(method);
+    }
+
+    @Override
+    public void emitClass(String className) {
+        delegate.emitClass(className);
+    }
+
+    @Override
+    public void emitVariable(String[] sourceNames, String generatedName) {
+        delegate.emitVariable(sourceNames, generatedName);
+    }
+
+    @Override
+    public DeferredCallSite emitCallSite() {
+        return delegate.emitCallSite();
+    }
+
+    @Override
+    public void addClass(String jsName, String className, String parentName) {
+        delegate.addClass(jsName, className, parentName);
+    }
+
+    @Override
+    public void addField(String fieldName, String jsName) {
+        delegate.addField(fieldName, jsName);
+    }
+
+    @Override
+    public void addSuccessors(SourceLocation location, SourceLocation[] successors) {
+        delegate.addSuccessors(location, successors);
+    }
+
+    /**
+     * Writes the pending mapping and the list of sources, completing the source map.
+     * Should be called after the generated file has been completely rendered.
+     */
+    public void finish() throws IOException {
+        start();
+        flushPending();
+        output.write("\"");
+        SourceMapsWriter.writeSources(output, fileNames.toArray(new String[0]), sourceFileResolvers);
+        output.write(",\"names\":[]}");
+        output.flush();
+    }
+
+    private void update() {
+        int sourceFile = -1;
+        int sourceLine = -1;
+        if (currentLayer.fileName != null && currentLayer.line >= 0) {
+            sourceFile = fileIndexes.computeIfAbsent(currentLayer.fileName, name -> {
+                fileNames.add(name);
+                return fileNames.size() - 1;
+            });
+            sourceLine = currentLayer.line - 1;
+        }
+
+        int line = locationProvider.getLine();
+        int column = locationProvider.getColumn();
+        try {
+            if (hasPending && (pendingLine != line || pendingColumn != column)) {
+                flushPending();
+            }
+            if (!hasPending && sourceFile == emittedSourceFile && sourceLine == emittedSourceLine) {
+                return;
+            }
+            hasPending = true;
+            pendingLine = line;
+            pendingColumn = column;
+            pendingSourceFile = sourceFile;
+            pendingSourceLine = sourceLine;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void start() throws IOException {
+        if (started) {
+            return;
+        }
+        started = true;
+        output.write("{\"version\":3");
+        output.write(",\"file\":\"");
+        JsonUtil.writeEscapedString(output, generatedFile);
+        output.write("\"");
+        output.write(",\"sourceRoot\":\"");
+        JsonUtil.writeEscapedString(output, sourceRoot);
+        output.write("\"");
+        output.write(",\"mappings\":\"");
+    }
+
+    private void flushPending() throws IOException {
+        if (!hasPending) {
+            return;
+        }
+        hasPending = false;
+        if (pendingSourceFile == emittedSourceFile && pendingSourceLine == emittedSourceLine) {
+            return;
+        }
+        start();
+        while (pendingLine > lastLine) {
+            output.write(';');
+            ++lastLine;
+            first = true;
+            lastColumn = 0;
+        }
+        if (!first) {
+            output.write(',');
+        }
+        SourceMapsWriter.writeVLQ(output, pendingColumn - lastColumn);
+        if (pendingSourceFile >= 0) {
+            SourceMapsWriter.writeVLQ(output, pendingSourceFile - lastSourceFile);
+            SourceMapsWriter.writeVLQ(output, pendingSourceLine - lastSourceLine);
+            SourceMapsWriter.writeVLQ(output, 0);
+            lastSourceFile = pendingSourceFile;
+            lastSourceLine = pendingSourceLine;
+        }
+        lastColumn = pendingColumn;
+        first = false;
+        emittedSourceFile = pendingSourceFile;
+        emittedSourceLine = pendingSourceLine;
+    }
+
+    private static class Layer {
+        String fileName;
+        int line = -1;
+    }
+}
@@ -21,12 +21,14 @@ import com.carrotsearch.hppc.cursors.IntCursor;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -109,6 +111,7 @@ public abstract class DependencyAnalyzer implements DependencyInfo {
     private Set<String> generatedClassNames = new HashSet<>();
     DependencyType classType;
     private List<ClassFilter> classFilters = new ArrayList<>();
+    private DependencyAnalyzerStatistics statistics;
 
     DependencyAnalyzer(ClassReaderSource classSource, ResourceProvider resourceProvider, ClassLoader classLoader,
             ServiceRepository services, Diagnostics diagnostics, ReferenceCache referenceCache,
@@ -749,6 +752,7 @@ public abstract class DependencyAnalyzer implements DependencyInfo {
     }
 
     public void cleanup(ClassSourcePacker classSourcePacker) {
+        long usedHeapSize = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
         for (DependencyNode node : allNodes) {
             node.followers = null;
             node.transitions = null;
@@ -756,11 +760,19 @@ public abstract class DependencyAnalyzer implements DependencyInfo {
             node.method = null;
         }
 
+        var internedTypes = new HashMap<BitSet, BitSet>();
+        var visitedTypeSets = Collections.newSetFromMap(new IdentityHashMap<TypeSet, Boolean>());
+        var countedTypes = Collections.newSetFromMap(new IdentityHashMap<BitSet, Boolean>());
+        long typeStorageSize = 0;
         for (DependencyNode node : allNodes) {
-            if (node.typeSet != null) {
+            if (node.typeSet != null && visitedTypeSets.add(node.typeSet)) {
                 node.typeSet.cleanup();
+                node.typeSet.compact(internedTypes);
+                typeStorageSize += node.typeSet.estimateSize(countedTypes);
             }
         }
+        statistics = new DependencyAnalyzerStatistics(allNodes.size(), visitedTypeSets.size(), types.size(),
+                typeStorageSize, usedHeapSize);
 
         for (Map<?, MethodDependency> map : methodCache.values()) {
             for (MethodDependency methodDependency : map.values()) {
@@ -801,6 +813,13 @@ public abstract class DependencyAnalyzer implements DependencyInfo {
         methodReaderCache = null;
     }
 
+    /**
+     * Returns statistics of dependency analysis, available after {@link #cleanup(ClassSourcePacker)}.
+     */
+    public DependencyAnalyzerStatistics getStatistics() {
+        return statistics;
+    }
+
     public void cleanupTypes() {
         for (MethodReference reachableMethod : getReachableMethods()) {
             MethodDependency dependency = getMethod(reachableMethod);
@@ -0,0 +1,60 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.dependency;
+
+public class DependencyAnalyzerStatistics {
+    private int nodeCount;
+    private int typeSetCount;
+    private int typeCount;
+    private long typeStorageSize;
+    private long usedHeapSize;
+
+    DependencyAnalyzerStatistics(int nodeCount, int typeSetCount, int typeCount, long typeStorageSize,
+            long usedHeapSize) {
+        this.nodeCount = nodeCount;
+        this.typeSetCount = typeSetCount;
+        this.typeCount = typeCount;
+        this.typeStorageSize = typeStorageSize;
+        this.usedHeapSize = usedHeapSize;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getTypeSetCount() {
+        return typeSetCount;
+    }
+
+    public int getTypeCount() {
+        return typeCount;
+    }
+
+    /**
+     * Returns approximate number of bytes occupied by type sets of all dependency nodes.
+     */
+    public long getTypeStorageSize() {
+        return typeStorageSize;
+    }
+
+    /**
+     * Returns number of bytes of heap in use when dependency analysis completed, as reported by JVM.
+     * Includes objects that are not reachable anymore, but were not yet collected.
+     */
+    public long getUsedHeapSize() {
+        return usedHeapSize;
+    }
+}
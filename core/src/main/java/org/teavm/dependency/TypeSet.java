@@ -23,16 +23,18 @@ import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 
 class TypeSet {
-    private static final int SMALL_TYPES_THRESHOLD = 3;
+    private static final int SMALL_TYPES_THRESHOLD = 6;
     static final DependencyType[] EMPTY_TYPES = new DependencyType[0];
     private DependencyAnalyzer dependencyAnalyzer;
     DependencyNode origin;
     private int[] smallTypes;
     private BitSet types;
+    private boolean typesShared;
     private int typesCount;
 
     private Object domain;
@@ -51,20 +53,24 @@ class TypeSet {
                 smallTypes = new int[] { type.index };
                 return;
             }
-        }
-        if (smallTypes != null) {
-            if (smallTypes.length == SMALL_TYPES_THRESHOLD) {
-                types = new BitSet(dependencyAnalyzer.types.size() * 2);
-                for (int existingType : smallTypes) {
-                    types.set(existingType);
-                }
-                typesCount = smallTypes.length;
-                smallTypes = null;
-            } else {
+            if (smallTypes.length < SMALL_TYPES_THRESHOLD) {
                 smallTypes = Arrays.copyOf(smallTypes, smallTypes.length + 1);
                 smallTypes[smallTypes.length - 1] = type.index;
                 return;
             }
+            int maxIndex = type.index;
+            for (int existingType : smallTypes) {
+                maxIndex = Math.max(maxIndex, existingType);
+            }
+            types = new BitSet(maxIndex + 1);
+            for (int existingType : smallTypes) {
+                types.set(existingType);
+            }
+            typesCount = smallTypes.length;
+            smallTypes = null;
+        } else if (typesShared) {
+            types = (BitSet) types.clone();
+            typesShared = false;
         }
         types.set(type.index);
         typesCount++;
@@ -200,7 +206,11 @@ class TypeSet {
 
     TypeSet copy(DependencyNode origin) {
         TypeSet result = new TypeSet(dependencyAnalyzer, origin);
-        result.types = types != null ? (BitSet) types.clone() : null;
+        if (types != null) {
+            typesShared = true;
+            result.types = types;
+            result.typesShared = true;
+        }
         result.smallTypes = smallTypes;
         result.typesCount = typesCount;
         return result;
@@ -328,4 +338,31 @@ class TypeSet {
         transitions = null;
         consumers = null;
     }
+
+    void compact(Map<BitSet, BitSet> internedTypes) {
+        if (types == null) {
+            return;
+        }
+        if (typesCount <= SMALL_TYPES_THRESHOLD) {
+            smallTypes = types.stream().toArray();
+            types = null;
+            typesShared = false;
+            return;
+        }
+        var existing = internedTypes.putIfAbsent(types, types);
+        if (existing != null) {
+            types = existing;
+        }
+        typesShared = true;
+    }
+
+    int estimateSize(Set<BitSet> countedTypes) {
+        if (smallTypes != null) {
+            return 16 + smallTypes.length * 4;
+        } else if (types != null && countedTypes.add(types)) {
+            return 32 + types.size() / 8;
+        } else {
+            return 0;
+        }
+    }
 }
@@ -57,11 +57,11 @@ public class DefaultInliningStrategy implements InliningStrategy {
     }
 
     @Override
-    public void methodChanged(MethodReference method) {
+    public synchronized void methodChanged(MethodReference method) {
         complexityCache.remove(method);
     }
 
-    private Complexity getComplexity(MethodReference methodRef, InliningContext context) {
+    private synchronized Complexity getComplexity(MethodReference methodRef, InliningContext context) {
         var result = complexityCache.get(methodRef);
         if (result == null) {
             result = getComplexity(context.getProgram(methodRef), context);
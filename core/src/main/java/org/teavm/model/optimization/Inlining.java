@@ -30,6 +30,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import org.teavm.common.GraphBuilder;
+import org.teavm.common.GraphUtils;
 import org.teavm.dependency.DependencyInfo;
 import org.teavm.model.BasicBlock;
 import org.teavm.model.BasicBlockReader;
@@ -63,8 +65,6 @@ import org.teavm.model.util.ProgramUtils;
 import org.teavm.model.util.TransitionExtractor;
 
 public class Inlining {
-    private IntArrayList depthsByBlock;
-    private Set<Instruction> instructionsToSkip;
     private ClassHierarchy hierarchy;
     private ListableClassReaderSource classes;
     private DependencyInfo dependencyInfo;
@@ -134,8 +134,94 @@ public class Inlining {
         order.add(method);
     }
 
+    /**
+     * <p>Groups methods returned by {@link #getOrder()} into levels that can be processed one after another,
+     * where methods of a single level can be inlined concurrently. Each level consists of groups of methods
+     * that must be processed sequentially in the given order; these are methods that call each other
+     * recursively. A method is always placed to a later level than any of its callers, so that inlining
+     * into a method never races with inlining into its callees or with updating its usage count.</p>
+     *
+     * <p>Returns {@code null} if concurrent processing is not supported by this instance, i.e. when
+     * devirtualization is enabled, since devirtualization may introduce calls that are not known in advance.
+     * TeaVM enables devirtualization at {@code FULL} optimization level, so methods are always inlined
+     * sequentially at this level. Devirtualization also relies on {@link ClassInference}, which is not
+     * thread-safe.</p>
+     */
+    public List<List<List<MethodReference>>> getLevels() {
+        if (devirtualization) {
+            return null;
+        }
+
+        var order = getOrder();
+        var indexes = new ObjectIntHashMap<MethodReference>();
+        for (int i = 0; i < order.size(); ++i) {
+            indexes.put(order.get(i), i);
+        }
+
+        var graphBuilder = new GraphBuilder(order.size());
+        for (int i = 0; i < order.size(); ++i) {
+            var invokedMethods = usageCounter.methodDependencies.get(order.get(i));
+            if (invokedMethods == null) {
+                continue;
+            }
+            for (var invokedMethod : invokedMethods) {
+                int target = indexes.getOrDefault(invokedMethod, -1);
+                if (target >= 0) {
+                    graphBuilder.addEdge(i, target);
+                }
+            }
+        }
+        var graph = graphBuilder.build();
+
+        var groups = new int[order.size()];
+        for (int i = 0; i < groups.length; ++i) {
+            groups[i] = i;
+        }
+        var groupMembers = new int[order.size()][];
+        for (var component : GraphUtils.findStronglyConnectedComponents(graph)) {
+            Arrays.sort(component);
+            for (int node : component) {
+                groups[node] = component[0];
+            }
+            groupMembers[component[0]] = component;
+        }
+
+        // Callers of a group always precede all of its members in the order, so a single forward pass
+        // is enough to compute the longest path to each group.
+        var groupLevels = new int[order.size()];
+        var levels = new ArrayList<List<List<MethodReference>>>();
+        for (int i = 0; i < order.size(); ++i) {
+            if (groups[i] != i) {
+                continue;
+            }
+            var members = groupMembers[i] != null ? groupMembers[i] : new int[] { i };
+            int level = 0;
+            for (int member : members) {
+                for (int caller : graph.incomingEdges(member)) {
+                    if (groups[caller] != i) {
+                        level = Math.max(level, groupLevels[groups[caller]] + 1);
+                    }
+                }
+            }
+            groupLevels[i] = level;
+
+            while (levels.size() <= level) {
+                levels.add(new ArrayList<>());
+            }
+            var group = new ArrayList<MethodReference>(members.length);
+            for (int member : members) {
+                group.add(order.get(member));
+            }
+            levels.get(level).add(group);
+        }
+
+        return levels;
+    }
+
     public boolean hasUsages(MethodReference method) {
-        return usageCounter.methodUsageCount.getOrDefault(method, -1) != 0;
+        synchronized (usageCounter) {
+            return usageCounter.methodUsageCount.getOrDefault(method, -1) != 0;
+        }
     }
 
     public void removeUsages(Program program) {
@@ -150,59 +236,69 @@ public class Inlining {
                     continue;
                 }
 
-                int usageCount = usageCounter.methodUsageCount.getOrDefault(invoke.getMethod(), -1);
-                if (usageCount > 0) {
-                    usageCounter.methodUsageCount.put(invoke.getMethod(), usageCount - 1);
-                }
+                removeUsage(invoke.getMethod());
+            }
+        }
+    }
+
+    private void removeUsage(MethodReference method) {
+        synchronized (usageCounter) {
+            int usageCount = usageCounter.methodUsageCount.getOrDefault(method, -1);
+            if (usageCount > 0) {
+                usageCounter.methodUsageCount.put(method, usageCount - 1);
+            }
+        }
+    }
+
+    private void addUsage(MethodReference method) {
+        synchronized (usageCounter) {
+            int usageCount = usageCounter.methodUsageCount.getOrDefault(method, -1);
+            if (usageCount >= 0) {
+                usageCounter.methodUsageCount.put(method, usageCount + 1);
             }
         }
     }
 
     public void apply(Program program, MethodReference method) {
-        depthsByBlock = new IntArrayList(program.basicBlockCount());
+        var state = new ApplicationState();
+        state.depthsByBlock = new IntArrayList(program.basicBlockCount());
         for (int i = 0; i < program.basicBlockCount(); ++i) {
-            depthsByBlock.add(0);
+            state.depthsByBlock.add(0);
         }
-        instructionsToSkip = new HashSet<>();
 
         if (devirtualization) {
-            while (applyOnce(program, method)) {
+            while (applyOnce(program, method, state)) {
                 devirtualize(program, method, dependencyInfo);
             }
         } else {
-            applyOnce(program, method);
+            applyOnce(program, method, state);
         }
-        depthsByBlock = null;
-        instructionsToSkip = null;
 
         new UnreachableBasicBlockEliminator().optimize(program);
         strategy.methodChanged(method);
     }
 
-    private boolean applyOnce(Program program, MethodReference method) {
+    private boolean applyOnce(Program program, MethodReference method, ApplicationState state) {
         InliningStep step = strategy.start(method, program);
         if (step == null) {
             return false;
         }
-        List<PlanEntry> plan = buildPlan(program, -1, step, method, null);
+        List<PlanEntry> plan = buildPlan(program, -1, step, method, null, state);
         if (plan.isEmpty()) {
             return false;
         }
-        execPlan(program, plan, 0);
+        execPlan(program, plan, 0, state);
         return true;
     }
 
-    private void execPlan(Program program, List<PlanEntry> plan, int offset) {
+    private void execPlan(Program program, List<PlanEntry> plan, int offset, ApplicationState state) {
         for (PlanEntry entry : plan) {
-            execPlanEntry(program, entry, offset);
+            execPlanEntry(program, entry, offset, state);
         }
     }
 
-    private void execPlanEntry(Program program, PlanEntry planEntry, int offset) {
-        int usageCount = usageCounter.methodUsageCount.getOrDefault(planEntry.method, -1);
-        if (usageCount > 0) {
-            usageCounter.methodUsageCount.put(planEntry.method, usageCount - 1);
-        }
+    private void execPlanEntry(Program program, PlanEntry planEntry, int offset, ApplicationState state) {
+        removeUsage(planEntry.method);
 
         BasicBlock block = program.basicBlockAt(planEntry.targetBlock + offset);
         InvokeInstruction invoke = (InvokeInstruction) planEntry.targetInstruction;
@@ -212,8 +308,8 @@ public class Inlining {
         for (int i = 1; i < inlineProgram.basicBlockCount(); ++i) {
             program.createBasicBlock();
         }
-        while (depthsByBlock.size() < program.basicBlockCount()) {
-            depthsByBlock.add(planEntry.depth + 1);
+        while (state.depthsByBlock.size() < program.basicBlockCount()) {
+            state.depthsByBlock.add(planEntry.depth + 1);
         }
 
         int variableOffset = program.variableCount();
@@ -246,10 +342,7 @@ public class Inlining {
                 if (insn instanceof InvokeInstruction) {
                     InvokeInstruction invokeInsn = (InvokeInstruction) insn;
                     if (invokeInsn.getType() == InvocationType.SPECIAL) {
-                        usageCount = usageCounter.methodUsageCount.getOrDefault(invokeInsn.getMethod(), -1);
-                        if (usageCount >= 0) {
-                            usageCounter.methodUsageCount.put(invokeInsn.getMethod(), usageCount + 1);
-                        }
+                        addUsage(invokeInsn.getMethod());
                     }
                 }
 
@@ -337,14 +430,14 @@ public class Inlining {
             }
         }
 
-        execPlan(program, planEntry.innerPlan, firstInlineBlock.getIndex());
+        execPlan(program, planEntry.innerPlan, firstInlineBlock.getIndex(), state);
     }
 
     private List<PlanEntry> buildPlan(Program program, int depth, InliningStep step, MethodReference method,
-            InliningInfo inliningInfo) {
+            InliningInfo inliningInfo, ApplicationState state) {
         List<PlanEntry> plan = new ArrayList<>();
         int originalDepth = depth;
-        InliningFilter filter = filterFactory.createFilter(method);
+        InliningFilter filter = createFilter(method);
 
         ContextImpl context = new ContextImpl();
         for (BasicBlock block : program.getBasicBlocks()) {
@@ -353,11 +446,11 @@ public class Inlining {
             }
 
             if (originalDepth < 0) {
-                depth = depthsByBlock.get(block.getIndex());
+                depth = state.depthsByBlock.get(block.getIndex());
             }
 
             for (Instruction insn : block) {
-                if (instructionsToSkip.contains(insn)) {
+                if (state.instructionsToSkip.contains(insn)) {
                     continue;
                 }
 
@@ -381,7 +474,7 @@ public class Inlining {
                 if (invokedMethod == null || invokedMethod.getProgram() == null
                         || invokedMethod.getProgram().basicBlockCount() == 0
                         || invokedMethod.hasModifier(ElementModifier.SYNCHRONIZED)) {
-                    instructionsToSkip.add(insn);
+                    state.instructionsToSkip.add(insn);
                     continue;
                 }
 
@@ -389,7 +482,7 @@ public class Inlining {
                 InliningStep innerStep = step.tryInline(invokedMethod.getReference(), invokedMethod.getProgram(),
                         context);
                 if (innerStep == null) {
-                    instructionsToSkip.add(insn);
+                    state.instructionsToSkip.add(insn);
                     continue;
                 }
                 Program invokedProgram = ProgramUtils.copy(invokedMethod.getProgram());
@@ -406,7 +499,7 @@ public class Inlining {
                 entry.targetInstruction = insn;
                 entry.program = invokedProgram;
                 entry.innerPlan.addAll(buildPlan(invokedProgram, depth + 1, innerStep, invokedMethod.getReference(),
-                        innerInliningInfo));
+                        innerInliningInfo, state));
                 entry.depth = depth;
                 entry.method = invokedMethod.getReference();
                 entry.locationInfo = innerInliningInfo;
@@ -418,6 +511,19 @@ public class Inlining {
         return plan;
     }
 
+    private InliningFilter createFilter(MethodReference method) {
+        // Filters provided by targets may cache their answers (see Characteristics), while methods
+        // of a single level are inlined concurrently
+        synchronized (filterFactory) {
+            var filter = filterFactory.createFilter(method);
+            return invokedMethod -> {
+                synchronized (filterFactory) {
+                    return filter.apply(invokedMethod);
+                }
+            };
+        }
+    }
+
     private MethodReader getMethod(MethodReference methodRef) {
         ClassReader cls = classes.get(methodRef.getClassName());
         return cls != null ? cls.getMethod(methodRef.getDescriptor()) : null;
@@ -483,6 +589,11 @@ public class Inlining {
         }
     }
 
+    static class ApplicationState {
+        IntArrayList depthsByBlock;
+        final Set<Instruction> instructionsToSkip = new HashSet<>();
+    }
+
     static class PlanEntry {
         int targetBlock;
         Instruction targetInstruction;
@@ -16,6 +16,7 @@
 package org.teavm.parsing;
 
 import java.util.Date;
+import java.util.concurrent.ExecutorService;
 import org.teavm.model.ClassHolder;
 import org.teavm.model.ClassHolderSource;
 import org.teavm.model.ReferenceCache;
@@ -25,10 +26,11 @@ import org.teavm.parsing.resource.ResourceProvider;
 
 public class ClasspathClassHolderSource implements ClassHolderSource, ClassDateProvider {
     private MapperClassHolderSource innerClassSource;
+    private ResourceClassHolderMapper rawMapper;
     private RenamingResourceMapper classPathMapper;
 
     public ClasspathClassHolderSource(ResourceProvider resourceProvider, ReferenceCache referenceCache) {
-        ResourceClassHolderMapper rawMapper = new ResourceClassHolderMapper(resourceProvider, referenceCache);
+        rawMapper = new ResourceClassHolderMapper(resourceProvider, referenceCache);
         classPathMapper = new RenamingResourceMapper(resourceProvider, referenceCache, rawMapper);
         innerClassSource = new MapperClassHolderSource(classPathMapper);
     }
@@ -37,6 +39,10 @@ public class ClasspathClassHolderSource implements ClassHolderSource, ClassDateP
         this(new ClasspathResourceProvider(ClasspathClassHolderSource.class.getClassLoader()), referenceCache);
     }
 
+    public void setPrefetchExecutor(ExecutorService prefetchExecutor) {
+        rawMapper.setPrefetchExecutor(prefetchExecutor);
+    }
+
     @Override
     public ClassHolder get(String name) {
         return innerClassSource.get(name);
@@ -16,6 +16,15 @@
 package org.teavm.parsing.resource;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.tree.ClassNode;
@@ -24,28 +33,127 @@ import org.teavm.model.ReferenceCache;
 import org.teavm.parsing.Parser;
 
 public class ResourceClassHolderMapper implements Function<String, ClassHolder> {
+    private static final int CONSTANT_CLASS_TAG = 7;
+    private static final int DEFAULT_MAX_PREFETCHED_CLASSES = 1024;
     private Parser parser;
     private ResourceProvider resourceProvider;
+    private ExecutorService prefetchExecutor;
+    private int maxPrefetchedClasses = DEFAULT_MAX_PREFETCHED_CLASSES;
+    private Map<String, Future<ParsedClass>> prefetchedClasses = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Future<ParsedClass>> eldest) {
+            if (size() <= maxPrefetchedClasses) {
+                return false;
+            }
+            eldest.getValue().cancel(false);
+            knownClasses.remove(eldest.getKey());
+            return true;
+        }
+    };
+    private Set<String> knownClasses = new HashSet<>();
 
     public ResourceClassHolderMapper(ResourceProvider resourceProvider, ReferenceCache referenceCache) {
         this.resourceProvider = resourceProvider;
         parser = new Parser(referenceCache);
     }
 
+    /**
+     * <p>Enables speculative reading of class files. Once a class is requested, class files it refers to
+     * are read and decoded by ASM on the given executor, so that subsequent requests don't wait for I/O.
+     * Conversion to TeaVM model still happens on the requesting thread.</p>
+     *
+     * @param prefetchExecutor executor to read classes on or {@code null} to disable prefetching.
+     */
+    public void setPrefetchExecutor(ExecutorService prefetchExecutor) {
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * Limits number of classes which were prefetched but not requested yet. When the limit is exceeded,
+     * the class that was prefetched first is dropped, so it will be read again once requested.
+     */
+    void setMaxPrefetchedClasses(int maxPrefetchedClasses) {
+        this.maxPrefetchedClasses = maxPrefetchedClasses;
+    }
+
+    List<String> getPrefetchedClasses() {
+        return new ArrayList<>(prefetchedClasses.keySet());
+    }
+
     @Override
     public ClassHolder apply(String name) {
-        ClassNode clsNode = new ClassNode();
+        knownClasses.add(name);
+        var future = prefetchedClasses.remove(name);
+        var parsedClass = future != null ? await(future) : readClass(name, prefetchExecutor != null);
+        if (parsedClass == null) {
+            return null;
+        }
+        if (prefetchExecutor != null) {
+            prefetch(parsedClass.references);
+        }
+        return parser.parseClass(parsedClass.node);
+    }
+
+    private ParsedClass readClass(String name, boolean collectReferences) {
         String resourceName = name.replace('.', '/') + ".class";
         var resource = resourceProvider.getResource(resourceName);
         if (resource == null) {
             return null;
         }
+        var result = new ParsedClass();
         try (var input = resource.open()) {
             ClassReader reader = new ClassReader(input);
-            reader.accept(clsNode, 0);
+            reader.accept(result.node, 0);
+            if (collectReferences) {
+                result.references = extractReferences(reader);
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
-        return parser.parseClass(clsNode);
+        return result;
+    }
+
+    private static List<String> extractReferences(ClassReader reader) {
+        var result = new ArrayList<String>();
+        var buffer = new char[reader.getMaxStringLength()];
+        for (int i = 1; i < reader.getItemCount(); ++i) {
+            int offset = reader.getItem(i);
+            if (offset == 0 || reader.readByte(offset - 1) != CONSTANT_CLASS_TAG) {
+                continue;
+            }
+            var className = reader.readUTF8(offset, buffer);
+            if (className.startsWith("[")) {
+                continue;
+            }
+            result.add(className.replace('/', '.'));
+        }
+        return result;
+    }
+
+    private void prefetch(List<String> classNames) {
+        for (var className : classNames) {
+            if (knownClasses.add(className)) {
+                prefetchedClasses.put(className, prefetchExecutor.submit(() -> readClass(className, true)));
+            }
+        }
+    }
+
+    private static ParsedClass await(Future<ParsedClass> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    static class ParsedClass {
+        final ClassNode node = new ClassNode();
+        List<String> references = List.of();
     }
 }
@@ -18,18 +18,18 @@ package org.teavm.parsing.resource;
 import java.io.*;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 public class ZipFileResourceProvider implements ResourceProvider {
     private File file;
     private ZipFile zipFile;
-    private Map<String, Optional<ZipEntry>> entryCache = new HashMap<>();
+    private Map<String, Optional<ZipEntry>> entryCache = new ConcurrentHashMap<>();
 
     public ZipFileResourceProvider(File file) {
         this.file = Objects.requireNonNull(file);
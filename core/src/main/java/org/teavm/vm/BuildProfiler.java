@@ -0,0 +1,337 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.vm;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Supplier;
+import org.teavm.model.MethodReference;
+
+/**
+ * <p>Collects wall time and allocation figures of a build performed by {@link TeaVM}. Pass an instance
+ * to {@link TeaVM#setProfiler(BuildProfiler)} before build, then call {@link #write(Writer)}
+ * to get a JSON report.</p>
+ *
+ * <p>Allocations of phases are measured for the thread that runs the build, so work that is performed by optimizer
+ * threads is counted in wall time only. Allocations of individual optimizations are measured for the thread
+ * that runs them.</p>
+ *
+ * <p>With {@link TeaVMOptimizationLevel#SIMPLE} classes are linked and optimized on demand while emitting
+ * code. In this case {@code link} and {@code optimization} phases report total time of these on-demand
+ * steps, which is also included into {@code emit} phase.</p>
+ */
+public class BuildProfiler {
+    private static final int DEFAULT_SLOWEST_METHOD_COUNT = 50;
+    private final int slowestMethodCount;
+    private final List<PhaseRecord> phases = new ArrayList<>();
+    private final Map<String, OptimizationRecord> optimizations = new LinkedHashMap<>();
+    private final PriorityQueue<MethodRecord> slowestMethods = new PriorityQueue<>(
+            Comparator.comparingLong(m -> m.time));
+    private final ThreadMXBean threadBean;
+    private final boolean allocationsMeasured;
+
+    public BuildProfiler() {
+        this(DEFAULT_SLOWEST_METHOD_COUNT);
+    }
+
+    public BuildProfiler(int slowestMethodCount) {
+        this.slowestMethodCount = slowestMethodCount;
+        threadBean = ManagementFactory.getThreadMXBean();
+        allocationsMeasured = supportsAllocatedBytes(threadBean);
+    }
+
+    /**
+     * Checks whether the bean is able to report allocated bytes. This is an extension of HotSpot,
+     * which classes may be absent from other JVMs, so linkage errors are treated as missing support.
+     */
+    private static boolean supportsAllocatedBytes(ThreadMXBean bean) {
+        try {
+            return bean instanceof com.sun.management.ThreadMXBean
+                    && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()
+                    && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemoryEnabled();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    public Phase startPhase(String name) {
+        return new Phase(name, System.nanoTime(), allocatedBytes());
+    }
+
+    /**
+     * Creates a phase that consists of several intervals, possibly running in different threads.
+     * The phase is reported after {@link PhaseAccumulator#end()} is called.
+     */
+    public PhaseAccumulator accumulatePhase(String name) {
+        return new PhaseAccumulator(name);
+    }
+
+    long allocatedBytes() {
+        return allocationsMeasured
+                ? ((com.sun.management.ThreadMXBean) threadBean).getCurrentThreadAllocatedBytes()
+                : -1;
+    }
+
+    long allocatedBytesSince(long startAllocatedBytes) {
+        return startAllocatedBytes >= 0 ? allocatedBytes() - startAllocatedBytes : -1;
+    }
+
+    synchronized void recordOptimization(String name, long time, long allocatedBytes, boolean changed) {
+        var record = optimizations.computeIfAbsent(name, OptimizationRecord::new);
+        record.time += time;
+        if (allocatedBytes >= 0 && record.allocatedBytes >= 0) {
+            record.allocatedBytes += allocatedBytes;
+        } else {
+            record.allocatedBytes = -1;
+        }
+        record.invocations++;
+        if (changed) {
+            record.changes++;
+        }
+    }
+
+    synchronized void recordMethod(MethodReference method, long time) {
+        if (slowestMethods.size() < slowestMethodCount) {
+            slowestMethods.add(new MethodRecord(method, time));
+        } else if (!slowestMethods.isEmpty() && slowestMethods.peek().time < time) {
+            slowestMethods.poll();
+            slowestMethods.add(new MethodRecord(method, time));
+        }
+    }
+
+    public synchronized List<PhaseRecord> getPhases() {
+        return List.copyOf(phases);
+    }
+
+    public synchronized List<OptimizationRecord> getOptimizations() {
+        return List.copyOf(optimizations.values());
+    }
+
+    public synchronized List<MethodRecord> getSlowestMethods() {
+        var result = new ArrayList<>(slowestMethods);
+        result.sort(Comparator.comparingLong((MethodRecord m) -> m.time).reversed());
+        return Collections.unmodifiableList(result);
+    }
+
+    public void write(Writer writer) throws IOException {
+        writer.write("{\n  \"phases\": [");
+        boolean first = true;
+        for (var phase : getPhases()) {
+            writer.write(first ? "\n" : ",\n");
+            first = false;
+            writer.write("    {\"name\": " + quote(phase.name) + ", \"timeMillis\": " + millis(phase.time));
+            if (phase.allocatedBytes >= 0) {
+                writer.write(", \"allocatedBytes\": " + phase.allocatedBytes);
+            }
+            writer.write("}");
+        }
+        writer.write("\n  ],\n  \"optimizations\": [");
+        first = true;
+        for (var optimization : getOptimizations()) {
+            writer.write(first ? "\n" : ",\n");
+            first = false;
+            writer.write("    {\"name\": " + quote(optimization.name) + ", \"timeMillis\": "
+                    + millis(optimization.time));
+            if (optimization.allocatedBytes >= 0) {
+                writer.write(", \"allocatedBytes\": " + optimization.allocatedBytes);
+            }
+            writer.write(", \"invocations\": " + optimization.invocations
+                    + ", \"changes\": " + optimization.changes + "}");
+        }
+        writer.write("\n  ],\n  \"slowestMethods\": [");
+        first = true;
+        for (var method : getSlowestMethods()) {
+            writer.write(first ? "\n" : ",\n");
+            first = false;
+            writer.write("    {\"method\": " + quote(method.method.toString()) + ", \"timeMillis\": "
+                    + millis(method.time) + "}");
+        }
+        writer.write("\n  ]\n}\n");
+    }
+
+    private static String millis(long nanos) {
+        return String.valueOf(nanos / 1000 / 1000.0);
+    }
+
+    private static String quote(String s) {
+        var sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); ++i) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                default:
+                    if (c < ' ') {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                    break;
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    public class Phase {
+        private final String name;
+        private final long startTime;
+        private final long startAllocatedBytes;
+
+        private Phase(String name, long startTime, long startAllocatedBytes) {
+            this.name = name;
+            this.startTime = startTime;
+            this.startAllocatedBytes = startAllocatedBytes;
+        }
+
+        public void end() {
+            long time = System.nanoTime() - startTime;
+            long allocated = allocatedBytesSince(startAllocatedBytes);
+            synchronized (BuildProfiler.this) {
+                phases.add(new PhaseRecord(name, time, allocated));
+            }
+        }
+    }
+
+    public class PhaseAccumulator {
+        private final String name;
+        private long time;
+        private long allocatedBytes;
+
+        private PhaseAccumulator(String name) {
+            this.name = name;
+        }
+
+        public <T> T measure(Supplier<T> action) {
+            long startTime = System.nanoTime();
+            long startAllocatedBytes = allocatedBytes();
+            try {
+                return action.get();
+            } finally {
+                add(System.nanoTime() - startTime, allocatedBytesSince(startAllocatedBytes));
+            }
+        }
+
+        private synchronized void add(long time, long allocatedBytes) {
+            this.time += time;
+            if (allocatedBytes >= 0 && this.allocatedBytes >= 0) {
+                this.allocatedBytes += allocatedBytes;
+            } else {
+                this.allocatedBytes = -1;
+            }
+        }
+
+        public void end() {
+            PhaseRecord record;
+            synchronized (this) {
+                record = new PhaseRecord(name, time, allocatedBytes);
+            }
+            synchronized (BuildProfiler.this) {
+                phases.add(record);
+            }
+        }
+    }
+
+    public static class PhaseRecord {
+        private final String name;
+        private final long time;
+        private final long allocatedBytes;
+
+        PhaseRecord(String name, long time, long allocatedBytes) {
+            this.name = name;
+            this.time = time;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+
+    public static class OptimizationRecord {
+        private final String name;
+        private long time;
+        private long allocatedBytes;
+        private int invocations;
+        private int changes;
+
+        OptimizationRecord(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        /**
+         * Returns total number of bytes allocated by the optimization, or -1 if allocations can't be
+         * measured by this JVM.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public int getInvocations() {
+            return invocations;
+        }
+
+        public int getChanges() {
+            return changes;
+        }
+    }
+
+    public static class MethodRecord {
+        private final MethodReference method;
+        private final long time;
+
+        MethodRecord(MethodReference method, long time) {
+            this.method = method;
+            this.time = time;
+        }
+
+        public MethodReference getMethod() {
+            return method;
+        }
+
+        public long getTime() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.vm;
+
+import java.util.Collection;
+import org.teavm.callgraph.CallGraph;
+import org.teavm.callgraph.CallGraphNode;
+import org.teavm.callgraph.FieldAccessSite;
+import org.teavm.dependency.ClassDependencyInfo;
+import org.teavm.dependency.DependencyInfo;
+import org.teavm.dependency.FieldDependencyInfo;
+import org.teavm.dependency.MethodDependencyInfo;
+import org.teavm.dependency.ValueDependencyInfo;
+import org.teavm.model.ClassReaderSource;
+import org.teavm.model.FieldReference;
+import org.teavm.model.MethodReference;
+import org.teavm.model.ValueType;
+
+/**
+ * View of dependency analysis results that can be queried from several optimization threads.
+ * Dependency analyzer is not modified by optimizations, however its queries fill caches lazily
+ * (implementations of methods, type filters of nodes, dependency types, nodes of call graph),
+ * so every query, including queries to nodes obtained from this view, is performed under the lock
+ * of the underlying analyzer.
+ */
+class SynchronizedDependencyInfo implements DependencyInfo {
+    private final DependencyInfo dependencyInfo;
+    private final ClassReaderSource classSource;
+
+    SynchronizedDependencyInfo(DependencyInfo dependencyInfo, ClassReaderSource classSource) {
+        this.dependencyInfo = dependencyInfo;
+        this.classSource = classSource;
+    }
+
+    @Override
+    public ClassReaderSource getClassSource() {
+        return classSource;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return dependencyInfo.getClassLoader();
+    }
+
+    @Override
+    public Collection<MethodReference> getReachableMethods() {
+        return dependencyInfo.getReachableMethods();
+    }
+
+    @Override
+    public Collection<FieldReference> getReachableFields() {
+        return dependencyInfo.getReachableFields();
+    }
+
+    @Override
+    public Collection<String> getReachableClasses() {
+        return dependencyInfo.getReachableClasses();
+    }
+
+    @Override
+    public FieldDependencyInfo getField(FieldReference fieldRef) {
+        synchronized (dependencyInfo) {
+            var field = dependencyInfo.getField(fieldRef);
+            return field != null ? new SynchronizedFieldInfo(field) : null;
+        }
+    }
+
+    @Override
+    public MethodDependencyInfo getMethod(MethodReference methodRef) {
+        synchronized (dependencyInfo) {
+            return wrap(dependencyInfo.getMethod(methodRef));
+        }
+    }
+
+    @Override
+    public MethodDependencyInfo getMethodImplementation(MethodReference methodRef) {
+        synchronized (dependencyInfo) {
+            return wrap(dependencyInfo.getMethodImplementation(methodRef));
+        }
+    }
+
+    @Override
+    public ClassDependencyInfo getClass(String className) {
+        synchronized (dependencyInfo) {
+            return dependencyInfo.getClass(className);
+        }
+    }
+
+    @Override
+    public CallGraph getCallGraph() {
+        synchronized (dependencyInfo) {
+            var callGraph = dependencyInfo.getCallGraph();
+            return callGraph != null ? new SynchronizedCallGraph(callGraph) : null;
+        }
+    }
+
+    @Override
+    public boolean isPrecise() {
+        return dependencyInfo.isPrecise();
+    }
+
+    private MethodDependencyInfo wrap(MethodDependencyInfo method) {
+        return method != null ? new SynchronizedMethodInfo(method) : null;
+    }
+
+    private ValueDependencyInfo wrap(ValueDependencyInfo value) {
+        return value != null ? new SynchronizedValueInfo(value) : null;
+    }
+
+    class SynchronizedMethodInfo implements MethodDependencyInfo {
+        private final MethodDependencyInfo method;
+
+        SynchronizedMethodInfo(MethodDependencyInfo method) {
+            this.method = method;
+        }
+
+        @Override
+        public ValueDependencyInfo[] getVariables() {
+            synchronized (dependencyInfo) {
+                var variables = method.getVariables().clone();
+                for (var i = 0; i < variables.length; ++i) {
+                    variables[i] = wrap(variables[i]);
+                }
+                return variables;
+            }
+        }
+
+        @Override
+        public int getVariableCount() {
+            return method.getVariableCount();
+        }
+
+        @Override
+        public ValueDependencyInfo getVariable(int index) {
+            synchronized (dependencyInfo) {
+                return wrap(method.getVariable(index));
+            }
+        }
+
+        @Override
+        public int getParameterCount() {
+            return method.getParameterCount();
+        }
+
+        @Override
+        public ValueDependencyInfo getResult() {
+            synchronized (dependencyInfo) {
+                return wrap(method.getResult());
+            }
+        }
+
+        @Override
+        public ValueDependencyInfo getThrown() {
+            synchronized (dependencyInfo) {
+                return wrap(method.getThrown());
+            }
+        }
+
+        @Override
+        public MethodReference getReference() {
+            return method.getReference();
+        }
+
+        @Override
+        public boolean isUsed() {
+            synchronized (dependencyInfo) {
+                return method.isUsed();
+            }
+        }
+
+        @Override
+        public boolean isCalled() {
+            synchronized (dependencyInfo) {
+                return method.isCalled();
+            }
+        }
+
+        @Override
+        public boolean isMissing() {
+            synchronized (dependencyInfo) {
+                return method.isMissing();
+            }
+        }
+    }
+
+    class SynchronizedValueInfo implements ValueDependencyInfo {
+        private final ValueDependencyInfo value;
+
+        SynchronizedValueInfo(ValueDependencyInfo value) {
+            this.value = value;
+        }
+
+        @Override
+        public ValueType[] getTypes() {
+            synchronized (dependencyInfo) {
+                return value.getTypes();
+            }
+        }
+
+        @Override
+        public boolean hasType(ValueType type) {
+            synchronized (dependencyInfo) {
+                return value.hasType(type);
+            }
+        }
+
+        @Override
+        public boolean hasMoreTypesThan(int limit) {
+            synchronized (dependencyInfo) {
+                return value.hasMoreTypesThan(limit);
+            }
+        }
+
+        @Override
+        public boolean hasArrayType() {
+            synchronized (dependencyInfo) {
+                return value.hasArrayType();
+            }
+        }
+
+        @Override
+        public ValueDependencyInfo getArrayItem() {
+            synchronized (dependencyInfo) {
+                return wrap(value.getArrayItem());
+            }
+        }
+
+        @Override
+        public ValueDependencyInfo getClassValueNode() {
+            synchronized (dependencyInfo) {
+                return wrap(value.getClassValueNode());
+            }
+        }
+    }
+
+    class SynchronizedFieldInfo implements FieldDependencyInfo {
+        private final FieldDependencyInfo field;
+
+        SynchronizedFieldInfo(FieldDependencyInfo field) {
+            this.field = field;
+        }
+
+        @Override
+        public ValueDependencyInfo getValue() {
+            synchronized (dependencyInfo) {
+                return wrap(field.getValue());
+            }
+        }
+
+        @Override
+        public FieldReference getReference() {
+            return field.getReference();
+        }
+
+        @Override
+        public boolean isMissing() {
+            synchronized (dependencyInfo) {
+                return field.isMissing();
+            }
+        }
+    }
+
+    class SynchronizedCallGraph implements CallGraph {
+        private final CallGraph callGraph;
+
+        SynchronizedCallGraph(CallGraph callGraph) {
+            this.callGraph = callGraph;
+        }
+
+        @Override
+        public CallGraphNode getNode(MethodReference method) {
+            synchronized (dependencyInfo) {
+                return callGraph.getNode(method);
+            }
+        }
+
+        @Override
+        public Collection<? extends FieldAccessSite> getFieldAccess(FieldReference reference) {
+            synchronized (dependencyInfo) {
+                return callGraph.getFieldAccess(reference);
+            }
+        }
+    }
+}
@@ -29,8 +29,15 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.teavm.cache.AlwaysStaleCacheStatus;
 import org.teavm.cache.AnnotationAwareCacheStatus;
@@ -41,6 +48,7 @@ import org.teavm.common.ServiceRepository;
 import org.teavm.dependency.BootstrapMethodSubstitutor;
 import org.teavm.dependency.ClassSourcePacker;
 import org.teavm.dependency.DependencyAnalyzer;
+import org.teavm.dependency.DependencyAnalyzerStatistics;
 import org.teavm.dependency.DependencyInfo;
 import org.teavm.dependency.DependencyListener;
 import org.teavm.dependency.DependencyPlugin;
@@ -152,6 +160,8 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
     private ProgramCache programCache = EmptyProgramCache.INSTANCE;
     private CacheStatus rawCacheStatus = AlwaysStaleCacheStatus.INSTANCE;
     private TeaVMOptimizationLevel optimizationLevel = TeaVMOptimizationLevel.SIMPLE;
+    private int optimizationThreads = 1;
+    private BuildProfiler profiler;
     private TeaVMProgressListener progressListener;
     private boolean cancelled;
     private ListableClassHolderSource writtenClasses;
@@ -280,6 +290,52 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         this.optimizationLevel = optimizationLevel;
     }
 
+    public int getOptimizationThreads() {
+        return optimizationThreads;
+    }
+
+    /**
+     * <p>Specifies how many threads to use for per-method optimizations. With a single thread (the default)
+     * methods are optimized one by one. With more threads, optimizations of distinct methods run concurrently,
+     * while cache access, target callbacks and progress reporting remain on the calling thread, so the
+     * output does not depend on the thread count.</p>
+     *
+     * <p>At {@link TeaVMOptimizationLevel#ADVANCED} level, methods are also inlined concurrently, level by level
+     * of the call graph. At {@link TeaVMOptimizationLevel#FULL} level inlining always runs sequentially, since
+     * it is interleaved with devirtualization, which can add calls that are not known in advance.</p>
+     *
+     * @param optimizationThreads number of worker threads, values less than 1 are treated as 1.
+     */
+    public void setOptimizationThreads(int optimizationThreads) {
+        this.optimizationThreads = Math.max(1, optimizationThreads);
+    }
+
+    public BuildProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Enables collection of build timings. When profiler is set, time spent in every build phase,
+     * in every method optimization and in optimization of individual methods is recorded there.
+     */
+    public void setProfiler(BuildProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    private BuildProfiler.Phase startPhase(String name) {
+        return profiler != null ? profiler.startPhase(name) : null;
+    }
+
+    private static void endPhase(BuildProfiler.Phase phase) {
+        if (phase != null) {
+            phase.end();
+        }
+    }
+
+    private static <T> T measure(BuildProfiler.PhaseAccumulator phase, Supplier<T> action) {
+        return phase != null ? phase.measure(action) : action.get();
+    }
+
     public TeaVMProgressListener getProgressListener() {
         return progressListener;
     }
@@ -371,6 +427,10 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         return dependencyAnalyzer;
     }
 
+    public DependencyAnalyzerStatistics getDependencyStatistics() {
+        return dependencyAnalyzer.getStatistics();
+    }
+
     public ListableClassReaderSource getWrittenClasses() {
         return writtenClasses;
     }
@@ -397,26 +457,31 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
             return;
         }
 
-        target.setEntryPoint(entryPoint, entryPointName);
-        dependencyAnalyzer.setAsyncSupported(target.isAsyncSupported());
-        dependencyAnalyzer.setInterruptor(() -> {
-            int progress = dependencyAnalyzer.getReachableClasses().size();
-            cancelled |= progressListener.progressReached(progress) != TeaVMProgressFeedback.CONTINUE;
-            return !cancelled;
-        });
-        target.contributeDependencies(dependencyAnalyzer);
-        dependencyAnalyzer.initDependencies();
-        processEntryPoint();
-        if (target.needsSystemArrayCopyOptimization()) {
-            dependencyAnalyzer.addDependencyListener(new StdlibDependencyListener());
-        }
-        dependencyAnalyzer.processDependencies();
-        if (wasCancelled() || !diagnostics.getSevereProblems().isEmpty()) {
-            return;
-        }
+        var phase = startPhase("dependencyAnalysis");
+        try {
+            target.setEntryPoint(entryPoint, entryPointName);
+            dependencyAnalyzer.setAsyncSupported(target.isAsyncSupported());
+            dependencyAnalyzer.setInterruptor(() -> {
+                int progress = dependencyAnalyzer.getReachableClasses().size();
+                cancelled |= progressListener.progressReached(progress) != TeaVMProgressFeedback.CONTINUE;
+                return !cancelled;
+            });
+            target.contributeDependencies(dependencyAnalyzer);
+            dependencyAnalyzer.initDependencies();
+            processEntryPoint();
+            if (target.needsSystemArrayCopyOptimization()) {
+                dependencyAnalyzer.addDependencyListener(new StdlibDependencyListener());
+            }
+            dependencyAnalyzer.processDependencies();
+            if (wasCancelled() || !diagnostics.getSevereProblems().isEmpty()) {
+                return;
+            }
 
-        dependencyAnalyzer.setInterruptor(null);
-        dependencyAnalyzer.cleanup(classSourcePacker);
+            dependencyAnalyzer.setInterruptor(null);
+            dependencyAnalyzer.cleanup(classSourcePacker);
+        } finally {
+            endPhase(phase);
+        }
         cacheStatus = new AnnotationAwareCacheStatus(rawCacheStatus, dependencyAnalyzer.getIncrementalDependencies(),
                 dependencyAnalyzer.getClassSource());
         cacheStatus.addSynthesizedClasses(dependencyAnalyzer::isSynthesizedClass);
@@ -453,7 +518,12 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
                 compileProgressReportStart = 0;
                 compileProgressReportLimit = 1000;
             }
+            phase = startPhase("emit");
             target.emit(classSet, buildTarget, outputName);
+            endPhase(phase);
+            if (isLazy) {
+                ((PostProcessingClassHolderSource) classSet).endPhases();
+            }
         } catch (IOException e) {
             throw new RuntimeException("Error generating output files", e);
         }
@@ -474,27 +544,35 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
             compileProgressLimit *= 2;
         }
 
+        var phase = startPhase("link");
         var classSet = link(dependencyAnalyzer);
         writtenClasses = classSet;
+        endPhase(phase);
         if (wasCancelled()) {
             return null;
         }
 
         if (optimizationLevel != TeaVMOptimizationLevel.SIMPLE) {
+            phase = startPhase("devirtualization");
             devirtualize(classSet);
+            endPhase(phase);
             if (wasCancelled()) {
                 return null;
             }
 
+            phase = startPhase("classInitAnalysis");
             var classInitializerAnalysis = new ClassInitializerAnalysis(classSet,
                     dependencyAnalyzer.getClassHierarchy(), entryPoint);
             classInitializerAnalysis.analyze(dependencyAnalyzer);
             classInitializerInfo = classInitializerAnalysis;
             insertClassInit(classSet);
             eliminateClassInit(classSet);
+            endPhase(phase);
         } else {
+            phase = startPhase("classInitAnalysis");
             insertClassInit(classSet);
             classInitializerInfo = ClassInitializerInfo.EMPTY;
+            endPhase(phase);
         }
 
         dependencyAnalyzer.cleanupTypes();
@@ -509,7 +587,9 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
                 }
             }
         }
+        phase = startPhase("inlining");
         inline(classSet);
+        endPhase(phase);
         if (wasCancelled()) {
             return null;
         }
@@ -519,7 +599,9 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
                 new LinkedHashSet<>(dependencyAnalyzer.getReachableClasses())));
 
         // Optimize and allocate registers
+        phase = startPhase("optimization");
         optimize(classSet);
+        endPhase(phase);
         if (wasCancelled()) {
             return null;
         }
@@ -691,31 +773,18 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         Inlining inlining = new Inlining(new ClassHierarchy(classes), dependencyAnalyzer, inliningStrategy,
                 classes, this::isExternal, optimizationLevel == TeaVMOptimizationLevel.FULL,
                 target.getInliningFilter());
+        if (optimizationThreads > 1) {
+            var levels = inlining.getLevels();
+            if (levels != null) {
+                inlineConcurrently(inlining, classes, levels);
+                return;
+            }
+        }
         var methodReferences = inlining.getOrder();
         int classCount = classes.getClassNames().size();
         int initialValue = compileProgressValue;
         for (int i = 0; i < methodReferences.size(); i++) {
-            MethodReference methodReference = methodReferences.get(i);
-            ClassHolder cls = classes.get(methodReference.getClassName());
-            if (cls == null) {
-                continue;
-            }
-            MethodHolder method = cls.getMethod(methodReference.getDescriptor());
-            if (method == null) {
-                continue;
-            }
-
-            if (method.getProgram() != null) {
-                if (!inlining.hasUsages(methodReference)) {
-                    inlining.removeUsages(method.getProgram());
-                    method.setProgram(null);
-                } else {
-                    Program program = method.getProgram();
-                    var context = new MethodOptimizationContextImpl(method);
-                    inlining.apply(program, method.getReference());
-                    new UnusedVariableElimination().optimize(context, program);
-                }
-            }
+            inlineMethod(inlining, classes, methodReferences.get(i));
 
             int newProgress = initialValue + classCount * i / methodReferences.size();
             if (newProgress > compileProgressValue) {
@@ -728,7 +797,75 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         }
     }
 
+    private void inlineConcurrently(Inlining inlining, ListableClassHolderSource classes,
+            List<List<List<MethodReference>>> levels) {
+        int methodCount = 0;
+        for (var level : levels) {
+            for (var group : level) {
+                methodCount += group.size();
+            }
+        }
+        int classCount = classes.getClassNames().size();
+        int initialValue = compileProgressValue;
+        int processed = 0;
+
+        var pool = new ForkJoinPool(optimizationThreads);
+        try {
+            for (var level : levels) {
+                var tasks = new ArrayList<ForkJoinTask<?>>();
+                for (var group : level) {
+                    tasks.add(pool.submit(() -> {
+                        for (var methodReference : group) {
+                            inlineMethod(inlining, classes, methodReference);
+                        }
+                    }));
+                    processed += group.size();
+                }
+                for (var task : tasks) {
+                    task.join();
+                }
+
+                int newProgress = initialValue + (int) ((long) classCount * processed / methodCount);
+                if (newProgress > compileProgressValue) {
+                    compileProgressValue = newProgress;
+                    reportCompileProgress(compileProgressValue);
+                    if (wasCancelled()) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void inlineMethod(Inlining inlining, ListableClassHolderSource classes,
+            MethodReference methodReference) {
+        ClassHolder cls = classes.get(methodReference.getClassName());
+        if (cls == null) {
+            return;
+        }
+        MethodHolder method = cls.getMethod(methodReference.getDescriptor());
+        if (method == null || method.getProgram() == null) {
+            return;
+        }
+
+        if (!inlining.hasUsages(methodReference)) {
+            inlining.removeUsages(method.getProgram());
+            method.setProgram(null);
+        } else {
+            Program program = method.getProgram();
+            var context = new MethodOptimizationContextImpl(method);
+            inlining.apply(program, method.getReference());
+            new UnusedVariableElimination().optimize(context, program);
+        }
+    }
+
     private void optimize(ListableClassHolderSource classSource) {
+        if (optimizationThreads > 1) {
+            optimizeConcurrently(classSource);
+            return;
+        }
         for (String className : classSource.getClassNames()) {
             ClassHolder cls = classSource.get(className);
             for (MethodHolder method : cls.getMethods()) {
@@ -741,6 +878,105 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         }
     }
 
+    private void optimizeConcurrently(ListableClassHolderSource classSource) {
+        // Shared structures (class source, cache, target) are only touched by the calling thread
+        // while no optimization task is running. Workers see the class source and dependency information
+        // through synchronized views and use their own class hierarchy, since all of them have internal caches.
+        var pendingClasses = new ArrayList<List<PendingOptimization>>();
+        for (String className : classSource.getClassNames()) {
+            ClassHolder cls = classSource.get(className);
+            var pendingMethods = new ArrayList<PendingOptimization>();
+            for (MethodHolder method : cls.getMethods()) {
+                if (method.getProgram() == null) {
+                    continue;
+                }
+                Program cachedProgram = !cacheStatus.isStaleMethod(method.getReference())
+                        ? programCache.get(method.getReference(), cacheStatus)
+                        : null;
+                if (cachedProgram != null) {
+                    method.setProgram(cachedProgram);
+                    continue;
+                }
+                Program program = ProgramUtils.copy(method.getProgram());
+                target.beforeOptimizations(program, method);
+                pendingMethods.add(new PendingOptimization(method, program));
+            }
+            pendingClasses.add(pendingMethods);
+        }
+
+        var sharedClassSource = new SynchronizedClassReaderSource(dependencyAnalyzer.getClassSource());
+        var sharedDependencyInfo = new SynchronizedDependencyInfo(dependencyAnalyzer, sharedClassSource);
+        var hierarchies = ThreadLocal.withInitial(() -> new ClassHierarchy(sharedClassSource));
+        ExecutorService executor = Executors.newFixedThreadPool(optimizationThreads, runnable -> {
+            var thread = new Thread(runnable, "TeaVM optimizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (var pendingMethods : pendingClasses) {
+                for (var pending : pendingMethods) {
+                    if (pending.program.basicBlockCount() > 0) {
+                        pending.future = executor.submit(() -> {
+                            var context = new ConcurrentMethodOptimizationContext(pending.method,
+                                    sharedDependencyInfo, hierarchies.get());
+                            runOptimizations(context, pending.method, pending.program);
+                        });
+                    }
+                }
+            }
+            for (var pendingMethods : pendingClasses) {
+                for (var pending : pendingMethods) {
+                    if (pending.future != null) {
+                        awaitOptimization(pending.future);
+                    }
+                }
+                reportCompileProgress(++compileProgressValue);
+                if (wasCancelled()) {
+                    return;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (var pendingMethods : pendingClasses) {
+            for (var pending : pendingMethods) {
+                Program finalProgram = pending.program;
+                if (finalProgram.basicBlockCount() > 0) {
+                    finishOptimizations(pending.method, finalProgram);
+                }
+                programCache.store(pending.method.getReference(), finalProgram,
+                        () -> programDependencyExtractor.extractDependencies(finalProgram));
+                pending.method.setProgram(finalProgram);
+            }
+        }
+    }
+
+    private static void awaitOptimization(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    static class PendingOptimization {
+        final MethodHolder method;
+        final Program program;
+        Future<?> future;
+
+        PendingOptimization(MethodHolder method, Program program) {
+            this.method = method;
+            this.program = program;
+        }
+    }
+
     private void optimizeMethod(MethodHolder method) {
         if (method.getProgram() == null) {
             return;
@@ -762,38 +998,58 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         target.beforeOptimizations(optimizedProgram, method);
 
         if (optimizedProgram.basicBlockCount() > 0) {
-            var context = new MethodOptimizationContextImpl(method);
-            boolean changed;
-            do {
-                changed = false;
-                for (MethodOptimization optimization : getOptimizations()) {
-                    try {
+            runOptimizations(new MethodOptimizationContextImpl(method), method, optimizedProgram);
+            finishOptimizations(method, optimizedProgram);
+        }
+
+        return optimizedProgram;
+    }
+
+    private void runOptimizations(MethodOptimizationContext context, MethodHolder method, Program optimizedProgram) {
+        long methodStartTime = profiler != null ? System.nanoTime() : 0;
+        boolean changed;
+        do {
+            changed = false;
+            for (MethodOptimization optimization : getOptimizations()) {
+                try {
+                    if (profiler != null) {
+                        long startTime = System.nanoTime();
+                        long startAllocatedBytes = profiler.allocatedBytes();
+                        boolean optimizationChanged = optimization.optimize(context, optimizedProgram);
+                        profiler.recordOptimization(optimization.getClass().getSimpleName(),
+                                System.nanoTime() - startTime, profiler.allocatedBytesSince(startAllocatedBytes),
+                                optimizationChanged);
+                        changed |= optimizationChanged;
+                    } else {
                         changed |= optimization.optimize(context, optimizedProgram);
-                    } catch (Exception | AssertionError e) {
-                        ListingBuilder listingBuilder = new ListingBuilder();
-                        try {
-                            String listing = listingBuilder.buildListing(optimizedProgram, "");
-                            System.err.println("Error optimizing program for method " + method.getReference()
-                                    + ":\n" + listing);
-                        } catch (RuntimeException e2) {
-                            System.err.println("Error optimizing program for method " + method.getReference());
-                            // do nothing
-                        }
-                        throw new RuntimeException(e);
                     }
+                } catch (Exception | AssertionError e) {
+                    ListingBuilder listingBuilder = new ListingBuilder();
+                    try {
+                        String listing = listingBuilder.buildListing(optimizedProgram, "");
+                        System.err.println("Error optimizing program for method " + method.getReference()
+                                + ":\n" + listing);
+                    } catch (RuntimeException e2) {
+                        System.err.println("Error optimizing program for method " + method.getReference());
+                        // do nothing
+                    }
+                    throw new RuntimeException(e);
                 }
-            } while (changed);
-
-            target.afterOptimizations(optimizedProgram, method);
-            var categoryProvider = target.variableCategoryProvider();
-            if (categoryProvider != null) {
-                var allocator = new RegisterAllocator(categoryProvider);
-                allocator.allocateRegisters(method.getReference(), optimizedProgram,
-                        optimizationLevel == TeaVMOptimizationLevel.SIMPLE);
             }
+        } while (changed);
+        if (profiler != null) {
+            profiler.recordMethod(method.getReference(), System.nanoTime() - methodStartTime);
         }
+    }
 
-        return optimizedProgram;
+    private void finishOptimizations(MethodHolder method, Program optimizedProgram) {
+        target.afterOptimizations(optimizedProgram, method);
+        var categoryProvider = target.variableCategoryProvider();
+        if (categoryProvider != null) {
+            var allocator = new RegisterAllocator(categoryProvider);
+            allocator.allocateRegisters(method.getReference(), optimizedProgram,
+                    optimizationLevel == TeaVMOptimizationLevel.SIMPLE);
+        }
     }
 
     class MethodOptimizationContextImpl implements MethodOptimizationContext {
@@ -824,6 +1080,33 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
         }
     }
 
+    class ConcurrentMethodOptimizationContext extends MethodOptimizationContextImpl {
+        private DependencyInfo dependencyInfo;
+        private ClassHierarchy hierarchy;
+
+        ConcurrentMethodOptimizationContext(MethodReader method, DependencyInfo dependencyInfo,
+                ClassHierarchy hierarchy) {
+            super(method);
+            this.dependencyInfo = dependencyInfo;
+            this.hierarchy = hierarchy;
+        }
+
+        @Override
+        public DependencyInfo getDependencyInfo() {
+            return dependencyInfo;
+        }
+
+        @Override
+        public ClassReaderSource getClassSource() {
+            return dependencyInfo.getClassSource();
+        }
+
+        @Override
+        public ClassHierarchy getHierarchy() {
+            return hierarchy;
+        }
+    }
+
     private List<MethodOptimization> getOptimizations() {
         List<MethodOptimization> optimizations = new ArrayList<>();
         optimizations.add(new RedundantJumpElimination());
@@ -1015,59 +1298,77 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
                         .collect(Collectors.toList())));
         private ClassInitializerInsertionTransformer clinitInsertion = new ClassInitializerInsertionTransformer(
                 dependencyAnalyzer.getClassSource(), classInitializerInfo);
+        private BuildProfiler.PhaseAccumulator linkPhase = profiler != null
+                ? profiler.accumulatePhase("link")
+                : null;
+        private BuildProfiler.PhaseAccumulator optimizationPhase = profiler != null
+                ? profiler.accumulatePhase("optimization")
+                : null;
 
         @Override
         public ClassHolder get(String name) {
-            return cache.computeIfAbsent(name, className -> {
-                ClassReader classReader = dependencyAnalyzer.getClassSource().get(className);
-                if (classReader == null) {
-                    return null;
-                }
-                ClassHolder cls = ModelUtils.copyClass(classReader, false);
-                linker.link(cls);
+            return cache.computeIfAbsent(name, className -> measure(linkPhase, () -> linkClass(className)));
+        }
 
-                for (FieldHolder field : cls.getFields().toArray(new FieldHolder[0])) {
-                    FieldReference fieldRef = new FieldReference(cls.getName(), field.getName());
-                    if (dependencyAnalyzer.getField(fieldRef) == null) {
-                        cls.removeField(field);
-                    }
+        private ClassHolder linkClass(String className) {
+            ClassReader classReader = dependencyAnalyzer.getClassSource().get(className);
+            if (classReader == null) {
+                return null;
+            }
+            ClassHolder cls = ModelUtils.copyClass(classReader, false);
+            linker.link(cls);
+
+            for (FieldHolder field : cls.getFields().toArray(new FieldHolder[0])) {
+                FieldReference fieldRef = new FieldReference(cls.getName(), field.getName());
+                if (dependencyAnalyzer.getField(fieldRef) == null) {
+                    cls.removeField(field);
                 }
+            }
 
-                Function<MethodHolder, Program> programSupplier = method -> {
-                    Program program = !cacheStatus.isStaleMethod(method.getReference())
-                            ? programCache.get(method.getReference(), cacheStatus)
-                            : null;
-                    if (program == null) {
-                        program = ProgramUtils.copy(classReader.getMethod(method.getDescriptor()).getProgram());
-                        clinitInsertion.apply(method, program);
-                        target.beforeInlining(program, method);
-                        program = optimizeMethodCacheMiss(method, program);
-                        Program finalProgram = program;
-                        programCache.store(method.getReference(), finalProgram,
-                                () -> programDependencyExtractor.extractDependencies(finalProgram));
-                    }
-                    return program;
-                };
-
-                for (MethodHolder method : cls.getMethods().toArray(new MethodHolder[0])) {
-                    MethodDependencyInfo methodDep = dependencyAnalyzer.getMethod(method.getReference());
-                    if (methodDep == null || !methodDep.isUsed()) {
-                        if (method.hasModifier(ElementModifier.STATIC)) {
-                            cls.removeMethod(method);
-                        } else {
-                            method.getModifiers().add(ElementModifier.ABSTRACT);
-                            method.getModifiers().remove(ElementModifier.NATIVE);
-                            method.setProgram(null);
-                        }
+            Function<MethodHolder, Program> programSupplier = method -> {
+                Program program = !cacheStatus.isStaleMethod(method.getReference())
+                        ? programCache.get(method.getReference(), cacheStatus)
+                        : null;
+                if (program == null) {
+                    program = measure(optimizationPhase, () -> {
+                        var programCopy = ProgramUtils.copy(classReader.getMethod(method.getDescriptor())
+                                .getProgram());
+                        clinitInsertion.apply(method, programCopy);
+                        target.beforeInlining(programCopy, method);
+                        return optimizeMethodCacheMiss(method, programCopy);
+                    });
+                    Program finalProgram = program;
+                    programCache.store(method.getReference(), finalProgram,
+                            () -> programDependencyExtractor.extractDependencies(finalProgram));
+                }
+                return program;
+            };
+
+            for (MethodHolder method : cls.getMethods().toArray(new MethodHolder[0])) {
+                MethodDependencyInfo methodDep = dependencyAnalyzer.getMethod(method.getReference());
+                if (methodDep == null || !methodDep.isUsed()) {
+                    if (method.hasModifier(ElementModifier.STATIC)) {
+                        cls.removeMethod(method);
                     } else {
-                        MethodReader methodReader = classReader.getMethod(method.getDescriptor());
-                        if (methodReader != null && methodReader.getProgram() != null) {
-                            method.setProgramSupplier(programSupplier);
-                        }
+                        method.getModifiers().add(ElementModifier.ABSTRACT);
+                        method.getModifiers().remove(ElementModifier.NATIVE);
+                        method.setProgram(null);
+                    }
+                } else {
+                    MethodReader methodReader = classReader.getMethod(method.getDescriptor());
+                    if (methodReader != null && methodReader.getProgram() != null) {
+                        method.setProgramSupplier(programSupplier);
                     }
                 }
-                return cls;
-            });
+            }
+            return cls;
+        }
+
+        void endPhases() {
+            if (linkPhase != null) {
+                linkPhase.end();
+                optimizationPhase.end();
+            }
         }
 
         @Override
@@ -1097,4 +1398,19 @@ public class TeaVM implements TeaVMHost, ServiceRepository {
             return classes.contains(name) ? classSource.get(name) : null;
         }
     }
+
+    static class SynchronizedClassReaderSource implements ClassReaderSource {
+        private final ClassReaderSource classSource;
+
+        SynchronizedClassReaderSource(ClassReaderSource classSource) {
+            this.classSource = classSource;
+        }
+
+        @Override
+        public ClassReader get(String name) {
+            synchronized (classSource) {
+                return classSource.get(name);
+            }
+        }
+    }
 }
@@ -39,6 +39,9 @@ function defaults(imports, userExports, options, module) {
     if (!hasStringBuiltins()) {
         stringImports(imports);
     }
+    if (module) {
+        stringConstantImports(imports, module);
+    }
     dateImports(imports);
     consoleImports(imports, context);
     coreImports(imports, context, options, module);
@@ -88,6 +91,21 @@ function stringImports(imports) {
     }
 }
 
+function stringConstantImports(imports, module) {
+    let constants = null;
+    for (let { module: importModule, name, kind } of WebAssembly.Module.imports(module)) {
+        if (kind === "global" && importModule === "'") {
+            if (constants === null) {
+                constants = {};
+            }
+            constants[name] = name;
+        }
+    }
+    if (constants !== null) {
+        imports["'"] = constants;
+    }
+}
+
 function dateImports(imports) {
     imports.teavmDate = {
         currentTimeMillis: () => new Date().getTime(),
@@ -739,11 +757,12 @@ async function load(src, options) {
 }
 
 async function compileModule(src, isNodeJs) {
+    let compileOptions = { builtins: ["js-string"], importedStringConstants: "'" };
     if (typeof src !== "string") {
-        return await WebAssembly.compile(src, { builtins: ["js-string"] });
+        return await WebAssembly.compile(src, compileOptions);
     }
     let [response, close] = await openPath(src, isNodeJs);
-    let result = await WebAssembly.compileStreaming(response, { builtins: ["js-string"] });
+    let result = await WebAssembly.compileStreaming(response, compileOptions);
     close();
     return result;
 }
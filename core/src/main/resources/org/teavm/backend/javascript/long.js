@@ -15,6 +15,22 @@
  */
 "use strict";
 
+let $rt_numberConversionLongArray = new teavm_globals.BigInt64Array($rt_numberConversionBuffer);
+
+let $rt_doubleToRawLongBits = n => {
+    $rt_numberConversionDoubleArray[0] = n;
+    return $rt_numberConversionLongArray[0];
+}
+let $rt_longBitsToDouble = n => {
+    $rt_numberConversionLongArray[0] = n;
+    return $rt_numberConversionDoubleArray[0];
+}
+let $rt_createLongArrayFromData = data => {
+    let buffer = new teavm_globals.BigInt64Array(data.length);
+    buffer.set(data);
+    return new $rt_longArrayCls(buffer);
+};
+
 let Long_MAX_NORMAL = 1 << 18;
 let Long_ZERO = teavm_globals.BigInt(0);
 let Long_create = (lo, hi) => teavm_globals.BigInt.asIntN(64, teavm_globals.BigInt.asUintN(64, teavm_globals.BigInt(lo))
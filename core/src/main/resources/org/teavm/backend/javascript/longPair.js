@@ -0,0 +1,257 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+"use strict";
+
+function Long(lo, hi) {
+    this.lo = lo | 0;
+    this.hi = hi | 0;
+}
+
+let $rt_doubleToRawLongBits = n => {
+    $rt_numberConversionView.setFloat64(0, n, true);
+    return new Long($rt_numberConversionView.getInt32(0, true), $rt_numberConversionView.getInt32(4, true));
+}
+let $rt_longBitsToDouble = n => {
+    $rt_numberConversionView.setInt32(0, n.lo, true);
+    $rt_numberConversionView.setInt32(4, n.hi, true);
+    return $rt_numberConversionView.getFloat64(0, true);
+}
+let $rt_createLongArrayFromData = data => {
+    let buffer = new teavm_globals.BigInt64Array(data.length);
+    for (let i = 0; i < data.length; i = (i + 1) | 0) {
+        buffer[i] = Long_toBigInt(data[i]);
+    }
+    return new $rt_longArrayCls(buffer);
+};
+
+let Long_MAX_NORMAL = 1 << 18;
+let Long_ZERO = new Long(0, 0);
+let Long_MAX_VALUE = new Long(-1, 0x7FFFFFFF);
+let Long_MIN_VALUE = new Long(0, 0x80000000);
+let Long_create = (lo, hi) => new Long(lo, hi);
+let Long_fromInt = val => new Long(val, val >> 31);
+let Long_fromNumber = val => {
+    if (val !== val) {
+        return Long_ZERO;
+    }
+    if (val >= 9223372036854775807) {
+        return Long_MAX_VALUE;
+    }
+    if (val <= -9223372036854775808) {
+        return Long_MIN_VALUE;
+    }
+    if (val < 0) {
+        return Long_neg(Long_fromNumber(-val));
+    }
+    return new Long(val | 0, (val / 4294967296) | 0);
+}
+let Long_toNumber = val => val.hi * 4294967296 + (val.lo >>> 0);
+let Long_toUnsignedNumber = val => (val.hi >>> 0) * 4294967296 + (val.lo >>> 0);
+let Long_hi = val => val.hi;
+let Long_lo = val => val.lo;
+let Long_isSmall = val => val.hi === val.lo >> 31 && val.lo < Long_MAX_NORMAL && val.lo > -Long_MAX_NORMAL;
+
+let Long_toBigInt = val => {
+    $rt_numberConversionView.setInt32(0, val.lo, true);
+    $rt_numberConversionView.setInt32(4, val.hi, true);
+    return $rt_numberConversionView.getBigInt64(0, true);
+}
+let Long_fromBigInt = val => {
+    $rt_numberConversionView.setBigInt64(0, val, true);
+    return new Long($rt_numberConversionView.getInt32(0, true), $rt_numberConversionView.getInt32(4, true));
+}
+
+let Long_eq = (a, b) => a.hi === b.hi && a.lo === b.lo;
+let Long_ne = (a, b) => a.hi !== b.hi || a.lo !== b.lo;
+let Long_gt = (a, b) => a.hi > b.hi || a.hi === b.hi && (a.lo >>> 0) > (b.lo >>> 0);
+let Long_ge = (a, b) => a.hi > b.hi || a.hi === b.hi && (a.lo >>> 0) >= (b.lo >>> 0);
+let Long_lt = (a, b) => a.hi < b.hi || a.hi === b.hi && (a.lo >>> 0) < (b.lo >>> 0);
+let Long_le = (a, b) => a.hi < b.hi || a.hi === b.hi && (a.lo >>> 0) <= (b.lo >>> 0);
+let Long_compare = (a, b) => {
+    if (a.hi !== b.hi) {
+        return a.hi < b.hi ? -1 : 1;
+    }
+    let x = a.lo >>> 0;
+    let y = b.lo >>> 0;
+    return x < y ? -1 : x > y ? 1 : 0;
+}
+let Long_ucompare = (a, b) => {
+    let x = a.hi >>> 0;
+    let y = b.hi >>> 0;
+    if (x === y) {
+        x = a.lo >>> 0;
+        y = b.lo >>> 0;
+    }
+    return x < y ? -1 : x > y ? 1 : 0;
+}
+
+let Long_add = (a, b) => {
+    let lo = (a.lo + b.lo) | 0;
+    let carry = (lo >>> 0) < (a.lo >>> 0) ? 1 : 0;
+    return new Long(lo, a.hi + b.hi + carry);
+}
+let Long_inc = a => {
+    let lo = (a.lo + 1) | 0;
+    return new Long(lo, lo === 0 ? a.hi + 1 : a.hi);
+}
+let Long_dec = a => new Long(a.lo - 1, a.lo === 0 ? a.hi - 1 : a.hi);
+let Long_neg = a => {
+    let lo = -a.lo | 0;
+    return new Long(lo, lo === 0 ? -a.hi : ~a.hi);
+}
+let Long_sub = (a, b) => {
+    let borrow = (a.lo >>> 0) < (b.lo >>> 0) ? 1 : 0;
+    return new Long(a.lo - b.lo, a.hi - b.hi - borrow);
+}
+let Long_mul = (a, b) => {
+    if (Long_isSmall(a) && Long_isSmall(b)) {
+        return Long_fromNumber(a.lo * b.lo);
+    }
+    let a48 = a.hi >>> 16;
+    let a32 = a.hi & 0xFFFF;
+    let a16 = a.lo >>> 16;
+    let a00 = a.lo & 0xFFFF;
+    let b48 = b.hi >>> 16;
+    let b32 = b.hi & 0xFFFF;
+    let b16 = b.lo >>> 16;
+    let b00 = b.lo & 0xFFFF;
+
+    let c00 = a00 * b00;
+    let c16 = c00 >>> 16;
+    c00 &= 0xFFFF;
+    c16 += a16 * b00;
+    let c32 = c16 >>> 16;
+    c16 &= 0xFFFF;
+    c16 += a00 * b16;
+    c32 += c16 >>> 16;
+    c16 &= 0xFFFF;
+    c32 += a32 * b00;
+    let c48 = c32 >>> 16;
+    c32 &= 0xFFFF;
+    c32 += a16 * b16;
+    c48 += c32 >>> 16;
+    c32 &= 0xFFFF;
+    c32 += a00 * b32;
+    c48 += c32 >>> 16;
+    c32 &= 0xFFFF;
+    c48 += a48 * b00 + a32 * b16 + a16 * b32 + a00 * b48;
+    c48 &= 0xFFFF;
+    return new Long((c16 << 16) | c00, (c48 << 16) | c32);
+}
+
+let Long_udivRem = (a, b, remainder) => {
+    if (b.hi === 0 && b.lo === 0) {
+        throw new teavm_globals.RangeError("Division by zero");
+    }
+    if ((a.hi >>> 0) < 0x200000 && (b.hi >>> 0) < 0x200000) {
+        let x = Long_toUnsignedNumber(a);
+        let y = Long_toUnsignedNumber(b);
+        let q = teavm_globals.Math.floor(x / y);
+        return Long_fromNumber(remainder ? x - q * y : q);
+    }
+    if (b.hi < 0) {
+        if (Long_ucompare(a, b) < 0) {
+            return remainder ? a : Long_ZERO;
+        }
+        return remainder ? Long_sub(a, b) : new Long(1, 0);
+    }
+    if (a.hi < 0) {
+        let q = Long_shl(Long_udivRem(Long_shru(a, 1), b, false), 1);
+        let r = Long_sub(a, Long_mul(q, b));
+        if (Long_ucompare(r, b) >= 0) {
+            q = Long_inc(q);
+            r = Long_sub(r, b);
+        }
+        return remainder ? r : q;
+    }
+
+    // Both operands are in [0, 2^63) here. Estimate quotient using floating point division,
+    // then correct estimation so that it never exceeds the exact quotient.
+    let q = Long_ZERO;
+    let r = a;
+    while (Long_ge(r, b)) {
+        let approx = teavm_globals.Math.max(1, teavm_globals.Math.floor(Long_toNumber(r) / Long_toNumber(b)));
+        let log2 = teavm_globals.Math.ceil(teavm_globals.Math.log(approx) / teavm_globals.Math.LN2);
+        let delta = log2 <= 48 ? 1 : teavm_globals.Math.pow(2, log2 - 48);
+        let approxQuotient = Long_fromNumber(approx);
+        let approxProduct = Long_mul(approxQuotient, b);
+        while (approxProduct.hi < 0 || Long_gt(approxProduct, r)) {
+            approx -= delta;
+            approxQuotient = Long_fromNumber(approx);
+            approxProduct = Long_mul(approxQuotient, b);
+        }
+        q = Long_add(q, approxQuotient);
+        r = Long_sub(r, approxProduct);
+    }
+    return remainder ? r : q;
+}
+let Long_div = (a, b) => {
+    if (a.hi === a.lo >> 31 && b.hi === b.lo >> 31) {
+        if (b.lo === 0) {
+            throw new teavm_globals.RangeError("Division by zero");
+        }
+        return Long_fromNumber(a.lo / b.lo);
+    }
+    let q = Long_udivRem(a.hi < 0 ? Long_neg(a) : a, b.hi < 0 ? Long_neg(b) : b, false);
+    return (a.hi ^ b.hi) < 0 ? Long_neg(q) : q;
+}
+let Long_udiv = (a, b) => Long_udivRem(a, b, false);
+let Long_rem = (a, b) => {
+    if (a.hi === a.lo >> 31 && b.hi === b.lo >> 31) {
+        if (b.lo === 0) {
+            throw new teavm_globals.RangeError("Division by zero");
+        }
+        return Long_fromInt(a.lo % b.lo);
+    }
+    let r = Long_udivRem(a.hi < 0 ? Long_neg(a) : a, b.hi < 0 ? Long_neg(b) : b, true);
+    return a.hi < 0 ? Long_neg(r) : r;
+}
+let Long_urem = (a, b) => Long_udivRem(a, b, true);
+
+let Long_and = (a, b) => new Long(a.lo & b.lo, a.hi & b.hi);
+let Long_or = (a, b) => new Long(a.lo | b.lo, a.hi | b.hi);
+let Long_xor = (a, b) => new Long(a.lo ^ b.lo, a.hi ^ b.hi);
+let Long_not = a => new Long(~a.lo, ~a.hi);
+let Long_shl = (a, b) => {
+    b &= 63;
+    if (b === 0) {
+        return a;
+    }
+    if (b < 32) {
+        return new Long(a.lo << b, (a.hi << b) | (a.lo >>> (32 - b)));
+    }
+    return new Long(0, a.lo << (b - 32));
+}
+let Long_shr = (a, b) => {
+    b &= 63;
+    if (b === 0) {
+        return a;
+    }
+    if (b < 32) {
+        return new Long((a.lo >>> b) | (a.hi << (32 - b)), a.hi >> b);
+    }
+    return new Long(a.hi >> (b - 32), a.hi >> 31);
+}
+let Long_shru = (a, b) => {
+    b &= 63;
+    if (b === 0) {
+        return a;
+    }
+    if (b < 32) {
+        return new Long((a.lo >>> b) | (a.hi << (32 - b)), a.hi >>> b);
+    }
+    return new Long(a.hi >>> (b - 32), 0);
+}
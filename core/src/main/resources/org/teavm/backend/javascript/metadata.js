@@ -63,37 +63,110 @@ let $rt_metadata = data => {
 
         m.accessLevel = data[i++];
 
-        let innerClassInfo = data[i++];
-        if (innerClassInfo === 0) {
-            m.simpleName = null;
-            m.declaringClass = null;
-            m.enclosingClass = null;
-        } else {
-            let enclosingClass = innerClassInfo[0];
-            m.enclosingClass = enclosingClass !== 0 ? enclosingClass : null;
-            let declaringClass = innerClassInfo[1];
-            m.declaringClass = declaringClass !== 0 ? declaringClass : null;
-            let simpleName = innerClassInfo[2];
-            m.simpleName = simpleName !== 0 ? simpleName : null;
-        }
+        $rt_innerClassInfo(m, data[i++]);
 
         let clinit = data[i++];
         cls.$clinit = clinit !== 0 ? clinit : function() {};
 
-        let virtualMethods = data[i++];
-        if (virtualMethods !== 0) {
-            for (let j = 0; j < virtualMethods.length; j += 2) {
-                let name = virtualMethods[j];
-                let func = virtualMethods[j + 1];
-                if (typeof name === 'string') {
-                    name = [name];
-                }
-                for (let k = 0; k < name.length; ++k) {
-                    cls.prototype[name[k]] = func;
-                }
+        $rt_virtualMethods(cls, data[i++]);
+
+        cls.$array = null;
+    }
+}
+let $rt_innerClassInfo = (m, innerClassInfo) => {
+    if (innerClassInfo === 0) {
+        m.simpleName = null;
+        m.declaringClass = null;
+        m.enclosingClass = null;
+    } else {
+        let enclosingClass = innerClassInfo[0];
+        m.enclosingClass = enclosingClass !== 0 ? enclosingClass : null;
+        let declaringClass = innerClassInfo[1];
+        m.declaringClass = declaringClass !== 0 ? declaringClass : null;
+        let simpleName = innerClassInfo[2];
+        m.simpleName = simpleName !== 0 ? simpleName : null;
+    }
+}
+let $rt_virtualMethods = (cls, virtualMethods) => {
+    if (virtualMethods !== 0) {
+        for (let j = 0; j < virtualMethods.length; j += 2) {
+            let name = virtualMethods[j];
+            let func = virtualMethods[j + 1];
+            if (typeof name === 'string') {
+                name = [name];
+            }
+            for (let k = 0; k < name.length; ++k) {
+                cls.prototype[name[k]] = func;
             }
         }
+    }
+}
 
+let $rt_noClinit = () => {};
+let $rt_lazyMetaProperty = {
+    configurable: true,
+    get() {
+        return $rt_lazyInit(this);
+    }
+}
+let $rt_lazyMetadata = data => {
+    let i = 0;
+    while (i < data.length) {
+        let cls = data[i++];
+        let superclass = data[i++];
+        cls.prototype = superclass !== 0 ? teavm_globals.Object.create(superclass.prototype) : {};
+        cls.prototype.constructor = cls;
+        let clinit = data[i++];
+        cls.$clinit = clinit !== 0 ? clinit : $rt_noClinit;
+        cls.classObject = null;
         cls.$array = null;
+        $rt_virtualMethods(cls, data[i++]);
+        cls.$lazy = data[i++];
+        teavm_globals.Object.defineProperty(cls, "$meta", $rt_lazyMetaProperty);
+    }
+}
+let $rt_lazyInit = cls => {
+    let data = cls.$lazy;
+    if (data == null) {
+        return cls.$meta;
     }
+    cls.$lazy = null;
+    data = data();
+    let m = {};
+    teavm_globals.Object.defineProperty(cls, "$meta", { configurable: true, writable: true, value: m });
+
+    let i = 0;
+    let className = data[i++];
+    m.name = className !== 0 ? className : null;
+    if (m.name !== null) {
+        let packageIndex = data[i++];
+        if (packageIndex >= 0) {
+            m.name = $rt_packageData[packageIndex] + m.name;
+        }
+    }
+    m.binaryName = "L" + m.name + ";";
+    let superPrototype = teavm_globals.Object.getPrototypeOf(cls.prototype);
+    m.superclass = superPrototype !== teavm_globals.Object.prototype ? superPrototype.constructor : null;
+    m.supertypes = data[i++];
+    if (m.superclass) {
+        m.supertypes.push(m.superclass);
+    }
+    let flags = data[i++];
+    m.enum = (flags & 8) !== 0;
+    m.flags = flags;
+    m.primitive = false;
+    m.item = null;
+    m.accessLevel = data[i++];
+    $rt_innerClassInfo(m, data[i++]);
+    return m;
+}
+let $rt_lazyMembers = (cls, name, members) => {
+    teavm_globals.Object.defineProperty(cls.$meta, name, {
+        configurable: true,
+        get() {
+            let value = members();
+            teavm_globals.Object.defineProperty(this, name, { configurable: true, writable: true, value: value });
+            return value;
+        }
+    });
 }
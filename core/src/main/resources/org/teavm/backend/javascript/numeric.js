@@ -20,16 +20,7 @@ let $rt_numberConversionView = new teavm_globals.DataView($rt_numberConversionBu
 let $rt_numberConversionFloatArray = new teavm_globals.Float32Array($rt_numberConversionBuffer);
 let $rt_numberConversionDoubleArray = new teavm_globals.Float64Array($rt_numberConversionBuffer);
 let $rt_numberConversionIntArray = new teavm_globals.Int32Array($rt_numberConversionBuffer);
-let $rt_numberConversionLongArray = new teavm_globals.BigInt64Array($rt_numberConversionBuffer);
 
-let $rt_doubleToRawLongBits = n => {
-    $rt_numberConversionDoubleArray[0] = n;
-    return $rt_numberConversionLongArray[0];
-}
-let $rt_longBitsToDouble = n => {
-    $rt_numberConversionLongArray[0] = n;
-    return $rt_numberConversionDoubleArray[0];
-}
 let $rt_floatToRawIntBits = n => {
     $rt_numberConversionFloatArray[0] = n;
     return $rt_numberConversionIntArray[0];
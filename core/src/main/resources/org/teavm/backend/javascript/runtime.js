@@ -49,7 +49,7 @@ let $rt_wrapFunctionVararg = f => function() {
 let $rt_threadStarter = f => function() {
     let args = teavm_globals.Array.prototype.slice.apply(arguments);
     $rt_startThread(function() {
-        f.apply(this, args);
+        return f.apply(this, args);
     });
 }
 let $rt_mainStarter = f => (args, callback) => {
@@ -60,7 +60,7 @@ let $rt_mainStarter = f => (args, callback) => {
     for (let i = 0; i < args.length; ++i) {
         javaArgs.data[i] = $rt_str(args[i]);
     }
-    $rt_startThread(() => { f.call(null, javaArgs); }, callback);
+    $rt_startThread(() => f.call(null, javaArgs), callback);
 }
 
 let $rt_eraseClinit = target => target.$clinit = () => {};
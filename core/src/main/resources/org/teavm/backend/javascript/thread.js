@@ -22,6 +22,7 @@ function TeaVMThread(runner) {
     this.runner = runner;
     this.attribute = null;
     this.completeCallback = null;
+    this.coroutine = null;
 }
 TeaVMThread.prototype.push = function() {
     for (let i = 0; i < arguments.length; ++i) {
@@ -70,8 +71,21 @@ TeaVMThread.prototype.run = function() {
     $rt_currentNativeThread = this;
     let result;
     try {
-        result = this.runner();
+        if (this.coroutine === null) {
+            result = this.runner();
+            if ($rt_isCoroutine(result)) {
+                this.coroutine = result;
+            }
+        }
+        if (this.coroutine !== null) {
+            let step = this.coroutine.next();
+            if (step.done) {
+                this.coroutine = null;
+                result = step.value;
+            }
+        }
     } catch (e) {
+        this.coroutine = null;
         result = e;
     } finally {
         $rt_currentNativeThread = null;
@@ -107,6 +121,18 @@ let $rt_requireNativeThread = () => {
     }
     return nativeThread;
 }
+let $rt_isCoroutine = value => typeof value === "object" && value !== null
+    && value[teavm_globals.Symbol.toStringTag] === "Generator";
+let $rt_coroutineResult = { done: true, value: null };
+let $rt_coroutineValue = { next: () => $rt_coroutineResult };
+$rt_coroutineValue[teavm_globals.Symbol.iterator] = () => $rt_coroutineValue;
+let $rt_co = value => {
+    if ($rt_isCoroutine(value)) {
+        return value;
+    }
+    $rt_coroutineResult.value = value;
+    return $rt_coroutineValue;
+}
 let $rt_startThread = (runner, callback) => new TeaVMThread(runner).start(callback);
 let $rt_currentNativeThread = null;
 let $rt_nativeThread = () => $rt_currentNativeThread;
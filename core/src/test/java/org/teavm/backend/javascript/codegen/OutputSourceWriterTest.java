@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript.codegen;
+
+import static org.junit.Assert.assertEquals;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+import org.teavm.model.MethodDescriptor;
+import org.teavm.model.MethodReference;
+import org.teavm.model.ValueType;
+
+public class OutputSourceWriterTest {
+    private static final MethodDescriptor FOO = new MethodDescriptor("foo", ValueType.VOID);
+    private static final MethodDescriptor BAR = new MethodDescriptor("bar", ValueType.VOID);
+
+    @Test
+    public void offsetCountsUtf8Bytes() {
+        var sb = new StringBuilder();
+        var writer = createWriter(sb);
+        writer.append("a\u00e9\u4e2d\uD83D\uDE00").append('\u00e9').newLine();
+        writer.append("x");
+
+        assertEquals(sb.toString().getBytes(StandardCharsets.UTF_8).length, writer.getOffset());
+        assertEquals(14, writer.getOffset());
+    }
+
+    @Test
+    public void methodSizesKnownWithoutDebugInformation() {
+        var remembering = new RememberingSourceWriter(false);
+        remembering.markClassStart("test.A");
+        remembering.append("/*");
+        remembering.markMethodStart(FOO);
+        remembering.append("\u00e9\u00e9");
+        remembering.markMethodEnd();
+        remembering.markMethodStart(BAR);
+        remembering.append("bar");
+        remembering.markMethodEnd();
+        remembering.append("*/");
+        remembering.markClassEnd();
+
+        var sb = new StringBuilder();
+        var writer = createWriter(sb);
+        remembering.save().replay(writer, RememberedSource.FILTER_ALL);
+
+        assertEquals("/*\u00e9\u00e9bar*/", sb.toString());
+        assertEquals(4, writer.getMethodSize(new MethodReference("test.A", FOO)));
+        assertEquals(3, writer.getMethodSize(new MethodReference("test.A", BAR)));
+        assertEquals(11, writer.getClassSize("test.A"));
+    }
+
+    @Test
+    public void inlinedMethodDoesNotSplitMethodSize() {
+        var sb = new StringBuilder();
+        var writer = createWriter(sb);
+        writer.markClassStart("test.A");
+        writer.emitMethod(FOO);
+        writer.markMethodStart(FOO);
+        writer.append("a;");
+        writer.enterLocation();
+        writer.emitMethod(BAR);
+        writer.append("b;");
+        writer.exitLocation();
+        writer.append("c;");
+        writer.markMethodEnd();
+        writer.emitMethod(null);
+        writer.markClassEnd();
+
+        assertEquals(6, writer.getMethodSize(new MethodReference("test.A", FOO)));
+        assertEquals(0, writer.getMethodSize(new MethodReference("test.A", BAR)));
+    }
+
+    private static OutputSourceWriter createWriter(StringBuilder sb) {
+        return new OutputSourceWriterBuilder(null).build(sb);
+    }
+}
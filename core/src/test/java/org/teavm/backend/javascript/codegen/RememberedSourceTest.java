@@ -0,0 +1,174 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript.codegen;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.Test;
+import org.teavm.model.FieldReference;
+import org.teavm.model.MethodDescriptor;
+import org.teavm.model.MethodReference;
+import org.teavm.model.ValueType;
+
+public class RememberedSourceTest {
+    private static final MethodDescriptor FOO = new MethodDescriptor("foo", ValueType.INTEGER, ValueType.VOID);
+    private static final MethodDescriptor BAR = new MethodDescriptor("bar", ValueType.object("java.lang.String"));
+
+    @Test
+    public void roundTripPreservesAllCommands() throws IOException {
+        var source = createSource("test.A");
+        var copy = roundTrip(source);
+
+        var expected = record(sink -> source.replay(sink, RememberedSource.FILTER_ALL));
+        assertEquals(expected, record(sink -> copy.replay(sink, RememberedSource.FILTER_ALL)));
+        assertTrue(expected.contains("appendStringIndex [0]"));
+        assertTrue(expected.contains("emitLocation [A.java, 12]"));
+        assertTrue(expected.contains("emitLocation [null, -1]"));
+        assertEquals(source.estimateSize(), copy.estimateSize());
+    }
+
+    @Test
+    public void roundTripPreservesFilteredReplay() throws IOException {
+        var source = createSource("test.A");
+        var copy = roundTrip(source);
+
+        for (var filter : new int[] { RememberedSource.FILTER_TEXT, RememberedSource.FILTER_REF,
+                RememberedSource.FILTER_DEBUG, RememberedSource.FILTER_STATS }) {
+            assertEquals(record(sink -> source.replay(sink, filter)), record(sink -> copy.replay(sink, filter)));
+        }
+    }
+
+    @Test
+    public void roundTripOfPlainText() throws IOException {
+        var writer = new RememberingSourceWriter(false);
+        writer.append("x".repeat(300)).newLine();
+        var source = writer.save();
+
+        var copy = roundTrip(source);
+
+        assertEquals(record(sink -> source.replay(sink, RememberedSource.FILTER_ALL)),
+                record(sink -> copy.replay(sink, RememberedSource.FILTER_ALL)));
+    }
+
+    @Test
+    public void readsConsecutiveSources() throws IOException {
+        var first = createSource("test.A");
+        var second = createSource("test.B");
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new DataOutputStream(bytes)) {
+            first.writeTo(output);
+            second.writeTo(output);
+        }
+
+        var input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        var firstCopy = RememberedSource.readFrom(input);
+        var secondCopy = RememberedSource.readFrom(input);
+
+        assertEquals(-1, input.read());
+        assertEquals(record(sink -> first.replay(sink, RememberedSource.FILTER_ALL)),
+                record(sink -> firstCopy.replay(sink, RememberedSource.FILTER_ALL)));
+        assertEquals(record(sink -> second.replay(sink, RememberedSource.FILTER_ALL)),
+                record(sink -> secondCopy.replay(sink, RememberedSource.FILTER_ALL)));
+    }
+
+    @Test
+    public void spilledSpoolReplaysSameAsInMemorySpool() {
+        var expected = replaySpool(Long.MAX_VALUE);
+
+        assertEquals(expected, replaySpool(0));
+        assertEquals(expected, replaySpool(createSource("test.A").estimateSize() * 2L));
+    }
+
+    private static List<String> replaySpool(long memoryLimit) {
+        try (var spool = new SourceSpool(memoryLimit)) {
+            for (var i = 0; i < 5; ++i) {
+                spool.add(createSource("test.C" + i));
+            }
+            var events = record(sink -> spool.replay(sink, RememberedSource.FILTER_ALL));
+            assertEquals(events, record(sink -> spool.replay(sink, RememberedSource.FILTER_ALL)));
+            return events;
+        }
+    }
+
+    private static RememberedSource roundTrip(RememberedSource source) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new DataOutputStream(bytes)) {
+            source.writeTo(output);
+        }
+        return RememberedSource.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    private static RememberedSource createSource(String className) {
+        var writer = new RememberingSourceWriter(true);
+        writer.useLocalStrings();
+        writer.markSectionStart(3);
+        writer.markClassStart(className);
+        writer.emitClass(className);
+        writer.startFunctionDeclaration().appendClass(className).append("()").ws().append("{").indent()
+                .softNewLine();
+        writer.appendField(new FieldReference(className, "x")).ws().append("=").ws()
+                .appendStringConstant("caf\u00e9 \uD83D\uDE00", s -> -1).append(";").softNewLine();
+        writer.outdent().append("}").endDeclaration();
+
+        writer.markMethodStart(FOO);
+        writer.emitMethod(FOO);
+        writer.emitLocation("A.java", 12);
+        writer.emitStatementStart();
+        writer.emitVariables(new String[] { "a", "b" }, "$a");
+        writer.startVariableDeclaration().appendStaticField(new FieldReference(className, "y")).ws().append("=")
+                .ws().appendMethod(new MethodReference("test.Other", FOO)).append("(1)").endDeclaration();
+        writer.enterLocation();
+        writer.appendVirtualMethod(BAR).appendFunction("$rt_nullCheck").appendGlobal("Math").tokenBoundary();
+        writer.exitLocation();
+        writer.appendInit(new MethodReference(className, "<init>", ValueType.VOID)).appendClassInit(className)
+                .sameLineWs().appendStringIndex(5);
+        writer.emitLocation(null, -1);
+        writer.declareVariable().append("z".repeat(200)).newLine();
+        writer.emitMethod(null);
+        writer.markMethodEnd();
+
+        writer.emitClass(null);
+        writer.markClassEnd();
+        writer.markSectionEnd();
+        return writer.save();
+    }
+
+    private static List<String> record(Consumer<SourceWriterSink> replay) {
+        var events = new ArrayList<String>();
+        var sink = (SourceWriterSink) Proxy.newProxyInstance(SourceWriterSink.class.getClassLoader(),
+                new Class<?>[] { SourceWriterSink.class }, (proxy, method, args) -> {
+                    if (method.getName().equals("append")) {
+                        var text = (CharSequence) args[0];
+                        events.add("append " + text.subSequence((Integer) args[1], (Integer) args[2]));
+                    } else {
+                        events.add(method.getName() + (args != null ? " " + Arrays.deepToString(args) : ""));
+                    }
+                    return method.getReturnType() == SourceWriterSink.class ? proxy : null;
+                });
+        replay.accept(sink);
+        return events;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.javascript.report;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import org.junit.Test;
+
+public class BundleSizeReportTest {
+    @Test
+    public void readsWrittenReport() throws IOException {
+        var report = createReport();
+        var copy = BundleSizeReport.readJson(new StringReader(writeJson(report, null)));
+
+        assertEquals(1000, copy.getTotalSize());
+        assertEquals(100, copy.getMetadataSize());
+        assertEquals(50, copy.getStringPoolSize());
+        assertEquals(2, copy.getClasses().size());
+        var cls = copy.getClassEntry("foo.A");
+        assertEquals(300, cls.getSize());
+        assertEquals(Integer.valueOf(200), cls.getMethods().get("run()V"));
+        assertEquals(Integer.valueOf(100), cls.getMethods().get("<init>()V"));
+        assertEquals(Arrays.asList("foo.Main.main([Ljava/lang/String;)V", "foo.A.run()V"), cls.getReason());
+        assertEquals(Integer.valueOf(300), copy.getPackageSizes().get("foo"));
+        assertEquals(Integer.valueOf(400), copy.getPackageSizes().get("bar"));
+    }
+
+    @Test
+    public void reportsChangesRelativeToBaseline() throws IOException {
+        var baseline = createReport();
+        var report = new BundleSizeReport();
+        report.setTotalSize(900);
+        var cls = report.addClass("foo.A");
+        cls.addSize(350);
+        cls.addMethodSize("run()V", 250);
+        report.addClass("foo.C").addSize(10);
+
+        var json = writeJson(report, baseline);
+        assertTrue(json.contains("\"totalDelta\": -100"));
+        assertTrue(json.contains("{\"name\": \"foo\", \"size\": 360, \"delta\": 60}"));
+        assertTrue(json.contains("{\"name\": \"foo.C\", \"size\": 10, \"delta\": 10"));
+        assertTrue(json.contains("{\"name\": \"run()V\", \"size\": 250, \"delta\": 50}"));
+        assertTrue(json.contains("\"removedClasses\": [\n    {\"name\": \"bar.B\", \"size\": 400}\n  ]"));
+
+        var copy = BundleSizeReport.readJson(new StringReader(json));
+        assertEquals(900, copy.getTotalSize());
+        assertNull(copy.getClassEntry("bar.B"));
+    }
+
+    @Test
+    public void escapesHtml() throws IOException {
+        var report = new BundleSizeReport();
+        report.setTotalSize(10);
+        var cls = report.addClass("foo.A");
+        cls.addSize(10);
+        cls.addMethodSize("<init>()V", 10);
+
+        var writer = new StringWriter();
+        report.writeHtml(writer, null);
+        var html = writer.toString();
+        assertTrue(html.contains("&lt;init&gt;()V"));
+        assertFalse(html.contains("<init>"));
+        assertFalse(html.contains("Change"));
+    }
+
+    private static BundleSizeReport createReport() {
+        var report = new BundleSizeReport();
+        report.setTotalSize(1000);
+        report.setMetadataSize(100);
+        report.setStringPoolSize(50);
+        var cls = report.addClass("foo.A");
+        cls.addSize(300);
+        cls.addMethodSize("run()V", 200);
+        cls.addMethodSize("<init>()V", 100);
+        cls.getReason().add("foo.Main.main([Ljava/lang/String;)V");
+        cls.getReason().add("foo.A.run()V");
+        report.addClass("bar.B").addSize(400);
+        return report;
+    }
+
+    private static String writeJson(BundleSizeReport report, BundleSizeReport baseline) throws IOException {
+        var writer = new StringWriter();
+        report.writeJson(writer, baseline);
+        return writer.toString();
+    }
+}
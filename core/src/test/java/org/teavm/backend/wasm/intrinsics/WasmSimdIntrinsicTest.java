@@ -0,0 +1,199 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.intrinsics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.ast.ConstantExpr;
+import org.teavm.ast.Expr;
+import org.teavm.ast.InvocationExpr;
+import org.teavm.backend.wasm.WasmFunctionTypes;
+import org.teavm.backend.wasm.disasm.Disassembler;
+import org.teavm.backend.wasm.disasm.DisassemblyTextWriter;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmModule;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmDefaultExpressionVisitor;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmInt64Constant;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinary;
+import org.teavm.backend.wasm.model.expression.WasmVectorLoad;
+import org.teavm.backend.wasm.model.expression.WasmVectorSplat;
+import org.teavm.backend.wasm.model.expression.WasmVectorStore;
+import org.teavm.backend.wasm.model.expression.WasmVectorTest;
+import org.teavm.backend.wasm.render.WasmBinaryRenderer;
+import org.teavm.backend.wasm.render.WasmBinaryStatsCollector;
+import org.teavm.backend.wasm.render.WasmBinaryVersion;
+import org.teavm.backend.wasm.render.WasmBinaryWriter;
+import org.teavm.backend.wasm.runtime.WasmSimd;
+import org.teavm.model.MethodReference;
+
+public class WasmSimdIntrinsicTest {
+    @Test
+    public void generatesVectorLoops() {
+        var module = new WasmModule();
+        var functions = generateAll(module, true);
+        for (var function : functions) {
+            assertTrue(function.getName(), countVectorInstructions(function) > 0);
+        }
+        var text = disassemble(module);
+        assertFalse(text, text.contains("error"));
+        assertTrue(text.contains("v128.load"));
+        assertTrue(text.contains("v128.store"));
+    }
+
+    @Test
+    public void generatesScalarLoopsOnly() {
+        var module = new WasmModule();
+        for (var function : generateAll(module, false)) {
+            assertEquals(function.getName(), 0, countVectorInstructions(function));
+            assertTrue(function.getName(), function.getLocalVariables().stream()
+                    .noneMatch(local -> local.getType() == WasmType.V128));
+        }
+        var text = disassemble(module);
+        assertFalse(text, text.contains("error"));
+        assertFalse(text.contains("v128"));
+    }
+
+    @Test
+    public void reusesHelperFunction() {
+        var module = new WasmModule();
+        var intrinsic = new WasmSimdIntrinsic(module, new WasmFunctionTypes(module), true);
+        var method = simdMethods().get(0);
+        var first = (WasmCall) intrinsic.apply(invocation(method), manager());
+        var second = (WasmCall) intrinsic.apply(invocation(method), manager());
+        assertSame(first.getFunction(), second.getFunction());
+        assertEquals(1, module.functions.size());
+    }
+
+    private static List<WasmFunction> generateAll(WasmModule module, boolean vectorized) {
+        var intrinsic = new WasmSimdIntrinsic(module, new WasmFunctionTypes(module), vectorized);
+        var result = new ArrayList<WasmFunction>();
+        for (var method : simdMethods()) {
+            var reference = reference(method);
+            assertTrue(reference.toString(), intrinsic.isApplicable(reference));
+            var call = (WasmCall) intrinsic.apply(invocation(method), manager());
+            assertEquals(method.getParameterCount(), call.getArguments().size());
+            assertEquals(method.getParameterCount(), call.getFunction().getType().getParameterTypes().size());
+            result.add(call.getFunction());
+        }
+        return result;
+    }
+
+    private static List<Method> simdMethods() {
+        var result = new ArrayList<Method>();
+        for (var method : WasmSimd.class.getDeclaredMethods()) {
+            if (Modifier.isPublic(method.getModifiers()) && Modifier.isNative(method.getModifiers())) {
+                result.add(method);
+            }
+        }
+        result.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return result;
+    }
+
+    private static MethodReference reference(Method method) {
+        var signature = new Class<?>[method.getParameterCount() + 1];
+        System.arraycopy(method.getParameterTypes(), 0, signature, 0, method.getParameterCount());
+        signature[method.getParameterCount()] = method.getReturnType();
+        return new MethodReference(WasmSimd.class, method.getName(), signature);
+    }
+
+    private static InvocationExpr invocation(Method method) {
+        var invocation = new InvocationExpr();
+        invocation.setMethod(reference(method));
+        for (var type : method.getParameterTypes()) {
+            var argument = new ConstantExpr();
+            argument.setValue(type == long.class ? (Object) 0L : (Object) 0);
+            invocation.getArguments().add(argument);
+        }
+        return invocation;
+    }
+
+    private static WasmIntrinsicManager manager() {
+        return (WasmIntrinsicManager) Proxy.newProxyInstance(WasmSimdIntrinsicTest.class.getClassLoader(),
+                new Class<?>[] { WasmIntrinsicManager.class }, (proxy, method, args) -> {
+                    if (!method.getName().equals("generate")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    var value = ((ConstantExpr) (Expr) args[0]).getValue();
+                    return value instanceof Long
+                            ? new WasmInt64Constant((Long) value)
+                            : new WasmInt32Constant((Integer) value);
+                });
+    }
+
+    private static int countVectorInstructions(WasmFunction function) {
+        var count = new int[1];
+        var visitor = new WasmDefaultExpressionVisitor() {
+            @Override
+            public void visit(WasmVectorLoad expression) {
+                super.visit(expression);
+                count[0]++;
+            }
+
+            @Override
+            public void visit(WasmVectorStore expression) {
+                super.visit(expression);
+                count[0]++;
+            }
+
+            @Override
+            public void visit(WasmVectorSplat expression) {
+                super.visit(expression);
+                count[0]++;
+            }
+
+            @Override
+            public void visit(WasmVectorBinary expression) {
+                super.visit(expression);
+                count[0]++;
+            }
+
+            @Override
+            public void visit(WasmVectorTest expression) {
+                super.visit(expression);
+                count[0]++;
+            }
+        };
+        for (var part : function.getBody()) {
+            part.acceptVisitor(visitor);
+        }
+        return count[0];
+    }
+
+    private static String disassemble(WasmModule module) {
+        var output = new WasmBinaryWriter();
+        module.prepareForRendering();
+        new WasmBinaryRenderer(output, WasmBinaryVersion.V_0x1, false, null, null, null, null,
+                WasmBinaryStatsCollector.EMPTY).render(module);
+        var text = new StringWriter();
+        var writer = new PrintWriter(text);
+        new Disassembler(new DisassemblyTextWriter(writer)).disassemble(output.getData());
+        writer.flush();
+        return text.toString();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.model.expression;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.wasm.model.WasmArray;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmGlobal;
+import org.teavm.backend.wasm.model.WasmLocal;
+import org.teavm.backend.wasm.model.WasmType;
+
+public class WasmReplacingExpressionVisitorTest {
+    @Test
+    public void mapsSetLocalValue() {
+        var local = new WasmLocal(WasmType.INT32);
+        var assignment = new WasmSetLocal(local, new WasmInt32Constant(1));
+
+        replaceConstants(assignment);
+
+        assertEquals(2, ((WasmInt32Constant) assignment.getValue()).getValue());
+    }
+
+    @Test
+    public void mapsSetGlobalValue() {
+        var global = new WasmGlobal("g", WasmType.INT32, new WasmInt32Constant(0));
+        var assignment = new WasmSetGlobal(global, new WasmInt32Constant(1));
+
+        replaceConstants(assignment);
+
+        assertEquals(2, ((WasmInt32Constant) assignment.getValue()).getValue());
+    }
+
+    @Test
+    public void mapsArraySetOperandsSeparately() {
+        var array = new WasmArray("a", WasmType.INT32.asStorage());
+        var instance = new WasmGetLocal(new WasmLocal(array.getReference()));
+        var assignment = new WasmArraySet(array, instance, new WasmInt32Constant(10), new WasmInt32Constant(20));
+
+        replaceConstants(assignment);
+
+        assertSame(instance, assignment.getInstance());
+        assertEquals(11, ((WasmInt32Constant) assignment.getIndex()).getValue());
+        assertEquals(21, ((WasmInt32Constant) assignment.getValue()).getValue());
+    }
+
+    @Test
+    public void mapsNestedValue() {
+        var local = new WasmLocal(WasmType.INT32);
+        var sum = new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.ADD, new WasmInt32Constant(1),
+                new WasmInt32Constant(2));
+        var assignment = new WasmSetLocal(local, sum);
+
+        replaceConstants(assignment);
+
+        assertSame(sum, assignment.getValue());
+        assertEquals(2, ((WasmInt32Constant) sum.getFirst()).getValue());
+        assertEquals(3, ((WasmInt32Constant) sum.getSecond()).getValue());
+    }
+
+    private static void replaceConstants(WasmExpression expression) {
+        var function = new WasmFunction(new WasmFunctionType(null, null, List.of()));
+        function.getBody().add(expression);
+        new WasmReplacingExpressionVisitor(e -> e instanceof WasmInt32Constant
+                ? new WasmInt32Constant(((WasmInt32Constant) e).getValue() + 1)
+                : e).replace(function);
+    }
+}
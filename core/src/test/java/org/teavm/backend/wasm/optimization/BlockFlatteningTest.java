@@ -0,0 +1,147 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmBlock;
+import org.teavm.backend.wasm.model.expression.WasmBranch;
+import org.teavm.backend.wasm.model.expression.WasmBreak;
+import org.teavm.backend.wasm.model.expression.WasmConditional;
+import org.teavm.backend.wasm.model.expression.WasmDrop;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmSwitch;
+
+public class BlockFlatteningTest {
+    @Test
+    public void flattensPlainBlock() {
+        var first = drop(1);
+        var second = drop(2);
+        var block = block(first, second);
+        var function = createFunction(drop(0), block, drop(3));
+
+        new BlockFlattening().apply(function);
+
+        assertEquals(4, function.getBody().size());
+        assertSame(first, function.getBody().get(1));
+        assertSame(second, function.getBody().get(2));
+    }
+
+    @Test
+    public void keepsBreakTarget() {
+        var block = block(drop(1));
+        block.getBody().add(new WasmBreak(block));
+        var function = createFunction(block);
+
+        new BlockFlattening().apply(function);
+
+        assertEquals(List.of(block), function.getBody());
+    }
+
+    @Test
+    public void keepsBranchTarget() {
+        var block = block(drop(1));
+        block.getBody().add(new WasmBranch(new WasmInt32Constant(1), block));
+        var function = createFunction(block);
+
+        new BlockFlattening().apply(function);
+
+        assertEquals(List.of(block), function.getBody());
+    }
+
+    @Test
+    public void keepsSwitchTargets() {
+        var defaultTarget = block();
+        var target = block();
+        var switchInsn = new WasmSwitch(new WasmInt32Constant(0), defaultTarget);
+        switchInsn.getTargets().add(target);
+        target.getBody().add(switchInsn);
+        defaultTarget.getBody().add(target);
+        var function = createFunction(defaultTarget);
+
+        new BlockFlattening().apply(function);
+
+        assertEquals(List.of(defaultTarget), function.getBody());
+        assertEquals(List.of(target), defaultTarget.getBody());
+    }
+
+    @Test
+    public void flattensInnerBlockOfTarget() {
+        // Breaking out of the outer block must still work after the inner block is removed
+        var outer = block();
+        var breakInsn = new WasmBreak(outer);
+        var inner = block(breakInsn);
+        outer.getBody().add(inner);
+        outer.getBody().add(drop(1));
+        var function = createFunction(outer);
+
+        new BlockFlattening().apply(function);
+
+        assertEquals(List.of(outer), function.getBody());
+        assertEquals(2, outer.getBody().size());
+        assertSame(breakInsn, outer.getBody().get(0));
+        assertSame(outer, breakInsn.getTarget());
+    }
+
+    @Test
+    public void flattensBlockInConditional() {
+        var part = drop(1);
+        var conditional = new WasmConditional(new WasmInt32Constant(1));
+        conditional.getThenBlock().getBody().add(block(part));
+        var function = createFunction(conditional);
+
+        new BlockFlattening().apply(function);
+
+        assertEquals(List.of(part), conditional.getThenBlock().getBody());
+    }
+
+    @Test
+    public void keepsLoopsAndTypedBlocks() {
+        var loop = new WasmBlock(true);
+        loop.getBody().add(drop(1));
+        var typed = block(new WasmInt32Constant(2));
+        typed.setType(WasmType.INT32.asBlock());
+        var drop = new WasmDrop(typed);
+        var function = createFunction(loop, drop);
+
+        new BlockFlattening().apply(function);
+
+        assertEquals(List.of(loop, drop), function.getBody());
+        assertSame(typed, drop.getOperand());
+    }
+
+    private static WasmBlock block(WasmExpression... body) {
+        var block = new WasmBlock(false);
+        block.getBody().addAll(List.of(body));
+        return block;
+    }
+
+    private static WasmDrop drop(int value) {
+        return new WasmDrop(new WasmInt32Constant(value));
+    }
+
+    private static WasmFunction createFunction(WasmExpression... body) {
+        var function = new WasmFunction(new WasmFunctionType(null, null, List.of()));
+        function.getBody().addAll(List.of(body));
+        return function;
+    }
+}
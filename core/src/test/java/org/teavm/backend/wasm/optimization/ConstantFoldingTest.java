@@ -0,0 +1,142 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.expression.WasmBlock;
+import org.teavm.backend.wasm.model.expression.WasmBranch;
+import org.teavm.backend.wasm.model.expression.WasmBreak;
+import org.teavm.backend.wasm.model.expression.WasmConditional;
+import org.teavm.backend.wasm.model.expression.WasmDrop;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmInt64Constant;
+import org.teavm.backend.wasm.model.expression.WasmIntBinary;
+import org.teavm.backend.wasm.model.expression.WasmIntBinaryOperation;
+import org.teavm.backend.wasm.model.expression.WasmIntType;
+
+public class ConstantFoldingTest {
+    private static final WasmIntBinaryOperation[] DIVISIONS = {
+            WasmIntBinaryOperation.DIV_SIGNED,
+            WasmIntBinaryOperation.DIV_UNSIGNED,
+            WasmIntBinaryOperation.REM_SIGNED,
+            WasmIntBinaryOperation.REM_UNSIGNED
+    };
+
+    @Test
+    public void foldsArithmetic() {
+        assertEquals(5, foldInt32(WasmIntBinaryOperation.ADD, 2, 3));
+        assertEquals(-2, foldInt32(WasmIntBinaryOperation.DIV_SIGNED, -7, 3));
+        assertEquals(1, foldInt32(WasmIntBinaryOperation.REM_UNSIGNED, 7, 3));
+        assertEquals(1, foldInt32(WasmIntBinaryOperation.LT_UNSIGNED, 1, -1));
+        assertEquals(0, foldInt32(WasmIntBinaryOperation.LT_SIGNED, 1, -1));
+        assertEquals(Long.MAX_VALUE / 3, foldInt64(WasmIntBinaryOperation.DIV_UNSIGNED, Long.MAX_VALUE, 3));
+    }
+
+    @Test
+    public void keepsDivisionByZero() {
+        for (var operation : DIVISIONS) {
+            assertTrue(operation.name(), fold(int32(operation, 1, 0)) instanceof WasmIntBinary);
+            assertTrue(operation.name(), fold(int64(operation, 1, 0)) instanceof WasmIntBinary);
+        }
+    }
+
+    @Test
+    public void keepsSignedDivisionOverflow() {
+        assertTrue(fold(int32(WasmIntBinaryOperation.DIV_SIGNED, Integer.MIN_VALUE, -1)) instanceof WasmIntBinary);
+        assertTrue(fold(int64(WasmIntBinaryOperation.DIV_SIGNED, Long.MIN_VALUE, -1)) instanceof WasmIntBinary);
+    }
+
+    @Test
+    public void foldsRemainderOfSignedOverflow() {
+        // Unlike division, rem_s does not trap here and gives 0
+        assertEquals(0, foldInt32(WasmIntBinaryOperation.REM_SIGNED, Integer.MIN_VALUE, -1));
+        assertEquals(0, foldInt64(WasmIntBinaryOperation.REM_SIGNED, Long.MIN_VALUE, -1));
+        assertEquals(Integer.MIN_VALUE, foldInt32(WasmIntBinaryOperation.DIV_UNSIGNED, Integer.MIN_VALUE, 1));
+    }
+
+    @Test
+    public void foldsNestedExpressions() {
+        var expression = new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.MUL,
+                int32(WasmIntBinaryOperation.ADD, 2, 3), new WasmInt32Constant(4));
+        assertEquals(20, ((WasmInt32Constant) fold(expression)).getValue());
+    }
+
+    @Test
+    public void foldsConditionWithConstant() {
+        var conditional = new WasmConditional(new WasmInt32Constant(0));
+        var thenPart = new WasmDrop(new WasmInt32Constant(1));
+        var elsePart = new WasmDrop(new WasmInt32Constant(2));
+        conditional.getThenBlock().getBody().add(thenPart);
+        conditional.getElseBlock().getBody().add(elsePart);
+
+        var function = createFunction(conditional);
+        new ConstantFolding().apply(function);
+
+        var block = (WasmBlock) function.getBody().get(0);
+        assertSame(conditional.getElseBlock(), block);
+        assertEquals(List.of(elsePart), block.getBody());
+    }
+
+    @Test
+    public void foldsBranchWithConstant() {
+        var target = new WasmBlock(false);
+        var taken = new WasmBranch(new WasmInt32Constant(1), target);
+        var notTaken = new WasmBranch(new WasmInt32Constant(0), target);
+        target.getBody().add(taken);
+        target.getBody().add(notTaken);
+
+        new ConstantFolding().apply(createFunction(target));
+
+        assertTrue(target.getBody().get(0) instanceof WasmBreak);
+        assertSame(target, ((WasmBreak) target.getBody().get(0)).getTarget());
+        assertSame(notTaken, target.getBody().get(1));
+    }
+
+    private static int foldInt32(WasmIntBinaryOperation operation, int a, int b) {
+        return ((WasmInt32Constant) fold(int32(operation, a, b))).getValue();
+    }
+
+    private static long foldInt64(WasmIntBinaryOperation operation, long a, long b) {
+        return ((WasmInt64Constant) fold(int64(operation, a, b))).getValue();
+    }
+
+    private static WasmIntBinary int32(WasmIntBinaryOperation operation, int a, int b) {
+        return new WasmIntBinary(WasmIntType.INT32, operation, new WasmInt32Constant(a), new WasmInt32Constant(b));
+    }
+
+    private static WasmIntBinary int64(WasmIntBinaryOperation operation, long a, long b) {
+        return new WasmIntBinary(WasmIntType.INT64, operation, new WasmInt64Constant(a), new WasmInt64Constant(b));
+    }
+
+    private static WasmExpression fold(WasmExpression expression) {
+        var drop = new WasmDrop(expression);
+        new ConstantFolding().apply(createFunction(drop));
+        return drop.getOperand();
+    }
+
+    private static WasmFunction createFunction(WasmExpression... body) {
+        var function = new WasmFunction(new WasmFunctionType(null, null, List.of()));
+        function.getBody().addAll(List.of(body));
+        return function;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmLocal;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmBlock;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmDrop;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmGetLocal;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmIntBinary;
+import org.teavm.backend.wasm.model.expression.WasmIntBinaryOperation;
+import org.teavm.backend.wasm.model.expression.WasmIntType;
+import org.teavm.backend.wasm.model.expression.WasmSetLocal;
+
+public class LocalTeeConversionTest {
+    private WasmLocal local = new WasmLocal(WasmType.INT32);
+    private WasmFunction callee = new WasmFunction(new WasmFunctionType(null, null,
+            List.of(WasmType.INT32, WasmType.INT32)));
+
+    @Test
+    public void replacesImmediateRead() {
+        var assignment = new WasmSetLocal(local, new WasmInt32Constant(1));
+        var function = createFunction(assignment, new WasmGetLocal(local));
+
+        new LocalTeeConversion().apply(function);
+
+        assertEquals(List.of(assignment), function.getBody());
+        assertTrue(assignment.isTee());
+    }
+
+    @Test
+    public void replacesReadInFirstOperand() {
+        var assignment = new WasmSetLocal(local, new WasmInt32Constant(1));
+        var sum = new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.ADD, new WasmGetLocal(local),
+                new WasmInt32Constant(2));
+        var call = new WasmCall(callee, sum, new WasmInt32Constant(3));
+        var function = createFunction(assignment, call);
+
+        new LocalTeeConversion().apply(function);
+
+        assertEquals(List.of(call), function.getBody());
+        assertSame(assignment, sum.getFirst());
+        assertTrue(assignment.isTee());
+    }
+
+    @Test
+    public void keepsReadAfterOtherOperand() {
+        // Moving the assignment into the second argument would run it after the first one,
+        // which can observe or change the local
+        var assignment = new WasmSetLocal(local, new WasmInt32Constant(1));
+        var read = new WasmGetLocal(local);
+        var call = new WasmCall(callee, new WasmCall(callee, new WasmInt32Constant(2), new WasmInt32Constant(3)),
+                read);
+        var function = createFunction(assignment, call);
+
+        new LocalTeeConversion().apply(function);
+
+        assertEquals(List.of(assignment, call), function.getBody());
+        assertSame(read, call.getArguments().get(1));
+        assertFalse(assignment.isTee());
+    }
+
+    @Test
+    public void keepsReadOfOtherLocal() {
+        var assignment = new WasmSetLocal(local, new WasmInt32Constant(1));
+        var drop = new WasmDrop(new WasmGetLocal(new WasmLocal(WasmType.INT32)));
+        var function = createFunction(assignment, drop);
+
+        new LocalTeeConversion().apply(function);
+
+        assertEquals(List.of(assignment, drop), function.getBody());
+        assertFalse(assignment.isTee());
+    }
+
+    @Test
+    public void doesNotEnterLoop() {
+        // The loop body runs several times, while the assignment must happen only once
+        var assignment = new WasmSetLocal(local, new WasmInt32Constant(1));
+        var loop = new WasmBlock(true);
+        var read = new WasmDrop(new WasmGetLocal(local));
+        loop.getBody().add(read);
+        var function = createFunction(assignment, loop);
+
+        new LocalTeeConversion().apply(function);
+
+        assertEquals(List.of(assignment, loop), function.getBody());
+        assertEquals(List.of(read), loop.getBody());
+        assertFalse(assignment.isTee());
+    }
+
+    @Test
+    public void convertsNestedBlocks() {
+        var assignment = new WasmSetLocal(local, new WasmInt32Constant(1));
+        var drop = new WasmDrop(new WasmGetLocal(local));
+        var block = new WasmBlock(false);
+        block.getBody().add(assignment);
+        block.getBody().add(drop);
+
+        new LocalTeeConversion().apply(createFunction(block));
+
+        assertEquals(List.of(drop), block.getBody());
+        assertSame(assignment, drop.getOperand());
+    }
+
+    private static WasmFunction createFunction(WasmExpression... body) {
+        var function = new WasmFunction(new WasmFunctionType(null, null, List.of()));
+        function.getBody().addAll(List.of(body));
+        return function;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmLocal;
+import org.teavm.backend.wasm.model.WasmStructure;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmCast;
+import org.teavm.backend.wasm.model.expression.WasmDrop;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmGetLocal;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmIsNull;
+
+public class RedundantCastEliminationTest {
+    private WasmStructure base = new WasmStructure("Base");
+    private WasmStructure derived = new WasmStructure("Derived");
+
+    public RedundantCastEliminationTest() {
+        derived.setSupertype(base);
+    }
+
+    @Test
+    public void removesCastToSameType() {
+        var value = new WasmGetLocal(new WasmLocal(base.getNonNullReference()));
+        assertSame(value, optimize(new WasmCast(value, base.getNonNullReference())));
+    }
+
+    @Test
+    public void removesCastToSupertype() {
+        var value = new WasmGetLocal(new WasmLocal(derived.getReference()));
+        assertSame(value, optimize(new WasmCast(value, base.getReference())));
+    }
+
+    @Test
+    public void removesCastToNullableType() {
+        var value = new WasmGetLocal(new WasmLocal(derived.getNonNullReference()));
+        assertSame(value, optimize(new WasmCast(value, base.getReference())));
+    }
+
+    @Test
+    public void removesCastToAbstractType() {
+        var value = new WasmGetLocal(new WasmLocal(derived.getReference()));
+        assertSame(value, optimize(new WasmCast(value, WasmType.Reference.STRUCT)));
+        value = new WasmGetLocal(new WasmLocal(derived.getReference()));
+        assertSame(value, optimize(new WasmCast(value, WasmType.Reference.EQ)));
+    }
+
+    @Test
+    public void keepsCastToSubtype() {
+        var cast = new WasmCast(new WasmGetLocal(new WasmLocal(base.getReference())), derived.getReference());
+        assertSame(cast, optimize(cast));
+    }
+
+    @Test
+    public void keepsCastToNonNullType() {
+        var cast = new WasmCast(new WasmGetLocal(new WasmLocal(derived.getReference())),
+                base.getNonNullReference());
+        assertSame(cast, optimize(cast));
+    }
+
+    @Test
+    public void keepsCastToUnrelatedType() {
+        var cast = new WasmCast(new WasmGetLocal(new WasmLocal(derived.getReference())),
+                WasmType.Reference.ARRAY);
+        assertSame(cast, optimize(cast));
+    }
+
+    @Test
+    public void removesNestedCast() {
+        var value = new WasmGetLocal(new WasmLocal(derived.getReference()));
+        var inner = new WasmCast(value, base.getReference());
+        assertSame(value, optimize(new WasmCast(inner, derived.getReference())));
+    }
+
+    @Test
+    public void foldsNullCheckOfNonNullLocal() {
+        var result = optimize(new WasmIsNull(new WasmGetLocal(new WasmLocal(base.getNonNullReference()))));
+        assertEquals(0, ((WasmInt32Constant) result).getValue());
+    }
+
+    @Test
+    public void keepsNullCheckOfNullableLocal() {
+        var isNull = new WasmIsNull(new WasmGetLocal(new WasmLocal(base.getReference())));
+        assertSame(isNull, optimize(isNull));
+    }
+
+    private static WasmExpression optimize(WasmExpression expression) {
+        var function = new WasmFunction(new WasmFunctionType(null, null, List.of()));
+        var drop = new WasmDrop(expression);
+        function.getBody().add(drop);
+        new RedundantCastElimination().apply(function);
+        return drop.getOperand();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.optimization;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmLocal;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmDrop;
+import org.teavm.backend.wasm.model.expression.WasmGetLocal;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmSetLocal;
+
+public class UnusedLocalEliminationTest {
+    private WasmFunction callee = new WasmFunction(new WasmFunctionType(null, WasmType.INT32, List.of()));
+
+    @Test
+    public void renumbersRemainingLocals() {
+        var function = new WasmFunction(new WasmFunctionType(null, null, List.of(WasmType.INT32)));
+        var parameter = addLocal(function);
+        var unused1 = addLocal(function);
+        var used1 = addLocal(function);
+        var unused2 = addLocal(function);
+        var used2 = addLocal(function);
+        function.getBody().add(new WasmSetLocal(unused1, new WasmInt32Constant(1)));
+        function.getBody().add(new WasmSetLocal(unused2, new WasmInt32Constant(2)));
+        function.getBody().add(new WasmDrop(new WasmGetLocal(used1)));
+        function.getBody().add(new WasmDrop(new WasmGetLocal(used2)));
+
+        new UnusedLocalElimination().apply(function);
+
+        assertEquals(List.of(parameter, used1, used2), function.getLocalVariables());
+        assertEquals(0, parameter.getIndex());
+        assertEquals(1, used1.getIndex());
+        assertEquals(2, used2.getIndex());
+        assertSame(function, used2.getFunction());
+        assertNull(unused1.getFunction());
+        assertNull(unused2.getFunction());
+    }
+
+    @Test
+    public void keepsUnreadParameters() {
+        var function = new WasmFunction(new WasmFunctionType(null, null, List.of(WasmType.INT32,
+                WasmType.INT32)));
+        var first = addLocal(function);
+        var second = addLocal(function);
+        var assignment = new WasmSetLocal(second, new WasmInt32Constant(1));
+        function.getBody().add(assignment);
+
+        new UnusedLocalElimination().apply(function);
+
+        assertEquals(List.of(first, second), function.getLocalVariables());
+        assertEquals(List.of(assignment), function.getBody());
+    }
+
+    @Test
+    public void keepsSideEffectsOfAssignment() {
+        var function = new WasmFunction(new WasmFunctionType(null, null, List.of()));
+        var local = addLocal(function);
+        var call = new WasmCall(callee);
+        function.getBody().add(new WasmSetLocal(local, call));
+
+        new UnusedLocalElimination().apply(function);
+
+        assertTrue(function.getLocalVariables().isEmpty());
+        assertEquals(1, function.getBody().size());
+        assertSame(call, ((WasmDrop) function.getBody().get(0)).getOperand());
+    }
+
+    @Test
+    public void replacesTeeWithValue() {
+        var function = new WasmFunction(new WasmFunctionType(null, null, List.of()));
+        var local = addLocal(function);
+        var call = new WasmCall(callee);
+        var tee = new WasmSetLocal(local, call);
+        tee.setTee(true);
+        var drop = new WasmDrop(tee);
+        function.getBody().add(drop);
+
+        new UnusedLocalElimination().apply(function);
+
+        assertTrue(function.getLocalVariables().isEmpty());
+        assertSame(call, drop.getOperand());
+    }
+
+    private static WasmLocal addLocal(WasmFunction function) {
+        var local = new WasmLocal(WasmType.INT32);
+        function.add(local);
+        return local;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.render;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.wasm.debug.DebugLines;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmLocal;
+import org.teavm.backend.wasm.model.WasmModule;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmCall;
+import org.teavm.backend.wasm.model.expression.WasmConditional;
+import org.teavm.backend.wasm.model.expression.WasmDrop;
+import org.teavm.backend.wasm.model.expression.WasmGetLocal;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmIntBinary;
+import org.teavm.backend.wasm.model.expression.WasmIntBinaryOperation;
+import org.teavm.backend.wasm.model.expression.WasmIntType;
+import org.teavm.backend.wasm.model.expression.WasmReturn;
+import org.teavm.backend.wasm.model.expression.WasmSetLocal;
+import org.teavm.model.MethodReference;
+import org.teavm.model.TextLocation;
+import org.teavm.model.ValueType;
+
+public class WasmBinaryRendererTest {
+    private static final int FUNCTION_COUNT = 50;
+
+    @Test
+    public void concurrentRenderingProducesSameOutput() {
+        var expectedLines = new RecordingDebugLines();
+        var expected = render(1, expectedLines);
+        assertTrue(expectedLines.events.size() > FUNCTION_COUNT);
+
+        for (var threads : new int[] { 2, 4, 8 }) {
+            var actualLines = new RecordingDebugLines();
+            var actual = render(threads, actualLines);
+            assertArrayEquals("Threads: " + threads, expected, actual);
+            assertEquals("Threads: " + threads, expectedLines.events, actualLines.events);
+        }
+    }
+
+    @Test
+    public void concurrentRenderingWithoutDebugLines() {
+        assertArrayEquals(render(1, null), render(4, null));
+    }
+
+    private static byte[] render(int threads, DebugLines debugLines) {
+        var module = createModule();
+        var output = new WasmBinaryWriter();
+        var renderer = new WasmBinaryRenderer(output, WasmBinaryVersion.V_0x1, false, null, null, debugLines,
+                null, WasmBinaryStatsCollector.EMPTY);
+        renderer.setRenderingThreads(threads);
+        module.prepareForRendering();
+        renderer.render(module);
+        return output.getData();
+    }
+
+    private static WasmModule createModule() {
+        var module = new WasmModule();
+        var type = new WasmFunctionType(null, WasmType.INT32, List.of(WasmType.INT32));
+        module.types.add(type);
+
+        WasmFunction previous = null;
+        for (var i = 0; i < FUNCTION_COUNT; ++i) {
+            var function = new WasmFunction(type);
+            function.setName("f" + i);
+            // Functions without Java method must not report lines, mix them in to check that
+            if (i % 7 != 3) {
+                function.setJavaMethod(new MethodReference("test.Foo", "f" + i, ValueType.INTEGER,
+                        ValueType.INTEGER));
+            }
+            var parameter = new WasmLocal(WasmType.INT32, "p");
+            var local = new WasmLocal(WasmType.INT32, "x");
+            function.add(parameter);
+            function.add(local);
+
+            var fileName = "Foo" + (i % 3) + ".java";
+            var sum = new WasmIntBinary(WasmIntType.INT32, WasmIntBinaryOperation.ADD, new WasmGetLocal(parameter),
+                    new WasmInt32Constant(i * 1000));
+            sum.setLocation(new TextLocation(fileName, i + 1));
+            var assignment = new WasmSetLocal(local, sum);
+            assignment.setLocation(new TextLocation(fileName, i + 1));
+            function.getBody().add(assignment);
+
+            // Bodies of different length make offsets of subsequent functions differ
+            var conditional = new WasmConditional(new WasmGetLocal(local));
+            conditional.setLocation(new TextLocation(fileName, i + 2));
+            for (var j = 0; j < i % 5; ++j) {
+                var drop = new WasmDrop(new WasmInt32Constant(j << (i % 20)));
+                drop.setLocation(new TextLocation(fileName, i + 3 + j));
+                conditional.getThenBlock().getBody().add(drop);
+            }
+            function.getBody().add(conditional);
+
+            var result = previous != null
+                    ? new WasmCall(previous, new WasmGetLocal(local))
+                    : new WasmGetLocal(local);
+            result.setLocation(new TextLocation(fileName, i + 10));
+            var ret = new WasmReturn(result);
+            ret.setLocation(new TextLocation(fileName, i + 10));
+            function.getBody().add(ret);
+
+            module.functions.add(function);
+            previous = function;
+        }
+        return module;
+    }
+
+    private static class RecordingDebugLines implements DebugLines {
+        List<String> events = new ArrayList<>();
+
+        @Override
+        public void advance(int ptr) {
+            events.add("advance " + ptr);
+        }
+
+        @Override
+        public void location(String file, int line) {
+            events.add("location " + file + ":" + line);
+        }
+
+        @Override
+        public void emptyLocation() {
+            events.add("empty");
+        }
+
+        @Override
+        public void start(MethodReference methodReference) {
+            events.add("start " + methodReference);
+        }
+
+        @Override
+        public void end() {
+            events.add("end");
+        }
+    }
+}
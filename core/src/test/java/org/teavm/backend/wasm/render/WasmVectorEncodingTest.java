@@ -0,0 +1,219 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.backend.wasm.render;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.wasm.model.WasmFunction;
+import org.teavm.backend.wasm.model.WasmFunctionType;
+import org.teavm.backend.wasm.model.WasmLocal;
+import org.teavm.backend.wasm.model.WasmModule;
+import org.teavm.backend.wasm.model.WasmType;
+import org.teavm.backend.wasm.model.expression.WasmExpression;
+import org.teavm.backend.wasm.model.expression.WasmFloat32Constant;
+import org.teavm.backend.wasm.model.expression.WasmFloat64Constant;
+import org.teavm.backend.wasm.model.expression.WasmGetLocal;
+import org.teavm.backend.wasm.model.expression.WasmInt32Constant;
+import org.teavm.backend.wasm.model.expression.WasmInt64Constant;
+import org.teavm.backend.wasm.model.expression.WasmSignedType;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinary;
+import org.teavm.backend.wasm.model.expression.WasmVectorBinaryOperation;
+import org.teavm.backend.wasm.model.expression.WasmVectorExtractLane;
+import org.teavm.backend.wasm.model.expression.WasmVectorLoad;
+import org.teavm.backend.wasm.model.expression.WasmVectorShape;
+import org.teavm.backend.wasm.model.expression.WasmVectorSplat;
+import org.teavm.backend.wasm.model.expression.WasmVectorStore;
+import org.teavm.backend.wasm.model.expression.WasmVectorTest;
+import org.teavm.backend.wasm.model.expression.WasmVectorTestOperation;
+import org.teavm.backend.wasm.parser.CodeListener;
+import org.teavm.backend.wasm.parser.CodeParser;
+import org.teavm.backend.wasm.parser.WasmBinaryReader;
+
+public class WasmVectorEncodingTest {
+    private WasmModule module = new WasmModule();
+    private WasmLocal vector = new WasmLocal(WasmType.V128);
+
+    public WasmVectorEncodingTest() {
+        var function = new WasmFunction(new WasmFunctionType(null, null, List.of()));
+        function.add(vector);
+    }
+
+    @Test
+    public void loadAndStore() {
+        for (var alignment : new int[] { 1, 2, 4, 8, 16 }) {
+            for (var offset : new int[] { 0, 16, 1000 }) {
+                assertEquals(List.of("load " + alignment + " " + offset),
+                        roundTrip(new WasmVectorLoad(alignment, new WasmInt32Constant(0), offset)));
+                assertEquals(List.of("store " + alignment + " " + offset),
+                        roundTrip(new WasmVectorStore(alignment, new WasmInt32Constant(0), vector(), offset)));
+            }
+        }
+    }
+
+    @Test
+    public void splat() {
+        for (var shape : WasmVectorShape.values()) {
+            assertEquals(List.of("splat " + shape), roundTrip(new WasmVectorSplat(shape, scalar(shape))));
+        }
+    }
+
+    @Test
+    public void extractLane() {
+        for (var shape : WasmVectorShape.values()) {
+            var lanes = 16 / laneSize(shape);
+            for (var lane = 0; lane < lanes; ++lane) {
+                if (laneSize(shape) < 4) {
+                    for (var signedType : WasmSignedType.values()) {
+                        assertEquals(List.of("extract " + shape + " " + signedType + " " + lane),
+                                roundTrip(new WasmVectorExtractLane(shape, signedType, lane, vector())));
+                    }
+                } else {
+                    assertEquals(List.of("extract " + shape + " null " + lane),
+                            roundTrip(new WasmVectorExtractLane(shape, lane, vector())));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void binary() {
+        var count = 0;
+        for (var operation : WasmVectorBinaryOperation.values()) {
+            for (var shape : WasmVectorShape.values()) {
+                var expression = new WasmVectorBinary(shape, operation, vector(), vector());
+                List<String> events;
+                try {
+                    events = roundTrip(expression);
+                } catch (IllegalArgumentException e) {
+                    // Not every combination of shape and operation exists in Wasm
+                    continue;
+                }
+                // Bitwise operations don't depend on shape
+                var expectedShape = isBitwise(operation) ? WasmVectorShape.I8X16 : shape;
+                assertEquals(List.of("binary " + operation + " " + expectedShape), events);
+                ++count;
+            }
+        }
+        assertTrue(count > 30);
+    }
+
+    @Test
+    public void vectorTest() {
+        assertEquals(List.of("test ANY_TRUE I8X16"),
+                roundTrip(new WasmVectorTest(WasmVectorShape.I32X4, WasmVectorTestOperation.ANY_TRUE, vector())));
+        for (var shape : List.of(WasmVectorShape.I8X16, WasmVectorShape.I16X8, WasmVectorShape.I32X4,
+                WasmVectorShape.I64X2)) {
+            for (var operation : List.of(WasmVectorTestOperation.ALL_TRUE, WasmVectorTestOperation.BITMASK)) {
+                assertEquals(List.of("test " + operation + " " + shape),
+                        roundTrip(new WasmVectorTest(shape, operation, vector())));
+            }
+        }
+    }
+
+    private WasmExpression vector() {
+        return new WasmGetLocal(vector);
+    }
+
+    private static WasmExpression scalar(WasmVectorShape shape) {
+        switch (shape) {
+            case I64X2:
+                return new WasmInt64Constant(1);
+            case F32X4:
+                return new WasmFloat32Constant(1);
+            case F64X2:
+                return new WasmFloat64Constant(1);
+            default:
+                return new WasmInt32Constant(1);
+        }
+    }
+
+    private static boolean isBitwise(WasmVectorBinaryOperation operation) {
+        switch (operation) {
+            case AND:
+            case AND_NOT:
+            case OR:
+            case XOR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static int laneSize(WasmVectorShape shape) {
+        switch (shape) {
+            case I8X16:
+                return 1;
+            case I16X8:
+                return 2;
+            case I32X4:
+            case F32X4:
+                return 4;
+            default:
+                return 8;
+        }
+    }
+
+    private List<String> roundTrip(WasmExpression expression) {
+        var writer = new WasmBinaryWriter();
+        var visitor = new WasmBinaryRenderingVisitor(writer, module, null, null, 0);
+        visitor.preprocess(expression);
+        expression.acceptVisitor(visitor);
+        writer.writeByte(0x0B);
+
+        var listener = new VectorListener();
+        var parser = new CodeParser();
+        parser.setCodeListener(listener);
+        assertTrue(parser.parseSingleExpression(new WasmBinaryReader(null, writer.getData())));
+        return listener.events;
+    }
+
+    private static class VectorListener implements CodeListener {
+        List<String> events = new ArrayList<>();
+
+        @Override
+        public void vectorLoad(int align, int offset) {
+            events.add("load " + align + " " + offset);
+        }
+
+        @Override
+        public void vectorStore(int align, int offset) {
+            events.add("store " + align + " " + offset);
+        }
+
+        @Override
+        public void vectorSplat(WasmVectorShape shape) {
+            events.add("splat " + shape);
+        }
+
+        @Override
+        public void vectorExtractLane(WasmVectorShape shape, WasmSignedType signedType, int lane) {
+            events.add("extract " + shape + " " + signedType + " " + lane);
+        }
+
+        @Override
+        public void vectorBinary(WasmVectorBinaryOperation opcode, WasmVectorShape shape) {
+            events.add("binary " + opcode + " " + shape);
+        }
+
+        @Override
+        public void vectorTest(WasmVectorTestOperation opcode, WasmVectorShape shape) {
+            events.add("test " + opcode + " " + shape);
+        }
+    }
+}
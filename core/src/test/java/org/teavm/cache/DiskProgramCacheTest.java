@@ -0,0 +1,100 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.stream.Collectors;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.teavm.model.BasicBlock;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Program;
+import org.teavm.model.ReferenceCache;
+import org.teavm.model.ValueType;
+import org.teavm.model.instructions.EmptyInstruction;
+
+public class DiskProgramCacheTest {
+    private static final MethodReference METHOD = new MethodReference("foo.Bar", "baz", ValueType.VOID);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void readsStoredProgram() throws IOException {
+        storeProgram();
+        var program = createCache().get(METHOD, AlwaysStaleCacheStatus.INSTANCE);
+        assertNotNull(program);
+        assertEquals(1, program.basicBlockCount());
+    }
+
+    @Test
+    public void ignoresFileWithoutHeader() throws IOException {
+        var file = storeProgram();
+        try (var output = new DataOutputStream(new FileOutputStream(file))) {
+            output.writeShort(0);
+            output.writeInt(1);
+        }
+        assertNull(createCache().get(METHOD, AlwaysStaleCacheStatus.INSTANCE));
+    }
+
+    @Test
+    public void ignoresFileOfAnotherVersion() throws IOException {
+        var file = storeProgram();
+        var bytes = Files.readAllBytes(file.toPath());
+        bytes[5]++;
+        Files.write(file.toPath(), bytes);
+        assertNull(createCache().get(METHOD, AlwaysStaleCacheStatus.INSTANCE));
+    }
+
+    @Test
+    public void ignoresCorruptedFile() throws IOException {
+        var file = storeProgram();
+        var bytes = Files.readAllBytes(file.toPath());
+        for (var i = 8; i < bytes.length; ++i) {
+            bytes[i] = (byte) 0xFF;
+        }
+        Files.write(file.toPath(), bytes);
+        assertNull(createCache().get(METHOD, AlwaysStaleCacheStatus.INSTANCE));
+    }
+
+    private File storeProgram() throws IOException {
+        var program = new Program();
+        BasicBlock block = program.createBasicBlock();
+        block.add(new EmptyInstruction());
+        var cache = createCache();
+        cache.store(METHOD, program, () -> new String[0]);
+        cache.flush();
+        try (var files = Files.walk(folder.getRoot().toPath())) {
+            var cacheFiles = files.filter(path -> path.toString().endsWith(".teavm-opt"))
+                    .collect(Collectors.toList());
+            assertEquals(1, cacheFiles.size());
+            return cacheFiles.get(0).toFile();
+        }
+    }
+
+    private DiskProgramCache createCache() {
+        return new DiskProgramCache(folder.getRoot(), new ReferenceCache(), new InMemorySymbolTable(),
+                new InMemorySymbolTable(), new InMemorySymbolTable());
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Program;
+import org.teavm.model.ReferenceCache;
+import org.teavm.model.ValueType;
+import org.teavm.model.instructions.EmptyInstruction;
+
+public class PackedProgramCacheTest {
+    private static final MethodReference FOO = new MethodReference("test.A", "foo", ValueType.VOID);
+    private static final MethodReference BAR = new MethodReference("test.A", "bar", ValueType.VOID);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private TestCacheStatus cacheStatus = new TestCacheStatus();
+
+    @Test
+    public void readsProgramsAfterReopening() throws IOException {
+        var cache = createCache();
+        cache.store(FOO, createProgram(), () -> new String[] { "test.B" });
+        cache.store(BAR, createProgram(), () -> new String[0]);
+        cache.flush();
+
+        cache = createCache();
+        assertNotNull(cache.get(FOO, cacheStatus));
+        assertNotNull(cache.get(BAR, cacheStatus));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+        assertEquals(Arrays.asList("test.B"), Arrays.asList(cache.getDependencies(FOO)));
+    }
+
+    @Test
+    public void rejectsProgramWhenDependencyDigestChanges() throws IOException {
+        cacheStatus.digests.put("test.B", new byte[] { 1, 2, 3 });
+        var cache = createCache();
+        cache.store(FOO, createProgram(), () -> new String[] { "test.B" });
+        cache.store(BAR, createProgram(), () -> new String[] { "test.C" });
+        cache.flush();
+
+        cacheStatus.digests.put("test.B", new byte[] { 1, 2, 4 });
+        cache = createCache();
+        assertNull(cache.get(FOO, cacheStatus));
+        assertNotNull(cache.get(BAR, cacheStatus));
+    }
+
+    @Test
+    public void startsFromScratchWhenDataFileIsMissing() throws IOException {
+        var cache = createCache();
+        cache.store(FOO, createProgram(), () -> new String[0]);
+        cache.flush();
+        for (var file : dataFiles()) {
+            assertTrue(file.delete());
+        }
+
+        cache = createCache();
+        assertNull(cache.get(FOO, cacheStatus));
+        cache.store(BAR, createProgram(), () -> new String[0]);
+        cache.flush();
+
+        cache = createCache();
+        assertNull(cache.get(FOO, cacheStatus));
+        assertNotNull(cache.get(BAR, cacheStatus));
+    }
+
+    @Test
+    public void treatsCorruptedEntryAsMiss() throws IOException {
+        var cache = createCache();
+        cache.store(FOO, createProgram(), () -> new String[0]);
+        cache.flush();
+        var dataFile = dataFiles()[0];
+        var bytes = Files.readAllBytes(dataFile.toPath());
+        Arrays.fill(bytes, (byte) 0xFF);
+        Files.write(dataFile.toPath(), bytes);
+
+        cache = createCache();
+        assertNull(cache.get(FOO, cacheStatus));
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void compactsDataFile() throws IOException {
+        // Long dependency names make entries large enough to trigger compaction
+        var dependency = "test." + "X".repeat(20000);
+        var methods = new MethodReference[100];
+        for (var i = 0; i < methods.length; ++i) {
+            methods[i] = new MethodReference("test.A", "m" + i, ValueType.VOID);
+        }
+        var compacted = false;
+        long previousDataSize = 0;
+        for (var round = 0; round < 4; ++round) {
+            var cache = createCache();
+            for (var method : methods) {
+                cache.store(method, createProgram(), () -> new String[] { dependency });
+            }
+            cache.flush();
+            if (cache.getDataSize() < previousDataSize) {
+                compacted = true;
+            }
+            previousDataSize = cache.getDataSize();
+            assertEquals(1, dataFiles().length);
+        }
+        assertTrue(compacted);
+
+        var cache = createCache();
+        for (var method : methods) {
+            assertNotNull(cache.get(method, cacheStatus));
+        }
+    }
+
+    private File[] dataFiles() {
+        return folder.getRoot().listFiles((dir, name) -> name.endsWith(".teavm-pack"));
+    }
+
+    private PackedProgramCache createCache() {
+        var cache = new PackedProgramCache(folder.getRoot(), new ReferenceCache(), new InMemorySymbolTable(),
+                new InMemorySymbolTable(), new InMemorySymbolTable());
+        cache.setCacheStatus(cacheStatus);
+        return cache;
+    }
+
+    private static Program createProgram() {
+        var program = new Program();
+        program.createBasicBlock().add(new EmptyInstruction());
+        return program;
+    }
+
+    static class TestCacheStatus implements CacheStatus {
+        Map<String, byte[]> digests = new HashMap<>();
+
+        @Override
+        public boolean isStaleClass(String className) {
+            return false;
+        }
+
+        @Override
+        public boolean isStaleMethod(MethodReference method) {
+            return false;
+        }
+
+        @Override
+        public byte[] getClassDigest(String className) {
+            return digests.get(className);
+        }
+    }
+}
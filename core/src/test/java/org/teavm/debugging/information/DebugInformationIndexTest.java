@@ -0,0 +1,167 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.debugging.information;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import org.junit.Test;
+import org.teavm.backend.javascript.codegen.LocationProvider;
+import org.teavm.model.MethodDescriptor;
+import org.teavm.model.MethodReference;
+import org.teavm.model.ReferenceCache;
+import org.teavm.model.ValueType;
+
+public class DebugInformationIndexTest {
+    private static final MethodDescriptor FOO = new MethodDescriptor("foo", ValueType.INTEGER);
+    private static final MethodDescriptor BAR = new MethodDescriptor("bar", ValueType.VOID);
+
+    private int line;
+    private int column;
+
+    @Test
+    public void indexIsAppendedAfterDebugInformation() throws IOException {
+        var bytes = write(createDebugInformation());
+        var buffer = ByteBuffer.wrap(bytes);
+
+        assertEquals(DebugInformationIndex.MAGIC, buffer.getInt(bytes.length - 4));
+        var indexStart = buffer.getInt(bytes.length - 8);
+        var layerCount = buffer.getInt(indexStart);
+        assertEquals(2, layerCount);
+        var recordsSize = 0;
+        for (var i = 0; i < layerCount; ++i) {
+            assertEquals(DebugInformationIndex.HEADER_SIZE + layerCount * 8 + recordsSize,
+                    buffer.getInt(indexStart + 8 + i * 8));
+            recordsSize += buffer.getInt(indexStart + 4 + i * 8) * DebugInformationIndex.RECORD_SIZE;
+        }
+        var fileTableStart = buffer.getInt(indexStart + 4 + layerCount * 8);
+        assertEquals(DebugInformationIndex.HEADER_SIZE + layerCount * 8 + recordsSize, fileTableStart);
+
+        var debugInfo = DebugInformation.read(new ByteArrayInputStream(bytes));
+        assertEquals(2, debugInfo.layerCount());
+    }
+
+    @Test
+    public void indexGivesSameLocationsAsDebugInformation() throws IOException {
+        var bytes = write(createDebugInformation());
+        var debugInfo = DebugInformation.read(new ByteArrayInputStream(bytes));
+        var index = DebugInformationIndex.read(ByteBuffer.wrap(bytes));
+        assertNotNull(index);
+        assertEquals(debugInfo.layerCount(), index.layerCount());
+
+        for (var line = 0; line < 5; ++line) {
+            for (var column = 0; column < 20; ++column) {
+                var location = new GeneratedLocation(line, column);
+                for (var layer = 0; layer < index.layerCount(); ++layer) {
+                    var message = location + " at layer " + layer;
+                    assertEquals(message, debugInfo.getMethodAt(location, layer), index.getMethodAt(location, layer));
+                    var expected = debugInfo.getSourceLocation(location, layer);
+                    var actual = index.getSourceLocation(location, layer);
+                    assertEquals(message, expected.getFileName(), actual.getFileName());
+                    assertEquals(message, expected.getLine(), actual.getLine());
+                }
+                assertEquals(location.toString(), debugInfo.getMethodAt(location), index.getMethodAt(location));
+            }
+        }
+    }
+
+    @Test
+    public void findsInlinedLocation() throws IOException {
+        var index = DebugInformationIndex.read(ByteBuffer.wrap(write(createDebugInformation())));
+
+        var location = new GeneratedLocation(1, 12);
+        assertEquals(new MethodReference("test.A", FOO), index.getMethodAt(location, 0));
+        assertEquals(new MethodReference("test.B", BAR), index.getMethodAt(location, 1));
+        assertEquals(new MethodReference("test.B", BAR), index.getMethodAt(location));
+        assertEquals("test/B.java", index.getSourceLocation(location).getFileName());
+        assertEquals(7, index.getSourceLocation(location).getLine());
+        assertEquals(21, index.getSourceLocation(location, 0).getLine());
+
+        location = new GeneratedLocation(2, 0);
+        assertEquals(new MethodReference("test.A", FOO), index.getMethodAt(location));
+        assertEquals(22, index.getSourceLocation(location).getLine());
+        assertNull(index.getMethodAt(location, 1));
+    }
+
+    @Test
+    public void noIndexInOtherData() {
+        assertNull(DebugInformationIndex.read(ByteBuffer.wrap(new byte[0])));
+        var buffer = ByteBuffer.allocate(64).order(ByteOrder.BIG_ENDIAN);
+        Arrays.fill(buffer.array(), (byte) 1);
+        assertNull(DebugInformationIndex.read(buffer));
+        buffer.putInt(60, DebugInformationIndex.MAGIC);
+        buffer.putInt(56, 1000);
+        assertNull(DebugInformationIndex.read(buffer));
+    }
+
+    private DebugInformation createDebugInformation() {
+        var builder = new DebugInformationBuilder(new ReferenceCache());
+        builder.setLocationProvider(new LocationProvider() {
+            @Override
+            public int getLine() {
+                return line;
+            }
+
+            @Override
+            public int getColumn() {
+                return column;
+            }
+
+            @Override
+            public int getOffset() {
+                return 0;
+            }
+        });
+
+        moveTo(0, 0);
+        builder.emitClass("test.A");
+        builder.emitMethod(FOO);
+        moveTo(1, 4);
+        builder.emitLocation("test/A.java", 20);
+        moveTo(1, 10);
+        builder.emitLocation("test/A.java", 21);
+        builder.enterLocation();
+        builder.emitClass("test.B");
+        builder.emitMethod(BAR);
+        builder.emitLocation("test/B.java", 7);
+        moveTo(1, 15);
+        builder.exitLocation();
+        moveTo(2, 0);
+        builder.emitLocation("test/A.java", 22);
+        moveTo(3, 0);
+        builder.emitClass(null);
+        builder.emitMethod(null);
+        builder.emitLocation(null, -1);
+        return builder.getDebugInformation();
+    }
+
+    private void moveTo(int line, int column) {
+        this.line = line;
+        this.column = column;
+    }
+
+    private static byte[] write(DebugInformation debugInfo) throws IOException {
+        var output = new ByteArrayOutputStream();
+        debugInfo.write(output);
+        return output.toByteArray();
+    }
+}
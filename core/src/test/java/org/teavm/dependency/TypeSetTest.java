@@ -0,0 +1,149 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.dependency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import org.junit.Test;
+import org.teavm.model.ValueType;
+
+public class TypeSetTest {
+    private DependencyType[] types = new DependencyType[100];
+
+    public TypeSetTest() {
+        for (var i = 0; i < types.length; ++i) {
+            types[i] = new DependencyType(ValueType.object("T" + i), i);
+        }
+    }
+
+    @Test
+    public void copyOfBitSetIsIndependent() {
+        var first = createSet(0, 10);
+        var second = first.copy(null);
+
+        second.addType(types[50]);
+        first.addType(types[60]);
+
+        assertTrue(second.hasType(types[50]));
+        assertFalse(second.hasType(types[60]));
+        assertTrue(first.hasType(types[60]));
+        assertFalse(first.hasType(types[50]));
+        assertEquals(11, first.typeCount());
+        assertEquals(11, second.typeCount());
+        for (var i = 0; i < 10; ++i) {
+            assertTrue(first.hasType(types[i]));
+            assertTrue(second.hasType(types[i]));
+        }
+    }
+
+    @Test
+    public void copyOfSmallSetIsIndependent() {
+        var first = createSet(0, 3);
+        var second = first.copy(null);
+
+        second.addType(types[50]);
+        assertFalse(first.hasType(types[50]));
+        assertEquals(3, first.typeCount());
+
+        for (var i = 60; i < 70; ++i) {
+            first.addType(types[i]);
+        }
+        assertFalse(second.hasType(types[60]));
+        assertEquals(4, second.typeCount());
+        assertEquals(13, first.typeCount());
+    }
+
+    @Test
+    public void copyOfCopyIsIndependent() {
+        var first = createSet(0, 10);
+        var second = first.copy(null);
+        var third = second.copy(null);
+
+        second.addType(types[50]);
+        third.addType(types[60]);
+
+        assertFalse(first.hasType(types[50]));
+        assertFalse(first.hasType(types[60]));
+        assertFalse(third.hasType(types[50]));
+        assertFalse(second.hasType(types[60]));
+    }
+
+    @Test
+    public void estimatesSize() {
+        var counted = newCountedTypes();
+        assertEquals(0, new TypeSet(null, null).estimateSize(counted));
+        assertEquals(16 + 3 * 4, createSet(0, 3).estimateSize(counted));
+
+        var large = createSet(0, 10);
+        var size = large.estimateSize(counted);
+        assertTrue(size >= 32 + 10 / 8);
+        assertEquals(0, large.estimateSize(counted));
+        assertEquals(0, large.copy(null).estimateSize(counted));
+        assertEquals(size, large.estimateSize(newCountedTypes()));
+    }
+
+    @Test
+    public void compactInternsEqualTypes() {
+        var first = createSet(0, 10);
+        var second = createSet(0, 10);
+        var other = createSet(5, 20);
+        var interned = new HashMap<BitSet, BitSet>();
+        first.compact(interned);
+        second.compact(interned);
+        other.compact(interned);
+        assertEquals(2, interned.size());
+
+        var counted = newCountedTypes();
+        assertTrue(first.estimateSize(counted) > 0);
+        assertEquals(0, second.estimateSize(counted));
+        assertTrue(other.estimateSize(counted) > 0);
+    }
+
+    @Test
+    public void compactedTypesAreCopiedOnWrite() {
+        var first = createSet(0, 10);
+        var second = createSet(0, 10);
+        var interned = new HashMap<BitSet, BitSet>();
+        first.compact(interned);
+        second.compact(interned);
+
+        second.addType(types[50]);
+
+        assertFalse(first.hasType(types[50]));
+        assertTrue(second.hasType(types[50]));
+        assertEquals(10, first.typeCount());
+        assertEquals(11, second.typeCount());
+        assertFalse(interned.keySet().iterator().next().get(50));
+    }
+
+    private TypeSet createSet(int from, int to) {
+        var result = new TypeSet(null, null);
+        for (var i = from; i < to; ++i) {
+            result.addType(types[i]);
+        }
+        return result;
+    }
+
+    private static Set<BitSet> newCountedTypes() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
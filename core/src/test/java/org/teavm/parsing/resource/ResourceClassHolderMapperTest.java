@@ -0,0 +1,147 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.parsing.resource;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Test;
+import org.teavm.model.ClassHolder;
+import org.teavm.model.ReferenceCache;
+import org.teavm.model.text.ListingBuilder;
+
+public class ResourceClassHolderMapperTest {
+    private ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void prefetchedClassEqualsClassReadDirectly() {
+        var mapper = createMapper(executor);
+        var directMapper = createMapper(null);
+
+        assertEquals(describe(directMapper.apply(Sample.class.getName())),
+                describe(mapper.apply(Sample.class.getName())));
+        assertTrue(mapper.getPrefetchedClasses().contains(Dependency.class.getName()));
+        for (var cls : List.of(Dependency.class, OtherDependency.class)) {
+            assertEquals(describe(directMapper.apply(cls.getName())), describe(mapper.apply(cls.getName())));
+        }
+    }
+
+    @Test
+    public void evictsFirstPrefetchedClasses() {
+        var unboundedMapper = createMapper(executor);
+        unboundedMapper.apply(Sample.class.getName());
+        var prefetched = unboundedMapper.getPrefetchedClasses();
+        assertTrue(prefetched.size() > 1);
+
+        var mapper = createMapper(executor);
+        mapper.setMaxPrefetchedClasses(1);
+        mapper.apply(Sample.class.getName());
+        assertEquals(List.of(prefetched.get(prefetched.size() - 1)), mapper.getPrefetchedClasses());
+
+        var directMapper = createMapper(null);
+        for (var cls : List.of(Dependency.class, OtherDependency.class)) {
+            assertEquals(describe(directMapper.apply(cls.getName())), describe(mapper.apply(cls.getName())));
+        }
+    }
+
+    private static ResourceClassHolderMapper createMapper(ExecutorService executor) {
+        var mapper = new ResourceClassHolderMapper(new ClassLoaderResourceProvider(), new ReferenceCache());
+        mapper.setPrefetchExecutor(executor);
+        return mapper;
+    }
+
+    private static String describe(ClassHolder cls) {
+        var sb = new StringBuilder();
+        sb.append(cls.getName()).append(" extends ").append(cls.getParent())
+                .append(" implements ").append(new TreeSet<>(cls.getInterfaces()))
+                .append(" ").append(cls.getLevel()).append(cls.readModifiers()).append("\n");
+        for (var field : cls.getFields()) {
+            sb.append("  field ").append(field.getName()).append(": ").append(field.getType())
+                    .append(" ").append(field.getLevel()).append(field.readModifiers()).append("\n");
+        }
+        for (var method : cls.getMethods()) {
+            sb.append("  method ").append(method.getDescriptor())
+                    .append(" ").append(method.getLevel()).append(method.readModifiers()).append("\n");
+            if (method.getProgram() != null) {
+                sb.append(new ListingBuilder().buildListing(method.getProgram(), "    "));
+            }
+        }
+        return sb.toString();
+    }
+
+    static class ClassLoaderResourceProvider implements ResourceProvider {
+        @Override
+        public Iterator<Resource> getResources(String name) {
+            var url = ResourceClassHolderMapperTest.class.getClassLoader().getResource(name);
+            if (url == null) {
+                return Collections.emptyIterator();
+            }
+            var resource = new Resource() {
+                @Override
+                public InputStream open() {
+                    try {
+                        return url.openStream();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public Date getModificationDate() {
+                    return new Date(0);
+                }
+            };
+            return Collections.<Resource>singleton(resource).iterator();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    static class Sample {
+        Dependency dependency = new Dependency();
+
+        int compute() {
+            return dependency.value() + OtherDependency.VALUE;
+        }
+    }
+
+    static class Dependency {
+        int value() {
+            return OtherDependency.VALUE * 2;
+        }
+    }
+
+    static class OtherDependency {
+        static final int VALUE = Integer.parseInt("23");
+    }
+}
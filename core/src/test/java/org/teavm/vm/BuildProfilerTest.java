@@ -0,0 +1,110 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.vm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import org.junit.Test;
+import org.teavm.common.json.JsonArrayValue;
+import org.teavm.common.json.JsonObjectValue;
+import org.teavm.common.json.JsonParser;
+import org.teavm.common.json.JsonValue;
+import org.teavm.model.MethodReference;
+import org.teavm.model.ValueType;
+
+public class BuildProfilerTest {
+    @Test
+    public void writesPhases() throws IOException {
+        var profiler = new BuildProfiler();
+        profiler.startPhase("parse").end();
+        var accumulator = profiler.accumulatePhase("optimization");
+        accumulator.measure(() -> null);
+        accumulator.measure(() -> null);
+        accumulator.end();
+
+        var phases = (JsonArrayValue) write(profiler).get("phases");
+        assertEquals(2, phases.size());
+        assertEquals("parse", phases.get(0).asObject().get("name").asString());
+        assertEquals("optimization", phases.get(1).asObject().get("name").asString());
+        for (var i = 0; i < phases.size(); ++i) {
+            assertTrue(phases.get(i).asObject().get("timeMillis").asNumber() >= 0);
+        }
+    }
+
+    @Test
+    public void writesOptimizations() throws IOException {
+        var profiler = new BuildProfiler();
+        profiler.recordOptimization("Inlining", 3_000_000, 100, true);
+        profiler.recordOptimization("Inlining", 1_000_000, 50, false);
+        profiler.recordOptimization("GlobalValueNumbering", 2_000_000, -1, false);
+
+        var optimizations = (JsonArrayValue) write(profiler).get("optimizations");
+        assertEquals(2, optimizations.size());
+
+        var inlining = optimizations.get(0).asObject();
+        assertEquals("Inlining", inlining.get("name").asString());
+        assertEquals(4.0, inlining.get("timeMillis").asNumber(), 0.001);
+        assertEquals(150, inlining.get("allocatedBytes").asIntNumber());
+        assertEquals(2, inlining.get("invocations").asIntNumber());
+        assertEquals(1, inlining.get("changes").asIntNumber());
+
+        var gvn = optimizations.get(1).asObject();
+        assertEquals("GlobalValueNumbering", gvn.get("name").asString());
+        assertFalse(gvn.has("allocatedBytes"));
+        assertEquals(0, gvn.get("changes").asIntNumber());
+    }
+
+    @Test
+    public void writesSlowestMethods() throws IOException {
+        var profiler = new BuildProfiler(2);
+        profiler.recordMethod(method("fast"), 1_000_000);
+        profiler.recordMethod(method("slow"), 3_000_000);
+        profiler.recordMethod(method("medium"), 2_000_000);
+
+        var methods = (JsonArrayValue) write(profiler).get("slowestMethods");
+        assertEquals(2, methods.size());
+        assertEquals(method("slow").toString(), methods.get(0).asObject().get("method").asString());
+        assertEquals(method("medium").toString(), methods.get(1).asObject().get("method").asString());
+    }
+
+    @Test
+    public void escapesNames() throws IOException {
+        var name = "a \"quoted\" name with \\ and\ttab\nand line break";
+        var profiler = new BuildProfiler();
+        profiler.startPhase(name).end();
+        profiler.recordOptimization(name, 0, 0, false);
+
+        var json = write(profiler);
+        assertEquals(name, ((JsonArrayValue) json.get("phases")).get(0).asObject().get("name").asString());
+        assertEquals(name, ((JsonArrayValue) json.get("optimizations")).get(0).asObject().get("name").asString());
+    }
+
+    private static MethodReference method(String name) {
+        return new MethodReference("foo.Bar", name, ValueType.VOID);
+    }
+
+    private static JsonObjectValue write(BuildProfiler profiler) throws IOException {
+        var writer = new StringWriter();
+        profiler.write(writer);
+        var result = new JsonValue[1];
+        JsonParser.ofValue(value -> result[0] = value).parse(new StringReader(writer.toString()));
+        return result[0].asObject();
+    }
+}
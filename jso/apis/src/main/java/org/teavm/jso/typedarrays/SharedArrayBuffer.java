@@ -20,6 +20,9 @@ import org.teavm.jso.JSProperty;
 
 @JSClass
 public class SharedArrayBuffer extends ArrayBuffer {
+    public SharedArrayBuffer(int length) {
+    }
+
     public native void grow(int newLength);
 
     @Override
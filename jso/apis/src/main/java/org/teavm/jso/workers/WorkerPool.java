@@ -0,0 +1,302 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.jso.workers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import org.teavm.interop.Async;
+import org.teavm.interop.AsyncCallback;
+import org.teavm.jso.JSBody;
+import org.teavm.jso.JSObject;
+import org.teavm.jso.browser.Navigator;
+import org.teavm.jso.browser.Window;
+import org.teavm.jso.core.JSMapLike;
+import org.teavm.jso.core.JSNumber;
+import org.teavm.jso.core.JSObjects;
+import org.teavm.jso.core.JSString;
+import org.teavm.jso.dom.events.EventListener;
+import org.teavm.jso.dom.events.MessageEvent;
+
+/**
+ * <p>Runs data-parallel jobs on a fixed set of Web Workers, so that CPU-bound code gets real multi-core
+ * speedup instead of sharing a single event loop with green threads.</p>
+ *
+ * <p>Each worker loads the given script, which is usually the same program compiled by TeaVM. Workers don't
+ * share Java heap with the page, so the program must check {@link #isWorker()} in its entry point and call
+ * {@link #serve(Map)} with tasks it is able to run. A job is split into parts, which are put into a queue
+ * and handed out to workers as soon as they become idle. Job data is passed by message, so it's copied,
+ * except for typed arrays backed by {@link org.teavm.jso.typedarrays.SharedArrayBuffer}, which are shared
+ * between the page and all workers.</p>
+ *
+ * <p>When a worker crashes, only the job which part it was running fails, and the worker gets replaced
+ * with a new one, unless it crashed before completing any part. When there are no workers left, the pool
+ * terminates and fails all pending jobs.</p>
+ */
+public class WorkerPool {
+    private String scriptUrl;
+    private Slot[] slots;
+    private int liveSlots;
+    private Queue<Slot> idleSlots = new ArrayDeque<>();
+    private Queue<Part> queue = new ArrayDeque<>();
+    private Map<Integer, Job> jobs = new HashMap<>();
+    private int lastJobId;
+    private boolean terminated;
+
+    public WorkerPool(String scriptUrl) {
+        this(scriptUrl, Navigator.hardwareConcurrency());
+    }
+
+    public WorkerPool(String scriptUrl, int size) {
+        this.scriptUrl = scriptUrl;
+        slots = new Slot[Math.max(1, size)];
+        for (var i = 0; i < slots.length; ++i) {
+            var slot = new Slot();
+            startWorker(slot);
+            slots[i] = slot;
+            idleSlots.add(slot);
+        }
+        liveSlots = slots.length;
+    }
+
+    private void startWorker(Slot slot) {
+        var worker = new Worker(scriptUrl);
+        worker.onMessage(event -> handleMessage(slot, event));
+        worker.onError(event -> handleError(slot, event.getMessage()));
+        slot.worker = worker;
+        slot.healthy = false;
+    }
+
+    public int getSize() {
+        return slots.length;
+    }
+
+    /**
+     * Splits job into the given number of parts and runs them in workers, suspending current thread until
+     * all parts complete.
+     *
+     * @param task name of the task, as registered by {@link #serve(Map)}.
+     * @param data data passed to every part of the job.
+     * @param parts number of parts.
+     * @throws IllegalStateException if any part of the job failed.
+     */
+    @Async
+    public native void run(String task, JSObject data, int parts);
+
+    private void run(String task, JSObject data, int parts, AsyncCallback<Void> callback) {
+        if (terminated) {
+            callback.error(new IllegalStateException("Worker pool is terminated"));
+            return;
+        }
+        if (parts <= 0) {
+            callback.complete(null);
+            return;
+        }
+        var job = new Job(++lastJobId, task, data, parts, callback);
+        jobs.put(job.id, job);
+        for (var i = 0; i < parts; ++i) {
+            queue.add(new Part(job, i));
+        }
+        dispatch();
+    }
+
+    public void terminate() {
+        terminate("Worker pool is terminated");
+    }
+
+    private void terminate(String reason) {
+        if (terminated) {
+            return;
+        }
+        terminated = true;
+        for (var slot : slots) {
+            if (slot.worker != null) {
+                slot.worker.terminate();
+            }
+        }
+        failAll(reason);
+    }
+
+    private void dispatch() {
+        while (!queue.isEmpty() && !idleSlots.isEmpty()) {
+            var part = queue.remove();
+            var slot = idleSlots.remove();
+            slot.part = part;
+            var message = JSObjects.<JSMapLike<JSObject>>create();
+            message.set("job", JSNumber.valueOf(part.job.id));
+            message.set("task", JSString.valueOf(part.job.task));
+            message.set("data", part.job.data);
+            message.set("part", JSNumber.valueOf(part.index));
+            message.set("parts", JSNumber.valueOf(part.job.parts));
+            slot.worker.postMessage(message);
+        }
+    }
+
+    private void handleMessage(Slot slot, MessageEvent event) {
+        var message = (JSMapLike<JSObject>) event.getData();
+        slot.part = null;
+        slot.healthy = true;
+        idleSlots.add(slot);
+        var job = jobs.get(((JSNumber) message.get("job")).intValue());
+        if (job != null) {
+            var error = message.get("error");
+            if (!JSObjects.isUndefined(error) && job.error == null) {
+                job.error = ((JSString) error).stringValue();
+            }
+            if (--job.remaining == 0) {
+                jobs.remove(job.id);
+                complete(job);
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * Fails only the job which part the worker was running, and replaces the worker with a new one,
+     * so that other jobs keep running. A worker that fails before it completed any part is not replaced,
+     * no matter whether it got a part or not, since most likely the script can't be loaded at all.
+     * A replacement worker has to complete a part before it can be replaced in turn, so a script that
+     * breaks later never makes the pool restart workers forever.
+     */
+    private void handleError(Slot slot, String message) {
+        if (terminated || slot.worker == null) {
+            return;
+        }
+        var error = "Worker error: " + message;
+        var part = slot.part;
+        slot.part = null;
+        slot.worker.terminate();
+        slot.worker = null;
+        if (part != null) {
+            failJob(part.job, error);
+        }
+        if (slot.healthy) {
+            startWorker(slot);
+            if (part != null) {
+                idleSlots.add(slot);
+            }
+        } else {
+            idleSlots.remove(slot);
+            if (--liveSlots == 0) {
+                terminate(error);
+                return;
+            }
+        }
+        dispatch();
+    }
+
+    private void failJob(Job job, String error) {
+        if (jobs.remove(job.id) == null) {
+            return;
+        }
+        queue.removeIf(part -> part.job == job);
+        if (job.error == null) {
+            job.error = error;
+        }
+        complete(job);
+    }
+
+    private void failAll(String error) {
+        queue.clear();
+        var failedJobs = new ArrayList<>(jobs.values());
+        jobs.clear();
+        for (var job : failedJobs) {
+            if (job.error == null) {
+                job.error = error;
+            }
+            complete(job);
+        }
+    }
+
+    private static void complete(Job job) {
+        if (job.error != null) {
+            job.callback.error(new IllegalStateException("Task " + job.task + " failed: " + job.error));
+        } else {
+            job.callback.complete(null);
+        }
+    }
+
+    /**
+     * Checks whether the program is running in a dedicated worker.
+     */
+    @JSBody(script = "return typeof WorkerGlobalScope !== 'undefined' && self instanceof WorkerGlobalScope;")
+    public static native boolean isWorker();
+
+    /**
+     * Makes current worker process parts of jobs submitted by {@link #run(String, JSObject, int)}.
+     *
+     * @param tasks tasks this worker is able to run, by name.
+     */
+    public static void serve(Map<String, WorkerTask> tasks) {
+        var self = Window.worker();
+        EventListener<MessageEvent> listener = event -> {
+            var message = (JSMapLike<JSObject>) event.getData();
+            var response = JSObjects.<JSMapLike<JSObject>>create();
+            response.set("job", message.get("job"));
+            var taskName = ((JSString) message.get("task")).stringValue();
+            var task = tasks.get(taskName);
+            if (task == null) {
+                response.set("error", JSString.valueOf("unknown task " + taskName));
+            } else {
+                try {
+                    task.run(message.get("data"), ((JSNumber) message.get("part")).intValue(),
+                            ((JSNumber) message.get("parts")).intValue());
+                } catch (Throwable e) {
+                    response.set("error", JSString.valueOf(String.valueOf(e)));
+                }
+            }
+            self.postMessage(response);
+        };
+        self.onEvent("message", listener);
+    }
+
+    private static class Job {
+        final int id;
+        final String task;
+        final JSObject data;
+        final int parts;
+        final AsyncCallback<Void> callback;
+        int remaining;
+        String error;
+
+        Job(int id, String task, JSObject data, int parts, AsyncCallback<Void> callback) {
+            this.id = id;
+            this.task = task;
+            this.data = data;
+            this.parts = parts;
+            this.callback = callback;
+            remaining = parts;
+        }
+    }
+
+    private static class Slot {
+        Worker worker;
+        Part part;
+        boolean healthy;
+    }
+
+    private static class Part {
+        final Job job;
+        final int index;
+
+        Part(Job job, int index) {
+            this.job = job;
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.jso.workers;
+
+import org.teavm.jso.JSObject;
+
+/**
+ * Task that runs inside a worker of {@link WorkerPool}.
+ */
+@FunctionalInterface
+public interface WorkerTask {
+    /**
+     * Processes one part of a job.
+     *
+     * @param data object passed to {@link WorkerPool#run(String, JSObject, int)}. Typed arrays backed by
+     *             {@link org.teavm.jso.typedarrays.SharedArrayBuffer} are shared with the caller,
+     *             other data is copied.
+     * @param part index of the part, from {@code 0} to {@code partCount - 1}.
+     * @param partCount number of parts the job was split into.
+     */
+    void run(JSObject data, int part, int partCount);
+}
@@ -18,6 +18,7 @@ package org.teavm.jso.impl;
 import java.lang.reflect.Array;
 import org.teavm.backend.javascript.spi.GeneratedBy;
 import org.teavm.backend.javascript.spi.InjectedBy;
+import org.teavm.backend.wasm.runtime.gc.WasmGCMemory;
 import org.teavm.classlib.PlatformDetector;
 import org.teavm.dependency.PluggableDependency;
 import org.teavm.interop.Import;
@@ -253,11 +254,7 @@ public final class JS {
             for (var i = 0; i < array.length; i += WasmBufferUtil.BUFFER_SIZE) {
                 var upper = Math.min(array.length, i + WasmBufferUtil.BUFFER_SIZE);
                 var sz = upper - i;
-                var ptr = WasmBufferUtil.buffer;
-                for (var j = 0; j < sz; ++j) {
-                    ptr.putByte(array[i + j]);
-                    ptr = ptr.add(1);
-                }
+                WasmGCMemory.copy(array, i, WasmBufferUtil.buffer, sz);
                 var dest = new Int8Array(result.getBuffer(), result.getByteOffset() + i, sz);
                 var src = new Int8Array(WasmBufferUtil.getLinearMemory(), WasmBufferUtil.buffer.toInt(), sz);
                 dest.set(src);
@@ -284,11 +281,7 @@ public final class JS {
             for (var i = 0; i < array.length; i += count) {
                 var upper = Math.min(array.length, i + count);
                 var sz = upper - i;
-                var ptr = WasmBufferUtil.buffer;
-                for (var j = 0; j < sz; ++j) {
-                    ptr.putShort(array[i + j]);
-                    ptr = ptr.add(2);
-                }
+                WasmGCMemory.copy(array, i, WasmBufferUtil.buffer, sz);
                 var dest = new Int16Array(result.getBuffer(), result.getByteOffset() + i * 2, sz);
                 var src = new Int16Array(WasmBufferUtil.getLinearMemory(), WasmBufferUtil.buffer.toInt(), sz);
                 dest.set(src);
@@ -315,11 +308,7 @@ public final class JS {
             for (var i = 0; i < array.length; i += count) {
                 var upper = Math.min(array.length, i + count);
                 var sz = upper - i;
-                var ptr = WasmBufferUtil.buffer;
-                for (var j = 0; j < sz; ++j) {
-                    ptr.putChar(array[i + j]);
-                    ptr = ptr.add(2);
-                }
+                WasmGCMemory.copy(array, i, WasmBufferUtil.buffer, sz);
                 var dest = new Uint16Array(result.getBuffer(), result.getByteOffset() + i * 2, sz);
                 var src = new Uint16Array(WasmBufferUtil.getLinearMemory(), WasmBufferUtil.buffer.toInt(), sz);
                 dest.set(src);
@@ -346,11 +335,7 @@ public final class JS {
             for (var i = 0; i < array.length; i += count) {
                 var upper = Math.min(array.length, i + count);
                 var sz = upper - i;
-                var ptr = WasmBufferUtil.buffer;
-                for (var j = 0; j < sz; ++j) {
-                    ptr.putInt(array[i + j]);
-                    ptr = ptr.add(4);
-                }
+                WasmGCMemory.copy(array, i, WasmBufferUtil.buffer, sz);
                 var dest = new Int32Array(result.getBuffer(), result.getByteOffset() + i * 4, sz);
                 var src = new Int32Array(WasmBufferUtil.getLinearMemory(), WasmBufferUtil.buffer.toInt(), sz);
                 dest.set(src);
@@ -377,11 +362,7 @@ public final class JS {
             for (var i = 0; i < array.length; i += count) {
                 var upper = Math.min(array.length, i + count);
                 var sz = upper - i;
-                var ptr = WasmBufferUtil.buffer;
-                for (var j = 0; j < sz; ++j) {
-                    ptr.putLong(array[i + j]);
-                    ptr = ptr.add(8);
-                }
+                WasmGCMemory.copy(array, i, WasmBufferUtil.buffer, sz);
                 var dest = new BigInt64Array(result.getBuffer(), result.getByteOffset() + i * 8, sz);
                 var src = new BigInt64Array(WasmBufferUtil.getLinearMemory(), WasmBufferUtil.buffer.toInt(), sz);
                 dest.set(src);
@@ -424,11 +405,7 @@ public final class JS {
             for (var i = 0; i < array.length; i += count) {
                 var upper = Math.min(array.length, i + count);
                 var sz = upper - i;
-                var ptr = WasmBufferUtil.buffer;
-                for (var j = 0; j < sz; ++j) {
-                    ptr.putFloat(array[i + j]);
-                    ptr = ptr.add(4);
-                }
+                WasmGCMemory.copy(array, i, WasmBufferUtil.buffer, sz);
                 var dest = new Float32Array(result.getBuffer(), result.getByteOffset() + i * 4, sz);
                 var src = new Float32Array(WasmBufferUtil.getLinearMemory(), WasmBufferUtil.buffer.toInt(), sz);
                 dest.set(src);
@@ -455,11 +432,7 @@ public final class JS {
             for (var i = 0; i < array.length; i += count) {
                 var upper = Math.min(array.length, i + count);
                 var sz = upper - i;
-                var ptr = WasmBufferUtil.buffer;
-                for (var j = 0; j < sz; ++j) {
-                    ptr.putDouble(array[i + j]);
-                    ptr = ptr.add(8);
-                }
+                WasmGCMemory.copy(array, i, WasmBufferUtil.buffer, sz);
                 var dest = new Float64Array(result.getBuffer(), result.getByteOffset() + i * 8, sz);
                 var src = new Float64Array(WasmBufferUtil.getLinearMemory(), WasmBufferUtil.buffer.toInt(), sz);
                 dest.set(src);
@@ -553,10 +526,7 @@ public final class JS {
                 var part = new Int8Array(typedArray.getBuffer(), typedArray.getByteOffset() + i, sz);
                 var ptr = WasmBufferUtil.buffer;
                 new Int8Array(WasmBufferUtil.getLinearMemory(), ptr.toInt(), upper - i).set(part);
-                for (var j = 0; j < sz; ++j) {
-                    result[i + j] = ptr.getByte();
-                    ptr = ptr.add(1);
-                }
+                WasmGCMemory.copy(ptr, result, i, sz);
             }
             return result;
         }
@@ -584,10 +554,7 @@ public final class JS {
                 var part = new Int16Array(typedArray.getBuffer(), typedArray.getByteOffset() + i * 2, sz);
                 var ptr = WasmBufferUtil.buffer;
                 new Int16Array(WasmBufferUtil.getLinearMemory(), ptr.toInt(), upper - i).set(part);
-                for (var j = 0; j < sz; ++j) {
-                    result[i + j] = ptr.getShort();
-                    ptr = ptr.add(2);
-                }
+                WasmGCMemory.copy(ptr, result, i, sz);
             }
             return result;
         }
@@ -615,10 +582,7 @@ public final class JS {
                 var part = new Int32Array(typedArray.getBuffer(), typedArray.getByteOffset() + i * 4, sz);
                 var ptr = WasmBufferUtil.buffer;
                 new Int32Array(WasmBufferUtil.getLinearMemory(), ptr.toInt(), upper - i).set(part);
-                for (var j = 0; j < sz; ++j) {
-                    result[i + j] = ptr.getInt();
-                    ptr = ptr.add(4);
-                }
+                WasmGCMemory.copy(ptr, result, i, sz);
             }
             return result;
         }
@@ -646,10 +610,7 @@ public final class JS {
                 var part = new BigInt64Array(typedArray.getBuffer(), typedArray.getByteOffset() + i * 8, sz);
                 var ptr = WasmBufferUtil.buffer;
                 new BigInt64Array(WasmBufferUtil.getLinearMemory(), ptr.toInt(), upper - i).set(part);
-                for (var j = 0; j < sz; ++j) {
-                    result[i + j] = ptr.getLong();
-                    ptr = ptr.add(8);
-                }
+                WasmGCMemory.copy(ptr, result, i, sz);
             }
             return result;
         }
@@ -677,10 +638,7 @@ public final class JS {
                 var part = new Uint16Array(typedArray.getBuffer(), typedArray.getByteOffset() + i * 2, sz);
                 var ptr = WasmBufferUtil.buffer;
                 new Uint16Array(WasmBufferUtil.getLinearMemory(), ptr.toInt(), upper - i).set(part);
-                for (var j = 0; j < sz; ++j) {
-                    result[i + j] = ptr.getChar();
-                    ptr = ptr.add(2);
-                }
+                WasmGCMemory.copy(ptr, result, i, sz);
             }
             return result;
         }
@@ -708,10 +666,7 @@ public final class JS {
                 var part = new Float32Array(typedArray.getBuffer(), typedArray.getByteOffset() + i * 4, sz);
                 var ptr = WasmBufferUtil.buffer;
                 new Float32Array(WasmBufferUtil.getLinearMemory(), ptr.toInt(), upper - i).set(part);
-                for (var j = 0; j < sz; ++j) {
-                    result[i + j] = ptr.getFloat();
-                    ptr = ptr.add(4);
-                }
+                WasmGCMemory.copy(ptr, result, i, sz);
             }
             return result;
         }
@@ -739,10 +694,7 @@ public final class JS {
                 var part = new Float64Array(typedArray.getBuffer(), typedArray.getByteOffset() + i * 8, sz);
                 var ptr = WasmBufferUtil.buffer;
                 new Float64Array(WasmBufferUtil.getLinearMemory(), ptr.toInt(), upper - i).set(part);
-                for (var j = 0; j < sz; ++j) {
-                    result[i + j] = ptr.getDouble();
-                    ptr = ptr.add(8);
-                }
+                WasmGCMemory.copy(ptr, result, i, sz);
             }
             return result;
         }
@@ -27,6 +27,7 @@ import org.teavm.ast.Expr;
 import org.teavm.ast.InvocationExpr;
 import org.teavm.ast.InvocationType;
 import org.teavm.ast.NewArrayExpr;
+import org.teavm.backend.javascript.JSLongRepresentation;
 import org.teavm.backend.javascript.codegen.SourceWriter;
 import org.teavm.backend.javascript.rendering.Precedence;
 import org.teavm.backend.javascript.spi.Injector;
@@ -149,6 +150,20 @@ public class JSNativeInjector implements Injector, DependencyPlugin {
                     if (context.getPrecedence().ordinal() >= Precedence.UNARY.ordinal()) {
                         writer.append(")");
                     }
+                } else if (methodRef.getDescriptor().parameterType(0) == ValueType.LONG
+                        && context.getLongRepresentation() == JSLongRepresentation.INT32_PAIR) {
+                    writer.appendFunction("Long_toBigInt").append("(");
+                    context.writeExpr(context.getArgument(0), Precedence.min());
+                    writer.append(")");
+                } else {
+                    context.writeExpr(context.getArgument(0), context.getPrecedence());
+                }
+                break;
+            case "unwrapLong":
+                if (context.getLongRepresentation() == JSLongRepresentation.INT32_PAIR) {
+                    writer.appendFunction("Long_fromBigInt").append("(");
+                    context.writeExpr(context.getArgument(0), Precedence.min());
+                    writer.append(")");
                 } else {
                     context.writeExpr(context.getArgument(0), context.getPrecedence());
                 }
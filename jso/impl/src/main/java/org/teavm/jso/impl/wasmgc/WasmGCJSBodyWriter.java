@@ -178,6 +178,14 @@ class WasmGCJSBodyWriter extends SourceWriter {
     public void markClassEnd() {
     }
 
+    @Override
+    public void markMethodStart(MethodDescriptor method) {
+    }
+
+    @Override
+    public void markMethodEnd() {
+    }
+
     @Override
     public void markSectionStart(int id) {
     }
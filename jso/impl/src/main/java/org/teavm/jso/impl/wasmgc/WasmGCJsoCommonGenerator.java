@@ -138,10 +138,10 @@ class WasmGCJsoCommonGenerator {
         }
         paramNames.addAll(List.of(emitter.parameterNames()));
         for (var parameter : paramNames) {
-            var paramName = new WasmGetGlobal(context.strings().getStringConstant(parameter).global);
+            var paramName = context.strings().getStringConstant(parameter).value();
             constructor.getArguments().add(stringToJs(context, paramName));
         }
-        var functionBody = new WasmGetGlobal(context.strings().getStringConstant(body).global);
+        var functionBody = context.strings().getStringConstant(body).value();
         constructor.getArguments().add(stringToJs(context, functionBody));
         WasmExpression value = constructor;
         if (imports.length > 0) {
@@ -215,7 +215,10 @@ class WasmGCJsoCommonGenerator {
 
     WasmExpression jsStringConstant(WasmGCJsoContext context, String str) {
         var global = stringsConstants.computeIfAbsent(str, s -> {
-            var javaGlobal = context.strings().getStringConstant(s).global;
+            var javaString = context.strings().getStringConstant(s);
+            if (javaString.jsGlobal != null) {
+                return javaString.jsGlobal;
+            }
             var function = context.functions().forStaticMethod(STRING_TO_JS);
             var index = stringsConstants.size();
             var brief = str.length() > 16 ? str.substring(0, 16) : str;
@@ -225,7 +228,7 @@ class WasmGCJsoCommonGenerator {
                     new WasmNullConstant(WasmType.Reference.EXTERN));
             context.module().globals.add(jsGlobal);
             addInitializerPart(context, initializer -> {
-                var call = new WasmCall(function, new WasmGetGlobal(javaGlobal));
+                var call = new WasmCall(function, javaString.value());
                 initializer.getBody().add(new WasmSetGlobal(jsGlobal, call));
             });
             return jsGlobal;
@@ -276,7 +279,7 @@ class WasmGCJsoCommonGenerator {
 
         var simpleName = className.substring(className.lastIndexOf('.') + 1);
         var javaClassName = context.strings().getStringConstant(simpleName);
-        var jsClassName = stringToJs(context, new WasmGetGlobal(javaClassName.global));
+        var jsClassName = stringToJs(context, javaClassName.value());
 
         var exportedParent = parentExportedClass(context, cls.getParent());
         var jsExportedParent = exportedParent != null
@@ -317,7 +320,7 @@ class WasmGCJsoCommonGenerator {
             var fn = context.functions().forStaticMethod(aliasEntry.getValue());
             fn.setReferenced(true);
             var methodName = context.strings().getStringConstant(aliasEntry.getKey());
-            var jsMethodName = stringToJs(context, new WasmGetGlobal(methodName.global));
+            var jsMethodName = stringToJs(context, methodName.value());
             var defineMethod = new WasmCall(defineMethodFunction(context), new WasmGetGlobal(global),
                     jsMethodName, new WasmFunctionReference(fn));
             expressions.add(defineMethod);
@@ -342,7 +345,7 @@ class WasmGCJsoCommonGenerator {
                     ? new WasmFunctionReference(setter)
                     : new WasmNullConstant(WasmType.Reference.FUNC);
             var methodName = context.strings().getStringConstant(aliasEntry.getKey());
-            var jsMethodName = stringToJs(context, new WasmGetGlobal(methodName.global));
+            var jsMethodName = stringToJs(context, methodName.value());
             var defineProperty = new WasmCall(definePropertyFunction(context), new WasmGetGlobal(global),
                     jsMethodName, new WasmFunctionReference(getter), setterRef);
             expressions.add(defineProperty);
@@ -368,7 +371,7 @@ class WasmGCJsoCommonGenerator {
                 expressions.add(new WasmSetGlobal(functionGlobal, exportedFn));
             }
             var methodName = context.strings().getStringConstant(aliasEntry.getKey());
-            var jsMethodName = stringToJs(context, new WasmGetGlobal(methodName.global));
+            var jsMethodName = stringToJs(context, methodName.value());
             var defineMethod = new WasmCall(defineStaticMethodFunction(context), new WasmGetGlobal(global),
                     jsMethodName, new WasmFunctionReference(fn));
             expressions.add(defineMethod);
@@ -393,7 +396,7 @@ class WasmGCJsoCommonGenerator {
                     ? new WasmFunctionReference(setter)
                     : new WasmNullConstant(WasmType.Reference.FUNC);
             var methodName = context.strings().getStringConstant(aliasEntry.getKey());
-            var jsMethodName = stringToJs(context, new WasmGetGlobal(methodName.global));
+            var jsMethodName = stringToJs(context, methodName.value());
             var defineProperty = new WasmCall(defineStaticPropertyFunction(context), new WasmGetGlobal(global),
                     jsMethodName, new WasmFunctionReference(getter), setterRef);
             expressions.add(defineProperty);
@@ -94,7 +94,7 @@ class MetadataIntrinsic implements WasmGCIntrinsic {
         if (value == null) {
             return new WasmNullConstant((WasmType.Reference) expectedType);
         } else if (value instanceof String) {
-            return new WasmGetGlobal(context.strings().getStringConstant((String) value).global);
+            return context.strings().getStringConstant((String) value).constantValue();
         } else if (value instanceof Boolean) {
             return new WasmInt32Constant((Boolean) value ? 1 : 0);
         } else if (value instanceof Integer) {
@@ -156,7 +156,7 @@ class MetadataIntrinsic implements WasmGCIntrinsic {
                 var wasmValue = generateMetadata(context, value, WasmType.Reference.EQ);
                 var entryExpr = new WasmStructNew(entryStruct);
                 var keyConstant = context.strings().getStringConstant(key);
-                entryExpr.getInitializers().add(new WasmGetGlobal(keyConstant.global));
+                entryExpr.getInitializers().add(keyConstant.constantValue());
                 entryExpr.getInitializers().add(wasmValue);
                 expr.getElements().add(entryExpr);
             }
@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.samples.bufferbenchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public final class BufferBenchmark {
+    private static final int ITERATIONS = 20;
+    private static final int DATA_SIZE = 1 << 22;
+    private static final int CHUNK_SIZE = 4096;
+
+    private BufferBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        var data = new byte[DATA_SIZE];
+        var random = 0x2545F4914F6CDD1DL;
+        for (var i = 0; i < data.length; ++i) {
+            random ^= random << 13;
+            random ^= random >>> 7;
+            random ^= random << 17;
+            data[i] = (byte) random;
+        }
+
+        var heap = ByteBuffer.allocate(DATA_SIZE);
+        var direct = ByteBuffer.allocateDirect(DATA_SIZE);
+        run("put(byte[]), heap", () -> put(heap, data, DATA_SIZE));
+        run("put(byte[]), direct", () -> put(direct, data, DATA_SIZE));
+        run("put(byte[]) in chunks, direct", () -> put(direct, data, CHUNK_SIZE));
+        run("get(byte[]), direct", () -> get(direct, data, DATA_SIZE));
+        run("get(byte[]) in chunks, direct", () -> get(direct, data, CHUNK_SIZE));
+
+        var ints = new int[DATA_SIZE / 4];
+        direct.clear();
+        direct.order(ByteOrder.nativeOrder()).asIntBuffer().get(ints);
+        var intBuffer = ByteBuffer.allocateDirect(DATA_SIZE).order(ByteOrder.nativeOrder()).asIntBuffer();
+        run("put(int[]), direct", () -> {
+            intBuffer.clear();
+            intBuffer.put(ints);
+            intBuffer.flip();
+            return intBuffer.get(intBuffer.limit() / 2);
+        });
+    }
+
+    private static void run(String name, Benchmark benchmark) {
+        var result = benchmark.run();
+        var start = System.currentTimeMillis();
+        for (var i = 0; i < ITERATIONS; ++i) {
+            result = result * 31 + benchmark.run();
+        }
+        var time = Math.max(1, System.currentTimeMillis() - start);
+        var throughput = (long) DATA_SIZE * ITERATIONS * 1000 / time / (1024 * 1024);
+        System.out.println(name + ": " + Integer.toHexString(result) + ", " + throughput + " MB/s");
+    }
+
+    private static int put(ByteBuffer buffer, byte[] data, int chunkSize) {
+        buffer.clear();
+        for (var offset = 0; offset < data.length; offset += chunkSize) {
+            buffer.put(data, offset, Math.min(chunkSize, data.length - offset));
+        }
+        buffer.flip();
+        return buffer.get(buffer.limit() / 2);
+    }
+
+    private static int get(ByteBuffer buffer, byte[] data, int chunkSize) {
+        buffer.clear();
+        for (var offset = 0; offset < data.length; offset += chunkSize) {
+            buffer.get(data, offset, Math.min(chunkSize, data.length - offset));
+        }
+        return data[data.length / 2];
+    }
+
+    interface Benchmark {
+        int run();
+    }
+}
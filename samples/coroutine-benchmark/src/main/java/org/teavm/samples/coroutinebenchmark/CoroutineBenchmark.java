@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.samples.coroutinebenchmark;
+
+public final class CoroutineBenchmark {
+    private static final int ITERATIONS = 5;
+    private static final int DEPTH = 64;
+    private static final Object LOCK = new Object();
+    private static int counter;
+
+    private CoroutineBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        run("deep yield", () -> deepYield(2000));
+        run("no suspension", () -> noSuspension(1 << 16));
+        run("monitor", () -> monitor(1 << 18));
+    }
+
+    private static void run(String name, Benchmark benchmark) {
+        var result = benchmark.run();
+        var start = System.currentTimeMillis();
+        for (var i = 0; i < ITERATIONS; ++i) {
+            result = result * 31 + benchmark.run();
+        }
+        var time = (System.currentTimeMillis() - start) / ITERATIONS;
+        System.out.println(name + ": " + Long.toHexString(result) + ", " + time + " ms");
+    }
+
+    private static long deepYield(int count) {
+        var sum = 0L;
+        for (var i = 0; i < count; ++i) {
+            sum += descend(DEPTH, i);
+        }
+        return sum;
+    }
+
+    private static long descend(int depth, long value) {
+        if (depth == 0) {
+            Thread.yield();
+            return value;
+        }
+        return descend(depth - 1, value * 3 + depth) ^ depth;
+    }
+
+    private static long noSuspension(int count) {
+        var sum = 0L;
+        for (var i = 0; i < count; ++i) {
+            sum += maybeSuspend(i, 20);
+        }
+        return sum;
+    }
+
+    private static long maybeSuspend(int value, int depth) {
+        if (value < 0) {
+            Thread.yield();
+        }
+        if (depth == 0) {
+            return value;
+        }
+        return maybeSuspend(value + depth, depth - 1) * 7 + depth;
+    }
+
+    private static long monitor(int count) {
+        counter = 0;
+        for (var i = 0; i < count; ++i) {
+            synchronized (LOCK) {
+                counter += i & 0xFF;
+            }
+        }
+        return counter;
+    }
+
+    interface Benchmark {
+        long run();
+    }
+}
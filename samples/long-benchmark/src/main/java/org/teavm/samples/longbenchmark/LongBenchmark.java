@@ -0,0 +1,111 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.samples.longbenchmark;
+
+public final class LongBenchmark {
+    private static final int ITERATIONS = 5;
+    private static final int DATA_SIZE = 1 << 20;
+    private static final long[] CRC_TABLE = createCrcTable();
+
+    private LongBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        var data = new byte[DATA_SIZE];
+        var random = 0x2545F4914F6CDD1DL;
+        for (var i = 0; i < data.length; ++i) {
+            random = xorShift(random);
+            data[i] = (byte) random;
+        }
+
+        run("FNV-1a", () -> fnv1a(data));
+        run("CRC-64", () -> crc64(data));
+        run("xorshift64*", () -> xorShiftStar(DATA_SIZE));
+        run("division", () -> division(DATA_SIZE / 4));
+    }
+
+    private static void run(String name, Benchmark benchmark) {
+        var result = benchmark.run();
+        var start = System.currentTimeMillis();
+        for (var i = 0; i < ITERATIONS; ++i) {
+            result = result * 31 + benchmark.run();
+        }
+        var time = (System.currentTimeMillis() - start) / ITERATIONS;
+        System.out.println(name + ": " + Long.toHexString(result) + ", " + time + " ms");
+    }
+
+    private static long fnv1a(byte[] data) {
+        var hash = 0xCBF29CE484222325L;
+        for (var b : data) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    private static long[] createCrcTable() {
+        var table = new long[256];
+        for (var i = 0; i < table.length; ++i) {
+            long value = i;
+            for (var j = 0; j < 8; ++j) {
+                value = (value & 1) != 0 ? (value >>> 1) ^ 0xC96C5795D7870F42L : value >>> 1;
+            }
+            table[i] = value;
+        }
+        return table;
+    }
+
+    private static long crc64(byte[] data) {
+        var crc = -1L;
+        for (var b : data) {
+            crc = CRC_TABLE[(int) (crc ^ b) & 0xFF] ^ (crc >>> 8);
+        }
+        return ~crc;
+    }
+
+    private static long xorShift(long value) {
+        value ^= value << 13;
+        value ^= value >>> 7;
+        value ^= value << 17;
+        return value;
+    }
+
+    private static long xorShiftStar(int count) {
+        var state = 0x9E3779B97F4A7C15L;
+        var sum = 0L;
+        for (var i = 0; i < count; ++i) {
+            state ^= state >>> 12;
+            state ^= state << 25;
+            state ^= state >>> 27;
+            sum += state * 0x2545F4914F6CDD1DL;
+        }
+        return sum;
+    }
+
+    private static long division(int count) {
+        var sum = 0L;
+        var value = Long.MAX_VALUE;
+        for (var i = 1; i <= count; ++i) {
+            sum += value / i + value % (i * 31L + 7);
+            value -= sum & 0xFFFF;
+        }
+        return sum;
+    }
+
+    interface Benchmark {
+        long run();
+    }
+}
@@ -56,6 +56,10 @@ include("hello")
 include("async")
 include("benchmark")
 include("pi")
+include("long-benchmark")
+include("buffer-benchmark")
+include("string-startup-benchmark")
+include("coroutine-benchmark")
 include("promise")
 include("kotlin")
 include("kotlin-coroutines")
@@ -64,6 +68,7 @@ include("web-apis")
 include("software3d")
 include("module-test")
 include("wasm-sab")
+include("worker-pool")
 
 gradle.allprojects {
     apply<WarPlugin>()
@@ -0,0 +1,93 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+plugins {
+    java
+    war
+    id("org.teavm")
+}
+
+configurations {
+    create("war")
+}
+
+dependencies {
+    "war"(project(":stdout-helper", "war"))
+}
+
+val constantCount = 20000
+val constantsPerMethod = 500
+
+val generateConstants by tasks.registering {
+    val outputDir = layout.buildDirectory.dir("generated/sources/constants")
+    inputs.property("constantCount", constantCount)
+    outputs.dir(outputDir)
+    doLast {
+        val dir = outputDir.get().dir("org/teavm/samples/stringstartup").asFile
+        dir.mkdirs()
+        val methodCount = (constantCount + constantsPerMethod - 1) / constantsPerMethod
+        dir.resolve("StringConstants.java").writeText(buildString {
+            appendLine("package org.teavm.samples.stringstartup;")
+            appendLine()
+            appendLine("final class StringConstants {")
+            appendLine("    static final int COUNT = $constantCount;")
+            appendLine()
+            appendLine("    private StringConstants() {")
+            appendLine("    }")
+            appendLine()
+            appendLine("    static String get(int index) {")
+            appendLine("        switch (index / $constantsPerMethod) {")
+            for (method in 0 until methodCount) {
+                appendLine("            case $method: return get$method(index);")
+            }
+            appendLine("            default: throw new IllegalArgumentException();")
+            appendLine("        }")
+            appendLine("    }")
+            for (method in 0 until methodCount) {
+                appendLine()
+                appendLine("    private static String get$method(int index) {")
+                appendLine("        switch (index) {")
+                val end = minOf(constantCount, (method + 1) * constantsPerMethod)
+                for (i in method * constantsPerMethod until end) {
+                    val text = if (i % 10 == 0) "Ünïcödé message #$i" else "Message #$i: the quick brown fox"
+                    appendLine("            case $i: return \"$text\";")
+                }
+                appendLine("            default: throw new IllegalArgumentException();")
+                appendLine("        }")
+                appendLine("    }")
+            }
+            appendLine("}")
+        })
+    }
+}
+
+sourceSets.main {
+    java.srcDir(generateConstants)
+}
+
+teavm {
+    wasmGC {
+        addedToWebApp = true
+        mainClass = "org.teavm.samples.stringstartup.StringStartupBenchmark"
+        properties.put("teavm.wasm.stringConstants",
+                providers.gradleProperty("stringConstants").orElse("eager"))
+    }
+}
+
+tasks.war {
+    dependsOn(configurations["war"])
+    from(provider { configurations["war"].map { zipTree(it) } })
+}
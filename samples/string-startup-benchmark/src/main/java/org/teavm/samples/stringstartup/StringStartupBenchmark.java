@@ -0,0 +1,50 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.samples.stringstartup;
+
+public final class StringStartupBenchmark {
+    private static final int ITERATIONS = 20;
+
+    private StringStartupBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        var start = System.currentTimeMillis();
+        var result = StringConstants.get(0).hashCode();
+        System.out.println("First constant: " + (System.currentTimeMillis() - start) + " ms");
+
+        start = System.currentTimeMillis();
+        result = result * 31 + touchAll();
+        System.out.println("All " + StringConstants.COUNT + " constants, first use: "
+                + (System.currentTimeMillis() - start) + " ms");
+
+        start = System.currentTimeMillis();
+        for (var i = 0; i < ITERATIONS; ++i) {
+            result = result * 31 + touchAll();
+        }
+        var time = (double) (System.currentTimeMillis() - start) / ITERATIONS;
+        System.out.println("All " + StringConstants.COUNT + " constants, subsequent use: " + time + " ms");
+        System.out.println("Checksum: " + Integer.toHexString(result));
+    }
+
+    private static int touchAll() {
+        var result = 0;
+        for (var i = 0; i < StringConstants.COUNT; ++i) {
+            result = result * 31 + StringConstants.get(i).length();
+        }
+        return result;
+    }
+}
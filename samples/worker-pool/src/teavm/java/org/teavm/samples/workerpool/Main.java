@@ -0,0 +1,146 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.samples.workerpool;
+
+import java.util.Map;
+import org.teavm.jso.JSBody;
+import org.teavm.jso.JSObject;
+import org.teavm.jso.browser.Navigator;
+import org.teavm.jso.browser.Performance;
+import org.teavm.jso.core.JSMapLike;
+import org.teavm.jso.core.JSObjects;
+import org.teavm.jso.dom.html.HTMLButtonElement;
+import org.teavm.jso.dom.html.HTMLDocument;
+import org.teavm.jso.typedarrays.Int32Array;
+import org.teavm.jso.typedarrays.SharedArrayBuffer;
+import org.teavm.jso.workers.WorkerPool;
+
+/**
+ * Renders Mandelbrot set on the page thread and then in a {@link WorkerPool} of one and of
+ * {@code navigator.hardwareConcurrency} workers, printing time of each run. Pixels are written to
+ * a {@link SharedArrayBuffer}, so all runs must produce the same checksum.
+ */
+public final class Main {
+    private static final String TASK = "mandelbrot";
+    private static final int WIDTH = 1600;
+    private static final int HEIGHT = 1200;
+    private static final int MAX_ITERATIONS = 1000;
+    private static final int PARTS_PER_WORKER = 8;
+    private static final int RUNS = 3;
+
+    private Main() {
+    }
+
+    public static void main(String[] args) {
+        if (WorkerPool.isWorker()) {
+            WorkerPool.serve(Map.of(TASK, Main::render));
+            return;
+        }
+        var button = (HTMLButtonElement) HTMLDocument.current().getElementById("run");
+        button.addEventListener("click", event -> {
+            button.setDisabled(true);
+            new Thread(() -> {
+                runBenchmark();
+                button.setDisabled(false);
+            }).start();
+        });
+        button.setDisabled(false);
+    }
+
+    private static void runBenchmark() {
+        if (!isCrossOriginIsolated()) {
+            print("Page is not cross-origin isolated, SharedArrayBuffer is not available");
+            return;
+        }
+        var data = JSObjects.<JSMapLike<JSObject>>create();
+        var pixels = new Int32Array(new SharedArrayBuffer(WIDTH * HEIGHT * 4));
+        data.set("pixels", pixels);
+
+        var start = Performance.now();
+        render(data, 0, 1);
+        var sequentialTime = Performance.now() - start;
+        print("Page thread: " + Math.round(sequentialTime) + " ms, checksum " + checksum(pixels));
+
+        var cores = Math.max(1, Navigator.hardwareConcurrency());
+        for (var size : cores > 1 ? new int[] { 1, cores } : new int[] { 1 }) {
+            var pool = new WorkerPool("worker.js", size);
+            try {
+                var parts = size * PARTS_PER_WORKER;
+                // First run waits until workers load the script
+                pool.run(TASK, data, parts);
+                var best = Double.MAX_VALUE;
+                for (var i = 0; i < RUNS; ++i) {
+                    clear(pixels);
+                    start = Performance.now();
+                    pool.run(TASK, data, parts);
+                    best = Math.min(best, Performance.now() - start);
+                }
+                print(size + " worker(s): " + Math.round(best) + " ms, speedup "
+                        + Math.round(sequentialTime / best * 100) / 100.0 + "x, checksum " + checksum(pixels));
+            } finally {
+                pool.terminate();
+            }
+        }
+    }
+
+    /**
+     * Renders rows of the given part. Rows are interleaved between parts, since rows in the middle
+     * of the picture take much more time than ones at the edges.
+     */
+    private static void render(JSObject data, int part, int partCount) {
+        var pixels = (Int32Array) ((JSMapLike<JSObject>) data).get("pixels");
+        for (var y = part; y < HEIGHT; y += partCount) {
+            var ci = (y - HEIGHT / 2) * 2.4 / HEIGHT;
+            for (var x = 0; x < WIDTH; ++x) {
+                var cr = (x - WIDTH * 0.65) * 3.2 / WIDTH;
+                var zr = 0.0;
+                var zi = 0.0;
+                var iterations = 0;
+                while (iterations < MAX_ITERATIONS && zr * zr + zi * zi <= 4) {
+                    var t = zr * zr - zi * zi + cr;
+                    zi = 2 * zr * zi + ci;
+                    zr = t;
+                    ++iterations;
+                }
+                pixels.set(y * WIDTH + x, iterations);
+            }
+        }
+    }
+
+    private static void clear(Int32Array pixels) {
+        for (var i = 0; i < pixels.getLength(); ++i) {
+            pixels.set(i, 0);
+        }
+    }
+
+    private static int checksum(Int32Array pixels) {
+        var result = 0;
+        for (var i = 0; i < pixels.getLength(); ++i) {
+            result = result * 31 + pixels.get(i);
+        }
+        return result;
+    }
+
+    private static void print(String text) {
+        var document = HTMLDocument.current();
+        var line = document.createElement("div");
+        line.setTextContent(text);
+        document.getElementById("output").appendChild(line);
+    }
+
+    @JSBody(script = "return typeof crossOriginIsolated !== 'undefined' && crossOriginIsolated;")
+    private static native boolean isCrossOriginIsolated();
+}
@@ -29,11 +29,17 @@ import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.teavm.junit.JsVariant;
+import org.teavm.junit.JsVariants;
 import org.teavm.junit.SkipPlatform;
 import org.teavm.junit.TeaVMTestRunner;
 import org.teavm.junit.TestPlatform;
+import org.teavm.junit.WasmVariant;
+import org.teavm.junit.WasmVariants;
 
 @RunWith(TeaVMTestRunner.class)
+@JsVariants(JsVariant.LAZY_METADATA)
+@WasmVariants({WasmVariant.LAZY_STRING_CONSTANTS, WasmVariant.JS_BUILTIN_STRING_CONSTANTS})
 public class ClassTest {
     @Test
     public void classNameEvaluated() {
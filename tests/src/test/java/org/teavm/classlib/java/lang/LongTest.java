@@ -20,10 +20,13 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.teavm.junit.JsVariant;
+import org.teavm.junit.JsVariants;
 import org.teavm.junit.SkipJVM;
 import org.teavm.junit.TeaVMTestRunner;
 
 @RunWith(TeaVMTestRunner.class)
+@JsVariants(JsVariant.LONG_AS_INT32_PAIR)
 public class LongTest {
     @Test
     public void parsesLongInSubstring() {
@@ -21,12 +21,15 @@ import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.teavm.junit.JsVariant;
+import org.teavm.junit.JsVariants;
 import org.teavm.junit.SkipPlatform;
 import org.teavm.junit.TeaVMTestRunner;
 import org.teavm.junit.TestPlatform;
 
 @RunWith(TeaVMTestRunner.class)
 @SkipPlatform(TestPlatform.WASI)
+@JsVariants(JsVariant.LONG_AS_INT32_PAIR)
 public class MathTest {
     private static void sameDouble(double a, double b) {
         assertEquals(Double.valueOf(a), Double.valueOf(b));
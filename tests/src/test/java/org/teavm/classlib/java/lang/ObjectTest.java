@@ -23,12 +23,15 @@ import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.teavm.junit.EachTestCompiledSeparately;
+import org.teavm.junit.JsVariant;
+import org.teavm.junit.JsVariants;
 import org.teavm.junit.SkipPlatform;
 import org.teavm.junit.TeaVMTestRunner;
 import org.teavm.junit.TestPlatform;
 
 @RunWith(TeaVMTestRunner.class)
 @EachTestCompiledSeparately
+@JsVariants(JsVariant.GENERATOR_COROUTINES)
 public class ObjectTest {
     @Test
     public void objectCreated() {
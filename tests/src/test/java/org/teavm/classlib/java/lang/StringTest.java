@@ -29,8 +29,11 @@ import org.teavm.junit.EachTestCompiledSeparately;
 import org.teavm.junit.SkipPlatform;
 import org.teavm.junit.TeaVMTestRunner;
 import org.teavm.junit.TestPlatform;
+import org.teavm.junit.WasmVariant;
+import org.teavm.junit.WasmVariants;
 
 @RunWith(TeaVMTestRunner.class)
+@WasmVariants({WasmVariant.SIMD, WasmVariant.LAZY_STRING_CONSTANTS, WasmVariant.JS_BUILTIN_STRING_CONSTANTS})
 @EachTestCompiledSeparately
 public class StringTest {
     @Test
@@ -158,6 +161,23 @@ public class StringTest {
         assertEquals(4, str.indexOf('c'));
     }
 
+    @Test
+    public void findsCharacterInLongString() {
+        var sb = new StringBuilder();
+        for (var i = 0; i < 40; ++i) {
+            sb.append((char) ('A' + i));
+        }
+        var str = sb.toString();
+        for (var i = 0; i < str.length(); ++i) {
+            var ch = str.charAt(i);
+            assertEquals(i, str.indexOf(ch));
+            assertEquals(i, str.indexOf(ch, i));
+            assertEquals(-1, str.indexOf(ch, i + 1));
+        }
+        assertEquals(-1, str.indexOf('!'));
+        assertEquals(-1, str.indexOf('A' + 0x10000));
+    }
+
     @Test
     public void findsCodePointBackward() {
         String str = new String(new char[] { 'a', 'b', (char) 56178, (char) 56972, 'c',
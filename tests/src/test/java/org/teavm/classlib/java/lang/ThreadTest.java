@@ -24,6 +24,8 @@ import java.util.List;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.teavm.junit.EachTestCompiledSeparately;
+import org.teavm.junit.JsVariant;
+import org.teavm.junit.JsVariants;
 import org.teavm.junit.SkipPlatform;
 import org.teavm.junit.TeaVMTestRunner;
 import org.teavm.junit.TestPlatform;
@@ -31,6 +33,7 @@ import org.teavm.junit.TestPlatform;
 @RunWith(TeaVMTestRunner.class)
 @EachTestCompiledSeparately
 @SkipPlatform({TestPlatform.WASI, TestPlatform.WEBASSEMBLY_GC})
+@JsVariants(JsVariant.GENERATOR_COROUTINES)
 public class ThreadTest {
     @Test
     public void sleeps() throws InterruptedException {
@@ -24,14 +24,20 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.teavm.classlib.support.Reflectable;
 import org.teavm.junit.EachTestCompiledSeparately;
+import org.teavm.junit.JsVariant;
+import org.teavm.junit.JsVariants;
 import org.teavm.junit.SkipJVM;
 import org.teavm.junit.SkipPlatform;
 import org.teavm.junit.TeaVMTestRunner;
 import org.teavm.junit.TestPlatform;
+import org.teavm.junit.WasmVariant;
+import org.teavm.junit.WasmVariants;
 
 @RunWith(TeaVMTestRunner.class)
 @EachTestCompiledSeparately
 @SkipPlatform({TestPlatform.C, TestPlatform.WEBASSEMBLY, TestPlatform.WASI})
+@JsVariants(JsVariant.LAZY_METADATA)
+@WasmVariants({WasmVariant.LAZY_STRING_CONSTANTS, WasmVariant.JS_BUILTIN_STRING_CONSTANTS})
 public class FieldTest {
     @Test
     public void fieldsEnumerated() {
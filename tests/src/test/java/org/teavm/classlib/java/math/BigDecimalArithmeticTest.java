@@ -41,9 +41,12 @@ import java.math.MathContext;
 import java.math.RoundingMode;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.teavm.junit.JsVariant;
+import org.teavm.junit.JsVariants;
 import org.teavm.junit.TeaVMTestRunner;
 
 @RunWith(TeaVMTestRunner.class)
+@JsVariants(JsVariant.LONG_AS_INT32_PAIR)
 public class BigDecimalArithmeticTest {
     /**
      * Add two numbers of equal positive scales
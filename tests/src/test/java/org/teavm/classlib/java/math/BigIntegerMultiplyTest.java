@@ -42,9 +42,12 @@ import static org.junit.Assert.fail;
 import java.math.BigInteger;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.teavm.junit.JsVariant;
+import org.teavm.junit.JsVariants;
 import org.teavm.junit.TeaVMTestRunner;
 
 @RunWith(TeaVMTestRunner.class)
+@JsVariants(JsVariant.LONG_AS_INT32_PAIR)
 public class BigIntegerMultiplyTest {
     /**
      * Multiply two negative numbers of the same length
@@ -66,6 +66,42 @@ public class ByteBufferTest {
         buffer.get(0, bytesCopy);
         assertArrayEquals(bytes, bytesCopy);
     }
+
+    @Test
+    @SkipPlatform({TestPlatform.WASI, TestPlatform.WEBASSEMBLY})
+    public void bulkTransferDirectWithOffsets() {
+        var buffer = ByteBuffer.allocateDirect(10);
+        var bytes = new byte[] { 1, 2, 3, 4, 5, 6 };
+        buffer.position(2);
+        buffer.put(bytes, 1, 4);
+        assertEquals(6, buffer.position());
+        buffer.put(7, bytes, 4, 2);
+
+        var bytesCopy = new byte[12];
+        buffer.position(1);
+        buffer.get(bytesCopy, 3, 8);
+        assertEquals(9, buffer.position());
+        assertArrayEquals(new byte[] { 0, 0, 0, 0, 2, 3, 4, 5, 0, 5, 6, 0 }, bytesCopy);
+
+        var slice = buffer.position(3).slice();
+        bytesCopy = new byte[4];
+        slice.get(1, bytesCopy, 1, 3);
+        assertArrayEquals(new byte[] { 0, 4, 5, 0 }, bytesCopy);
+    }
+
+    @Test
+    @SkipPlatform({TestPlatform.WASI, TestPlatform.WEBASSEMBLY})
+    public void bulkTransferFromHeapToDirect() {
+        var src = ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }).position(2).slice().position(1);
+        var buffer = ByteBuffer.allocateDirect(8).position(1);
+        buffer.put(src);
+        assertEquals(6, buffer.position());
+        assertEquals(6, src.position());
+
+        var bytesCopy = new byte[8];
+        buffer.get(0, bytesCopy);
+        assertArrayEquals(new byte[] { 0, 4, 5, 6, 7, 8, 0, 0 }, bytesCopy);
+    }
     
     @Test
     public void bulkTransferRelative() {
@@ -65,6 +65,36 @@ public class IntBufferTest {
         assertArrayEquals(ints, intsCopy);
     }
 
+    @Test
+    @SkipPlatform({ TestPlatform.WASI, TestPlatform.WEBASSEMBLY})
+    public void bulkTransferDirectWithOffsetsLittleEndian() {
+        bulkTransferDirectWithOffsets(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Test
+    @SkipPlatform({ TestPlatform.WASI, TestPlatform.WEBASSEMBLY})
+    public void bulkTransferDirectWithOffsetsBigEndian() {
+        bulkTransferDirectWithOffsets(ByteOrder.BIG_ENDIAN);
+    }
+
+    private void bulkTransferDirectWithOffsets(ByteOrder order) {
+        var bytes = ByteBuffer.allocateDirect(44).position(4).slice().order(order);
+        var buffer = bytes.asIntBuffer();
+        var ints = new int[] { 10, 20, 30, 40, 0x01020304 };
+        buffer.position(1);
+        buffer.put(ints, 2, 3);
+        assertEquals(4, buffer.position());
+        buffer.put(6, ints, 0, 2);
+
+        var intsCopy = new int[10];
+        buffer.position(0);
+        buffer.get(intsCopy, 1, 8);
+        assertEquals(8, buffer.position());
+        assertArrayEquals(new int[] { 0, 0, 30, 40, 0x01020304, 0, 0, 10, 20, 0 }, intsCopy);
+        assertEquals(0x01020304, bytes.getInt(12));
+        assertEquals(order == ByteOrder.BIG_ENDIAN ? 1 : 4, bytes.get(12));
+    }
+
     @Test
     public void bulkTransferRelative() {
         var arr = new int[5];
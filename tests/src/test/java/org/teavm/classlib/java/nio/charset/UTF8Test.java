@@ -26,8 +26,11 @@ import java.util.Arrays;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.teavm.junit.TeaVMTestRunner;
+import org.teavm.junit.WasmVariant;
+import org.teavm.junit.WasmVariants;
 
 @RunWith(TeaVMTestRunner.class)
+@WasmVariants(WasmVariant.SIMD)
 public class UTF8Test {
     private String hex = ""
             + "D097D0B4D0B5D181D18C20D0B220D0BCD0BED0B5D0BC20D0BED0B1D18AD18FD181D0BDD0B5D0BDD0B8D0B820D18F20D0BED"
@@ -158,6 +161,31 @@ public class UTF8Test {
         runDecode(100, 600);
     }
 
+    @Test
+    public void encodeAsciiRunsMixedWithOtherCharacters() {
+        // Runs of ASCII characters of different length go through bulk encoding and its scalar tail
+        var sb = new StringBuilder();
+        var expected = new StringBuilder();
+        for (var length = 0; length <= 40; ++length) {
+            for (var i = 0; i < length; ++i) {
+                var ch = (char) ('a' + i % 26);
+                sb.append(ch);
+                expected.append(Integer.toHexString(ch).toUpperCase());
+            }
+            sb.append(length % 2 == 0 ? '\u00E9' : '\u4E2D');
+            expected.append(length % 2 == 0 ? "C3A9" : "E4B8AD");
+        }
+        var text = sb.toString();
+        var hex = expected.toString();
+
+        var buffer = StandardCharsets.UTF_8.encode(text);
+        var result = new byte[buffer.remaining()];
+        buffer.get(result);
+        assertEquals(hex, CharsetTestCommon.bytesToHex(result));
+
+        CharsetTestCommon.runEncode(hex, text, StandardCharsets.UTF_8, 37, 23);
+    }
+
     @Test
     public void replaceMalformedSurrogatePair() {
         Charset charset = StandardCharsets.UTF_8;
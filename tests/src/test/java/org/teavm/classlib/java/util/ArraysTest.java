@@ -27,8 +27,11 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.teavm.classlib.java.lang.DoubleTest;
 import org.teavm.junit.TeaVMTestRunner;
+import org.teavm.junit.WasmVariant;
+import org.teavm.junit.WasmVariants;
 
 @RunWith(TeaVMTestRunner.class)
+@WasmVariants(WasmVariant.SIMD)
 public class ArraysTest {
     @Test
     public void arraySorted() {
@@ -253,6 +256,91 @@ public class ArraysTest {
         assertEquals(-1, Arrays.mismatch(array, 0, 1, different, 1, 2));
     }
 
+    @Test
+    public void fillsRangesOfLongArrays() {
+        // Lengths cover both vector iterations and scalar tail of bulk operations
+        for (var length = 0; length <= 40; ++length) {
+            var ints = new int[length + 2];
+            Arrays.fill(ints, 1, length + 1, 23);
+            var longs = new long[length + 2];
+            Arrays.fill(longs, 1, length + 1, 0x123456789L);
+            var shorts = new short[length + 2];
+            Arrays.fill(shorts, 1, length + 1, (short) -2);
+            var chars = new char[length + 2];
+            Arrays.fill(chars, 1, length + 1, 'q');
+            var doubles = new double[length + 2];
+            Arrays.fill(doubles, 1, length + 1, 1.5);
+            for (var i = 0; i < length + 2; ++i) {
+                var inside = i >= 1 && i <= length;
+                assertEquals(inside ? 23 : 0, ints[i]);
+                assertEquals(inside ? 0x123456789L : 0, longs[i]);
+                assertEquals(inside ? -2 : 0, shorts[i]);
+                assertEquals(inside ? 'q' : 0, chars[i]);
+                assertEquals(inside ? 1.5 : 0, doubles[i], 0);
+            }
+        }
+    }
+
+    @Test
+    public void findsMismatchInLongArrays() {
+        for (var length = 1; length <= 40; ++length) {
+            var ints = new int[length];
+            var longs = new long[length];
+            var chars = new char[length];
+            var bytes = new byte[length];
+            for (var i = 0; i < length; ++i) {
+                ints[i] = i * 3;
+                longs[i] = i * 0x100000001L;
+                chars[i] = (char) ('a' + i);
+                bytes[i] = (byte) i;
+            }
+            assertEquals(-1, Arrays.mismatch(ints, ints.clone()));
+            assertEquals(-1, Arrays.mismatch(longs, longs.clone()));
+            assertEquals(-1, Arrays.mismatch(chars, chars.clone()));
+            assertEquals(-1, Arrays.mismatch(bytes, bytes.clone()));
+            for (var position = 0; position < length; ++position) {
+                var otherInts = ints.clone();
+                otherInts[position] ^= 0x10000;
+                var otherLongs = longs.clone();
+                otherLongs[position] ^= 0x100000000L;
+                var otherChars = chars.clone();
+                otherChars[position]++;
+                var otherBytes = bytes.clone();
+                otherBytes[position]--;
+                assertEquals(position, Arrays.mismatch(ints, otherInts));
+                assertEquals(position, Arrays.mismatch(longs, otherLongs));
+                assertEquals(position, Arrays.mismatch(chars, otherChars));
+                assertEquals(position, Arrays.mismatch(bytes, otherBytes));
+                assertFalse(Arrays.equals(ints, otherInts));
+                assertFalse(Arrays.equals(longs, otherLongs));
+            }
+        }
+
+        // Slices that start at different offsets
+        var first = new int[40];
+        var second = new int[43];
+        for (var i = 0; i < first.length; ++i) {
+            first[i] = i;
+            second[i + 3] = i;
+        }
+        assertTrue(Arrays.equals(first, 1, 38, second, 4, 41));
+        second[30] = -1;
+        assertEquals(26, Arrays.mismatch(first, 1, 38, second, 4, 41));
+    }
+
+    @Test
+    public void computesHashCodeOfLongArray() {
+        for (var length = 0; length <= 40; ++length) {
+            var array = new int[length];
+            var list = new ArrayList<Integer>();
+            for (var i = 0; i < length; ++i) {
+                array[i] = i * 0x01010101 - 7;
+                list.add(array[i]);
+            }
+            assertEquals(list.hashCode(), Arrays.hashCode(array));
+        }
+    }
+
     @Test
     public void deepToString() {
         int[][] array = { { 1, 2, 3 }, { 4, 5, 6 } };
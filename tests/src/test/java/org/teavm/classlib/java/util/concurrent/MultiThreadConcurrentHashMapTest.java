@@ -26,6 +26,8 @@ import org.junit.After;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.teavm.junit.EachTestCompiledSeparately;
+import org.teavm.junit.JsVariant;
+import org.teavm.junit.JsVariants;
 import org.teavm.junit.OnlyPlatform;
 import org.teavm.junit.SkipJVM;
 import org.teavm.junit.TeaVMTestRunner;
@@ -34,6 +36,7 @@ import org.teavm.junit.TestPlatform;
 @RunWith(TeaVMTestRunner.class)
 @EachTestCompiledSeparately
 @OnlyPlatform(TestPlatform.JAVASCRIPT)
+@JsVariants(JsVariant.GENERATOR_COROUTINES)
 public class MultiThreadConcurrentHashMapTest {
     private ArrayBlockingQueue<Runnable> backgroundTasks = new ArrayBlockingQueue<>(100);
     private boolean stopped;
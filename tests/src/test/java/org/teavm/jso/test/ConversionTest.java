@@ -30,6 +30,7 @@ import org.teavm.jso.JSBufferType;
 import org.teavm.jso.JSObject;
 import org.teavm.jso.JSProperty;
 import org.teavm.jso.core.JSString;
+import org.teavm.jso.typedarrays.ArrayBuffer;
 import org.teavm.jso.typedarrays.BigInt64Array;
 import org.teavm.jso.typedarrays.Float32Array;
 import org.teavm.jso.typedarrays.Float64Array;
@@ -42,11 +43,14 @@ import org.teavm.junit.OnlyPlatform;
 import org.teavm.junit.SkipJVM;
 import org.teavm.junit.TeaVMTestRunner;
 import org.teavm.junit.TestPlatform;
+import org.teavm.junit.WasmVariant;
+import org.teavm.junit.WasmVariants;
 
 @RunWith(TeaVMTestRunner.class)
 @SkipJVM
 @OnlyPlatform({TestPlatform.JAVASCRIPT, TestPlatform.WEBASSEMBLY_GC})
 @EachTestCompiledSeparately
+@WasmVariants({WasmVariant.LAZY_STRING_CONSTANTS, WasmVariant.JS_BUILTIN_STRING_CONSTANTS})
 public class ConversionTest {
     @Test
     public void convertsPrimitivesToJavaScript() {
@@ -188,6 +192,84 @@ public class ConversionTest {
         assertArrayEquals(array, arrayCopy, 0.1);
     }
 
+    @Test
+    public void copiesByteArrayToJavaScriptInChunks() {
+        var array = new byte[5000];
+        for (var i = 0; i < array.length; ++i) {
+            array[i] = (byte) (i * 7);
+        }
+        var typedArray = Int8Array.copyFromJavaArray(array);
+        assertEquals(array.length, typedArray.getLength());
+        for (var i = 0; i < array.length; ++i) {
+            assertEquals(array[i], typedArray.get(i));
+        }
+    }
+
+    @Test
+    public void copiesByteArrayFromTypedArrayView() {
+        var typedArray = new Int8Array(new ArrayBuffer(5003), 3, 5000);
+        for (var i = 0; i < typedArray.getLength(); ++i) {
+            typedArray.set(i, (byte) (i * 7));
+        }
+        var array = typedArray.copyToJavaArray();
+        assertEquals(5000, array.length);
+        for (var i = 0; i < array.length; ++i) {
+            assertEquals((byte) (i * 7), array[i]);
+        }
+    }
+
+    @Test
+    public void copiesIntArrayToJavaScriptInChunks() {
+        var array = new int[3000];
+        for (var i = 0; i < array.length; ++i) {
+            array[i] = i * 31 - 5;
+        }
+        var typedArray = Int32Array.copyFromJavaArray(array);
+        assertEquals(array.length, typedArray.getLength());
+        for (var i = 0; i < array.length; ++i) {
+            assertEquals(array[i], typedArray.get(i));
+        }
+    }
+
+    @Test
+    public void copiesIntArrayFromTypedArrayView() {
+        var typedArray = new Int32Array(new ArrayBuffer(8 + 3000 * 4), 8, 3000);
+        for (var i = 0; i < typedArray.getLength(); ++i) {
+            typedArray.set(i, i * 31 - 5);
+        }
+        var array = typedArray.copyToJavaArray();
+        assertEquals(3000, array.length);
+        for (var i = 0; i < array.length; ++i) {
+            assertEquals(i * 31 - 5, array[i]);
+        }
+    }
+
+    @Test
+    public void copiesLongArrayToJavaScriptInChunks() {
+        var array = new long[1500];
+        for (var i = 0; i < array.length; ++i) {
+            array[i] = i * 0x100000001L;
+        }
+        var typedArray = BigInt64Array.copyFromJavaArray(array);
+        assertEquals(array.length, typedArray.getLength());
+        for (var i = 0; i < array.length; ++i) {
+            assertEquals(array[i], typedArray.get(i));
+        }
+    }
+
+    @Test
+    public void copiesDoubleArrayFromTypedArrayView() {
+        var typedArray = new Float64Array(new ArrayBuffer(16 + 1500 * 8), 16, 1500);
+        for (var i = 0; i < typedArray.getLength(); ++i) {
+            typedArray.set(i, i / 4.0);
+        }
+        var array = typedArray.copyToJavaArray();
+        assertEquals(1500, array.length);
+        for (var i = 0; i < array.length; ++i) {
+            assertEquals(i / 4.0, array[i], 0.0);
+        }
+    }
+
     @Test
     public void convertsPrimitiveArrays2ToJavaScript() {
         assertEquals("true:2:3:64:4:5.5:6.5:foo:7", combinePrimitiveArrays2(new boolean[][] {{ true }},
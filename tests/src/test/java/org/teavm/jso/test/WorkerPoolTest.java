@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.jso.test;
+
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.teavm.jso.JSBody;
+import org.teavm.jso.workers.WorkerPool;
+import org.teavm.junit.EachTestCompiledSeparately;
+import org.teavm.junit.OnlyPlatform;
+import org.teavm.junit.SkipJVM;
+import org.teavm.junit.TeaVMTestRunner;
+import org.teavm.junit.TestPlatform;
+
+@RunWith(TeaVMTestRunner.class)
+@SkipJVM
+@OnlyPlatform(TestPlatform.JAVASCRIPT)
+@EachTestCompiledSeparately
+public class WorkerPoolTest {
+    private static final String RESPONDING_SCRIPT = ""
+            + "self.onmessage = e => {"
+            + "  if (e.data.task === 'crash') throw new Error('crash');"
+            + "  self.postMessage({ job: e.data.job });"
+            + "};";
+
+    @Test
+    public void terminatesWhenScriptCannotStart() {
+        var pool = new WorkerPool(scriptUrl("throw new Error('broken');"), 2);
+        try {
+            assertFails(pool, "work");
+            assertFails(pool, "work");
+        } finally {
+            pool.terminate();
+        }
+    }
+
+    @Test
+    public void terminatesWhenWorkerCrashesOnFirstPart() {
+        var pool = new WorkerPool(scriptUrl(RESPONDING_SCRIPT), 1);
+        try {
+            assertFails(pool, "crash");
+            assertFails(pool, "work");
+        } finally {
+            pool.terminate();
+        }
+    }
+
+    @Test
+    public void replacesWorkerThatCrashesAfterCompletingPart() {
+        var pool = new WorkerPool(scriptUrl(RESPONDING_SCRIPT), 1);
+        try {
+            pool.run("work", null, 3);
+            assertFails(pool, "crash");
+            pool.run("work", null, 3);
+            assertFails(pool, "crash");
+            pool.run("work", null, 1);
+        } finally {
+            pool.terminate();
+        }
+    }
+
+    private static void assertFails(WorkerPool pool, String task) {
+        try {
+            pool.run(task, null, 2);
+            fail("Task " + task + " expected to fail");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @JSBody(params = "script", script = "return URL.createObjectURL(new Blob([script], "
+            + "{ type: 'text/javascript' }));")
+    private static native String scriptUrl(String script);
+}
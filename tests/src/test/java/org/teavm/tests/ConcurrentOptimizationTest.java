@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.javascript.JavaScriptTarget;
+import org.teavm.vm.TeaVMBuilder;
+import org.teavm.vm.TeaVMOptimizationLevel;
+
+public class ConcurrentOptimizationTest {
+    @Test
+    public void simpleOutputDoesNotDependOnNumberOfThreads() {
+        checkThreadCounts(TeaVMOptimizationLevel.SIMPLE);
+    }
+
+    @Test
+    public void advancedOutputDoesNotDependOnNumberOfThreads() {
+        checkThreadCounts(TeaVMOptimizationLevel.ADVANCED);
+    }
+
+    @Test
+    public void fullOutputDoesNotDependOnNumberOfThreads() {
+        checkThreadCounts(TeaVMOptimizationLevel.FULL);
+    }
+
+    @Test
+    public void inliningDoesNotDependOnNumberOfThreads() {
+        var expected = build(1, TeaVMOptimizationLevel.ADVANCED, InliningSample.class);
+        assertEquals(expected, build(3, TeaVMOptimizationLevel.ADVANCED, InliningSample.class));
+        assertEquals(expected, build(8, TeaVMOptimizationLevel.ADVANCED, InliningSample.class));
+    }
+
+    private void checkThreadCounts(TeaVMOptimizationLevel level) {
+        var expected = build(1, level, Sample.class);
+        assertEquals(expected, build(2, level, Sample.class));
+        assertEquals(expected, build(4, level, Sample.class));
+        assertEquals(expected, build(7, level, Sample.class));
+    }
+
+    private String build(int threads, TeaVMOptimizationLevel level, Class<?> mainClass) {
+        var target = new JavaScriptTarget();
+        target.setObfuscated(false);
+        var vm = new TeaVMBuilder(target).build();
+        vm.setOptimizationLevel(level);
+        vm.setOptimizationThreads(threads);
+        vm.installPlugins();
+        vm.setEntryPoint(mainClass.getName());
+        var outputs = new HashMap<String, ByteArrayOutputStream>();
+        vm.build(name -> outputs.computeIfAbsent(name, n -> new ByteArrayOutputStream()), "classes.js");
+        assertTrue(vm.getProblemProvider().getSevereProblems().isEmpty());
+        return outputs.get("classes.js").toString(StandardCharsets.UTF_8);
+    }
+
+    public static class Sample {
+        public static void main(String[] args) {
+            List<Shape> shapes = new ArrayList<>();
+            for (var i = 0; i < args.length + 5; ++i) {
+                shapes.add(i % 2 == 0 ? new Circle(i) : new Square(i));
+            }
+            var areas = new double[shapes.size()];
+            var sb = new StringBuilder();
+            for (var i = 0; i < areas.length; ++i) {
+                var shape = shapes.get(i);
+                areas[i] = shape.area();
+                sb.append(shape.describe()).append(": ").append(areas[i]).append('\n');
+            }
+            System.out.println(sb);
+            System.out.println(sum(areas));
+        }
+
+        private static double sum(double[] values) {
+            var result = 0.0;
+            for (var value : values) {
+                result += value;
+            }
+            return result;
+        }
+    }
+
+    public static class InliningSample {
+        public static void main(String[] args) {
+            var n = args.length + 10;
+            System.out.println(outer(n) + even(n) + usedOnce(n));
+            System.out.println(outer(n + 1) + middle(n));
+        }
+
+        private static int outer(int x) {
+            return middle(x) + middle(x + 1);
+        }
+
+        private static int middle(int x) {
+            return inner(x) * 2 + inner(x - 1);
+        }
+
+        private static int inner(int x) {
+            return x > 100 ? x / 3 : x + leaf(x);
+        }
+
+        private static int leaf(int x) {
+            return x ^ 5;
+        }
+
+        private static int usedOnce(int x) {
+            var sum = 0;
+            for (var i = 0; i < x; ++i) {
+                sum += inner(i);
+            }
+            return sum;
+        }
+
+        private static int even(int x) {
+            return x == 0 ? 1 : odd(x - 1);
+        }
+
+        private static int odd(int x) {
+            return x == 0 ? 0 : even(x - 1);
+        }
+    }
+
+    interface Shape {
+        double area();
+
+        default String describe() {
+            return getClass().getSimpleName() + " with area " + area();
+        }
+    }
+
+    static class Circle implements Shape {
+        private final int radius;
+
+        Circle(int radius) {
+            this.radius = radius;
+        }
+
+        @Override
+        public double area() {
+            return Math.PI * radius * radius;
+        }
+    }
+
+    static class Square implements Shape {
+        private final int side;
+
+        Square(int side) {
+            this.side = side;
+        }
+
+        @Override
+        public double area() {
+            return side * side;
+        }
+    }
+}
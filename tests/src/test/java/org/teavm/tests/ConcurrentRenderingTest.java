@@ -0,0 +1,139 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.teavm.backend.javascript.JavaScriptTarget;
+import org.teavm.cache.AlwaysStaleCacheStatus;
+import org.teavm.cache.CacheStatus;
+import org.teavm.cache.InMemoryRenderedMethodCache;
+import org.teavm.model.MethodReference;
+import org.teavm.vm.TeaVM;
+import org.teavm.vm.TeaVMBuilder;
+
+public class ConcurrentRenderingTest {
+    @Test
+    public void outputDoesNotDependOnNumberOfThreads() {
+        var expected = build(1, false);
+        assertEquals(expected, build(4, false));
+        assertEquals(expected, build(7, false));
+    }
+
+    @Test
+    public void minifiedOutputDoesNotDependOnNumberOfThreads() {
+        var expected = build(1, true);
+        assertEquals(expected, build(4, true));
+        assertEquals(expected, build(7, true));
+    }
+
+    @Test
+    public void renderedMethodCacheDoesNotChangeOutput() {
+        var expected = build(1, true);
+        var cache = new InMemoryRenderedMethodCache();
+        assertEquals(expected, build(1, true, cache, AlwaysStaleCacheStatus.INSTANCE));
+        cache.commit();
+        assertTrue(cache.getSize() > 0);
+        assertEquals(expected, build(1, true, cache, new UpToDateCacheStatus()));
+        assertEquals(expected, build(4, true, cache, new UpToDateCacheStatus()));
+    }
+
+    private String build(int threads, boolean minified) {
+        return build(threads, minified, null, null);
+    }
+
+    private String build(int threads, boolean minified, InMemoryRenderedMethodCache cache,
+            CacheStatus cacheStatus) {
+        var target = new JavaScriptTarget();
+        target.setObfuscated(minified);
+        target.setRenderingThreads(threads);
+        target.setRenderedMethodCache(cache);
+        TeaVM vm = new TeaVMBuilder(target).build();
+        if (cacheStatus != null) {
+            vm.setCacheStatus(cacheStatus);
+        }
+        vm.installPlugins();
+        vm.setEntryPoint(Sample.class.getName());
+        var outputs = new HashMap<String, ByteArrayOutputStream>();
+        vm.build(name -> outputs.computeIfAbsent(name, n -> new ByteArrayOutputStream()), "classes.js");
+        assertTrue(vm.getProblemProvider().getSevereProblems().isEmpty());
+        return outputs.get("classes.js").toString(StandardCharsets.UTF_8);
+    }
+
+    static class UpToDateCacheStatus implements CacheStatus {
+        @Override
+        public boolean isStaleClass(String className) {
+            return false;
+        }
+
+        @Override
+        public boolean isStaleMethod(MethodReference method) {
+            return false;
+        }
+    }
+
+    public static class Sample {
+        public static void main(String[] args) {
+            Map<String, List<Shape>> shapes = new HashMap<>();
+            shapes.computeIfAbsent("round", k -> new ArrayList<>()).add(new Circle(2));
+            shapes.computeIfAbsent("square", k -> new ArrayList<>()).add(new Square(3));
+            var sb = new StringBuilder();
+            for (var entry : shapes.entrySet()) {
+                for (var shape : entry.getValue()) {
+                    sb.append(entry.getKey()).append(": ").append(shape.describe()).append('\n');
+                }
+            }
+            System.out.println(sb);
+        }
+    }
+
+    interface Shape {
+        String describe();
+    }
+
+    static class Circle implements Shape {
+        private final int radius;
+
+        Circle(int radius) {
+            this.radius = radius;
+        }
+
+        @Override
+        public String describe() {
+            return "circle of radius " + radius;
+        }
+    }
+
+    static class Square implements Shape {
+        private final int side;
+
+        Square(int side) {
+            this.side = side;
+        }
+
+        @Override
+        public String describe() {
+            return "square with side " + side;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tests;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.javascript.JSCoroutineMode;
+import org.teavm.backend.javascript.JavaScriptTarget;
+import org.teavm.vm.TeaVMBuilder;
+
+/**
+ * Compiles the same threaded program with both coroutine modes. Besides checking the shape of generated code,
+ * it prints size of both outputs, which is the figure to watch when changing code generation for coroutines.
+ */
+public class CoroutineModeTest {
+    @Test
+    public void generatorsReplaceStateMachines() {
+        var stateMachine = build(JSCoroutineMode.STATE_MACHINE);
+        var generators = build(JSCoroutineMode.GENERATORS);
+
+        assertTrue(stateMachine.contains("$rt_suspending()"));
+        assertFalse(stateMachine.contains("function*"));
+        assertTrue(generators.contains("function*"));
+        assertTrue(generators.contains("yield*"));
+
+        var stateMachineSize = stateMachine.getBytes(StandardCharsets.UTF_8).length;
+        var generatorsSize = generators.getBytes(StandardCharsets.UTF_8).length;
+        System.out.println("Output size, state machines: " + stateMachineSize + " bytes, generators: "
+                + generatorsSize + " bytes (" + (generatorsSize * 100 / stateMachineSize) + "%)");
+    }
+
+    private String build(JSCoroutineMode mode) {
+        var target = new JavaScriptTarget();
+        target.setObfuscated(false);
+        target.setCoroutineMode(mode);
+        var vm = new TeaVMBuilder(target).build();
+        vm.installPlugins();
+        vm.setEntryPoint(Sample.class.getName());
+        var output = new ByteArrayOutputStream();
+        vm.build(name -> output, "classes.js");
+        assertTrue(vm.getProblemProvider().getSevereProblems().isEmpty());
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    public static class Sample {
+        private static final Object lock = new Object();
+        private static final List<String> messages = new ArrayList<>();
+
+        public static void main(String[] args) throws InterruptedException {
+            var producer = new Thread(() -> {
+                for (var i = 0; i < 5; ++i) {
+                    post("message " + i);
+                    sleep(10);
+                }
+            });
+            producer.start();
+            for (var i = 0; i < 5; ++i) {
+                System.out.println(take());
+            }
+            producer.join();
+        }
+
+        private static void post(String message) {
+            synchronized (lock) {
+                messages.add(message);
+                lock.notifyAll();
+            }
+        }
+
+        private static String take() throws InterruptedException {
+            synchronized (lock) {
+                while (messages.isEmpty()) {
+                    lock.wait();
+                }
+                return messages.remove(0);
+            }
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
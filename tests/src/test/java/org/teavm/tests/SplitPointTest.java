@@ -0,0 +1,171 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.teavm.backend.javascript.JSModuleType;
+import org.teavm.backend.javascript.JavaScriptTarget;
+import org.teavm.vm.TeaVMBuilder;
+
+public class SplitPointTest {
+    private static final String MAIN_FILE = "classes.js";
+    private static final String CHUNK_FILE = "classes-" + ChunkEntry.class.getName() + ".js";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void chunkImportsScopeOfMainModule() throws IOException {
+        build();
+        var chunk = read(CHUNK_FILE);
+        assertTrue(chunk.contains("import {$rt_scope as "));
+        assertTrue(chunk.contains(" from \"./" + MAIN_FILE + "\";"));
+        assertTrue(chunk.contains("export const main = "));
+        assertTrue(read(MAIN_FILE).contains(" as $rt_scope };"));
+    }
+
+    @Test
+    public void chunkContainsOnlyItsOwnClasses() throws IOException {
+        build();
+        var main = read(MAIN_FILE);
+        var chunk = read(CHUNK_FILE);
+
+        assertTrue(chunk.contains(declaration(ChunkOnlyGreeting.class)));
+        assertFalse(main.contains(alias(ChunkOnlyGreeting.class)));
+
+        assertTrue(main.contains(declaration(MainOnlyGreeting.class)));
+        assertFalse(chunk.contains(alias(MainOnlyGreeting.class)));
+
+        assertTrue(main.contains(declaration(SharedFormatter.class)));
+        assertTrue(chunk.contains(alias(SharedFormatter.class)));
+        assertFalse(chunk.contains(declaration(SharedFormatter.class)));
+
+        assertTrue(main.contains(declaration(Object.class)));
+        assertFalse(chunk.contains(declaration(Object.class)));
+    }
+
+    @Test
+    public void chunkRunsAfterDynamicImport() throws IOException, InterruptedException {
+        build();
+        Files.writeString(new File(folder.getRoot(), "run.mjs").toPath(), ""
+                + "const main = await import(\"./" + MAIN_FILE + "\");\n"
+                + "main.main([]);\n"
+                + "const chunk = await import(\"./" + CHUNK_FILE + "\");\n"
+                + "chunk.main([]);\n", StandardCharsets.UTF_8);
+
+        Process process;
+        try {
+            process = new ProcessBuilder("node", "run.mjs")
+                    .directory(folder.getRoot())
+                    .redirectErrorStream(true)
+                    .start();
+        } catch (IOException e) {
+            Assume.assumeNoException("Node.js is not available", e);
+            return;
+        }
+        var output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(process.waitFor(1, TimeUnit.MINUTES));
+        assertEquals(output, 0, process.exitValue());
+        // Main method of the main module may be started asynchronously, so the order of lines is not defined
+        assertEquals(List.of("chunk: [hello from chunk]", "main: [hello from main]"),
+                output.lines().sorted().collect(Collectors.toList()));
+    }
+
+    private void build() throws IOException {
+        var target = new JavaScriptTarget();
+        target.setObfuscated(false);
+        target.setModuleType(JSModuleType.ES2015);
+        target.setSplitPoints(List.of(ChunkEntry.class.getName()));
+        var vm = new TeaVMBuilder(target).build();
+        vm.installPlugins();
+        vm.setEntryPoint(MainEntry.class.getName());
+        vm.build(name -> new FileOutputStream(new File(folder.getRoot(), name)), MAIN_FILE);
+        assertTrue(vm.getProblemProvider().getSevereProblems().isEmpty());
+    }
+
+    private String read(String name) throws IOException {
+        return Files.readString(new File(folder.getRoot(), name).toPath(), StandardCharsets.UTF_8);
+    }
+
+    private static String alias(Class<?> cls) {
+        // Mirrors DefaultAliasProvider: package names are shortened to their first letters
+        var name = cls.getName();
+        var packageEnd = name.lastIndexOf('.');
+        var sb = new StringBuilder();
+        for (var part : name.substring(0, packageEnd).split("\\.")) {
+            sb.append(part.charAt(0));
+        }
+        return sb.append('_').append(name.substring(packageEnd + 1)).toString();
+    }
+
+    private static String declaration(Class<?> cls) {
+        return "." + alias(cls) + " = ";
+    }
+
+    public static class MainEntry {
+        public static void main(String[] args) {
+            System.out.println("main: " + new SharedFormatter("[", "]").format(new MainOnlyGreeting()));
+        }
+    }
+
+    public static class ChunkEntry {
+        public static void main(String[] args) {
+            System.out.println("chunk: " + new SharedFormatter("[", "]").format(new ChunkOnlyGreeting()));
+        }
+    }
+
+    static class SharedFormatter {
+        private final String prefix;
+        private final String suffix;
+
+        SharedFormatter(String prefix, String suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        String format(Object value) {
+            return prefix + value + suffix;
+        }
+    }
+
+    static class MainOnlyGreeting {
+        @Override
+        public String toString() {
+            return "hello from main";
+        }
+    }
+
+    static class ChunkOnlyGreeting {
+        @Override
+        public String toString() {
+            return "hello from chunk";
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.function.Consumer;
+import org.junit.Test;
+import org.teavm.backend.javascript.JavaScriptTarget;
+import org.teavm.vm.TeaVMBuilder;
+
+public class StreamingOutputTest {
+    @Test
+    public void streamingOutputIsIdenticalToDirectOutput() {
+        var expected = build(false, target -> { });
+        assertArrayEquals(expected, build(true, target -> { }));
+        assertArrayEquals(expected, build(true, target -> target.setStreamingMemoryLimit(1)));
+        assertArrayEquals(expected, build(true, target -> target.setStreamingMemoryLimit(4096)));
+    }
+
+    @Test
+    public void minifiedStreamingOutputIsIdenticalToDirectOutput() {
+        Consumer<JavaScriptTarget> minified = target -> target.setObfuscated(true);
+        var expected = build(false, minified);
+        assertArrayEquals(expected, build(true, minified.andThen(target -> target.setStreamingMemoryLimit(1))));
+    }
+
+    private byte[] build(boolean streaming, Consumer<JavaScriptTarget> configuration) {
+        var target = new JavaScriptTarget();
+        target.setObfuscated(false);
+        target.setStreamingOutput(streaming);
+        configuration.accept(target);
+        var vm = new TeaVMBuilder(target).build();
+        vm.installPlugins();
+        vm.setEntryPoint(ConcurrentRenderingTest.Sample.class.getName());
+        var outputs = new HashMap<String, ByteArrayOutputStream>();
+        vm.build(name -> outputs.computeIfAbsent(name, n -> new ByteArrayOutputStream()), "classes.js");
+        assertTrue(vm.getProblemProvider().getSevereProblems().isEmpty());
+        return outputs.get("classes.js").toByteArray();
+    }
+}
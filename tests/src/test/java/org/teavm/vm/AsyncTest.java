@@ -23,6 +23,8 @@ import org.teavm.interop.AsyncCallback;
 import org.teavm.jso.browser.Window;
 import org.teavm.jso.core.JSString;
 import org.teavm.junit.EachTestCompiledSeparately;
+import org.teavm.junit.JsVariant;
+import org.teavm.junit.JsVariants;
 import org.teavm.junit.OnlyPlatform;
 import org.teavm.junit.SkipJVM;
 import org.teavm.junit.TeaVMTestRunner;
@@ -32,6 +34,7 @@ import org.teavm.junit.TestPlatform;
 @EachTestCompiledSeparately
 @OnlyPlatform(TestPlatform.JAVASCRIPT)
 @SkipJVM
+@JsVariants(JsVariant.GENERATOR_COROUTINES)
 public class AsyncTest {
     @Test
     public void primitives() {
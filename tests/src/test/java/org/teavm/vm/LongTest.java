@@ -19,10 +19,13 @@ import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.teavm.junit.EachTestCompiledSeparately;
+import org.teavm.junit.JsVariant;
+import org.teavm.junit.JsVariants;
 import org.teavm.junit.TeaVMTestRunner;
 
 @RunWith(TeaVMTestRunner.class)
 @EachTestCompiledSeparately
+@JsVariants(JsVariant.LONG_AS_INT32_PAIR)
 public class LongTest {
     @Test
     public void longIntegersMultipied() {
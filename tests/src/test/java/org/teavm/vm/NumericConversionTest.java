@@ -18,11 +18,14 @@ package org.teavm.vm;
 import static org.junit.Assert.assertEquals;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.teavm.junit.JsVariant;
+import org.teavm.junit.JsVariants;
 import org.teavm.junit.SkipPlatform;
 import org.teavm.junit.TeaVMTestRunner;
 import org.teavm.junit.TestPlatform;
 
 @RunWith(TeaVMTestRunner.class)
+@JsVariants(JsVariant.LONG_AS_INT32_PAIR)
 public class NumericConversionTest {
     @Test
     @SkipPlatform({TestPlatform.JAVASCRIPT, TestPlatform.C})
@@ -29,6 +29,8 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.teavm.backend.javascript.JSCoroutineMode;
+import org.teavm.backend.javascript.JSLongRepresentation;
 import org.teavm.backend.javascript.JSModuleType;
 import org.teavm.backend.wasm.render.WasmBinaryVersion;
 import org.teavm.tooling.ConsoleTeaVMToolLog;
@@ -88,6 +90,18 @@ public final class TeaVMRunner {
                 .hasArg()
                 .argName("number")
                 .build());
+        options.addOption(Option.builder()
+                .longOpt("build-profile")
+                .desc("write JSON report with timings of build phases to the given file")
+                .hasArg()
+                .argName("file")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("optimization-threads")
+                .desc("number of threads used to optimize methods")
+                .hasArg()
+                .argName("number")
+                .build());
         options.addOption(Option.builder("g")
                 .desc("Generate debug information")
                 .longOpt("debug")
@@ -106,6 +120,10 @@ public final class TeaVMRunner {
                 .desc("Incremental build cache directory")
                 .longOpt("cachedir")
                 .build());
+        options.addOption(Option.builder()
+                .desc("Store incremental program cache in a single packed file")
+                .longOpt("packed-cache")
+                .build());
         options.addOption(Option.builder("w")
                 .desc("Wait for command after compilation, in order to enable hot recompilation")
                 .longOpt("wait")
@@ -122,6 +140,21 @@ public final class TeaVMRunner {
                 .desc("Tell optimizer to not remove class, so that it can be found by Class.forName")
                 .longOpt("preserve-class")
                 .build());
+        options.addOption(Option.builder()
+                .argName("class name")
+                .hasArgs()
+                .desc("Emit main method of the class into a separate lazily loaded chunk "
+                        + "(requires ES2015 modules)")
+                .longOpt("js-split-point")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("js-streaming-output")
+                .desc("render JavaScript with bounded memory, spilling intermediate code to a temporary file")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("js-lazy-metadata")
+                .desc("initialize class metadata and virtual methods when class is first used, not at startup")
+                .build());
         options.addOption(Option.builder()
                 .longOpt("wasm-version")
                 .argName("version")
@@ -156,6 +189,34 @@ public final class TeaVMRunner {
                 .hasArg()
                 .desc("JavaScript module type (umd, common-js, none, es2015).")
                 .build());
+        options.addOption(Option.builder()
+                .longOpt("js-long-representation")
+                .argName("representation")
+                .hasArg()
+                .desc("representation of Java long in JavaScript (bigint, int32-pair).")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("js-coroutines")
+                .argName("mode")
+                .hasArg()
+                .desc("how methods that suspend threads are compiled to JavaScript (state-machine, generators).")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("js-size-report")
+                .desc("write report of JavaScript output size per package, class and method")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("js-size-baseline")
+                .argName("file")
+                .hasArg()
+                .desc("JSON size report of a previous build to compare size report with")
+                .build());
+        options.addOption(Option.builder()
+                .longOpt("js-size-budget")
+                .argName("bytes")
+                .hasArg()
+                .desc("fail when JavaScript output is larger than given number of bytes")
+                .build());
     }
 
     private TeaVMRunner(CommandLine commandLine) {
@@ -245,7 +306,12 @@ public final class TeaVMRunner {
     private void parseGenerationOptions() {
         tool.setObfuscated(commandLine.hasOption("m"));
         tool.setStrict(commandLine.hasOption("strict"));
+        tool.setJsStreamingOutput(commandLine.hasOption("js-streaming-output"));
+        tool.setJsLazyMetadata(commandLine.hasOption("js-lazy-metadata"));
         parseJsModuleOption();
+        parseJsLongRepresentationOption();
+        parseJsCoroutineOption();
+        parseJsSizeReportOptions();
 
         if (commandLine.hasOption("max-toplevel-names")) {
             try {
@@ -255,6 +321,9 @@ public final class TeaVMRunner {
                 printUsage();
             }
         }
+        if (commandLine.hasOption("js-split-point")) {
+            tool.getJsSplitPoints().addAll(Arrays.asList(commandLine.getOptionValues("js-split-point")));
+        }
     }
 
     private void parseJsModuleOption() {
@@ -280,6 +349,55 @@ public final class TeaVMRunner {
         }
     }
 
+    private void parseJsLongRepresentationOption() {
+        if (!commandLine.hasOption("js-long-representation")) {
+            return;
+        }
+        switch (commandLine.getOptionValue("js-long-representation")) {
+            case "bigint":
+                tool.setJsLongRepresentation(JSLongRepresentation.BIG_INT);
+                break;
+            case "int32-pair":
+                tool.setJsLongRepresentation(JSLongRepresentation.INT32_PAIR);
+                break;
+            default:
+                System.err.print("Wrong JS long representation");
+                printUsage();
+        }
+    }
+
+    private void parseJsSizeReportOptions() {
+        tool.setJsSizeReport(commandLine.hasOption("js-size-report"));
+        if (commandLine.hasOption("js-size-baseline")) {
+            tool.setJsSizeReportBaseline(new File(commandLine.getOptionValue("js-size-baseline")));
+        }
+        if (commandLine.hasOption("js-size-budget")) {
+            try {
+                tool.setJsSizeBudget(Integer.parseInt(commandLine.getOptionValue("js-size-budget")));
+            } catch (NumberFormatException e) {
+                System.err.println("'--js-size-budget' must be integer number");
+                printUsage();
+            }
+        }
+    }
+
+    private void parseJsCoroutineOption() {
+        if (!commandLine.hasOption("js-coroutines")) {
+            return;
+        }
+        switch (commandLine.getOptionValue("js-coroutines")) {
+            case "state-machine":
+                tool.setJsCoroutineMode(JSCoroutineMode.STATE_MACHINE);
+                break;
+            case "generators":
+                tool.setJsCoroutineMode(JSCoroutineMode.GENERATORS);
+                break;
+            default:
+                System.err.print("Wrong JS coroutine mode");
+                printUsage();
+        }
+    }
+
     private void parseDebugOptions() {
         if (commandLine.hasOption('g')) {
             tool.setDebugInformationGenerated(true);
@@ -320,12 +438,26 @@ public final class TeaVMRunner {
                     printUsage();
             }
         }
+        if (commandLine.hasOption("build-profile")) {
+            tool.setBuildProfileFile(new File(commandLine.getOptionValue("build-profile")));
+        }
+        if (commandLine.hasOption("optimization-threads")) {
+            try {
+                tool.setOptimizationThreads(Integer.parseInt(commandLine.getOptionValue("optimization-threads")));
+            } catch (NumberFormatException e) {
+                System.err.println("'--optimization-threads' must be integer number");
+                printUsage();
+            }
+        }
     }
 
     private void parseIncrementalOptions() {
         if (commandLine.hasOption('i')) {
             tool.setIncremental(true);
         }
+        if (commandLine.hasOption("packed-cache")) {
+            tool.setPackedProgramCache(true);
+        }
         if (commandLine.hasOption('c')) {
             tool.setCacheDirectory(new File(commandLine.getOptionValue('c')));
         } else {
@@ -28,6 +28,8 @@ dependencies {
     api(project(":core"))
 
     implementation(libs.commons.io)
+
+    testImplementation(libs.junit)
 }
 
 teavmPublish {
@@ -0,0 +1,215 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tooling;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.teavm.ast.AsyncMethodNode;
+import org.teavm.cache.AstCacheEntry;
+import org.teavm.cache.CacheStatus;
+import org.teavm.cache.DiskCachedClassReaderSource;
+import org.teavm.cache.InMemoryMethodNodeCache;
+import org.teavm.cache.InMemoryProgramCache;
+import org.teavm.cache.InMemoryRenderedMethodCache;
+import org.teavm.cache.InMemorySymbolTable;
+import org.teavm.cache.MemoryCachedClassReaderSource;
+import org.teavm.cache.MethodNodeCache;
+import org.teavm.model.ClassReader;
+import org.teavm.model.ClassReaderSource;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Program;
+import org.teavm.model.ProgramCache;
+import org.teavm.model.ReferenceCache;
+import org.teavm.parsing.ClassDateProvider;
+
+/**
+ * <p>Keeps classes, optimized programs, ASTs and rendered JavaScript of methods in memory between consecutive
+ * builds performed by the same process, in front of the disk caches of incremental build. Used by long-living
+ * processes like the build daemon, so that a repeated build does not read and parse cache files again
+ * and does not render unchanged methods again.</p>
+ *
+ * <p>Size of the cache is limited, least recently used entries are evicted first. The budget is split
+ * between classes (40%), programs (30%), ASTs (15%) and rendered methods (15%).</p>
+ *
+ * <p>The cache is not thread-safe, only one build can use it at a time.</p>
+ */
+public class InMemoryBuildCache {
+    private ReferenceCache referenceCache = new ReferenceCache();
+    private InMemorySymbolTable symbolTable = new InMemorySymbolTable();
+    private InMemorySymbolTable fileTable = new InMemorySymbolTable();
+    private InMemorySymbolTable variableTable = new InMemorySymbolTable();
+    private MemoryCachedClassReaderSource classSource;
+    private InMemoryProgramCache programCache;
+    private InMemoryMethodNodeCache astCache;
+    private InMemoryRenderedMethodCache renderedMethodCache = new InMemoryRenderedMethodCache();
+    private Map<String, Date> classDates = new HashMap<>();
+
+    public InMemoryBuildCache(long maxSize) {
+        classSource = new MemoryCachedClassReaderSource(referenceCache, symbolTable, fileTable, variableTable);
+        programCache = new InMemoryProgramCache(referenceCache, symbolTable, fileTable, variableTable);
+        astCache = new InMemoryMethodNodeCache(referenceCache, symbolTable, fileTable, variableTable);
+        classSource.setMaxSize(maxSize * 2 / 5);
+        programCache.setMaxSize(maxSize * 3 / 10);
+        astCache.setMaxSize(maxSize * 3 / 20);
+        renderedMethodCache.setMaxSize(maxSize * 3 / 20);
+    }
+
+    public long getSize() {
+        return classSource.getSize() + programCache.getSize() + astCache.getSize() + renderedMethodCache.getSize();
+    }
+
+    InMemoryRenderedMethodCache getRenderedMethodCache() {
+        return renderedMethodCache;
+    }
+
+    /**
+     * Starts new build. Evicts classes which modification date changed since they were cached,
+     * and returns source which takes classes from memory and falls back to the given disk cache.
+     */
+    TieredClassSource startBuild(DiskCachedClassReaderSource diskSource, ClassDateProvider dateProvider) {
+        var modifiedClasses = new ArrayList<String>();
+        for (var className : classSource.getCachedClasses()) {
+            if (!Objects.equals(classDates.get(className), dateProvider.getModificationDate(className))) {
+                modifiedClasses.add(className);
+            }
+        }
+        classSource.evict(modifiedClasses);
+        classDates.keySet().removeAll(modifiedClasses);
+        classDates.keySet().retainAll(classSource.getCachedClasses());
+
+        classSource.setProvider(name -> {
+            classDates.put(name, dateProvider.getModificationDate(name));
+            return diskSource.get(name);
+        });
+        return new TieredClassSource(diskSource);
+    }
+
+    ProgramCache wrapProgramCache(ProgramCache diskCache, Function<MethodReference, String[]> dependencies) {
+        return new ProgramCache() {
+            @Override
+            public Program get(MethodReference method, CacheStatus cacheStatus) {
+                var program = programCache.get(method, cacheStatus);
+                if (program == null) {
+                    program = diskCache.get(method, cacheStatus);
+                    var programDependencies = program != null ? dependencies.apply(method) : null;
+                    if (programDependencies != null) {
+                        programCache.store(method, program, () -> programDependencies);
+                    }
+                }
+                return program;
+            }
+
+            @Override
+            public void store(MethodReference method, Program program, Supplier<String[]> dependencies) {
+                programCache.store(method, program, dependencies);
+                diskCache.store(method, program, dependencies);
+            }
+        };
+    }
+
+    MethodNodeCache wrapAstCache(MethodNodeCache diskCache, Function<MethodReference, String[]> dependencies,
+            Function<MethodReference, String[]> asyncDependencies) {
+        return new MethodNodeCache() {
+            @Override
+            public AstCacheEntry get(MethodReference methodReference, CacheStatus cacheStatus) {
+                var entry = astCache.get(methodReference, cacheStatus);
+                if (entry == null) {
+                    entry = diskCache.get(methodReference, cacheStatus);
+                    var entryDependencies = entry != null ? dependencies.apply(methodReference) : null;
+                    if (entryDependencies != null) {
+                        astCache.store(methodReference, entry, () -> entryDependencies);
+                    }
+                }
+                return entry;
+            }
+
+            @Override
+            public void store(MethodReference methodReference, AstCacheEntry entry,
+                    Supplier<String[]> dependencies) {
+                astCache.store(methodReference, entry, dependencies);
+                diskCache.store(methodReference, entry, dependencies);
+            }
+
+            @Override
+            public AsyncMethodNode getAsync(MethodReference methodReference, CacheStatus cacheStatus) {
+                var node = astCache.getAsync(methodReference, cacheStatus);
+                if (node == null) {
+                    node = diskCache.getAsync(methodReference, cacheStatus);
+                    var nodeDependencies = node != null ? asyncDependencies.apply(methodReference) : null;
+                    if (nodeDependencies != null) {
+                        astCache.storeAsync(methodReference, node, () -> nodeDependencies);
+                    }
+                }
+                return node;
+            }
+
+            @Override
+            public void storeAsync(MethodReference methodReference, AsyncMethodNode node,
+                    Supplier<String[]> dependencies) {
+                astCache.storeAsync(methodReference, node, dependencies);
+                diskCache.storeAsync(methodReference, node, dependencies);
+            }
+        };
+    }
+
+    void commit() {
+        classSource.commit();
+        programCache.commit();
+        astCache.commit();
+        renderedMethodCache.commit();
+        classSource.setProvider(null);
+    }
+
+    void discard() {
+        programCache.discard();
+        astCache.discard();
+        renderedMethodCache.discard();
+        classSource.setProvider(null);
+    }
+
+    class TieredClassSource implements ClassReaderSource, CacheStatus {
+        private DiskCachedClassReaderSource diskSource;
+
+        TieredClassSource(DiskCachedClassReaderSource diskSource) {
+            this.diskSource = diskSource;
+        }
+
+        @Override
+        public ClassReader get(String name) {
+            return classSource.get(name);
+        }
+
+        @Override
+        public boolean isStaleClass(String className) {
+            return classSource.isStaleClass(className) && diskSource.isStaleClass(className);
+        }
+
+        @Override
+        public boolean isStaleMethod(MethodReference method) {
+            return isStaleClass(method.getClassName());
+        }
+
+        @Override
+        public byte[] getClassDigest(String className) {
+            return diskSource.getClassDigest(className);
+        }
+    }
+}
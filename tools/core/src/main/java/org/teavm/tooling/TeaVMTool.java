@@ -16,9 +16,12 @@
 package org.teavm.tooling;
 
 import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
@@ -32,12 +35,18 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.teavm.backend.c.CTarget;
 import org.teavm.backend.c.generate.CNameProvider;
 import org.teavm.backend.c.generate.ShorteningFileNameProvider;
 import org.teavm.backend.c.generate.SimpleFileNameProvider;
+import org.teavm.backend.javascript.JSCoroutineMode;
+import org.teavm.backend.javascript.JSLongRepresentation;
 import org.teavm.backend.javascript.JSModuleType;
 import org.teavm.backend.javascript.JavaScriptTarget;
+import org.teavm.backend.javascript.report.BundleSizeReport;
 import org.teavm.backend.wasm.WasmDebugInfoLevel;
 import org.teavm.backend.wasm.WasmDebugInfoLocation;
 import org.teavm.backend.wasm.WasmGCTarget;
@@ -52,9 +61,11 @@ import org.teavm.cache.DiskMethodNodeCache;
 import org.teavm.cache.DiskProgramCache;
 import org.teavm.cache.EmptyProgramCache;
 import org.teavm.cache.FileSymbolTable;
+import org.teavm.cache.PackedProgramCache;
 import org.teavm.debugging.information.DebugInformation;
 import org.teavm.debugging.information.DebugInformationBuilder;
-import org.teavm.debugging.information.SourceMapsWriter;
+import org.teavm.debugging.information.DummyDebugInformationEmitter;
+import org.teavm.debugging.information.StreamingSourceMapsWriter;
 import org.teavm.dependency.DependencyInfo;
 import org.teavm.dependency.FastDependencyAnalyzer;
 import org.teavm.dependency.PreciseDependencyAnalyzer;
@@ -62,7 +73,9 @@ import org.teavm.diagnostics.ProblemProvider;
 import org.teavm.model.ClassHolderSource;
 import org.teavm.model.ClassHolderTransformer;
 import org.teavm.model.ClassReader;
+import org.teavm.model.ClassReaderSource;
 import org.teavm.model.PreOptimizingClassHolderSource;
+import org.teavm.model.ProgramCache;
 import org.teavm.model.ReferenceCache;
 import org.teavm.model.transformation.AssertionRemoval;
 import org.teavm.parsing.ClasspathClassHolderSource;
@@ -70,6 +83,7 @@ import org.teavm.parsing.ClasspathResourceProvider;
 import org.teavm.parsing.resource.ResourceProvider;
 import org.teavm.tooling.sources.DefaultSourceFileResolver;
 import org.teavm.tooling.sources.SourceFileProvider;
+import org.teavm.vm.BuildProfiler;
 import org.teavm.vm.BuildTarget;
 import org.teavm.vm.DirectoryBuildTarget;
 import org.teavm.vm.TeaVM;
@@ -84,7 +98,14 @@ public class TeaVMTool {
     private String targetFileName = "";
     private boolean obfuscated = true;
     private JSModuleType jsModuleType = JSModuleType.UMD;
+    private JSLongRepresentation jsLongRepresentation = JSLongRepresentation.BIG_INT;
+    private JSCoroutineMode jsCoroutineMode = JSCoroutineMode.STATE_MACHINE;
     private boolean strict;
+    private boolean jsStreamingOutput;
+    private boolean jsLazyMetadata;
+    private boolean jsSizeReport;
+    private File jsSizeReportBaseline;
+    private int jsSizeBudget;
     private int maxTopLevelNames = 80_000;
     private String mainClass;
     private String entryPointName = "main";
@@ -96,12 +117,16 @@ public class TeaVMTool {
     private File cacheDirectory = new File("./teavm-cache");
     private List<String> transformers = new ArrayList<>();
     private List<String> classesToPreserve = new ArrayList<>();
+    private List<String> jsSplitPoints = new ArrayList<>();
     private TeaVMToolLog log = new EmptyTeaVMToolLog();
     private ClassLoader classLoader = TeaVMTool.class.getClassLoader();
     private List<File> classPath;
     private DiskCachedClassReaderSource cachedClassSource;
+    private boolean packedProgramCache;
     private DiskProgramCache programCache;
+    private PackedProgramCache packedCache;
     private DiskMethodNodeCache astCache;
+    private InMemoryBuildCache inMemoryCache;
     private FileSymbolTable symbolTable;
     private FileSymbolTable fileTable;
     private FileSymbolTable variableTable;
@@ -110,8 +135,13 @@ public class TeaVMTool {
     private TeaVM vm;
     private boolean fastDependencyAnalysis;
     private TeaVMOptimizationLevel optimizationLevel = TeaVMOptimizationLevel.SIMPLE;
+    private int optimizationThreads = 1;
+    private File buildProfileFile;
     private List<SourceFileProvider> sourceFileProviders = new ArrayList<>();
     private DebugInformationBuilder debugEmitter;
+    private StreamingSourceMapsWriter sourceMapsWriter;
+    private File sourceMapsFile;
+    private Writer sourceMapsOut;
     private JavaScriptTarget javaScriptTarget;
     private WasmTarget webAssemblyTarget;
     private WasmBinaryVersion wasmVersion = WasmBinaryVersion.V_0x1;
@@ -151,10 +181,38 @@ public class TeaVMTool {
         this.jsModuleType = jsModuleType;
     }
 
+    public void setJsLongRepresentation(JSLongRepresentation jsLongRepresentation) {
+        this.jsLongRepresentation = jsLongRepresentation;
+    }
+
+    public void setJsCoroutineMode(JSCoroutineMode jsCoroutineMode) {
+        this.jsCoroutineMode = jsCoroutineMode;
+    }
+
     public void setStrict(boolean strict) {
         this.strict = strict;
     }
 
+    public void setJsStreamingOutput(boolean jsStreamingOutput) {
+        this.jsStreamingOutput = jsStreamingOutput;
+    }
+
+    public void setJsLazyMetadata(boolean jsLazyMetadata) {
+        this.jsLazyMetadata = jsLazyMetadata;
+    }
+
+    public void setJsSizeReport(boolean jsSizeReport) {
+        this.jsSizeReport = jsSizeReport;
+    }
+
+    public void setJsSizeReportBaseline(File jsSizeReportBaseline) {
+        this.jsSizeReportBaseline = jsSizeReportBaseline;
+    }
+
+    public void setJsSizeBudget(int jsSizeBudget) {
+        this.jsSizeBudget = jsSizeBudget;
+    }
+
     public void setMaxTopLevelNames(int maxTopLevelNames) {
         this.maxTopLevelNames = maxTopLevelNames;
     }
@@ -167,6 +225,26 @@ public class TeaVMTool {
         this.incremental = incremental;
     }
 
+    public InMemoryBuildCache getInMemoryCache() {
+        return inMemoryCache;
+    }
+
+    /**
+     * Sets cache that keeps classes and compiled methods in memory between builds performed by
+     * different instances of the tool. Takes effect only for incremental builds.
+     */
+    public void setInMemoryCache(InMemoryBuildCache inMemoryCache) {
+        this.inMemoryCache = inMemoryCache;
+    }
+
+    public boolean isPackedProgramCache() {
+        return packedProgramCache;
+    }
+
+    public void setPackedProgramCache(boolean packedProgramCache) {
+        this.packedProgramCache = packedProgramCache;
+    }
+
     public String getMainClass() {
         return mainClass;
     }
@@ -234,6 +312,10 @@ public class TeaVMTool {
         return classesToPreserve;
     }
 
+    public List<String> getJsSplitPoints() {
+        return jsSplitPoints;
+    }
+
     public TeaVMToolLog getLog() {
         return log;
     }
@@ -258,6 +340,26 @@ public class TeaVMTool {
         this.optimizationLevel = optimizationLevel;
     }
 
+    public int getOptimizationThreads() {
+        return optimizationThreads;
+    }
+
+    public void setOptimizationThreads(int optimizationThreads) {
+        this.optimizationThreads = optimizationThreads;
+    }
+
+    public File getBuildProfileFile() {
+        return buildProfileFile;
+    }
+
+    /**
+     * Sets file to write JSON report with timings of build phases, method optimizations and the slowest
+     * methods to. When {@code null} (the default), profiling is disabled.
+     */
+    public void setBuildProfileFile(File buildProfileFile) {
+        this.buildProfileFile = buildProfileFile;
+    }
+
     public boolean isFastDependencyAnalysis() {
         return fastDependencyAnalysis;
     }
@@ -387,15 +489,40 @@ public class TeaVMTool {
         javaScriptTarget.setObfuscated(obfuscated);
         javaScriptTarget.setStrict(strict);
         javaScriptTarget.setMaxTopLevelNames(maxTopLevelNames);
+        javaScriptTarget.setRenderingThreads(optimizationThreads);
+        javaScriptTarget.setSplitPoints(jsSplitPoints);
+        javaScriptTarget.setStreamingOutput(jsStreamingOutput);
+        javaScriptTarget.setLazyMetadata(jsLazyMetadata);
 
-        debugEmitter = debugInformationGenerated || sourceMapsFileGenerated
-                ? new DebugInformationBuilder(referenceCache) : null;
+        debugEmitter = debugInformationGenerated ? new DebugInformationBuilder(referenceCache) : null;
+        sourceMapsWriter = null;
         javaScriptTarget.setDebugEmitter(debugEmitter);
         javaScriptTarget.setModuleType(jsModuleType);
+        javaScriptTarget.setLongRepresentation(jsLongRepresentation);
+        javaScriptTarget.setCoroutineMode(jsCoroutineMode);
+        javaScriptTarget.setSizeReportGenerated(jsSizeReport);
+        javaScriptTarget.setSizeBudget(jsSizeBudget);
+        if (jsSizeReport && jsSizeReportBaseline != null) {
+            javaScriptTarget.setSizeReportBaseline(readSizeReportBaseline());
+        }
 
         return javaScriptTarget;
     }
 
+    private BundleSizeReport readSizeReportBaseline() {
+        if (!jsSizeReportBaseline.exists()) {
+            log.warning("Size report baseline " + jsSizeReportBaseline + " does not exist");
+            return null;
+        }
+        try (var reader = new InputStreamReader(new FileInputStream(jsSizeReportBaseline),
+                StandardCharsets.UTF_8)) {
+            return BundleSizeReport.readJson(reader);
+        } catch (IOException | RuntimeException e) {
+            log.warning("Could not read size report baseline " + jsSizeReportBaseline, e);
+            return null;
+        }
+    }
+
     private WasmTarget prepareWebAssemblyTarget() {
         webAssemblyTarget = new WasmTarget();
         webAssemblyTarget.setDebugging(debugInformationGenerated);
@@ -431,6 +558,7 @@ public class TeaVMTool {
         target.setBufferHeapMinSize(minDirectBuffersSize);
         target.setBufferHeapMaxSize(maxDirectBuffersSize);
         target.setImportedMemory(importedWasmMemory);
+        target.setRenderingThreads(optimizationThreads);
         if (sourceMapsFileGenerated) {
             wasmSourceMapWriter = new SourceMapBuilder();
             target.setSourceMapBuilder(wasmSourceMapWriter);
@@ -453,136 +581,218 @@ public class TeaVMTool {
     }
 
     public void generate() throws TeaVMToolException {
+        var prefetchExecutor = optimizationThreads > 1 ? createPrefetchExecutor() : null;
+        boolean inMemoryCacheUsed = false;
+        boolean inMemoryCacheCommitted = false;
         try (var resourceProvider = createResourceProvider()) {
-            cancelled = false;
-            log.info("Running TeaVM");
-            referenceCache = new ReferenceCache();
-            TeaVMBuilder vmBuilder = new TeaVMBuilder(prepareTarget());
-            CacheStatus cacheStatus;
-            vmBuilder.setReferenceCache(referenceCache);
-            if (incremental) {
-                cacheDirectory.mkdirs();
-                symbolTable = new FileSymbolTable(new File(cacheDirectory, "symbols"));
-                fileTable = new FileSymbolTable(new File(cacheDirectory, "files"));
-                variableTable = new FileSymbolTable(new File(cacheDirectory, "variables"));
-                ClasspathClassHolderSource innerClassSource = new ClasspathClassHolderSource(resourceProvider,
-                        referenceCache);
-                ClassHolderSource classSource = new PreOptimizingClassHolderSource(innerClassSource);
-                cachedClassSource = new DiskCachedClassReaderSource(cacheDirectory, referenceCache, symbolTable,
-                        fileTable, variableTable, classSource, innerClassSource);
-                programCache = new DiskProgramCache(cacheDirectory, referenceCache, symbolTable, fileTable,
-                        variableTable);
-                if (targetType == TeaVMTargetType.JAVASCRIPT) {
-                    astCache = new DiskMethodNodeCache(cacheDirectory, referenceCache, symbolTable, fileTable,
-                            variableTable);
-                    javaScriptTarget.setAstCache(astCache);
-                }
-                try {
-                    symbolTable.update();
-                    fileTable.update();
-                    variableTable.update();
-                } catch (IOException e) {
-                    log.info("Cache is missing");
+            try {
+                cancelled = false;
+                log.info("Running TeaVM");
+                referenceCache = new ReferenceCache();
+                TeaVMBuilder vmBuilder = new TeaVMBuilder(prepareTarget());
+                CacheStatus cacheStatus;
+                ProgramCache vmProgramCache;
+                vmBuilder.setReferenceCache(referenceCache);
+                if (incremental) {
+                    cacheDirectory.mkdirs();
+                    symbolTable = new FileSymbolTable(new File(cacheDirectory, "symbols"));
+                    fileTable = new FileSymbolTable(new File(cacheDirectory, "files"));
+                    variableTable = new FileSymbolTable(new File(cacheDirectory, "variables"));
+                    ClasspathClassHolderSource innerClassSource = new ClasspathClassHolderSource(resourceProvider,
+                            referenceCache);
+                    innerClassSource.setPrefetchExecutor(prefetchExecutor);
+                    ClassHolderSource classSource = new PreOptimizingClassHolderSource(innerClassSource);
+                    cachedClassSource = new DiskCachedClassReaderSource(cacheDirectory, referenceCache, symbolTable,
+                            fileTable, variableTable, classSource, innerClassSource);
+                    if (packedProgramCache) {
+                        packedCache = new PackedProgramCache(cacheDirectory, referenceCache, symbolTable, fileTable,
+                                variableTable);
+                        packedCache.setCacheStatus(cachedClassSource);
+                        vmProgramCache = packedCache;
+                    } else {
+                        programCache = new DiskProgramCache(cacheDirectory, referenceCache, symbolTable, fileTable,
+                                variableTable);
+                        programCache.setCacheStatus(cachedClassSource);
+                        vmProgramCache = programCache;
+                    }
+                    ClassReaderSource classReaderSource = cachedClassSource;
+                    cacheStatus = cachedClassSource;
+                    if (inMemoryCache != null) {
+                        inMemoryCacheUsed = true;
+                        var tieredClassSource = inMemoryCache.startBuild(cachedClassSource, innerClassSource);
+                        classReaderSource = tieredClassSource;
+                        cacheStatus = tieredClassSource;
+                        vmProgramCache = inMemoryCache.wrapProgramCache(vmProgramCache, programCache != null
+                                ? programCache::getDependencies
+                                : packedCache::getDependencies);
+                    }
+                    if (targetType == TeaVMTargetType.JAVASCRIPT) {
+                        astCache = new DiskMethodNodeCache(cacheDirectory, referenceCache, symbolTable, fileTable,
+                                variableTable);
+                        javaScriptTarget.setAstCache(inMemoryCache != null
+                                ? inMemoryCache.wrapAstCache(astCache, astCache::getDependencies,
+                                        astCache::getAsyncDependencies)
+                                : astCache);
+                        if (inMemoryCache != null) {
+                            javaScriptTarget.setRenderedMethodCache(inMemoryCache.getRenderedMethodCache());
+                        }
+                    }
+                    try {
+                        symbolTable.update();
+                        fileTable.update();
+                        variableTable.update();
+                    } catch (IOException e) {
+                        log.info("Cache is missing");
+                    }
+                    vmBuilder.setClassLoader(classLoader).setClassSource(classReaderSource);
+                } else {
+                    var innerClassSource = new ClasspathClassHolderSource(resourceProvider, referenceCache);
+                    innerClassSource.setPrefetchExecutor(prefetchExecutor);
+                    vmBuilder.setClassLoader(classLoader).setClassSource(new PreOptimizingClassHolderSource(
+                            innerClassSource));
+                    cacheStatus = AlwaysStaleCacheStatus.INSTANCE;
+                    vmProgramCache = EmptyProgramCache.INSTANCE;
                 }
-                vmBuilder.setClassLoader(classLoader).setClassSource(cachedClassSource);
-                cacheStatus = cachedClassSource;
-            } else {
-                vmBuilder.setClassLoader(classLoader).setClassSource(new PreOptimizingClassHolderSource(
-                        new ClasspathClassHolderSource(resourceProvider, referenceCache)));
-                cacheStatus = AlwaysStaleCacheStatus.INSTANCE;
-            }
 
-            vmBuilder.setResourceProvider(resourceProvider);
-            vmBuilder.setDependencyAnalyzerFactory(fastDependencyAnalysis
-                    ? FastDependencyAnalyzer::new
-                    : PreciseDependencyAnalyzer::new);
-            vmBuilder.setObfuscated(obfuscated);
-            vmBuilder.setStrict(strict);
+                vmBuilder.setResourceProvider(resourceProvider);
+                vmBuilder.setDependencyAnalyzerFactory(fastDependencyAnalysis
+                        ? FastDependencyAnalyzer::new
+                        : PreciseDependencyAnalyzer::new);
+                vmBuilder.setObfuscated(obfuscated);
+                vmBuilder.setStrict(strict);
 
-            vm = vmBuilder.build();
-            if (progressListener != null) {
-                vm.setProgressListener(progressListener);
-            }
+                vm = vmBuilder.build();
+                if (progressListener != null) {
+                    vm.setProgressListener(progressListener);
+                }
 
-            if (assertionsRemoved) {
-                vm.add(new AssertionRemoval());
-            }
+                if (assertionsRemoved) {
+                    vm.add(new AssertionRemoval());
+                }
 
-            vm.setProperties(properties);
-            vm.setProgramCache(incremental ? programCache : EmptyProgramCache.INSTANCE);
-            vm.setCacheStatus(cacheStatus);
-            vm.setOptimizationLevel(!fastDependencyAnalysis && !incremental
-                    ? optimizationLevel
-                    : TeaVMOptimizationLevel.SIMPLE);
-            if (incremental) {
-                vm.addVirtualMethods(m -> true);
-            }
+                vm.setProperties(properties);
+                vm.setProgramCache(vmProgramCache);
+                vm.setCacheStatus(cacheStatus);
+                vm.setOptimizationLevel(!fastDependencyAnalysis && !incremental
+                        ? optimizationLevel
+                        : TeaVMOptimizationLevel.SIMPLE);
+                vm.setOptimizationThreads(optimizationThreads);
+                if (buildProfileFile != null) {
+                    vm.setProfiler(new BuildProfiler());
+                }
+                if (incremental) {
+                    vm.addVirtualMethods(m -> true);
+                }
 
-            vm.installPlugins();
-            for (ClassHolderTransformer transformer : resolveTransformers()) {
-                vm.add(transformer);
-            }
-            vm.setEntryPoint(mainClass);
-            if (entryPointName != null) {
-                vm.setEntryPointName(entryPointName);
-            }
-            for (String className : classesToPreserve) {
-                vm.preserveType(className);
-            }
+                vm.installPlugins();
+                for (ClassHolderTransformer transformer : resolveTransformers()) {
+                    vm.add(transformer);
+                }
+                vm.setEntryPoint(mainClass);
+                if (entryPointName != null) {
+                    vm.setEntryPointName(entryPointName);
+                }
+                for (String className : classesToPreserve) {
+                    vm.preserveType(className);
+                }
 
-            if (!targetDirectory.exists() && !targetDirectory.mkdirs()) {
-                log.error("Target directory could not be created");
-                System.exit(-1);
-            }
+                if (!targetDirectory.exists() && !targetDirectory.mkdirs()) {
+                    log.error("Target directory could not be created");
+                    System.exit(-1);
+                }
 
-            BuildTarget buildTarget = new DirectoryBuildTarget(targetDirectory);
-            String outputName = getResolvedTargetFileName();
-            vm.build(buildTarget, outputName);
-            if (vm.wasCancelled()) {
-                log.info("Build cancelled");
-                cancelled = true;
-                return;
-            }
+                BuildTarget buildTarget = new DirectoryBuildTarget(targetDirectory);
+                String outputName = getResolvedTargetFileName();
+                if (targetType == TeaVMTargetType.JAVASCRIPT && sourceMapsFileGenerated) {
+                    startSourceMaps(outputName);
+                }
+                vm.build(buildTarget, outputName);
+                if (vm.wasCancelled()) {
+                    log.info("Build cancelled");
+                    cancelled = true;
+                    return;
+                }
 
-            ProblemProvider problemProvider = vm.getProblemProvider();
-            if (problemProvider.getProblems().isEmpty()) {
-                log.info("Output file successfully built");
-            } else if (problemProvider.getSevereProblems().isEmpty()) {
-                log.info("Output file built with warnings");
-            } else {
-                log.info("Output file built with errors");
-            }
+                ProblemProvider problemProvider = vm.getProblemProvider();
+                if (problemProvider.getProblems().isEmpty()) {
+                    log.info("Output file successfully built");
+                } else if (problemProvider.getSevereProblems().isEmpty()) {
+                    log.info("Output file built with warnings");
+                } else {
+                    log.info("Output file built with errors");
+                }
 
-            File outputFile = new File(targetDirectory, outputName);
-            generatedFiles.add(outputFile);
+                File outputFile = new File(targetDirectory, outputName);
+                generatedFiles.add(outputFile);
 
-            if (targetType == TeaVMTargetType.JAVASCRIPT) {
-                try (OutputStream output = new FileOutputStream(outputFile, true);
-                        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8)) {
-                    additionalJavaScriptOutput(writer);
+                if (targetType == TeaVMTargetType.JAVASCRIPT) {
+                    try (OutputStream output = new FileOutputStream(outputFile, true);
+                            Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8)) {
+                        additionalJavaScriptOutput(writer);
+                    }
+                } else if (targetType == TeaVMTargetType.WEBASSEMBLY_GC) {
+                    additionalWasmGCOutput();
                 }
-            } else if (targetType == TeaVMTargetType.WEBASSEMBLY_GC) {
-                additionalWasmGCOutput();
-            }
 
-            if (incremental) {
-                programCache.flush();
-                if (astCache != null) {
-                    astCache.flush();
+                if (incremental) {
+                    if (packedCache != null) {
+                        log.info("Program cache: " + packedCache.getHitCount() + " hits, "
+                                + packedCache.getMissCount() + " misses");
+                        packedCache.flush();
+                    } else {
+                        programCache.flush();
+                    }
+                    if (astCache != null) {
+                        astCache.flush();
+                    }
+                    cachedClassSource.flush();
+                    symbolTable.flush();
+                    fileTable.flush();
+                    variableTable.flush();
+                    log.info("Cache updated");
+                    if (inMemoryCacheUsed && problemProvider.getSevereProblems().isEmpty()) {
+                        inMemoryCache.commit();
+                        inMemoryCacheCommitted = true;
+                        log.info("In-memory cache size: " + inMemoryCache.getSize() / 1024 + " KiB");
+                    }
                 }
-                cachedClassSource.flush();
-                symbolTable.flush();
-                fileTable.flush();
-                variableTable.flush();
-                log.info("Cache updated");
-            }
 
-            printStats();
+                printStats();
+                writeBuildProfile();
+            } finally {
+                shutdownPrefetchExecutor(prefetchExecutor);
+            }
         } catch (IOException e) {
             throw new TeaVMToolException("IO error occurred", e);
+        } finally {
+            closeSourceMaps();
+            if (inMemoryCacheUsed && !inMemoryCacheCommitted) {
+                inMemoryCache.discard();
+            }
         }
     }
 
+    private void shutdownPrefetchExecutor(ExecutorService prefetchExecutor) {
+        if (prefetchExecutor == null) {
+            return;
+        }
+        prefetchExecutor.shutdownNow();
+        try {
+            // Prefetch tasks read from the resource provider, so they must finish before it gets closed
+            prefetchExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ExecutorService createPrefetchExecutor() {
+        return Executors.newFixedThreadPool(optimizationThreads, runnable -> {
+            var thread = new Thread(runnable, "TeaVM class prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     private ResourceProvider createResourceProvider() {
         return classPath != null
                 ? ResourceProvider.ofClassPath(classPath)
@@ -619,20 +829,57 @@ public class TeaVMTool {
             log.info("Debug information successfully written");
         }
         if (sourceMapsFileGenerated) {
-            assert debugEmitter != null;
-            DebugInformation debugInfo = debugEmitter.getDebugInformation();
+            assert sourceMapsWriter != null;
             String sourceMapsFileName = getResolvedTargetFileName() + ".map";
             writer.append("\n//# sourceMappingURL=").append(sourceMapsFileName);
-            File sourceMapsFile = new File(targetDirectory, sourceMapsFileName);
-            try (Writer sourceMapsOut = new OutputStreamWriter(new FileOutputStream(sourceMapsFile),
-                    StandardCharsets.UTF_8)) {
-                writeSourceMaps(sourceMapsOut, debugInfo);
-            }
-            generatedFiles.add(sourceMapsFile);
+            finishSourceMaps();
+            generatedFiles.add(new File(targetDirectory, sourceMapsFileName));
             log.info("Source maps successfully written");
         }
     }
 
+    private void startSourceMaps(String outputName) throws IOException {
+        sourceMapsFile = new File(targetDirectory, outputName + ".map");
+        sourceMapsOut = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(sourceMapsFile),
+                StandardCharsets.UTF_8));
+        sourceMapsWriter = new StreamingSourceMapsWriter(sourceMapsOut, outputName, "src",
+                debugEmitter != null ? debugEmitter : new DummyDebugInformationEmitter());
+        javaScriptTarget.setDebugEmitter(sourceMapsWriter);
+    }
+
+    private void finishSourceMaps() throws IOException {
+        var targetDir = new File(targetDirectory, "src");
+        var resolver = new DefaultSourceFileResolver(targetDir, sourceFileProviders);
+        resolver.setSourceFilePolicy(sourceFilePolicy);
+        resolver.open();
+
+        try {
+            if (sourceFilePolicy != TeaVMSourceFilePolicy.DO_NOTHING) {
+                sourceMapsWriter.addSourceResolver(resolver);
+            }
+            sourceMapsWriter.finish();
+            sourceMapsOut.close();
+            sourceMapsOut = null;
+        } finally {
+            resolver.close();
+        }
+    }
+
+    private void closeSourceMaps() {
+        if (sourceMapsOut != null) {
+            // Source maps were not finished, so the file only contains a part of mappings
+            try {
+                sourceMapsOut.close();
+            } catch (IOException e) {
+                log.warning("Could not close source maps file", e);
+            }
+            sourceMapsOut = null;
+            if (!sourceMapsFile.delete()) {
+                log.warning("Could not delete incomplete source maps file " + sourceMapsFile);
+            }
+        }
+    }
+
     private void additionalWasmGCOutput() throws IOException {
         if (sourceMapsFileGenerated) {
             var targetDir = new File(targetDirectory, "src");
@@ -653,19 +900,18 @@ public class TeaVMTool {
         }
     }
 
-    private void writeSourceMaps(Writer out, DebugInformation debugInfo) throws IOException {
-        var sourceMapWriter = new SourceMapsWriter(out);
-        var targetDir = new File(targetDirectory, "src");
-        var resolver = new DefaultSourceFileResolver(targetDir, sourceFileProviders);
-        resolver.setSourceFilePolicy(sourceFilePolicy);
-        resolver.open();
-
-        if (sourceFilePolicy != TeaVMSourceFilePolicy.DO_NOTHING) {
-            sourceMapWriter.addSourceResolver(resolver);
+    private void writeBuildProfile() throws IOException {
+        if (buildProfileFile == null || vm.getProfiler() == null) {
+            return;
         }
-        sourceMapWriter.write(getResolvedTargetFileName(), "src", debugInfo);
-
-        resolver.close();
+        var parent = buildProfileFile.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        try (var writer = new OutputStreamWriter(new FileOutputStream(buildProfileFile), StandardCharsets.UTF_8)) {
+            vm.getProfiler().write(writer);
+        }
+        log.info("Build profile written to " + buildProfileFile);
     }
 
     private void printStats() {
@@ -682,6 +928,14 @@ public class TeaVMTool {
 
         log.info("Classes compiled: " + classCount);
         log.info("Methods compiled: " + methodCount);
+
+        var dependencyStatistics = vm.getDependencyStatistics();
+        if (dependencyStatistics != null) {
+            log.info("Dependency nodes: " + dependencyStatistics.getNodeCount() + ", type sets: "
+                    + dependencyStatistics.getTypeSetCount() + ", types: " + dependencyStatistics.getTypeCount());
+            log.info("Type set storage: " + dependencyStatistics.getTypeStorageSize() / 1024 + " KiB, heap used "
+                    + "after dependency analysis: " + dependencyStatistics.getUsedHeapSize() / (1024 * 1024) + " MiB");
+        }
     }
 
     private List<ClassHolderTransformer> resolveTransformers() {
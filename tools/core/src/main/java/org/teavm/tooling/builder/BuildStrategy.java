@@ -17,6 +17,8 @@ package org.teavm.tooling.builder;
 
 import java.util.List;
 import java.util.Properties;
+import org.teavm.backend.javascript.JSCoroutineMode;
+import org.teavm.backend.javascript.JSLongRepresentation;
 import org.teavm.backend.javascript.JSModuleType;
 import org.teavm.backend.wasm.WasmDebugInfoLevel;
 import org.teavm.backend.wasm.WasmDebugInfoLocation;
@@ -59,12 +61,28 @@ public interface BuildStrategy {
 
     void setIncremental(boolean incremental);
 
+    void setPackedProgramCache(boolean packedProgramCache);
+
     void setObfuscated(boolean obfuscated);
 
     void setStrict(boolean strict);
 
+    void setJsStreamingOutput(boolean jsStreamingOutput);
+
+    void setJsLazyMetadata(boolean jsLazyMetadata);
+
     void setJsModuleType(JSModuleType jsModuleType);
 
+    void setJsLongRepresentation(JSLongRepresentation jsLongRepresentation);
+
+    void setJsCoroutineMode(JSCoroutineMode jsCoroutineMode);
+
+    void setJsSizeReport(boolean jsSizeReport);
+
+    void setJsSizeReportBaseline(String jsSizeReportBaseline);
+
+    void setJsSizeBudget(int jsSizeBudget);
+
     void setMaxTopLevelNames(int maxTopLevelNames);
 
     void setProperties(Properties properties);
@@ -75,10 +93,16 @@ public interface BuildStrategy {
 
     void setFastDependencyAnalysis(boolean value);
 
+    void setOptimizationThreads(int threads);
+
+    void setBuildProfileFile(String buildProfileFile);
+
     void setTargetFileName(String targetFileName);
 
     void setClassesToPreserve(String[] classesToPreserve);
 
+    void setJsSplitPoints(String[] jsSplitPoints);
+
     void setCacheDirectory(String cacheDirectory);
 
     void setWasmVersion(WasmBinaryVersion wasmVersion);
@@ -25,6 +25,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 import java.util.stream.Collectors;
+import org.teavm.backend.javascript.JSCoroutineMode;
+import org.teavm.backend.javascript.JSLongRepresentation;
 import org.teavm.backend.javascript.JSModuleType;
 import org.teavm.backend.wasm.WasmDebugInfoLevel;
 import org.teavm.backend.wasm.WasmDebugInfoLocation;
@@ -51,18 +53,29 @@ public class InProcessBuildStrategy implements BuildStrategy {
     private String targetDirectory;
     private String targetFileName = "";
     private boolean incremental;
+    private boolean packedProgramCache;
     private String cacheDirectory;
     private TeaVMOptimizationLevel optimizationLevel = TeaVMOptimizationLevel.ADVANCED;
     private boolean fastDependencyAnalysis;
+    private int optimizationThreads = 1;
+    private String buildProfileFile;
     private boolean obfuscated;
     private JSModuleType jsModuleType;
+    private JSLongRepresentation jsLongRepresentation = JSLongRepresentation.BIG_INT;
+    private JSCoroutineMode jsCoroutineMode = JSCoroutineMode.STATE_MACHINE;
+    private boolean jsSizeReport;
+    private String jsSizeReportBaseline;
+    private int jsSizeBudget;
     private boolean strict;
+    private boolean jsStreamingOutput;
+    private boolean jsLazyMetadata;
     private int maxTopLevelNames = 80_000;
     private boolean sourceMapsFileGenerated;
     private boolean debugInformationGenerated;
     private TeaVMSourceFilePolicy sourceMapsSourcePolicy;
     private String[] transformers = new String[0];
     private String[] classesToPreserve = new String[0];
+    private String[] jsSplitPoints = new String[0];
     private WasmBinaryVersion wasmVersion = WasmBinaryVersion.V_0x1;
     private boolean wasmExceptionsUsed;
     private WasmDebugInfoLevel wasmDebugInfoLevel;
@@ -156,6 +169,11 @@ public class InProcessBuildStrategy implements BuildStrategy {
         this.incremental = incremental;
     }
 
+    @Override
+    public void setPackedProgramCache(boolean packedProgramCache) {
+        this.packedProgramCache = packedProgramCache;
+    }
+
     @Override
     public void setProperties(Properties properties) {
         this.properties.clear();
@@ -177,11 +195,46 @@ public class InProcessBuildStrategy implements BuildStrategy {
         this.strict = strict;
     }
 
+    @Override
+    public void setJsStreamingOutput(boolean jsStreamingOutput) {
+        this.jsStreamingOutput = jsStreamingOutput;
+    }
+
+    @Override
+    public void setJsLazyMetadata(boolean jsLazyMetadata) {
+        this.jsLazyMetadata = jsLazyMetadata;
+    }
+
     @Override
     public void setJsModuleType(JSModuleType jsModuleType) {
         this.jsModuleType = jsModuleType;
     }
 
+    @Override
+    public void setJsLongRepresentation(JSLongRepresentation jsLongRepresentation) {
+        this.jsLongRepresentation = jsLongRepresentation;
+    }
+
+    @Override
+    public void setJsCoroutineMode(JSCoroutineMode jsCoroutineMode) {
+        this.jsCoroutineMode = jsCoroutineMode;
+    }
+
+    @Override
+    public void setJsSizeReport(boolean jsSizeReport) {
+        this.jsSizeReport = jsSizeReport;
+    }
+
+    @Override
+    public void setJsSizeReportBaseline(String jsSizeReportBaseline) {
+        this.jsSizeReportBaseline = jsSizeReportBaseline;
+    }
+
+    @Override
+    public void setJsSizeBudget(int jsSizeBudget) {
+        this.jsSizeBudget = jsSizeBudget;
+    }
+
     @Override
     public void setMaxTopLevelNames(int maxTopLevelNames) {
         this.maxTopLevelNames = maxTopLevelNames;
@@ -202,6 +255,16 @@ public class InProcessBuildStrategy implements BuildStrategy {
         this.fastDependencyAnalysis = fastDependencyAnalysis;
     }
 
+    @Override
+    public void setOptimizationThreads(int threads) {
+        this.optimizationThreads = threads;
+    }
+
+    @Override
+    public void setBuildProfileFile(String buildProfileFile) {
+        this.buildProfileFile = buildProfileFile;
+    }
+
     @Override
     public void setTargetFileName(String targetFileName) {
         this.targetFileName = targetFileName;
@@ -212,6 +275,11 @@ public class InProcessBuildStrategy implements BuildStrategy {
         this.classesToPreserve = classesToPreserve.clone();
     }
 
+    @Override
+    public void setJsSplitPoints(String[] jsSplitPoints) {
+        this.jsSplitPoints = jsSplitPoints.clone();
+    }
+
     @Override
     public void setCacheDirectory(String cacheDirectory) {
         this.cacheDirectory = cacheDirectory;
@@ -292,6 +360,8 @@ public class InProcessBuildStrategy implements BuildStrategy {
         tool.setClassPath(classPathEntries.stream().map(File::new).collect(Collectors.toList()));
         tool.setOptimizationLevel(optimizationLevel);
         tool.setFastDependencyAnalysis(fastDependencyAnalysis);
+        tool.setOptimizationThreads(optimizationThreads);
+        tool.setBuildProfileFile(buildProfileFile != null ? new File(buildProfileFile) : null);
 
         tool.setSourceMapsFileGenerated(sourceMapsFileGenerated);
         tool.setDebugInformationGenerated(debugInformationGenerated);
@@ -299,11 +369,20 @@ public class InProcessBuildStrategy implements BuildStrategy {
 
         tool.setObfuscated(obfuscated);
         tool.setJsModuleType(jsModuleType);
+        tool.setJsLongRepresentation(jsLongRepresentation);
+        tool.setJsCoroutineMode(jsCoroutineMode);
+        tool.setJsSizeReport(jsSizeReport);
+        tool.setJsSizeReportBaseline(jsSizeReportBaseline != null ? new File(jsSizeReportBaseline) : null);
+        tool.setJsSizeBudget(jsSizeBudget);
         tool.setStrict(strict);
+        tool.setJsStreamingOutput(jsStreamingOutput);
+        tool.setJsLazyMetadata(jsLazyMetadata);
         tool.setMaxTopLevelNames(maxTopLevelNames);
         tool.setIncremental(incremental);
+        tool.setPackedProgramCache(packedProgramCache);
         tool.getTransformers().addAll(Arrays.asList(transformers));
         tool.getClassesToPreserve().addAll(Arrays.asList(classesToPreserve));
+        tool.getJsSplitPoints().addAll(Arrays.asList(jsSplitPoints));
         tool.setCacheDirectory(cacheDirectory != null ? new File(cacheDirectory) : null);
         tool.setWasmVersion(wasmVersion);
         tool.setWasmExceptionsUsed(wasmExceptionsUsed);
@@ -19,6 +19,8 @@ import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.List;
 import java.util.Properties;
+import org.teavm.backend.javascript.JSCoroutineMode;
+import org.teavm.backend.javascript.JSLongRepresentation;
 import org.teavm.backend.javascript.JSModuleType;
 import org.teavm.backend.wasm.WasmDebugInfoLevel;
 import org.teavm.backend.wasm.WasmDebugInfoLocation;
@@ -123,6 +125,11 @@ public class RemoteBuildStrategy implements BuildStrategy {
         request.incremental = incremental;
     }
 
+    @Override
+    public void setPackedProgramCache(boolean packedProgramCache) {
+        request.packedProgramCache = packedProgramCache;
+    }
+
     @Override
     public void setProperties(Properties properties) {
         request.properties = new Properties();
@@ -144,11 +151,46 @@ public class RemoteBuildStrategy implements BuildStrategy {
         request.strict = strict;
     }
 
+    @Override
+    public void setJsStreamingOutput(boolean jsStreamingOutput) {
+        request.jsStreamingOutput = jsStreamingOutput;
+    }
+
+    @Override
+    public void setJsLazyMetadata(boolean jsLazyMetadata) {
+        request.jsLazyMetadata = jsLazyMetadata;
+    }
+
     @Override
     public void setJsModuleType(JSModuleType jsModuleType) {
         request.jsModuleType = jsModuleType;
     }
 
+    @Override
+    public void setJsLongRepresentation(JSLongRepresentation jsLongRepresentation) {
+        request.jsLongRepresentation = jsLongRepresentation;
+    }
+
+    @Override
+    public void setJsCoroutineMode(JSCoroutineMode jsCoroutineMode) {
+        request.jsCoroutineMode = jsCoroutineMode;
+    }
+
+    @Override
+    public void setJsSizeReport(boolean jsSizeReport) {
+        request.jsSizeReport = jsSizeReport;
+    }
+
+    @Override
+    public void setJsSizeReportBaseline(String jsSizeReportBaseline) {
+        request.jsSizeReportBaseline = jsSizeReportBaseline;
+    }
+
+    @Override
+    public void setJsSizeBudget(int jsSizeBudget) {
+        request.jsSizeBudget = jsSizeBudget;
+    }
+
     @Override
     public void setMaxTopLevelNames(int maxTopLevelNames) {
         request.maxTopLevelNames = maxTopLevelNames;
@@ -169,6 +211,16 @@ public class RemoteBuildStrategy implements BuildStrategy {
         request.fastDependencyAnalysis = value;
     }
 
+    @Override
+    public void setOptimizationThreads(int threads) {
+        request.optimizationThreads = threads;
+    }
+
+    @Override
+    public void setBuildProfileFile(String buildProfileFile) {
+        request.buildProfileFile = buildProfileFile;
+    }
+
     @Override
     public void setTargetFileName(String targetFileName) {
         request.tagetFileName = targetFileName;
@@ -179,6 +231,11 @@ public class RemoteBuildStrategy implements BuildStrategy {
         request.classesToPreserve = classesToPreserve.clone();
     }
 
+    @Override
+    public void setJsSplitPoints(String[] jsSplitPoints) {
+        request.jsSplitPoints = jsSplitPoints.clone();
+    }
+
     @Override
     public void setCacheDirectory(String cacheDirectory) {
         request.cacheDirectory = cacheDirectory;
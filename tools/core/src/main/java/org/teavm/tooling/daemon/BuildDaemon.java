@@ -37,6 +37,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.teavm.tooling.InMemoryBuildCache;
 import org.teavm.tooling.TeaVMSourceFilePolicy;
 import org.teavm.tooling.TeaVMTool;
 import org.teavm.tooling.TeaVMToolException;
@@ -51,12 +52,16 @@ public class BuildDaemon extends UnicastRemoteObject implements RemoteBuildServi
     private static final int MAX_PORT = 1 << 16;
     private static final String DAEMON_MESSAGE_PREFIX = "TeaVM daemon port: ";
     private static final String INCREMENTAL_PROPERTY = "teavm.daemon.incremental";
+    private static final String MEMORY_CACHE_SIZE_PROPERTY = "teavm.daemon.memoryCacheSize";
+    private static final long DEFAULT_MEMORY_CACHE_SIZE = 256;
     private boolean incremental;
     private int port;
     private Registry registry;
     private File incrementalCache;
     private ClassLoader lastJarClassLoader;
     private List<String> lastJarClassPath;
+    private InMemoryBuildCache inMemoryCache;
+    private List<Object> inMemoryCacheKey;
 
     BuildDaemon(boolean incremental) throws RemoteException {
         super();
@@ -120,17 +125,25 @@ public class BuildDaemon extends UnicastRemoteObject implements RemoteBuildServi
         }
     }
 
+    /**
+     * Performs a build. RMI may call this method from several threads at once, but builds share
+     * the in-memory cache and the class loader of previous build, so they run one by one.
+     */
     @Override
-    public RemoteBuildResponse build(RemoteBuildRequest request, RemoteBuildCallback callback) {
+    public synchronized RemoteBuildResponse build(RemoteBuildRequest request, RemoteBuildCallback callback) {
         System.out.println("Build started");
 
         TeaVMTool tool = new TeaVMTool();
         tool.setIncremental(incremental || request.incremental);
+        tool.setPackedProgramCache(request.packedProgramCache);
         if (tool.isIncremental()) {
             tool.setCacheDirectory(request.cacheDirectory != null
                     ? new File(request.cacheDirectory)
                     : incrementalCache);
         }
+        if (tool.isIncremental()) {
+            tool.setInMemoryCache(getInMemoryCache(request));
+        }
         tool.setProgressListener(createProgressListener(callback));
         tool.setLog(new RemoteBuildLog(callback));
         if (request.transformers != null) {
@@ -139,6 +152,9 @@ public class BuildDaemon extends UnicastRemoteObject implements RemoteBuildServi
         if (request.classesToPreserve != null) {
             tool.getClassesToPreserve().addAll(Arrays.asList(request.classesToPreserve));
         }
+        if (request.jsSplitPoints != null) {
+            tool.getJsSplitPoints().addAll(Arrays.asList(request.jsSplitPoints));
+        }
         tool.setTargetType(request.targetType);
         tool.setMainClass(request.mainClass);
         tool.setEntryPointName(request.entryPointName);
@@ -158,9 +174,23 @@ public class BuildDaemon extends UnicastRemoteObject implements RemoteBuildServi
 
         tool.setOptimizationLevel(request.optimizationLevel);
         tool.setFastDependencyAnalysis(request.fastDependencyAnalysis);
+        tool.setOptimizationThreads(request.optimizationThreads);
+        tool.setBuildProfileFile(request.buildProfileFile != null ? new File(request.buildProfileFile) : null);
         tool.setObfuscated(request.obfuscated);
         tool.setJsModuleType(request.jsModuleType);
+        if (request.jsLongRepresentation != null) {
+            tool.setJsLongRepresentation(request.jsLongRepresentation);
+        }
+        if (request.jsCoroutineMode != null) {
+            tool.setJsCoroutineMode(request.jsCoroutineMode);
+        }
+        tool.setJsSizeReport(request.jsSizeReport);
+        tool.setJsSizeReportBaseline(request.jsSizeReportBaseline != null
+                ? new File(request.jsSizeReportBaseline) : null);
+        tool.setJsSizeBudget(request.jsSizeBudget);
         tool.setStrict(request.strict);
+        tool.setJsStreamingOutput(request.jsStreamingOutput);
+        tool.setJsLazyMetadata(request.jsLazyMetadata);
         tool.setWasmVersion(request.wasmVersion);
         tool.setWasmExceptionsUsed(request.wasmExceptionsUsed);
         tool.setWasmDebugInfoLocation(request.wasmDebugInfoLocation);
@@ -198,6 +228,19 @@ public class BuildDaemon extends UnicastRemoteObject implements RemoteBuildServi
         return response;
     }
 
+    private InMemoryBuildCache getInMemoryCache(RemoteBuildRequest request) {
+        long size = Long.getLong(MEMORY_CACHE_SIZE_PROPERTY, DEFAULT_MEMORY_CACHE_SIZE) * 1024 * 1024;
+        if (size <= 0) {
+            return null;
+        }
+        var key = Arrays.<Object>asList(request.classPath, request.cacheDirectory, request.targetType);
+        if (inMemoryCache == null || !key.equals(inMemoryCacheKey)) {
+            inMemoryCache = new InMemoryBuildCache(size);
+            inMemoryCacheKey = key;
+        }
+        return inMemoryCache;
+    }
+
     private ClassLoader buildClassLoader(List<String> classPathEntries, boolean incremental) {
         System.out.println("Classpath: " + classPathEntries);
         Function<String, URL> mapper = entry -> {
@@ -19,6 +19,8 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import org.teavm.backend.javascript.JSCoroutineMode;
+import org.teavm.backend.javascript.JSLongRepresentation;
 import org.teavm.backend.javascript.JSModuleType;
 import org.teavm.backend.wasm.WasmDebugInfoLevel;
 import org.teavm.backend.wasm.WasmDebugInfoLocation;
@@ -33,6 +35,7 @@ public class RemoteBuildRequest implements Serializable {
     public final List<String> classPath = new ArrayList<>();
     public String[] transformers;
     public String[] classesToPreserve;
+    public String[] jsSplitPoints;
     public TeaVMTargetType targetType;
     public String mainClass;
     public String entryPointName;
@@ -42,14 +45,24 @@ public class RemoteBuildRequest implements Serializable {
     public boolean debugInformationGenerated;
     public String sourceFilePolicy = TeaVMSourceFilePolicy.DO_NOTHING.name();
     public boolean incremental;
+    public boolean packedProgramCache;
     public String cacheDirectory;
     public boolean obfuscated;
     public boolean strict;
+    public boolean jsStreamingOutput;
+    public boolean jsLazyMetadata;
     public JSModuleType jsModuleType;
+    public JSLongRepresentation jsLongRepresentation;
+    public JSCoroutineMode jsCoroutineMode;
+    public boolean jsSizeReport;
+    public String jsSizeReportBaseline;
+    public int jsSizeBudget;
     public int maxTopLevelNames = 80_000;
     public Properties properties;
     public TeaVMOptimizationLevel optimizationLevel;
     public boolean fastDependencyAnalysis;
+    public int optimizationThreads = 1;
+    public String buildProfileFile;
     public WasmBinaryVersion wasmVersion;
     public boolean wasmExceptionsUsed;
     public WasmDebugInfoLocation wasmDebugInfoLocation;
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tooling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.Test;
+import org.teavm.cache.AlwaysStaleCacheStatus;
+import org.teavm.cache.CacheStatus;
+import org.teavm.model.MethodReference;
+import org.teavm.model.Program;
+import org.teavm.model.ProgramCache;
+import org.teavm.model.ValueType;
+import org.teavm.model.instructions.EmptyInstruction;
+
+public class InMemoryBuildCacheTest {
+    private static final MethodReference FIRST = new MethodReference("foo.Bar", "first", ValueType.VOID);
+    private static final MethodReference SECOND = new MethodReference("foo.Bar", "second", ValueType.VOID);
+    private static final MethodReference THIRD = new MethodReference("foo.Bar", "third", ValueType.VOID);
+
+    @Test
+    public void reusesProgramPromotedFromDisk() {
+        var disk = new DiskStub();
+        disk.programs.put(FIRST, createProgram());
+        var cache = new InMemoryBuildCache(Long.MAX_VALUE / 10);
+
+        assertNotNull(wrap(cache, disk).get(FIRST, AlwaysStaleCacheStatus.INSTANCE));
+        cache.commit();
+        assertEquals(1, disk.reads);
+
+        disk.programs.clear();
+        assertNotNull(wrap(cache, disk).get(FIRST, AlwaysStaleCacheStatus.INSTANCE));
+        assertEquals(1, disk.reads);
+    }
+
+    @Test
+    public void discardsProgramsOfFailedBuild() {
+        var disk = new DiskStub();
+        var cache = new InMemoryBuildCache(Long.MAX_VALUE / 10);
+
+        wrap(cache, disk).store(FIRST, createProgram(), () -> new String[0]);
+        cache.discard();
+        disk.programs.clear();
+
+        assertNull(wrap(cache, disk).get(FIRST, AlwaysStaleCacheStatus.INSTANCE));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedProgram() {
+        var programSize = measureProgram();
+        // 30% of the budget is given to programs, which makes room for two and a half programs
+        var cache = new InMemoryBuildCache(programSize * 25 / 3);
+        var disk = new DiskStub();
+
+        wrap(cache, disk).store(FIRST, createProgram(), () -> new String[0]);
+        cache.commit();
+        wrap(cache, disk).store(SECOND, createProgram(), () -> new String[0]);
+        cache.commit();
+        disk.programs.clear();
+
+        var programs = wrap(cache, disk);
+        assertNotNull(programs.get(FIRST, AlwaysStaleCacheStatus.INSTANCE));
+        programs.store(THIRD, createProgram(), () -> new String[0]);
+        cache.commit();
+        disk.programs.clear();
+
+        programs = wrap(cache, disk);
+        assertNotNull(programs.get(FIRST, AlwaysStaleCacheStatus.INSTANCE));
+        assertNull(programs.get(SECOND, AlwaysStaleCacheStatus.INSTANCE));
+        assertNotNull(programs.get(THIRD, AlwaysStaleCacheStatus.INSTANCE));
+        assertEquals(2 * programSize, cache.getSize());
+    }
+
+    @Test
+    public void keepsProgramsWithinBudget() {
+        var programSize = measureProgram();
+        var cache = new InMemoryBuildCache(programSize * 25 / 3);
+        var programs = wrap(cache, new DiskStub());
+        for (var i = 0; i < 10; ++i) {
+            programs.store(new MethodReference("foo.Bar", "m" + i, ValueType.VOID), createProgram(),
+                    () -> new String[0]);
+        }
+        cache.commit();
+        assertTrue(cache.getSize() <= programSize * 25 / 3 * 3 / 10);
+    }
+
+    private static long measureProgram() {
+        var cache = new InMemoryBuildCache(Long.MAX_VALUE / 10);
+        wrap(cache, new DiskStub()).store(FIRST, createProgram(), () -> new String[0]);
+        cache.commit();
+        return cache.getSize();
+    }
+
+    private static ProgramCache wrap(InMemoryBuildCache cache, ProgramCache disk) {
+        return cache.wrapProgramCache(disk, method -> new String[0]);
+    }
+
+    private static Program createProgram() {
+        var program = new Program();
+        program.createBasicBlock().add(new EmptyInstruction());
+        return program;
+    }
+
+    static class DiskStub implements ProgramCache {
+        Map<MethodReference, Program> programs = new HashMap<>();
+        int reads;
+
+        @Override
+        public Program get(MethodReference method, CacheStatus cacheStatus) {
+            var program = programs.get(method);
+            if (program != null) {
+                reads++;
+            }
+            return program;
+        }
+
+        @Override
+        public void store(MethodReference method, Program program, Supplier<String[]> dependencies) {
+            programs.put(method, program);
+        }
+    }
+}
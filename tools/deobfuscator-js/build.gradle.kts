@@ -32,6 +32,10 @@ dependencies {
     compileOnly(project(":jso:apis"))
     "teavmCompile"(project(":classlib"))
     "teavmCompile"(project(":tools:core"))
+
+    testImplementation(project(":tools:core"))
+    testImplementation(project(":jso:apis"))
+    testImplementation(libs.junit)
 }
 
 val generateJs by tasks.register<JavaExec>("generateJs") {
@@ -16,13 +16,12 @@
 package org.teavm.tooling.deobfuscate.js;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import org.teavm.debugging.information.DebugInformation;
-import org.teavm.debugging.information.GeneratedLocation;
-import org.teavm.debugging.information.SourceLocation;
+import org.teavm.debugging.information.DebugInformationIndex;
 import org.teavm.jso.JSBody;
 import org.teavm.jso.JSClass;
 import org.teavm.jso.JSExport;
@@ -33,19 +32,21 @@ import org.teavm.jso.core.JSRegExp;
 import org.teavm.jso.core.JSString;
 import org.teavm.jso.typedarrays.ArrayBuffer;
 import org.teavm.jso.typedarrays.Int8Array;
-import org.teavm.model.MethodReference;
 
 @JSClass
 public final class Deobfuscator {
     private static final JSRegExp FRAME_PATTERN = new JSRegExp(""
             + "(^ +at ([^(]+) *\\((.+):([0-9]+):([0-9]+)\\) *$)|"
             + "(^([^@]*)@(.+):([0-9]+):([0-9]+)$)");
-    private DebugInformation debugInformation;
+    private FrameDecoder frameDecoder;
     private String classesFileName;
 
     public Deobfuscator(ArrayBuffer buffer, String classesFileName) throws IOException {
         var array = new Int8Array(buffer);
-        debugInformation = DebugInformation.read(new Int8ArrayInputStream(array));
+        var debugInformationIndex = DebugInformationIndex.read(ByteBuffer.wrap(array.copyToJavaArray()));
+        frameDecoder = debugInformationIndex != null
+                ? new FrameDecoder(debugInformationIndex)
+                : new FrameDecoder(DebugInformation.read(new Int8ArrayInputStream(array)));
         this.classesFileName = classesFileName;
     }
 
@@ -81,8 +82,7 @@ public final class Deobfuscator {
             String fileName = groups.get(2 + groupOffset).stringValue();
             int lineNumber = Integer.parseInt(groups.get(3 + groupOffset).stringValue());
             int columnNumber = Integer.parseInt(groups.get(4 + groupOffset).stringValue());
-            List<Frame> framesPerLine = deobfuscateFrames(debugInformation, classesFileName, fileName,
-                    lineNumber, columnNumber);
+            List<Frame> framesPerLine = deobfuscateFrames(fileName, lineNumber, columnNumber);
             if (framesPerLine == null) {
                 framesPerLine = Arrays.asList(createDefaultFrame(fileName, functionName, lineNumber));
             }
@@ -107,45 +107,11 @@ public final class Deobfuscator {
         }
     }
 
-    private static List<Frame> deobfuscateFrames(DebugInformation debugInformation, String classesFileName,
-            String fileName, int lineNumber, int columnNumber) {
+    private List<Frame> deobfuscateFrames(String fileName, int lineNumber, int columnNumber) {
         if (!fileName.equals(classesFileName)) {
             return null;
         }
-
-        List<Frame> result = new ArrayList<>();
-
-        for (int layer = 0; layer < debugInformation.layerCount(); ++layer) {
-            GeneratedLocation jsLocation = new GeneratedLocation(lineNumber - 1, columnNumber - 1);
-            MethodReference method = debugInformation.getMethodAt(jsLocation, layer);
-            if (method == null) {
-                break;
-            }
-
-            SourceLocation location = debugInformation.getSourceLocation(jsLocation, layer);
-
-            String decodedFileName = location != null ? location.getFileName() : null;
-            if (decodedFileName != null) {
-                decodedFileName = decodedFileName.substring(decodedFileName.lastIndexOf('/') + 1);
-            }
-
-            var javaLineNumber = -1;
-            if (location != null) {
-                javaLineNumber = location.getLine();
-            }
-            result.add(new Frame(
-                    method.getClassName(),
-                    method.getName(),
-                    decodedFileName,
-                    javaLineNumber
-            ));
-        }
-
-        if (result.isEmpty()) {
-            return null;
-        }
-        Collections.reverse(result);
-        return result;
+        return frameDecoder.decode(lineNumber, columnNumber);
     }
 
     private static Frame createDefaultFrame(String fileName, String functionName, int lineNumber) {
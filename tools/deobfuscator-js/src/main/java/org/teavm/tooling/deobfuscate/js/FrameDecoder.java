@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tooling.deobfuscate.js;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.teavm.debugging.information.DebugInformation;
+import org.teavm.debugging.information.DebugInformationIndex;
+import org.teavm.debugging.information.GeneratedLocation;
+import org.teavm.debugging.information.SourceLocation;
+import org.teavm.model.MethodReference;
+
+/**
+ * Maps location in generated JavaScript to Java stack frames, one per inlining layer, using either
+ * the index of debug information or, for files written without index, the fully decoded debug information.
+ */
+class FrameDecoder {
+    private DebugInformationIndex debugInformationIndex;
+    private DebugInformation debugInformation;
+
+    FrameDecoder(DebugInformationIndex debugInformationIndex) {
+        this.debugInformationIndex = debugInformationIndex;
+    }
+
+    FrameDecoder(DebugInformation debugInformation) {
+        this.debugInformation = debugInformation;
+    }
+
+    /**
+     * Decodes frames at the given location, with line and column numbers starting from 1,
+     * as they are reported in JavaScript stack traces. Innermost frame goes first.
+     * Returns {@code null} when there's no Java method at the given location.
+     */
+    List<Frame> decode(int lineNumber, int columnNumber) {
+        List<Frame> result = new ArrayList<>();
+
+        int layerCount = debugInformationIndex != null
+                ? debugInformationIndex.layerCount()
+                : debugInformation.layerCount();
+        for (int layer = 0; layer < layerCount; ++layer) {
+            GeneratedLocation jsLocation = new GeneratedLocation(lineNumber - 1, columnNumber - 1);
+            MethodReference method = debugInformationIndex != null
+                    ? debugInformationIndex.getMethodAt(jsLocation, layer)
+                    : debugInformation.getMethodAt(jsLocation, layer);
+            if (method == null) {
+                break;
+            }
+
+            SourceLocation location = debugInformationIndex != null
+                    ? debugInformationIndex.getSourceLocation(jsLocation, layer)
+                    : debugInformation.getSourceLocation(jsLocation, layer);
+
+            String decodedFileName = location != null ? location.getFileName() : null;
+            if (decodedFileName != null) {
+                decodedFileName = decodedFileName.substring(decodedFileName.lastIndexOf('/') + 1);
+            }
+
+            var javaLineNumber = -1;
+            if (location != null) {
+                javaLineNumber = location.getLine();
+            }
+            result.add(new Frame(
+                    method.getClassName(),
+                    method.getName(),
+                    decodedFileName,
+                    javaLineNumber
+            ));
+        }
+
+        if (result.isEmpty()) {
+            return null;
+        }
+        Collections.reverse(result);
+        return result;
+    }
+}
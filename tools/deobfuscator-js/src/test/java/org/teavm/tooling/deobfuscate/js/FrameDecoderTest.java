@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.tooling.deobfuscate.js;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.junit.Test;
+import org.teavm.backend.javascript.codegen.LocationProvider;
+import org.teavm.debugging.information.DebugInformation;
+import org.teavm.debugging.information.DebugInformationBuilder;
+import org.teavm.debugging.information.DebugInformationIndex;
+import org.teavm.model.MethodDescriptor;
+import org.teavm.model.ReferenceCache;
+import org.teavm.model.ValueType;
+
+public class FrameDecoderTest {
+    private int line;
+    private int column;
+
+    @Test
+    public void decodesInlinedFrames() throws IOException {
+        for (var decoder : createDecoders()) {
+            // Stack traces use 1-based lines and columns
+            var frames = decoder.decode(2, 13);
+            assertNotNull(frames);
+            assertEquals(2, frames.size());
+            assertFrame(frames.get(0), "test.B", "bar", "B.java", 7);
+            assertFrame(frames.get(1), "test.A", "foo", "A.java", 21);
+        }
+    }
+
+    @Test
+    public void decodesSingleFrame() throws IOException {
+        for (var decoder : createDecoders()) {
+            var frames = decoder.decode(3, 1);
+            assertNotNull(frames);
+            assertEquals(1, frames.size());
+            assertFrame(frames.get(0), "test.A", "foo", "A.java", 22);
+        }
+    }
+
+    @Test
+    public void noFramesOutsideOfMethods() throws IOException {
+        for (var decoder : createDecoders()) {
+            assertNull(decoder.decode(4, 1));
+            assertNull(decoder.decode(10, 1));
+        }
+    }
+
+    private static void assertFrame(Frame frame, String className, String methodName, String fileName,
+            int lineNumber) {
+        assertEquals(className, frame.getClassName());
+        assertEquals(methodName, frame.getMethodName());
+        assertEquals(fileName, frame.getFileName());
+        assertEquals(lineNumber, frame.getLineNumber());
+    }
+
+    private List<FrameDecoder> createDecoders() throws IOException {
+        var output = new ByteArrayOutputStream();
+        createDebugInformation().write(output);
+        var bytes = output.toByteArray();
+        var index = DebugInformationIndex.read(ByteBuffer.wrap(bytes));
+        assertNotNull(index);
+        var debugInformation = DebugInformation.read(new ByteArrayInputStream(bytes));
+        return List.of(new FrameDecoder(index), new FrameDecoder(debugInformation));
+    }
+
+    private DebugInformation createDebugInformation() {
+        var builder = new DebugInformationBuilder(new ReferenceCache());
+        builder.setLocationProvider(new LocationProvider() {
+            @Override
+            public int getLine() {
+                return line;
+            }
+
+            @Override
+            public int getColumn() {
+                return column;
+            }
+
+            @Override
+            public int getOffset() {
+                return 0;
+            }
+        });
+
+        var foo = new MethodDescriptor("foo", ValueType.INTEGER);
+        var bar = new MethodDescriptor("bar", ValueType.VOID);
+        moveTo(0, 0);
+        builder.emitClass("test.A");
+        builder.emitMethod(foo);
+        moveTo(1, 4);
+        builder.emitLocation("src/test/A.java", 20);
+        moveTo(1, 10);
+        builder.emitLocation("src/test/A.java", 21);
+        builder.enterLocation();
+        builder.emitClass("test.B");
+        builder.emitMethod(bar);
+        builder.emitLocation("src/test/B.java", 7);
+        moveTo(1, 15);
+        builder.exitLocation();
+        moveTo(2, 0);
+        builder.emitLocation("src/test/A.java", 22);
+        moveTo(3, 0);
+        builder.emitClass(null);
+        builder.emitMethod(null);
+        builder.emitLocation(null, -1);
+        return builder.getDebugInformation();
+    }
+
+    private void moveTo(int line, int column) {
+        this.line = line;
+        this.column = column;
+    }
+}
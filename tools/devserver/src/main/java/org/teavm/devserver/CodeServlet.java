@@ -73,6 +73,7 @@ import org.teavm.backend.javascript.JSModuleType;
 import org.teavm.backend.javascript.JavaScriptTarget;
 import org.teavm.cache.InMemoryMethodNodeCache;
 import org.teavm.cache.InMemoryProgramCache;
+import org.teavm.cache.InMemoryRenderedMethodCache;
 import org.teavm.cache.InMemorySymbolTable;
 import org.teavm.cache.MemoryCachedClassReaderSource;
 import org.teavm.debugging.information.DebugInformation;
@@ -134,6 +135,7 @@ public class CodeServlet extends HttpServlet {
     private MemoryCachedClassReaderSource classSource;
     private InMemoryProgramCache programCache;
     private InMemoryMethodNodeCache astCache;
+    private InMemoryRenderedMethodCache renderedMethodCache;
     private int lastReachedClasses;
     private boolean firstTime = true;
 
@@ -267,6 +269,7 @@ public class CodeServlet extends HttpServlet {
                 return;
             }
             astCache.invalidate();
+            renderedMethodCache.invalidate();
             programCache.invalidate();
             classSource.invalidate();
             symbolTable.invalidate();
@@ -835,6 +838,7 @@ public class CodeServlet extends HttpServlet {
 
         classSource = createCachedSource();
         astCache = new InMemoryMethodNodeCache(referenceCache, symbolTable, fileSymbolTable, variableSymbolTable);
+        renderedMethodCache = new InMemoryRenderedMethodCache();
         programCache = new InMemoryProgramCache(referenceCache, symbolTable, fileSymbolTable, variableSymbolTable);
     }
 
@@ -852,6 +856,7 @@ public class CodeServlet extends HttpServlet {
         classSource = null;
         watcher = null;
         astCache = null;
+        renderedMethodCache = null;
         programCache = null;
         synchronized (content) {
             content.clear();
@@ -890,6 +895,7 @@ public class CodeServlet extends HttpServlet {
         jsTarget.setStackTraceIncluded(true);
         jsTarget.setObfuscated(false);
         jsTarget.setAstCache(astCache);
+        jsTarget.setRenderedMethodCache(renderedMethodCache);
         jsTarget.setDebugEmitter(debugInformationBuilder);
         if (jsModuleType != null) {
             jsTarget.setModuleType(jsModuleType);
@@ -995,6 +1001,7 @@ public class CodeServlet extends HttpServlet {
                 classSource.commit();
                 programCache.commit();
                 astCache.commit();
+                renderedMethodCache.commit();
                 reportCompilationComplete(true);
             } else {
                 log.info("Build complete with errors");
@@ -1011,6 +1018,7 @@ public class CodeServlet extends HttpServlet {
         }
 
         astCache.discard();
+        renderedMethodCache.discard();
         programCache.discard();
         buildTarget.clear();
         cancelRequested = false;
@@ -16,10 +16,13 @@
 package org.teavm.gradle;
 
 import groovy.lang.Closure;
+import java.io.File;
 import javax.inject.Inject;
 import org.gradle.api.Action;
 import org.gradle.api.Project;
 import org.gradle.api.model.ObjectFactory;
+import org.teavm.gradle.api.JSCoroutineMode;
+import org.teavm.gradle.api.JSLongRepresentation;
 import org.teavm.gradle.api.JSModuleType;
 import org.teavm.gradle.api.OptimizationLevel;
 import org.teavm.gradle.api.SourceFilePolicy;
@@ -72,7 +75,17 @@ class TeaVMExtensionImpl extends TeaVMBaseExtensionImpl implements TeaVMExtensio
         js.getObfuscated().convention(property("js.obfuscated").map(Boolean::parseBoolean).orElse(true));
         js.getSourceMap().convention(property("js.sourceMap").map(Boolean::parseBoolean).orElse(false));
         js.getStrict().convention(property("js.strict").map(Boolean::parseBoolean).orElse(false));
+        js.getStreamingOutput().convention(property("js.streamingOutput").map(Boolean::parseBoolean)
+                .orElse(false));
+        js.getLazyMetadata().convention(property("js.lazyMetadata").map(Boolean::parseBoolean).orElse(false));
         js.getModuleType().convention(property("js.moduleType").map(JSModuleType::valueOf).orElse(JSModuleType.UMD));
+        js.getLongRepresentation().convention(property("js.longRepresentation").map(JSLongRepresentation::valueOf)
+                .orElse(JSLongRepresentation.BIG_INT));
+        js.getCoroutineMode().convention(property("js.coroutineMode").map(JSCoroutineMode::valueOf)
+                .orElse(JSCoroutineMode.STATE_MACHINE));
+        js.getSizeReport().convention(property("js.sizeReport").map(Boolean::parseBoolean).orElse(false));
+        js.getSizeReportBaseline().convention(property("js.sizeReportBaseline").map(File::new));
+        js.getSizeBudget().convention(property("js.sizeBudget").map(Integer::parseInt).orElse(0));
         js.getEntryPointName().convention("main");
         js.getTargetFileName().convention(project.provider(() -> project.getName() + ".js"));
         js.getAddedToWebApp().convention(property("js.addedToWebApp").map(Boolean::parseBoolean).orElse(false));
@@ -162,6 +175,7 @@ class TeaVMExtensionImpl extends TeaVMBaseExtensionImpl implements TeaVMExtensio
         all.getDebugInformation().convention(property("debugInformation").map(Boolean::parseBoolean).orElse(false));
         all.getOptimization().convention(OptimizationLevel.BALANCED);
         all.getFastGlobalAnalysis().convention(property("fastGlobalAnalysis").map(Boolean::parseBoolean).orElse(false));
+        all.getOptimizationThreads().convention(property("optimizationThreads").map(Integer::parseInt).orElse(1));
         all.getOutOfProcess().convention(property("outOfProcess").map(Boolean::parseBoolean).orElse(false));
         all.getProcessMemory().convention(property("processMemory").map(Integer::parseInt).orElse(512));
     }
@@ -262,6 +276,8 @@ class TeaVMExtensionImpl extends TeaVMBaseExtensionImpl implements TeaVMExtensio
         target.getDebugInformation().convention(source.getDebugInformation());
         target.getFastGlobalAnalysis().convention(source.getFastGlobalAnalysis());
         target.getOptimization().convention(source.getOptimization());
+        target.getOptimizationThreads().convention(source.getOptimizationThreads());
+        target.getBuildProfileFile().convention(source.getBuildProfileFile());
         target.getProperties().putAll(source.getProperties());
 
         target.getOutOfProcess().convention(source.getOutOfProcess());
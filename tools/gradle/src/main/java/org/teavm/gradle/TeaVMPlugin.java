@@ -138,12 +138,20 @@ public class TeaVMPlugin implements Plugin<Project> {
             applyToTask(js, task, configuration);
             task.getObfuscated().convention(js.getObfuscated());
             task.getModuleType().convention(js.getModuleType());
+            task.getLongRepresentation().convention(js.getLongRepresentation());
+            task.getCoroutineMode().convention(js.getCoroutineMode());
             task.getSourceMap().convention(js.getSourceMap());
             task.getTargetFileName().convention(js.getTargetFileName());
             task.getStrict().convention(js.getStrict());
             task.getEntryPointName().convention(js.getEntryPointName());
             task.getSourceFilePolicy().convention(js.getSourceFilePolicy());
             task.getMaxTopLevelNames().convention(js.getMaxTopLevelNames());
+            task.getSplitPoints().addAll(js.getSplitPoints());
+            task.getStreamingOutput().convention(js.getStreamingOutput());
+            task.getLazyMetadata().convention(js.getLazyMetadata());
+            task.getSizeReport().convention(js.getSizeReport());
+            task.getSizeReportBaseline().convention(js.getSizeReportBaseline());
+            task.getSizeBudget().convention(js.getSizeBudget());
 
             setupSources(task.getSourceFiles(), project);
         });
@@ -347,6 +355,8 @@ public class TeaVMPlugin implements Plugin<Project> {
         task.getDebugInformation().convention(configuration.getDebugInformation());
         task.getFastGlobalAnalysis().convention(configuration.getFastGlobalAnalysis());
         task.getOptimization().convention(configuration.getOptimization());
+        task.getOptimizationThreads().convention(configuration.getOptimizationThreads());
+        task.getBuildProfileFile().convention(configuration.getBuildProfileFile());
         task.getOutOfProcess().convention(configuration.getOutOfProcess());
         task.getProcessMemory().convention(configuration.getProcessMemory());
         task.getProperties().putAll(configuration.getProperties());
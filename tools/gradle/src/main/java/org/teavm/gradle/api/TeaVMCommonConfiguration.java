@@ -15,6 +15,7 @@
  */
 package org.teavm.gradle.api;
 
+import java.io.File;
 import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.MapProperty;
@@ -29,6 +30,10 @@ public interface TeaVMCommonConfiguration {
 
     Property<OptimizationLevel> getOptimization();
 
+    Property<Integer> getOptimizationThreads();
+
+    Property<File> getBuildProfileFile();
+
     MapProperty<String, String> getProperties();
 
     ListProperty<String> getPreservedClasses();
@@ -17,7 +17,9 @@ package org.teavm.gradle.api;
 
 import groovy.lang.Closure;
 import groovy.lang.DelegatesTo;
+import java.io.File;
 import org.gradle.api.Action;
+import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 
 public interface TeaVMJSConfiguration extends TeaVMWebConfiguration {
@@ -37,6 +39,22 @@ public interface TeaVMJSConfiguration extends TeaVMWebConfiguration {
 
     Property<Integer> getMaxTopLevelNames();
 
+    ListProperty<String> getSplitPoints();
+
+    Property<Boolean> getStreamingOutput();
+
+    Property<Boolean> getLazyMetadata();
+
+    Property<JSLongRepresentation> getLongRepresentation();
+
+    Property<JSCoroutineMode> getCoroutineMode();
+
+    Property<Boolean> getSizeReport();
+
+    Property<File> getSizeReportBaseline();
+
+    Property<Integer> getSizeBudget();
+
     TeaVMDevServerConfiguration getDevServer();
 
     void devServer(Action<TeaVMDevServerConfiguration> action);
@@ -15,11 +15,16 @@
  */
 package org.teavm.gradle.tasks;
 
+import java.io.File;
 import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Optional;
+import org.teavm.gradle.api.JSCoroutineMode;
+import org.teavm.gradle.api.JSLongRepresentation;
 import org.teavm.gradle.api.JSModuleType;
 import org.teavm.gradle.api.SourceFilePolicy;
 import org.teavm.tooling.TeaVMTargetType;
@@ -29,7 +34,13 @@ public abstract class GenerateJavaScriptTask extends TeaVMTask {
     public GenerateJavaScriptTask() {
         getObfuscated().convention(true);
         getStrict().convention(false);
+        getStreamingOutput().convention(false);
+        getLazyMetadata().convention(false);
         getModuleType().convention(JSModuleType.UMD);
+        getLongRepresentation().convention(JSLongRepresentation.BIG_INT);
+        getCoroutineMode().convention(JSCoroutineMode.STATE_MACHINE);
+        getSizeReport().convention(false);
+        getSizeBudget().convention(0);
         getSourceMap().convention(false);
         getSourceFilePolicy().convention(SourceFilePolicy.LINK_LOCAL_FILES);
         getEntryPointName().convention("main");
@@ -47,6 +58,14 @@ public abstract class GenerateJavaScriptTask extends TeaVMTask {
     @Optional
     public abstract Property<JSModuleType> getModuleType();
 
+    @Input
+    @Optional
+    public abstract Property<JSLongRepresentation> getLongRepresentation();
+
+    @Input
+    @Optional
+    public abstract Property<JSCoroutineMode> getCoroutineMode();
+
     @Input
     @Optional
     public abstract Property<Boolean> getSourceMap();
@@ -66,6 +85,30 @@ public abstract class GenerateJavaScriptTask extends TeaVMTask {
     @Optional
     public abstract Property<Integer> getMaxTopLevelNames();
 
+    @Input
+    @Optional
+    public abstract ListProperty<String> getSplitPoints();
+
+    @Input
+    @Optional
+    public abstract Property<Boolean> getStreamingOutput();
+
+    @Input
+    @Optional
+    public abstract Property<Boolean> getLazyMetadata();
+
+    @Input
+    @Optional
+    public abstract Property<Boolean> getSizeReport();
+
+    @InputFile
+    @Optional
+    public abstract Property<File> getSizeReportBaseline();
+
+    @Input
+    @Optional
+    public abstract Property<Integer> getSizeBudget();
+
     @Override
     protected void setupBuilder(BuildStrategy builder) {
         builder.setTargetType(TeaVMTargetType.JAVASCRIPT);
@@ -74,6 +117,14 @@ public abstract class GenerateJavaScriptTask extends TeaVMTask {
         if (getMaxTopLevelNames().isPresent()) {
             builder.setMaxTopLevelNames(getMaxTopLevelNames().get());
         }
+        builder.setJsSplitPoints(getSplitPoints().get().toArray(new String[0]));
+        builder.setJsStreamingOutput(getStreamingOutput().get());
+        builder.setJsLazyMetadata(getLazyMetadata().get());
+        builder.setJsSizeReport(getSizeReport().get());
+        if (getSizeReportBaseline().isPresent()) {
+            builder.setJsSizeReportBaseline(getSizeReportBaseline().get().getAbsolutePath());
+        }
+        builder.setJsSizeBudget(getSizeBudget().get());
         switch (getModuleType().get()) {
             case UMD:
                 builder.setJsModuleType(org.teavm.backend.javascript.JSModuleType.UMD);
@@ -88,6 +139,22 @@ public abstract class GenerateJavaScriptTask extends TeaVMTask {
                 builder.setJsModuleType(org.teavm.backend.javascript.JSModuleType.ES2015);
                 break;
         }
+        switch (getLongRepresentation().get()) {
+            case BIG_INT:
+                builder.setJsLongRepresentation(org.teavm.backend.javascript.JSLongRepresentation.BIG_INT);
+                break;
+            case INT32_PAIR:
+                builder.setJsLongRepresentation(org.teavm.backend.javascript.JSLongRepresentation.INT32_PAIR);
+                break;
+        }
+        switch (getCoroutineMode().get()) {
+            case STATE_MACHINE:
+                builder.setJsCoroutineMode(org.teavm.backend.javascript.JSCoroutineMode.STATE_MACHINE);
+                break;
+            case GENERATORS:
+                builder.setJsCoroutineMode(org.teavm.backend.javascript.JSCoroutineMode.GENERATORS);
+                break;
+        }
         builder.setSourceMapsFileGenerated(getSourceMap().get());
         builder.setEntryPointName(getEntryPointName().get());
         TaskUtils.applySourceFiles(getSourceFiles(), builder);
@@ -33,6 +33,7 @@ import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.internal.logging.progress.ProgressLogger;
 import org.gradle.internal.logging.progress.ProgressLoggerFactory;
@@ -56,6 +57,7 @@ public abstract class TeaVMTask extends DefaultTask {
         getTargetFileName().convention("bundle");
         getOptimization().convention(OptimizationLevel.BALANCED);
         getFastGlobalAnalysis().convention(false);
+        getOptimizationThreads().convention(1);
         getOutOfProcess().convention(false);
         getProcessMemory().convention(512);
     }
@@ -79,6 +81,14 @@ public abstract class TeaVMTask extends DefaultTask {
     @Optional
     public abstract Property<Boolean> getFastGlobalAnalysis();
 
+    @Input
+    @Optional
+    public abstract Property<Integer> getOptimizationThreads();
+
+    @OutputFile
+    @Optional
+    public abstract Property<File> getBuildProfileFile();
+
     @Input
     @Optional
     public abstract MapProperty<String, String> getProperties();
@@ -148,6 +158,10 @@ public abstract class TeaVMTask extends DefaultTask {
         builder.setTargetFileName(getTargetFileName().get());
         builder.setOptimizationLevel(map(getOptimization().get()));
         builder.setFastDependencyAnalysis(getFastGlobalAnalysis().get());
+        builder.setOptimizationThreads(getOptimizationThreads().get());
+        if (getBuildProfileFile().isPresent()) {
+            builder.setBuildProfileFile(getBuildProfileFile().get().getAbsolutePath());
+        }
         builder.setTargetDirectory(getOutputDir().get().getAbsolutePath());
         builder.setClassesToPreserve(getPreservedClasses().get().toArray(new String[0]));
         if (getProperties().isPresent()) {
@@ -89,6 +89,28 @@ class JSPlatformSupport extends TestPlatformSupport<JavaScriptTarget> {
         return configurations;
     }
 
+    @Override
+    List<TeaVMTestConfiguration<JavaScriptTarget>> getConfigurations(Class<?> testClass) {
+        var configurations = getConfigurations();
+        var variants = testClass.getAnnotation(JsVariants.class);
+        if (variants != null) {
+            for (var variant : variants.value()) {
+                switch (variant) {
+                    case LONG_AS_INT32_PAIR:
+                        configurations.add(TeaVMTestConfiguration.JS_LONG_AS_INT32_PAIR);
+                        break;
+                    case GENERATOR_COROUTINES:
+                        configurations.add(TeaVMTestConfiguration.JS_GENERATOR_COROUTINES);
+                        break;
+                    case LAZY_METADATA:
+                        configurations.add(TeaVMTestConfiguration.JS_LAZY_METADATA);
+                        break;
+                }
+            }
+        }
+        return configurations;
+    }
+
     @Override
     CompileResult compile(Consumer<TeaVM> additionalProcessing, String baseName,
             TeaVMTestConfiguration<JavaScriptTarget> configuration, File path, AnnotatedElement element) {
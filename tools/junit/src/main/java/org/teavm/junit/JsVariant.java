@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.junit;
+
+/**
+ * Additional configuration of JavaScript backend to run tests in, see {@link JsVariants}.
+ */
+public enum JsVariant {
+    /**
+     * Represents {@code long} values as pairs of 32-bit integers instead of {@code BigInt}.
+     */
+    LONG_AS_INT32_PAIR,
+
+    /**
+     * Compiles methods that may suspend a thread to generator functions instead of state machines.
+     */
+    GENERATOR_COROUTINES,
+
+    /**
+     * Decodes class metadata on first access instead of at startup.
+     */
+    LAZY_METADATA
+}
@@ -16,7 +16,10 @@
 package org.teavm.junit;
 
 import org.teavm.backend.c.CTarget;
+import org.teavm.backend.javascript.JSCoroutineMode;
+import org.teavm.backend.javascript.JSLongRepresentation;
 import org.teavm.backend.javascript.JavaScriptTarget;
+import org.teavm.backend.wasm.WasmGCStringConstantMode;
 import org.teavm.backend.wasm.WasmGCTarget;
 import org.teavm.backend.wasm.WasmTarget;
 import org.teavm.vm.TeaVM;
@@ -81,6 +84,60 @@ interface TeaVMTestConfiguration<T extends TeaVMTarget> {
         }
     };
 
+    TeaVMTestConfiguration<JavaScriptTarget> JS_LONG_AS_INT32_PAIR = new TeaVMTestConfiguration<>() {
+        @Override
+        public String getSuffix() {
+            return "int32pair";
+        }
+
+        @Override
+        public void apply(TeaVM vm) {
+            vm.setOptimizationLevel(TeaVMOptimizationLevel.SIMPLE);
+        }
+
+        @Override
+        public void apply(JavaScriptTarget target) {
+            target.setObfuscated(false);
+            target.setLongRepresentation(JSLongRepresentation.INT32_PAIR);
+        }
+    };
+
+    TeaVMTestConfiguration<JavaScriptTarget> JS_GENERATOR_COROUTINES = new TeaVMTestConfiguration<>() {
+        @Override
+        public String getSuffix() {
+            return "generators";
+        }
+
+        @Override
+        public void apply(TeaVM vm) {
+            vm.setOptimizationLevel(TeaVMOptimizationLevel.SIMPLE);
+        }
+
+        @Override
+        public void apply(JavaScriptTarget target) {
+            target.setObfuscated(false);
+            target.setCoroutineMode(JSCoroutineMode.GENERATORS);
+        }
+    };
+
+    TeaVMTestConfiguration<JavaScriptTarget> JS_LAZY_METADATA = new TeaVMTestConfiguration<>() {
+        @Override
+        public String getSuffix() {
+            return "lazy-metadata";
+        }
+
+        @Override
+        public void apply(TeaVM vm) {
+            vm.setOptimizationLevel(TeaVMOptimizationLevel.SIMPLE);
+        }
+
+        @Override
+        public void apply(JavaScriptTarget target) {
+            target.setObfuscated(false);
+            target.setLazyMetadata(true);
+        }
+    };
+
     TeaVMTestConfiguration<WasmTarget> WASM_DEFAULT = new TeaVMTestConfiguration<>() {
         @Override
         public String getSuffix() {
@@ -116,6 +173,25 @@ interface TeaVMTestConfiguration<T extends TeaVMTarget> {
         }
     };
 
+    TeaVMTestConfiguration<WasmTarget> WASM_SIMD = new TeaVMTestConfiguration<>() {
+        @Override
+        public String getSuffix() {
+            return "simd";
+        }
+
+        @Override
+        public void apply(TeaVM vm) {
+            vm.setOptimizationLevel(TeaVMOptimizationLevel.SIMPLE);
+        }
+
+        @Override
+        public void apply(WasmTarget target) {
+            target.setWastEmitted(true);
+            target.setDebugging(true);
+            target.setSimdEnabled(true);
+        }
+    };
+
     TeaVMTestConfiguration<WasmGCTarget> WASM_GC_DEFAULT = new TeaVMTestConfiguration<>() {
         @Override
         public String getSuffix() {
@@ -148,6 +224,40 @@ interface TeaVMTestConfiguration<T extends TeaVMTarget> {
         }
     };
 
+    TeaVMTestConfiguration<WasmGCTarget> WASM_GC_LAZY_STRING_CONSTANTS = new TeaVMTestConfiguration<>() {
+        @Override
+        public String getSuffix() {
+            return "lazy-strings";
+        }
+
+        @Override
+        public void apply(TeaVM vm) {
+            vm.setOptimizationLevel(TeaVMOptimizationLevel.SIMPLE);
+        }
+
+        @Override
+        public void apply(WasmGCTarget target) {
+            target.setStringConstantMode(WasmGCStringConstantMode.LAZY);
+        }
+    };
+
+    TeaVMTestConfiguration<WasmGCTarget> WASM_GC_JS_BUILTIN_STRING_CONSTANTS = new TeaVMTestConfiguration<>() {
+        @Override
+        public String getSuffix() {
+            return "js-strings";
+        }
+
+        @Override
+        public void apply(TeaVM vm) {
+            vm.setOptimizationLevel(TeaVMOptimizationLevel.SIMPLE);
+        }
+
+        @Override
+        public void apply(WasmGCTarget target) {
+            target.setStringConstantMode(WasmGCStringConstantMode.JS_BUILTINS);
+        }
+    };
+
     TeaVMTestConfiguration<CTarget> C_DEFAULT = new TeaVMTestConfiguration<>() {
         @Override
         public String getSuffix() {
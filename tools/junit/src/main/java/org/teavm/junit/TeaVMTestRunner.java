@@ -310,7 +310,7 @@ public class TeaVMTestRunner extends Runner implements Filterable {
         if (platform.isEnabled() && hasChildrenToRun(children, platform.getPlatform())) {
             platformClassTests.platform = platform;
             var path = getOutputPathForClass(platform);
-            for (var configuration : platform.getConfigurations()) {
+            for (var configuration : platform.getConfigurations(cls)) {
                 var castPlatform = (TestPlatformSupport<TeaVMTarget>) platform;
                 var castConfiguration = (TeaVMTestConfiguration<TeaVMTarget>) configuration;
                 var runs = new ArrayList<TestRun>();
@@ -430,7 +430,7 @@ public class TeaVMTestRunner extends Runner implements Filterable {
             for (var platform : participatingPlatforms) {
                 if (platform.isEnabled() && shouldRunChild(child, platform.getPlatform())) {
                     File outputPath = getOutputPath(child, platform);
-                    for (var configuration : platform.getConfigurations()) {
+                    for (var configuration : platform.getConfigurations(testClass)) {
                         @SuppressWarnings("unchecked")
                         var castPlatform = (TestPlatformSupport<TeaVMTarget>) platform;
                         @SuppressWarnings("unchecked")
@@ -0,0 +1,38 @@
+/*
+ *  Copyright 2026 Alexey Andreev.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.teavm.junit;
+
+/**
+ * Additional configuration of WebAssembly backends to run tests in, see {@link WasmVariants}.
+ * Each variant applies to one backend only and is ignored by the other one.
+ */
+public enum WasmVariant {
+    /**
+     * Uses 128-bit SIMD instructions in bulk memory operations of the class library. Default configuration
+     * emits C code, which keeps these operations scalar. Applies to WebAssembly backend.
+     */
+    SIMD,
+
+    /**
+     * Decodes every string constant the first time it is used. Applies to WebAssembly GC backend.
+     */
+    LAZY_STRING_CONSTANTS,
+
+    /**
+     * Imports string constants as JS strings using JS string builtins. Applies to WebAssembly GC backend.
+     */
+    JS_BUILTIN_STRING_CONSTANTS
+}
@@ -155,6 +155,27 @@ class WebAssemblyGCPlatformSupport extends TestPlatformSupport<WasmGCTarget> {
         return configurations;
     }
 
+    @Override
+    List<TeaVMTestConfiguration<WasmGCTarget>> getConfigurations(Class<?> testClass) {
+        var configurations = getConfigurations();
+        var variants = testClass.getAnnotation(WasmVariants.class);
+        if (variants != null) {
+            for (var variant : variants.value()) {
+                switch (variant) {
+                    case LAZY_STRING_CONSTANTS:
+                        configurations.add(TeaVMTestConfiguration.WASM_GC_LAZY_STRING_CONSTANTS);
+                        break;
+                    case JS_BUILTIN_STRING_CONSTANTS:
+                        configurations.add(TeaVMTestConfiguration.WASM_GC_JS_BUILTIN_STRING_CONSTANTS);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return configurations;
+    }
+
     @Override
     boolean usesFileName() {
         return true;
@@ -81,6 +81,24 @@ class WebAssemblyPlatformSupport extends BaseWebAssemblyPlatformSupport {
         return configurations;
     }
 
+    @Override
+    List<TeaVMTestConfiguration<WasmTarget>> getConfigurations(Class<?> testClass) {
+        var configurations = getConfigurations();
+        var variants = testClass.getAnnotation(WasmVariants.class);
+        if (variants != null) {
+            for (var variant : variants.value()) {
+                switch (variant) {
+                    case SIMD:
+                        configurations.add(TeaVMTestConfiguration.WASM_SIMD);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        return configurations;
+    }
+
     @Override
     protected WasmRuntimeType getRuntimeType() {
         return WasmRuntimeType.TEAVM;
@@ -37,6 +37,8 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.repository.RepositorySystem;
+import org.teavm.backend.javascript.JSCoroutineMode;
+import org.teavm.backend.javascript.JSLongRepresentation;
 import org.teavm.backend.javascript.JSModuleType;
 import org.teavm.backend.wasm.WasmDebugInfoLocation;
 import org.teavm.backend.wasm.render.WasmBinaryVersion;
@@ -88,9 +90,33 @@ public class TeaVMCompileMojo extends AbstractMojo {
     @Parameter(property = "teavm.jsModuleType", defaultValue = "UMD")
     private JSModuleType jsModuleType;
 
+    @Parameter(property = "teavm.jsLongRepresentation", defaultValue = "BIG_INT")
+    private JSLongRepresentation jsLongRepresentation = JSLongRepresentation.BIG_INT;
+
+    @Parameter(property = "teavm.jsCoroutineMode", defaultValue = "STATE_MACHINE")
+    private JSCoroutineMode jsCoroutineMode = JSCoroutineMode.STATE_MACHINE;
+
     @Parameter(property = "teavm.maxTopLevelNames", defaultValue = "80000")
     private int maxTopLevelNames = 80_000;
 
+    @Parameter
+    private String[] jsSplitPoints;
+
+    @Parameter(property = "teavm.jsStreamingOutput", defaultValue = "false")
+    private boolean jsStreamingOutput;
+
+    @Parameter(property = "teavm.jsLazyMetadata", defaultValue = "false")
+    private boolean jsLazyMetadata;
+
+    @Parameter(property = "teavm.jsSizeReport", defaultValue = "false")
+    private boolean jsSizeReport;
+
+    @Parameter(property = "teavm.jsSizeReportBaseline")
+    private File jsSizeReportBaseline;
+
+    @Parameter(property = "teavm.jsSizeBudget", defaultValue = "0")
+    private int jsSizeBudget;
+
     @Parameter
     private Properties properties;
 
@@ -109,6 +135,9 @@ public class TeaVMCompileMojo extends AbstractMojo {
     @Parameter(property = "teavm.incremental", defaultValue = "false")
     private boolean incremental;
 
+    @Parameter(property = "teavm.packedProgramCache", defaultValue = "false")
+    private boolean packedProgramCache;
+
     @Parameter
     private String[] transformers;
 
@@ -139,6 +168,12 @@ public class TeaVMCompileMojo extends AbstractMojo {
     @Parameter(property = "teavm.fastGlobalAnalysis", defaultValue = "false")
     private boolean fastGlobalAnalysis;
 
+    @Parameter(property = "teavm.optimizationThreads", defaultValue = "1")
+    private int optimizationThreads = 1;
+
+    @Parameter(property = "teavm.buildProfileFile")
+    private File buildProfileFile;
+
     @Parameter(property = "teavm.targetType", defaultValue = "JAVASCRIPT")
     private TeaVMTargetType targetType = TeaVMTargetType.JAVASCRIPT;
 
@@ -187,8 +222,20 @@ public class TeaVMCompileMojo extends AbstractMojo {
             builder.setClassPathEntries(prepareClassPath());
             builder.setObfuscated(minifying);
             builder.setStrict(strict);
+            builder.setJsStreamingOutput(jsStreamingOutput);
+            builder.setJsLazyMetadata(jsLazyMetadata);
             builder.setJsModuleType(jsModuleType);
+            builder.setJsLongRepresentation(jsLongRepresentation);
+            builder.setJsCoroutineMode(jsCoroutineMode);
+            builder.setJsSizeReport(jsSizeReport);
+            if (jsSizeReportBaseline != null) {
+                builder.setJsSizeReportBaseline(jsSizeReportBaseline.getAbsolutePath());
+            }
+            builder.setJsSizeBudget(jsSizeBudget);
             builder.setMaxTopLevelNames(maxTopLevelNames);
+            if (jsSplitPoints != null) {
+                builder.setJsSplitPoints(jsSplitPoints);
+            }
             builder.setTargetDirectory(targetDirectory.getAbsolutePath());
             if (transformers != null) {
                 builder.setTransformers(transformers);
@@ -201,6 +248,7 @@ public class TeaVMCompileMojo extends AbstractMojo {
                 builder.setProperties(properties);
             }
             builder.setIncremental(incremental);
+            builder.setPackedProgramCache(packedProgramCache);
             builder.setDebugInformationGenerated(debugInformationGenerated);
             builder.setWasmDebugInfoLocation(wasmDebugInfoLocation);
             builder.setSourceMapsFileGenerated(sourceMapsGenerated);
@@ -317,6 +365,10 @@ public class TeaVMCompileMojo extends AbstractMojo {
             }
             builder.setOptimizationLevel(optimizationLevel);
             builder.setFastDependencyAnalysis(fastGlobalAnalysis);
+            builder.setOptimizationThreads(optimizationThreads);
+            if (buildProfileFile != null) {
+                builder.setBuildProfileFile(buildProfileFile.getAbsolutePath());
+            }
             if (classesToPreserve != null) {
                 builder.setClassesToPreserve(classesToPreserve);
             }